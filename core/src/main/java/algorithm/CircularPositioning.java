@@ -1,10 +1,8 @@
 package algorithm;
 
 import data.Graph;
-import data.Vertex;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * Classe CircularPositioning, implémente l'interface {@link algorithm.IAlgorithm}. Permet un positionnement circulaire de l'ensemble des {@link data.Vertex}
@@ -28,13 +26,18 @@ public class CircularPositioning implements IAlgorithm {
      */
     @Override
     public void run(Graph graph) {
-        ArrayList<Vertex> vertexes = graph.getVertexes();
+        CompactGraph compact = new CompactGraph(graph);
+        double[] xs = compact.getX();
+        double[] ys = compact.getY();
+        int n = compact.getVertexCount();
 
-        for (double i = 0; i< vertexes.size(); i++){
-            double x = Math.cos((i /(double)vertexes.size()) * 2.0*Math.PI)*(Math.min(this.viewRectangle.height,this.viewRectangle.width)*0.5) +this.viewRectangle.width/2;
-            double y = Math.sin((i/(double)vertexes.size())*2.0*Math.PI)*( Math.min(this.viewRectangle.height,this.viewRectangle.width)*0.5)+this.viewRectangle.height/2;
-            vertexes.get((int)i).setPosition(new Point((int) x+this.viewRectangle.x, (int)y+this.viewRectangle.y ));
+        for (int i = 0; i < n; i++){
+            double x = Math.cos((i /(double)n) * 2.0*Math.PI)*(Math.min(this.viewRectangle.height,this.viewRectangle.width)*0.5) +this.viewRectangle.width/2;
+            double y = Math.sin((i/(double)n)*2.0*Math.PI)*( Math.min(this.viewRectangle.height,this.viewRectangle.width)*0.5)+this.viewRectangle.height/2;
+            xs[i] = (int) x + this.viewRectangle.x;
+            ys[i] = (int) y + this.viewRectangle.y;
         }
+        compact.writeBack();
         graph.setChanged();
     }
 }
@@ -0,0 +1,214 @@
+package algorithm;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe CompactGraph, copie compacte d'un {@link data.Graph} destinée aux algorithmes.
+ * Les Vertex sont numérotés de 0 à n-1 dans l'ordre de {@link data.Graph#getVertexes()} et la topologie est rangée
+ * au format CSR (compressed sparse row) : les voisins du Vertex i sont neighbours[offsets[i]] à neighbours[offsets[i+1]-1].
+ * Les propriétés des Vertex sont rangées dans des tableaux de double, que les algorithmes modifient directement
+ * avant de recopier le résultat dans le Graph avec {@link #writeBack()}.
+ * Les tableaux renvoyés par les getters ne sont pas copiés : ceux de la topologie ne doivent pas être modifiés.
+ */
+public class CompactGraph {
+
+    private final Vertex[] vertices;//Les Vertex du Graph, par indice
+    private final int[]    offsets;//Début de la liste des voisins de chaque Vertex, de taille n+1
+    private final int[]    neighbours;//Les voisins de chaque Vertex, mis bout à bout
+    private final int[]    edgeOrigins;//Indice du Vertex d'origine de chaque Edge
+    private final int[]    edgeDestinations;//Indice du Vertex de destination de chaque Edge
+    private final double[] x;//Abscisse de chaque Vertex
+    private final double[] y;//Ordonnée de chaque Vertex
+    private final double[] size;//Taille de chaque Vertex
+    private final double[] value;//Valeur de chaque Vertex
+
+    /**
+     * Constructeur de la classe CompactGraph, copie la topologie et les propriétés des Vertex du Graph
+     * @param graph le Graph à copier
+     */
+    public CompactGraph(Graph graph) {
+        List<Vertex> graphVertices = graph.getVertexes();
+        List<Edge>   graphEdges    = graph.getEdges();
+        int n = graphVertices.size();
+
+        this.vertices = graphVertices.toArray(new Vertex[n]);
+        this.x     = new double[n];
+        this.y     = new double[n];
+        this.size  = new double[n];
+        this.value = new double[n];
+        for (int i = 0; i < n; i++) {
+            Point position = this.vertices[i].getPosition();
+            if (position != null) {
+                this.x[i] = position.x;
+                this.y[i] = position.y;
+            }
+            this.size[i]  = this.vertices[i].getSize();
+            this.value[i] = this.vertices[i].getValue();
+        }
+
+        // Indices des extrémités de chaque Edge, en ignorant ceux dont une extrémité n'est pas dans le Graph
+        int[] origins      = new int[graphEdges.size()];
+        int[] destinations = new int[graphEdges.size()];
+        int   m            = 0;
+        this.offsets = new int[n + 1];
+        for (Edge e : graphEdges) {
+            int origin      = graph.getVertexIndex(e.getOrigin());
+            int destination = graph.getVertexIndex(e.getDestination());
+            if (origin != -1 && destination != -1) {
+                origins[m]      = origin;
+                destinations[m] = destination;
+                this.offsets[origin + 1]++;
+                this.offsets[destination + 1]++;
+                m++;
+            }
+        }
+        if (m < origins.length) {
+            origins      = Arrays.copyOf(origins, m);
+            destinations = Arrays.copyOf(destinations, m);
+        }
+        this.edgeOrigins      = origins;
+        this.edgeDestinations = destinations;
+
+        // Somme préfixe des degrés puis remplissage des listes de voisins
+        for (int i = 0; i < n; i++) {
+            this.offsets[i + 1] += this.offsets[i];
+        }
+        this.neighbours = new int[this.offsets[n]];
+        int[] cursor = new int[n];
+        System.arraycopy(this.offsets, 0, cursor, 0, n);
+        for (int i = 0; i < m; i++) {
+            this.neighbours[cursor[origins[i]]++]      = destinations[i];
+            this.neighbours[cursor[destinations[i]]++] = origins[i];
+        }
+    }
+
+    /**
+     * Méthode recopiant en un seul parcours les positions, tailles et valeurs calculées dans les Vertex du Graph.
+     * Une nouvelle {@link java.awt.Point} est créée pour chaque Vertex déplacé, l'ancienne pouvant être gardée par l'undo ;
+     * seuls les Vertex réellement modifiés sont signalés au Graph
+     */
+    public void writeBack() {
+        for (int i = 0; i < this.vertices.length; i++) {
+            Vertex vertex  = this.vertices[i];
+            int    newX    = (int) Math.round(this.x[i]);
+            int    newY    = (int) Math.round(this.y[i]);
+            Point position = vertex.getPosition();
+            if (position == null || position.x != newX || position.y != newY) {
+                vertex.setPosition(new Point(newX, newY));
+            }
+            //Les setters signalent chaque modification au Graph : les valeurs inchangées ne sont pas réécrites
+            int newSize  = (int) Math.round(this.size[i]);
+            int newValue = (int) Math.round(this.value[i]);
+            if (vertex.getSize() != newSize) {
+                vertex.setSize(newSize);
+            }
+            if (vertex.getValue() != newValue) {
+                vertex.setValue(newValue);
+            }
+        }
+    }
+
+    /**
+     * Getter du nombre de Vertex
+     * @return le nombre de Vertex
+     */
+    public int getVertexCount() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Getter du nombre d'Edge
+     * @return le nombre d'Edge
+     */
+    public int getEdgeCount() {
+        return this.edgeOrigins.length;
+    }
+
+    /**
+     * Méthode renvoyant le degré d'un Vertex
+     * @param vertex l'indice du Vertex
+     * @return le nombre d'Edge du Vertex
+     */
+    public int degree(int vertex) {
+        return this.offsets[vertex + 1] - this.offsets[vertex];
+    }
+
+    /**
+     * Getter du Vertex correspondant à un indice
+     * @param vertex l'indice du Vertex
+     * @return le Vertex
+     */
+    public Vertex getVertex(int vertex) {
+        return this.vertices[vertex];
+    }
+
+    /**
+     * Getter des débuts de liste de voisins, de taille {@link #getVertexCount()} + 1
+     * @return le tableau des débuts de liste
+     */
+    public int[] getOffsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Getter des listes de voisins mises bout à bout
+     * @return le tableau des voisins
+     */
+    public int[] getNeighbours() {
+        return this.neighbours;
+    }
+
+    /**
+     * Getter des indices des Vertex d'origine des Edge
+     * @return le tableau des origines
+     */
+    public int[] getEdgeOrigins() {
+        return this.edgeOrigins;
+    }
+
+    /**
+     * Getter des indices des Vertex de destination des Edge
+     * @return le tableau des destinations
+     */
+    public int[] getEdgeDestinations() {
+        return this.edgeDestinations;
+    }
+
+    /**
+     * Getter des abscisses des Vertex
+     * @return le tableau des abscisses, modifiable
+     */
+    public double[] getX() {
+        return this.x;
+    }
+
+    /**
+     * Getter des ordonnées des Vertex
+     * @return le tableau des ordonnées, modifiable
+     */
+    public double[] getY() {
+        return this.y;
+    }
+
+    /**
+     * Getter des tailles des Vertex
+     * @return le tableau des tailles, modifiable
+     */
+    public double[] getSize() {
+        return this.size;
+    }
+
+    /**
+     * Getter des valeurs des Vertex
+     * @return le tableau des valeurs, modifiable
+     */
+    public double[] getValue() {
+        return this.value;
+    }
+}
@@ -0,0 +1,335 @@
+package algorithm;
+
+import data.Graph;
+import threading.ComputePool;
+import threading.Progress;
+import threading.ProgressListener;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classe ForceDirectedLayout, implémente l'interface {@link algorithm.ILayout}. Place les {@link data.Vertex} selon le
+ * modèle de forces de Fruchterman et Reingold : les Vertex reliés par une Edge s'attirent (force en d²/k), tous les Vertex
+ * se repoussent (force en k²/d), et le déplacement de chaque Vertex à chaque itération est limité par une température
+ * qui décroît. La répulsion est approchée par un arbre de Barnes–Hut ({@link algorithm.QuadTree}) : chaque itération
+ * coûte O(n log n + m) au lieu de O(n²), et est répartie entre les cœurs par le pool partagé {@link threading.ComputePool}.
+ * Le calcul se fait sur un {@link algorithm.CompactGraph}, dans un repère où la longueur idéale k d'une Edge vaut 1 ;
+ * le résultat est ensuite mis à l'échelle pour tenir dans la zone d'application.
+ */
+public class ForceDirectedLayout implements ILayout {
+
+    /* Nombre d'itérations par défaut */
+    public static final int    DEFAULT_ITERATIONS = 100;
+    /* Facteur de refroidissement par défaut : la température est multipliée par ce facteur à chaque itération */
+    public static final double DEFAULT_COOLING    = 0.95;
+
+    /* Critère d'approximation de Barnes–Hut : plus il est grand, plus le calcul est rapide et approximatif */
+    static final double THETA   = 1.0;
+    /* Attraction de chaque Vertex vers l'origine, qui empêche les composantes non connexes de s'éloigner indéfiniment */
+    static final double GRAVITY = 0.01;
+
+    /* Nombre de Vertex en dessous duquel une tâche de calcul n'est plus divisée */
+    static final int CHUNK_SIZE = 1024;
+
+    /* Longueur minimale, en pixels, d'une Edge après mise à l'échelle */
+    private static final double MIN_EDGE_LENGTH = 20;
+
+    private Rectangle viewRectangle;//Rectangle délimitant la zone dans laquelle sera placé le Graph
+    private int       iterations;//Le nombre d'itérations
+    private double    cooling;//Le facteur de refroidissement
+    private Random    random;//Le générateur des positions initiales
+
+    /**
+     * Constructeur de la classe ForceDirectedLayout, avec le nombre d'itérations et le refroidissement par défaut
+     * @param position origine de viewRectangle
+     * @param size taille des côtés de viewRectangle
+     */
+    public ForceDirectedLayout(Point position, Dimension size) {
+        this(position, size, DEFAULT_ITERATIONS, DEFAULT_COOLING);
+    }
+
+    /**
+     * Constructeur de la classe ForceDirectedLayout
+     * @param position origine de viewRectangle
+     * @param size taille des côtés de viewRectangle
+     * @param iterations le nombre d'itérations
+     * @param cooling le facteur de refroidissement, entre 0 et 1 exclus
+     */
+    public ForceDirectedLayout(Point position, Dimension size, int iterations, double cooling) {
+        if (iterations < 0 || cooling <= 0 || cooling >= 1) {
+            throw new IllegalArgumentException("Paramètres de placement invalides");
+        }
+        this.viewRectangle = new Rectangle(position, size);
+        this.iterations    = iterations;
+        this.cooling       = cooling;
+        this.random        = new Random();
+    }
+
+    /**
+     * Setter de la graine du générateur des positions initiales, pour obtenir toujours le même placement
+     * @param seed la graine
+     */
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Méthode qui positionnera l'ensemble des {@link data.Vertex} du {@link data.Graph} passé en paramètre selon les forces
+     * exercées par les Edge. Les positions actuelles servent de point de départ
+     * @param graph le Graph sur lequel faire tourner l'algorithme
+     */
+    @Override
+    public void run(Graph graph) {
+        CompactGraph compact = new CompactGraph(graph);
+        if (compact.getVertexCount() > 0 && this.compute(compact, null)) {
+            compact.writeBack();
+            graph.setChanged();
+        }
+    }
+
+    /**
+     * Méthode calculant le placement sur le CompactGraph d'un Graph, sans modifier celui-ci
+     * (non-Javadoc)
+     * @see algorithm.ILayout#compute(CompactGraph, threading.ProgressListener)
+     */
+    @Override
+    public boolean compute(CompactGraph compact, ProgressListener listener) {
+        int n = compact.getVertexCount();
+        if (n == 0) {
+            return true;
+        }
+        double[] x = compact.getX();
+        double[] y = compact.getY();
+        start(x, y, n, this.random);
+        if (!layout(x, y, null, n, compact.getOffsets(), compact.getNeighbours(), this.iterations, Math.sqrt(n) / 10, this.cooling,
+                    ComputePool.get(), new Progress(listener, (long) this.iterations * n))) {
+            return false;
+        }
+        place(compact, this.viewRectangle);
+        return true;
+    }
+
+    /**
+     * Méthode ramenant les positions de départ dans un carré d'aire n (l'aire idéale pour k = 1), en gardant leur disposition.
+     * Les positions sont légèrement perturbées pour que deux Vertex ne soient jamais confondus ; si elles sont toutes
+     * identiques, elles sont tirées au hasard
+     * @param x les abscisses
+     * @param y les ordonnées
+     * @param n le nombre de Vertex
+     * @param random le générateur utilisé
+     */
+    static void start(double[] x, double[] y, int n, Random random) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        double side   = Math.sqrt(n);
+        double extent = Math.max(maxX - minX, maxY - minY);
+        for (int i = 0; i < n; i++) {
+            if (extent > 0) {
+                x[i] = (x[i] - minX) / extent * side - side / 2;
+                y[i] = (y[i] - minY) / extent * side - side / 2;
+            } else {
+                x[i] = (random.nextDouble() - 0.5) * side;
+                y[i] = (random.nextDouble() - 0.5) * side;
+            }
+            x[i] += (random.nextDouble() - 0.5) * 1e-3;
+            y[i] += (random.nextDouble() - 0.5) * 1e-3;
+        }
+    }
+
+    /**
+     * Méthode faisant les itérations de Fruchterman et Reingold, dans un repère où la longueur idéale d'une Edge vaut 1.
+     * Le calcul des forces et les déplacements sont découpés en tâches fork/join sur des intervalles de Vertex : chaque tâche
+     * n'écrit que le déplacement de ses propres Vertex, sans verrou. Le résultat ne dépend pas du nombre de threads
+     * @param x les abscisses des Vertex, modifiées
+     * @param y les ordonnées des Vertex, modifiées
+     * @param mass les masses des Vertex, qui multiplient la répulsion qu'ils exercent, null si elles valent toutes 1
+     * @param n le nombre de Vertex
+     * @param offsets le début de la liste des voisins de chaque Vertex (format CSR, voir {@link algorithm.CompactGraph})
+     * @param neighbours les voisins de chaque Vertex
+     * @param iterations le nombre d'itérations
+     * @param temperature le déplacement maximal d'un Vertex à la première itération
+     * @param cooling le facteur de refroidissement
+     * @param pool le pool de threads utilisé
+     * @param progress l'avancement, augmenté de n à chaque itération, peut être null
+     * @return false si le thread appelant a été interrompu, le calcul s'arrêtant alors entre deux itérations
+     */
+    static boolean layout(double[] x, double[] y, double[] mass, int n, int[] offsets, int[] neighbours, int iterations, double temperature,
+                          double cooling, ForkJoinPool pool, Progress progress) {
+        Iteration iteration = new Iteration(x, y, n, offsets, neighbours);
+        for (int i = 0; i < n; i++) {
+            iteration.order[i] = i;
+        }
+        for (int step = 0; step < iterations; step++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            //Les Vertex sont traités dans l'ordre de l'arbre : des Vertex voisins parcourent les mêmes nœuds
+            iteration.tree.build(x, y, mass, iteration.order, n, pool);
+            pool.invoke(new RangeAction(iteration, false, 0, n));
+            iteration.temperature = temperature;
+            pool.invoke(new RangeAction(iteration, true, 0, n));
+            temperature *= cooling;
+            if (progress != null) {
+                progress.advance(n);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Méthode mettant le placement à l'échelle et le déplaçant dans la zone d'application : une Edge de longueur idéale
+     * mesure quelques tailles de Vertex, sans que le Graph ne dépasse de la zone
+     * @param compact le CompactGraph placé
+     * @param viewRectangle la zone d'application
+     */
+    static void place(CompactGraph compact, Rectangle viewRectangle) {
+        int      n    = compact.getVertexCount();
+        double[] x    = compact.getX();
+        double[] y    = compact.getY();
+        double[] size = compact.getSize();
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        double meanSize = 0;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+            meanSize += size[i] / n;
+        }
+        double width  = Math.max(1, viewRectangle.width);
+        double height = Math.max(1, viewRectangle.height);
+        double scale  = Math.min(Math.sqrt(width * height / n), Math.max(MIN_EDGE_LENGTH, 3 * meanSize));
+        if (maxX > minX) {
+            scale = Math.min(scale, width / (maxX - minX));
+        }
+        if (maxY > minY) {
+            scale = Math.min(scale, height / (maxY - minY));
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] = viewRectangle.x + (x[i] - minX) * scale;
+            y[i] = viewRectangle.y + (y[i] - minY) * scale;
+        }
+    }
+
+    /**
+     * Classe Iteration, état partagé par les tâches d'une itération : les positions, la topologie, l'arbre de Barnes–Hut
+     * et le déplacement calculé pour chaque Vertex
+     */
+    private static class Iteration {
+
+        private final double[] x;//Les abscisses des Vertex
+        private final double[] y;//Les ordonnées des Vertex
+        private final int[]    offsets;//Le début de la liste des voisins de chaque Vertex
+        private final int[]    neighbours;//Les voisins de chaque Vertex
+        private final double[] dx;//Le déplacement en abscisse de chaque Vertex
+        private final double[] dy;//Le déplacement en ordonnée de chaque Vertex
+        private final int[]    order;//L'ordre de parcours des Vertex
+        private final QuadTree tree;//L'arbre de Barnes–Hut
+        private double         temperature;//Le déplacement maximal de l'itération
+
+        Iteration(double[] x, double[] y, int n, int[] offsets, int[] neighbours) {
+            this.x          = x;
+            this.y          = y;
+            this.offsets    = offsets;
+            this.neighbours = neighbours;
+            this.dx         = new double[n];
+            this.dy         = new double[n];
+            this.order      = new int[n];
+            this.tree       = new QuadTree(n);
+        }
+
+        /**
+         * Méthode calculant la force exercée sur des Vertex
+         * @param from la place du premier Vertex dans order
+         * @param to la place suivant celle du dernier
+         */
+        void forces(int from, int to) {
+            double[] force  = new double[2];
+            int[]    stack  = new int[QuadTree.STACK_SIZE];
+            double   theta2 = THETA * THETA;
+            for (int k = from; k < to; k++) {
+                int    i  = this.order[k];
+                double px = this.x[i];
+                double py = this.y[i];
+                //Répulsion en k²/d de tous les Vertex
+                force[0] = 0;
+                force[1] = 0;
+                this.tree.repulsion(i, px, py, theta2, stack, force);
+                double fx = force[0] - GRAVITY * px;
+                double fy = force[1] - GRAVITY * py;
+                //Attraction en d²/k des voisins
+                for (int e = this.offsets[i]; e < this.offsets[i + 1]; e++) {
+                    int    j  = this.neighbours[e];
+                    double ex = px - this.x[j];
+                    double ey = py - this.y[j];
+                    double d  = Math.sqrt(ex * ex + ey * ey);
+                    fx -= ex * d;
+                    fy -= ey * d;
+                }
+                this.dx[i] = fx;
+                this.dy[i] = fy;
+            }
+        }
+
+        /**
+         * Méthode déplaçant des Vertex dans la direction de leur force, d'au plus la température
+         * @param from le premier Vertex
+         * @param to le Vertex suivant le dernier
+         */
+        void move(int from, int to) {
+            for (int i = from; i < to; i++) {
+                double length = Math.sqrt(this.dx[i] * this.dx[i] + this.dy[i] * this.dy[i]);
+                if (length > 0) {
+                    double step = Math.min(length, this.temperature) / length;
+                    this.x[i] += this.dx[i] * step;
+                    this.y[i] += this.dy[i] * step;
+                }
+            }
+        }
+    }
+
+    /**
+     * Classe RangeAction, tâche fork/join divisant un intervalle de Vertex jusqu'à ce qu'il ne dépasse plus CHUNK_SIZE
+     */
+    private static class RangeAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Iteration iteration;//L'itération en cours
+        private final boolean   move;//Vrai pour les déplacements, faux pour le calcul des forces
+        private final int       from;//Le premier Vertex
+        private final int       to;//Le Vertex suivant le dernier
+
+        RangeAction(Iteration iteration, boolean move, int from, int to) {
+            this.iteration = iteration;
+            this.move      = move;
+            this.from      = from;
+            this.to        = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= CHUNK_SIZE) {
+                if (this.move) {
+                    this.iteration.move(this.from, this.to);
+                } else {
+                    this.iteration.forces(this.from, this.to);
+                }
+            } else {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new RangeAction(this.iteration, this.move, this.from, middle),
+                          new RangeAction(this.iteration, this.move, middle, this.to));
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package algorithm;
+
+import threading.ProgressListener;
+
+/**
+ * Interface ILayout, algorithme de placement dont le calcul peut être fait hors de l'EDT : il ne travaille que sur un
+ * {@link algorithm.CompactGraph}, créé à partir du Graph sur l'EDT, et le placement calculé n'est appliqué au Graph que par
+ * {@link algorithm.CompactGraph#writeBack()}. {@link #run(data.Graph)} enchaîne les trois étapes dans le thread appelant
+ */
+public interface ILayout extends IAlgorithm {
+
+    /**
+     * Méthode calculant le placement des Vertex d'un CompactGraph, sans modifier le Graph. Le calcul s'arrête au plus tôt
+     * si le thread appelant est interrompu
+     * @param compact le CompactGraph, dont les positions sont remplacées par le placement calculé
+     * @param listener l'objet prévenu de l'avancement du calcul, peut être null
+     * @return false si le calcul a été interrompu, auquel cas les positions du CompactGraph ne doivent pas être appliquées
+     */
+    boolean compute(CompactGraph compact, ProgressListener listener);
+}
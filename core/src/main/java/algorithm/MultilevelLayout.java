@@ -0,0 +1,287 @@
+package algorithm;
+
+import data.Graph;
+import threading.ComputePool;
+import threading.Progress;
+import threading.ProgressListener;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Classe MultilevelLayout, implémente l'interface {@link algorithm.ILayout}. Place les {@link data.Vertex} des très grands
+ * Graph en plusieurs niveaux (méthode de Walshaw) : le Graph est d'abord réduit niveau par niveau en fusionnant les extrémités
+ * des Edge, jusqu'à ne plus compter que quelques dizaines de Vertex ; ce plus petit Graph est placé par
+ * {@link algorithm.ForceDirectedLayout}, puis chaque niveau reprend la position de ses Vertex fusionnés et n'a plus qu'à
+ * être affiné par quelques itérations. La forme générale du Graph est ainsi trouvée sur les petits niveaux, où elle coûte peu.
+ * Un Vertex fusionné a pour masse le nombre de Vertex qu'il regroupe, et repousse les autres d'autant : chaque niveau
+ * occupe à peu près la place du Graph complet.
+ */
+public class MultilevelLayout implements ILayout {
+
+    /* Nombre d'itérations par défaut sur chaque niveau, sauf le plus petit */
+    public static final int DEFAULT_ITERATIONS = 20;
+
+    /* Nombre de Vertex en dessous duquel le Graph n'est plus réduit */
+    static final int COARSEST_SIZE = 50;
+    /* Proportion de Vertex restants au-delà de laquelle la réduction est arrêtée, faute d'Edge à fusionner */
+    private static final double MIN_REDUCTION = 0.8;
+    /* Déplacement maximal d'un Vertex à la première itération d'un niveau affiné, et refroidissement de ces itérations */
+    private static final double REFINE_TEMPERATURE = 2, REFINE_COOLING = 0.9;
+
+    private Rectangle viewRectangle;//Rectangle délimitant la zone dans laquelle sera placé le Graph
+    private int       iterations;//Le nombre d'itérations par niveau
+    private Random    random;//Le générateur des fusions et des positions initiales
+
+    /**
+     * Constructeur de la classe MultilevelLayout, avec le nombre d'itérations par défaut
+     * @param position origine de viewRectangle
+     * @param size taille des côtés de viewRectangle
+     */
+    public MultilevelLayout(Point position, Dimension size) {
+        this(position, size, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Constructeur de la classe MultilevelLayout
+     * @param position origine de viewRectangle
+     * @param size taille des côtés de viewRectangle
+     * @param iterations le nombre d'itérations sur chaque niveau, sauf le plus petit
+     */
+    public MultilevelLayout(Point position, Dimension size, int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Paramètres de placement invalides");
+        }
+        this.viewRectangle = new Rectangle(position, size);
+        this.iterations    = iterations;
+        this.random        = new Random();
+    }
+
+    /**
+     * Setter de la graine du générateur, pour obtenir toujours le même placement
+     * @param seed la graine
+     */
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Méthode qui positionnera l'ensemble des {@link data.Vertex} du {@link data.Graph} passé en paramètre, niveau par niveau
+     * @param graph le Graph sur lequel faire tourner l'algorithme
+     */
+    @Override
+    public void run(Graph graph) {
+        CompactGraph compact = new CompactGraph(graph);
+        if (compact.getVertexCount() > 0 && this.compute(compact, null)) {
+            compact.writeBack();
+            graph.setChanged();
+        }
+    }
+
+    /**
+     * Méthode calculant le placement sur le CompactGraph d'un Graph, sans modifier celui-ci. L'avancement compte les
+     * itérations de chaque niveau, pondérées par son nombre de Vertex
+     * (non-Javadoc)
+     * @see algorithm.ILayout#compute(CompactGraph, threading.ProgressListener)
+     */
+    @Override
+    public boolean compute(CompactGraph compact, ProgressListener listener) {
+        int n = compact.getVertexCount();
+        if (n == 0) {
+            return true;
+        }
+
+        //Réduction du Graph
+        List<Level> levels = new ArrayList<>();
+        levels.add(new Level(n, compact.getOffsets(), compact.getNeighbours(), null));
+        Level level = levels.get(0);
+        while (level.n > COARSEST_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            Level coarse = this.coarsen(level);
+            if (coarse.n > MIN_REDUCTION * level.n) {
+                break;
+            }
+            levels.add(coarse);
+            level = coarse;
+        }
+
+        //Travail total : une unité par Vertex et par itération, sur chaque niveau
+        Level coarsest = levels.get(levels.size() - 1);
+        long  total    = (long) coarsest.n * ForceDirectedLayout.DEFAULT_ITERATIONS;
+        for (int l = levels.size() - 2; l >= 0; l--) {
+            total += (long) levels.get(l).n * this.iterations;
+        }
+        Progress progress = new Progress(listener, total);
+
+        //Placement du plus petit niveau depuis des positions aléatoires
+        double[] x = new double[coarsest.n];
+        double[] y = new double[coarsest.n];
+        ForceDirectedLayout.start(x, y, coarsest.n, this.random);
+        if (!ForceDirectedLayout.layout(x, y, coarsest.mass, coarsest.n, coarsest.offsets, coarsest.neighbours,
+                                        ForceDirectedLayout.DEFAULT_ITERATIONS, Math.sqrt(n) / 10, ForceDirectedLayout.DEFAULT_COOLING,
+                                        ComputePool.get(), progress)) {
+            return false;
+        }
+
+        //Chaque niveau part des positions du niveau plus petit, puis est affiné
+        for (int l = levels.size() - 2; l >= 0; l--) {
+            Level    fine  = levels.get(l);
+            double[] fineX = l == 0 ? compact.getX() : new double[fine.n];
+            double[] fineY = l == 0 ? compact.getY() : new double[fine.n];
+            for (int i = 0; i < fine.n; i++) {
+                //Les Vertex fusionnés sont légèrement écartés de leur position commune
+                fineX[i] = x[fine.parent[i]] + this.random.nextDouble() - 0.5;
+                fineY[i] = y[fine.parent[i]] + this.random.nextDouble() - 0.5;
+            }
+            x = fineX;
+            y = fineY;
+            if (!ForceDirectedLayout.layout(x, y, fine.mass, fine.n, fine.offsets, fine.neighbours, this.iterations,
+                                            REFINE_TEMPERATURE, REFINE_COOLING, ComputePool.get(), progress)) {
+                return false;
+            }
+        }
+        if (levels.size() == 1) {
+            System.arraycopy(x, 0, compact.getX(), 0, n);
+            System.arraycopy(y, 0, compact.getY(), 0, n);
+        }
+
+        ForceDirectedLayout.place(compact, this.viewRectangle);
+        return true;
+    }
+
+    /**
+     * Méthode réduisant un niveau : les Vertex, pris dans un ordre aléatoire, sont fusionnés deux à deux avec leur voisin
+     * non fusionné le plus léger. Un Vertex dont tous les voisins sont déjà fusionnés rejoint le groupe du plus léger
+     * d'entre eux, ce qui réduit aussi les étoiles ; les Vertex isolés sont fusionnés entre eux
+     * @param fine le niveau à réduire, dont parent est rempli
+     * @return le niveau réduit
+     */
+    private Level coarsen(Level fine) {
+        int   n      = fine.n;
+        int[] parent = new int[n];
+        int[] order  = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = -1;
+            order[i]  = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j    = this.random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        double[] groupMass = new double[n];
+        int      count     = 0;
+        int      isolated  = -1;
+        for (int k = 0; k < n; k++) {
+            int u = order[k];
+            if (parent[u] >= 0) {
+                continue;
+            }
+            int    free = -1, taken = -1;
+            double freeMass = Double.POSITIVE_INFINITY, takenMass = Double.POSITIVE_INFINITY;
+            for (int e = fine.offsets[u]; e < fine.offsets[u + 1]; e++) {
+                int v = fine.neighbours[e];
+                if (v == u) {
+                    continue;
+                }
+                if (parent[v] < 0 && fine.mass(v) < freeMass) {
+                    free     = v;
+                    freeMass = fine.mass(v);
+                } else if (parent[v] >= 0 && groupMass[parent[v]] < takenMass) {
+                    taken     = parent[v];
+                    takenMass = groupMass[parent[v]];
+                }
+            }
+            if (free >= 0) {
+                parent[u] = parent[free] = count;
+                groupMass[count++] = fine.mass(u) + fine.mass(free);
+            } else if (taken >= 0) {
+                parent[u] = taken;
+                groupMass[taken] += fine.mass(u);
+            } else if (fine.offsets[u] == fine.offsets[u + 1] && isolated >= 0) {
+                parent[u] = parent[isolated];
+                groupMass[parent[u]] += fine.mass(u);
+                isolated = -1;
+            } else {
+                parent[u] = count;
+                groupMass[count++] = fine.mass(u);
+                if (fine.offsets[u] == fine.offsets[u + 1]) {
+                    isolated = u;
+                }
+            }
+        }
+        fine.parent = parent;
+
+        //Membres de chaque groupe, au format CSR
+        int[] memberOffsets = new int[count + 1];
+        for (int i = 0; i < n; i++) {
+            memberOffsets[parent[i] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        int[] members   = new int[n];
+        int[] positions = new int[count];
+        System.arraycopy(memberOffsets, 0, positions, 0, count);
+        for (int i = 0; i < n; i++) {
+            members[positions[parent[i]]++] = i;
+        }
+
+        //Voisins de chaque groupe, sans doublon
+        int[] offsets    = new int[count + 1];
+        int[] neighbours = new int[Math.max(16, fine.offsets[n])];
+        int[] seen       = new int[count];
+        int   m          = 0;
+        for (int c = 0; c < count; c++) {
+            seen[c] = -1;
+        }
+        for (int c = 0; c < count; c++) {
+            seen[c] = c;
+            for (int k = memberOffsets[c]; k < memberOffsets[c + 1]; k++) {
+                int u = members[k];
+                for (int e = fine.offsets[u]; e < fine.offsets[u + 1]; e++) {
+                    int d = parent[fine.neighbours[e]];
+                    if (seen[d] != c) {
+                        seen[d] = c;
+                        neighbours[m++] = d;
+                    }
+                }
+            }
+            offsets[c + 1] = m;
+        }
+
+        double[] mass = new double[count];
+        System.arraycopy(groupMass, 0, mass, 0, count);
+        return new Level(count, offsets, neighbours, mass);
+    }
+
+    /**
+     * Classe Level, un niveau de la réduction : topologie au format CSR, masse des Vertex, et Vertex du niveau suivant
+     * auquel chacun a été fusionné
+     */
+    private static class Level {
+
+        private final int      n;//Le nombre de Vertex
+        private final int[]    offsets;//Le début de la liste des voisins de chaque Vertex
+        private final int[]    neighbours;//Les voisins de chaque Vertex
+        private final double[] mass;//Le nombre de Vertex du Graph regroupés par chaque Vertex, null s'il vaut toujours 1
+        private int[]          parent;//Le Vertex du niveau réduit contenant chaque Vertex, null pour le plus petit niveau
+
+        Level(int n, int[] offsets, int[] neighbours, double[] mass) {
+            this.n          = n;
+            this.offsets    = offsets;
+            this.neighbours = neighbours;
+            this.mass       = mass;
+        }
+
+        double mass(int i) {
+            return this.mass == null ? 1 : this.mass[i];
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classe QuadTree, arbre de Barnes–Hut utilisé par les placements par forces pour calculer la répulsion entre Vertex
+ * en O(n log n) au lieu de O(n²). Chaque nœud couvre un carré du plan, divisé en quatre quand il contient plus d'un point,
+ * et retient la masse et le centre de masse des points qu'il contient : un nœud assez petit vu de loin agit comme un seul point.
+ * Les points ont une masse de 1, ou chacun la leur (Vertex regroupant plusieurs Vertex d'un placement multiniveau).
+ * Les nœuds sont rangés dans des tableaux de primitives, réutilisés d'une construction à l'autre ; les quatre fils d'un nœud
+ * se suivent. Une fois construit, l'arbre peut être parcouru par plusieurs threads à la fois.
+ * Pour les grands nombres de points, la construction elle-même est parallèle : les premiers niveaux forment une grille
+ * de CELLS cases, dont les sous-arbres sont construits séparément puis recopiés à la suite.
+ */
+class QuadTree {
+
+    /* Profondeur au-delà de laquelle les points d'un nœud ne sont plus séparés (points confondus) */
+    static final int MAX_DEPTH = 40;
+    /* Taille nécessaire de la pile de parcours : chaque niveau y laisse au plus trois nœuds */
+    static final int STACK_SIZE = 3 * MAX_DEPTH + 4;
+
+    /* Nombre de niveaux toujours divisés lors d'une construction parallèle, et nombre de cases obtenues */
+    private static final int LEVELS = 3, CELLS = 1 << (2 * LEVELS);
+    /* Nombre de points à partir duquel la construction est parallèle */
+    private static final int PARALLEL_THRESHOLD = 16384;
+
+    /* Marque de fin de liste : feuille vide, ou dernier point d'une feuille */
+    private static final int NONE = -1;
+
+    /* Position des propriétés d'un nœud dans le tableau nodes, rangées côte à côte pour être lues ensemble */
+    private static final int CENTER_X = 0, CENTER_Y = 1, MASS = 2, HALF = 3, STRIDE = 4;
+
+    private final int maxDepth;//Profondeur maximale de l'arbre
+
+    private double[] nodes;//Pour chaque nœud : centre de masse (somme pondérée des positions pendant la construction), masse, demi-côté
+    private int[]    children;//Indice du premier des quatre fils de chaque nœud, -1 pour une feuille
+    private int[]    bodies;//Premier point de chaque feuille, NONE si elle est vide
+    private int[]    next;//Point suivant dans la même feuille, pour chaque point (points confondus)
+    private int      count;//Nombre de nœuds utilisés
+
+    private double[] x;//Abscisses des points de la dernière construction
+    private double[] y;//Ordonnées des points de la dernière construction
+    private double[] mass;//Masses des points de la dernière construction, null si elles valent toutes 1
+
+    private QuadTree[] cellTrees;//Les sous-arbres de la construction parallèle, réutilisés
+    private int[]      cellNodes;//Le nœud de chaque case de la grille
+    private double[]   cellCenters;//L'abscisse et l'ordonnée du centre de chaque case
+    private int[]      cellStarts;//Le premier point de chaque case dans sorted, de taille CELLS+1
+    private int[]      cellOffsets;//La place des nœuds de chaque sous-arbre dans l'arbre
+    private int[]      sorted;//Les points rangés par case
+
+    /**
+     * Constructeur de la classe QuadTree
+     * @param points le nombre de points attendu, pour dimensionner les tableaux
+     */
+    QuadTree(int points) {
+        this(points, MAX_DEPTH);
+    }
+
+    /**
+     * Constructeur de la classe QuadTree
+     * @param points le nombre de points attendu, pour dimensionner les tableaux
+     * @param maxDepth la profondeur maximale de l'arbre
+     */
+    private QuadTree(int points, int maxDepth) {
+        this.maxDepth = maxDepth;
+        this.allocate(Math.max(16, 2 * points));
+    }
+
+    /**
+     * Méthode (re)construisant l'arbre sur des points, dans le thread appelant
+     * @param x les abscisses des points
+     * @param y les ordonnées des points
+     * @param mass les masses des points, null si elles valent toutes 1
+     * @param order l'ordre d'insertion des points, remplacé par l'ordre d'un parcours en profondeur de l'arbre : des points
+     *              proches dans le plan y sont proches, et les traiter dans cet ordre fait parcourir à la suite les mêmes nœuds
+     * @param n le nombre de points
+     */
+    void build(double[] x, double[] y, double[] mass, int[] order, int n) {
+        double[] bounds = bounds(x, y, n);
+        this.ensureNext(n);
+        this.build(x, y, mass, order, 0, n, bounds[0], bounds[1], bounds[2]);
+        this.spatialOrder(order, 0);
+    }
+
+    /**
+     * Méthode (re)construisant l'arbre sur des points, en parallèle s'il y en a assez. L'arbre obtenu ne dépend que des
+     * points, pas du nombre de threads
+     * @param x les abscisses des points
+     * @param y les ordonnées des points
+     * @param mass les masses des points, null si elles valent toutes 1
+     * @param order l'ordre d'insertion des points, remplacé par l'ordre d'un parcours en profondeur de l'arbre
+     * @param n le nombre de points
+     * @param pool le pool de threads utilisé
+     */
+    void build(double[] x, double[] y, double[] mass, int[] order, int n, ForkJoinPool pool) {
+        if (n < PARALLEL_THRESHOLD) {
+            this.build(x, y, mass, order, n);
+            return;
+        }
+        double[] bounds = bounds(x, y, n);
+        this.ensureNext(n);
+        if (this.cellTrees == null) {
+            this.cellTrees   = new QuadTree[CELLS];
+            this.cellNodes   = new int[CELLS];
+            this.cellCenters = new double[2 * CELLS];
+            this.cellStarts  = new int[CELLS + 1];
+            this.cellOffsets = new int[CELLS];
+        }
+        if (this.sorted == null || this.sorted.length < n) {
+            this.sorted = new int[n];
+        }
+
+        //Les premiers niveaux sont toujours divisés : les cases de la grille sont leurs feuilles
+        this.x     = x;
+        this.y     = y;
+        this.mass  = mass;
+        this.count = 0;
+        this.add(bounds[2]);
+        this.subdivide(0, 0, 0, bounds[0], bounds[1]);
+
+        //Tri des points par case, en gardant l'ordre d'insertion dans chaque case
+        int    side   = 1 << LEVELS;
+        double minX   = bounds[0] - bounds[2];
+        double minY   = bounds[1] - bounds[2];
+        double scale  = side / (2 * bounds[2]);
+        int[]  starts = this.cellStarts;
+        Arrays.fill(starts, 0);
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            starts[cell(x[i], y[i], minX, minY, scale) + 1]++;
+        }
+        for (int c = 0; c < CELLS; c++) {
+            starts[c + 1] += starts[c];
+        }
+        int[] positions = Arrays.copyOf(starts, CELLS);
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            this.sorted[positions[cell(x[i], y[i], minX, minY, scale)]++] = i;
+        }
+
+        //Construction des sous-arbres, puis recopie à la suite des premiers niveaux
+        pool.invoke(new CellAction(false, order, 0, CELLS));
+        int total = this.count;
+        for (int c = 0; c < CELLS; c++) {
+            this.cellOffsets[c] = total;
+            if (starts[c + 1] > starts[c]) {
+                total += this.cellTrees[c].count - 1;
+            }
+        }
+        if (total > this.children.length) {
+            this.allocate(total + (total >> 1));
+        }
+        pool.invoke(new CellAction(true, order, 0, CELLS));
+        this.count = total;
+        this.gather(0, 0);
+    }
+
+    /**
+     * Méthode calculant le carré englobant des points
+     * @return l'abscisse et l'ordonnée du centre du carré, et son demi-côté
+     */
+    private static double[] bounds(double[] x, double[] y, int n) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        //Légèrement agrandi pour que les points du bord restent à l'intérieur malgré les arrondis
+        return new double[] { (minX + maxX) / 2, (minY + maxY) / 2, Math.max(maxX - minX, maxY - minY) / 2 * 1.0001 + 1e-9 };
+    }
+
+    /**
+     * Méthode renvoyant la case de la grille contenant un point, numérotée dans l'ordre des fils de l'arbre
+     * @param px l'abscisse du point
+     * @param py l'ordonnée du point
+     * @param minX l'abscisse du bord gauche de la grille
+     * @param minY l'ordonnée du bord haut de la grille
+     * @param scale le nombre de cases par unité de longueur
+     * @return la case
+     */
+    private static int cell(double px, double py, double minX, double minY, double scale) {
+        int side = 1 << LEVELS;
+        int gx   = Math.min(side - 1, Math.max(0, (int) ((px - minX) * scale)));
+        int gy   = Math.min(side - 1, Math.max(0, (int) ((py - minY) * scale)));
+        int cell = 0;
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            cell = cell * 4 + (((gx >> level) & 1) | (((gy >> level) & 1) << 1));
+        }
+        return cell;
+    }
+
+    /**
+     * Méthode divisant un nœud jusqu'au niveau des cases de la grille
+     * @param node le nœud
+     * @param level son niveau
+     * @param cell le numéro de case de ses descendants, pour les niveaux déjà parcourus
+     * @param cx l'abscisse du centre du nœud
+     * @param cy l'ordonnée du centre du nœud
+     */
+    private void subdivide(int node, int level, int cell, double cx, double cy) {
+        if (level == LEVELS) {
+            this.cellNodes[cell]           = node;
+            this.cellCenters[2 * cell]     = cx;
+            this.cellCenters[2 * cell + 1] = cy;
+            return;
+        }
+        double h     = this.nodes[node * STRIDE + HALF] / 2;
+        int    first = this.add(h);
+        this.add(h);
+        this.add(h);
+        this.add(h);
+        this.children[node] = first;
+        for (int q = 0; q < 4; q++) {
+            this.subdivide(first + q, level + 1, cell * 4 + q, cx + ((q & 1) != 0 ? h : -h), cy + ((q & 2) != 0 ? h : -h));
+        }
+    }
+
+    /**
+     * Méthode calculant la masse et le centre de masse des nœuds des premiers niveaux à partir de leurs fils
+     * @param node le nœud
+     * @param level son niveau
+     */
+    private void gather(int node, int level) {
+        if (level == LEVELS) {
+            return;
+        }
+        int    first = this.children[node];
+        double mass  = 0, sumX = 0, sumY = 0;
+        for (int child = first; child < first + 4; child++) {
+            this.gather(child, level + 1);
+            double m = this.nodes[child * STRIDE + MASS];
+            mass += m;
+            sumX += m * this.nodes[child * STRIDE + CENTER_X];
+            sumY += m * this.nodes[child * STRIDE + CENTER_Y];
+        }
+        int base = node * STRIDE;
+        this.nodes[base + MASS]     = mass;
+        this.nodes[base + CENTER_X] = mass > 0 ? sumX / mass : 0;
+        this.nodes[base + CENTER_Y] = mass > 0 ? sumY / mass : 0;
+    }
+
+    /**
+     * Méthode construisant l'arbre sur une partie des points, à partir d'une racine donnée
+     * @param x les abscisses des points
+     * @param y les ordonnées des points
+     * @param mass les masses des points, null si elles valent toutes 1
+     * @param order les points à insérer
+     * @param from le premier point de order à insérer
+     * @param to le point suivant le dernier
+     * @param cx l'abscisse du centre de la racine
+     * @param cy l'ordonnée du centre de la racine
+     * @param h le demi-côté de la racine
+     */
+    private void build(double[] x, double[] y, double[] mass, int[] order, int from, int to, double cx, double cy, double h) {
+        this.x     = x;
+        this.y     = y;
+        this.mass  = mass;
+        this.count = 0;
+        this.add(h);
+        for (int k = from; k < to; k++) {
+            this.insert(order[k], cx, cy, h);
+        }
+        for (int node = 0; node < this.count; node++) {
+            double m = this.nodes[node * STRIDE + MASS];
+            if (m > 0) {
+                this.nodes[node * STRIDE + CENTER_X] /= m;
+                this.nodes[node * STRIDE + CENTER_Y] /= m;
+            }
+        }
+    }
+
+    /**
+     * Méthode ajoutant un point à l'arbre, en divisant les feuilles qui en contiennent déjà un
+     * @param i l'indice du point
+     * @param cx l'abscisse du centre de la racine
+     * @param cy l'ordonnée du centre de la racine
+     * @param h le demi-côté de la racine
+     */
+    private void insert(int i, double cx, double cy, double h) {
+        double px = this.x[i];
+        double py = this.y[i];
+        double m  = this.mass == null ? 1 : this.mass[i];
+        int node  = 0;
+        for (int depth = 0; ; depth++) {
+            int base = node * STRIDE;
+            this.nodes[base + MASS]     += m;
+            this.nodes[base + CENTER_X] += m * px;
+            this.nodes[base + CENTER_Y] += m * py;
+            if (this.children[node] < 0) {
+                int body = this.bodies[node];
+                if (body == NONE || depth == this.maxDepth) {
+                    //Feuille vide, ou trop petite pour être divisée : le point s'ajoute à sa liste
+                    this.next[i]      = body;
+                    this.bodies[node] = i;
+                    return;
+                }
+                //La feuille est divisée et son point descend dans le fils qui le contient
+                int first = this.add(h / 2);
+                this.add(h / 2);
+                this.add(h / 2);
+                this.add(h / 2);
+                this.children[node] = first;
+                this.bodies[node]   = NONE;
+                int    child = first + quadrant(this.x[body], this.y[body], cx, cy);
+                double bm    = this.mass == null ? 1 : this.mass[body];
+                this.nodes[child * STRIDE + MASS]     = bm;
+                this.nodes[child * STRIDE + CENTER_X] = bm * this.x[body];
+                this.nodes[child * STRIDE + CENTER_Y] = bm * this.y[body];
+                this.bodies[child] = body;
+            }
+            int q = quadrant(px, py, cx, cy);
+            h /= 2;
+            cx += (q & 1) != 0 ? h : -h;
+            cy += (q & 2) != 0 ? h : -h;
+            node = this.children[node] + q;
+        }
+    }
+
+    /**
+     * Méthode renvoyant le quadrant d'un point par rapport à un centre
+     * @return 0 à 3 : bit 0 pour la droite, bit 1 pour le bas
+     */
+    private static int quadrant(double px, double py, double cx, double cy) {
+        return (px >= cx ? 1 : 0) | (py >= cy ? 2 : 0);
+    }
+
+    /**
+     * Méthode ajoutant une feuille vide, en agrandissant les tableaux si besoin
+     * @param h le demi-côté du carré de la feuille
+     * @return l'indice de la feuille
+     */
+    private int add(double h) {
+        if (this.count == this.children.length) {
+            this.allocate(this.count + (this.count >> 1));
+        }
+        int node = this.count++;
+        int base = node * STRIDE;
+        this.nodes[base + CENTER_X] = 0;
+        this.nodes[base + CENTER_Y] = 0;
+        this.nodes[base + MASS]     = 0;
+        this.nodes[base + HALF]     = h;
+        this.children[node] = -1;
+        this.bodies[node]   = NONE;
+        return node;
+    }
+
+    /**
+     * Méthode (ré)allouant les tableaux des nœuds
+     * @param capacity le nombre de nœuds
+     */
+    private void allocate(int capacity) {
+        if (this.children == null) {
+            this.nodes    = new double[capacity * STRIDE];
+            this.children = new int[capacity];
+            this.bodies   = new int[capacity];
+        } else {
+            this.nodes    = Arrays.copyOf(this.nodes, capacity * STRIDE);
+            this.children = Arrays.copyOf(this.children, capacity);
+            this.bodies   = Arrays.copyOf(this.bodies, capacity);
+        }
+    }
+
+    /**
+     * Méthode (ré)allouant le tableau des listes de points
+     * @param n le nombre de points
+     */
+    private void ensureNext(int n) {
+        if (this.next == null || this.next.length < n) {
+            this.next = new int[n];
+        }
+    }
+
+    /**
+     * Méthode rangeant les points dans l'ordre d'un parcours en profondeur de l'arbre
+     * @param order le tableau à remplir
+     * @param k la place du premier point dans order
+     */
+    private void spatialOrder(int[] order, int k) {
+        int[] stack = new int[STACK_SIZE];
+        int   top   = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node  = stack[--top];
+            int first = this.children[node];
+            if (first >= 0) {
+                for (int q = 3; q >= 0; q--) {
+                    if (this.nodes[(first + q) * STRIDE + MASS] > 0) {
+                        stack[top++] = first + q;
+                    }
+                }
+            } else {
+                for (int body = this.bodies[node]; body != NONE; body = this.next[body]) {
+                    order[k++] = body;
+                }
+            }
+        }
+    }
+
+    /**
+     * Méthode recopiant le sous-arbre d'une case à la suite des nœuds de l'arbre
+     * @param c la case
+     */
+    private void copyCell(int c) {
+        QuadTree tree   = this.cellTrees[c];
+        int      node   = this.cellNodes[c];
+        int      offset = this.cellOffsets[c];
+        //La racine du sous-arbre prend la place du nœud de la case, les autres nœuds sont décalés
+        System.arraycopy(tree.nodes, 0, this.nodes, node * STRIDE, STRIDE);
+        this.children[node] = tree.children[0] < 0 ? -1 : tree.children[0] - 1 + offset;
+        this.bodies[node]   = tree.bodies[0];
+        System.arraycopy(tree.nodes, STRIDE, this.nodes, offset * STRIDE, (tree.count - 1) * STRIDE);
+        for (int j = 1; j < tree.count; j++) {
+            this.children[offset + j - 1] = tree.children[j] < 0 ? -1 : tree.children[j] - 1 + offset;
+            this.bodies[offset + j - 1]   = tree.bodies[j];
+        }
+    }
+
+    /**
+     * Méthode calculant la répulsion exercée sur un point par tous les autres, en m/d : un nœud dont le côté est inférieur
+     * à theta fois sa distance au point agit comme un seul point de même masse placé en son centre de masse
+     * @param i l'indice du point, exclu du calcul
+     * @param px l'abscisse du point
+     * @param py l'ordonnée du point
+     * @param theta2 le carré du critère d'approximation theta
+     * @param stack une pile de parcours de {@link #STACK_SIZE} entiers, propre au thread appelant
+     * @param force le tableau dans lequel sont ajoutées les composantes de la force, en 0 et 1
+     */
+    void repulsion(int i, double px, double py, double theta2, int[] stack, double[] force) {
+        double[] nodes = this.nodes;
+        double   fx    = 0;
+        double   fy    = 0;
+        int      top   = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int    node  = stack[--top];
+            int    base  = node * STRIDE;
+            double dx    = px - nodes[base + CENTER_X];
+            double dy    = py - nodes[base + CENTER_Y];
+            double d2    = dx * dx + dy * dy;
+            double h     = nodes[base + HALF];
+            int    first = this.children[node];
+            if (first >= 0 && 4 * h * h < theta2 * d2) {
+                double f = nodes[base + MASS] / d2;
+                fx += dx * f;
+                fy += dy * f;
+            } else if (first >= 0) {
+                //Les fils vides ne sont pas parcourus
+                for (int child = first; child < first + 4; child++) {
+                    if (nodes[child * STRIDE + MASS] > 0) {
+                        stack[top++] = child;
+                    }
+                }
+            } else {
+                //Chaque point de la feuille agit séparément ; le point lui-même, ou un point confondu avec lui, n'agit pas
+                for (int body = this.bodies[node]; body != NONE; body = this.next[body]) {
+                    if (body != i) {
+                        dx = px - this.x[body];
+                        dy = py - this.y[body];
+                        d2 = dx * dx + dy * dy;
+                        if (d2 > 0) {
+                            double f = (this.mass == null ? 1 : this.mass[body]) / d2;
+                            fx += dx * f;
+                            fy += dy * f;
+                        }
+                    }
+                }
+            }
+        }
+        force[0] += fx;
+        force[1] += fy;
+    }
+
+    /**
+     * Classe CellAction, tâche fork/join divisant un intervalle de cases jusqu'à n'en traiter qu'une : construction
+     * de son sous-arbre, ou recopie de celui-ci dans l'arbre
+     */
+    private class CellAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean copy;//Vrai pour la recopie, faux pour la construction
+        private final int[]   order;//L'ordre des points, rempli case par case lors de la construction
+        private final int     first;//La première case
+        private final int     last;//La case suivant la dernière
+
+        CellAction(boolean copy, int[] order, int first, int last) {
+            this.copy  = copy;
+            this.order = order;
+            this.first = first;
+            this.last  = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.last - this.first > 1) {
+                int middle = (this.first + this.last) >>> 1;
+                invokeAll(new CellAction(this.copy, this.order, this.first, middle),
+                          new CellAction(this.copy, this.order, middle, this.last));
+                return;
+            }
+            int c    = this.first;
+            int from = cellStarts[c];
+            int to   = cellStarts[c + 1];
+            if (from == to) {
+                return;
+            }
+            if (this.copy) {
+                copyCell(c);
+                return;
+            }
+            QuadTree tree = cellTrees[c];
+            if (tree == null) {
+                tree = new QuadTree(to - from, MAX_DEPTH - LEVELS);
+                cellTrees[c] = tree;
+            }
+            //Les points des cases sont distincts : les sous-arbres partagent la liste des points confondus
+            tree.next = next;
+            double h = nodes[cellNodes[c] * STRIDE + HALF];
+            tree.build(x, y, mass, sorted, from, to, cellCenters[2 * c], cellCenters[2 * c + 1], h);
+            //Les cases sont parcourues dans l'ordre des fils : l'ordre en profondeur de chacune se place à la suite
+            tree.spatialOrder(this.order, from);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package algorithm;
 
 import data.Graph;
-import data.Vertex;
 
 import java.awt.*;
 import java.util.Random;
@@ -29,9 +28,14 @@ public class RandomPositioning implements IAlgorithm {
     @Override
     public void run(Graph graph) {
         Random r = new Random();
-        for(Vertex v : graph.getVertexes()){
-            v.setPosition(new Point(r.nextInt(this.viewRectangle.width) + this.viewRectangle.x, r.nextInt(this.viewRectangle.height) + this.viewRectangle.y));
+        CompactGraph compact = new CompactGraph(graph);
+        double[] x = compact.getX();
+        double[] y = compact.getY();
+        for(int i = 0; i < compact.getVertexCount(); i++){
+            x[i] = r.nextInt(this.viewRectangle.width) + this.viewRectangle.x;
+            y[i] = r.nextInt(this.viewRectangle.height) + this.viewRectangle.y;
         }
+        compact.writeBack();
         graph.setChanged();
     }
 }
@@ -125,6 +125,14 @@ public class ActionController {
                 ActionController.openFromGraphviz();
                 break;
 
+            case "GEVIM...":
+                ActionController.saveToGevim();
+                break;
+
+            case "from GEVIM...":
+                ActionController.openFromGevim();
+                break;
+
             case "Algorithms":
                 ActionController.callAlgorithmsToolBox();
                 break;
@@ -292,6 +300,13 @@ public class ActionController {
         ActionController.controller.saveFile(new String[]{"DOT files (*.dot)"}, new String[]{"dot"});
     }
 
+    /**
+     * Sauvegarder au format binaire .gevim
+     */
+    public static void saveToGevim() {
+        ActionController.controller.saveFile(new String[]{"GEVIM files (*.gevim)"}, new String[]{"gevim"});
+    }
+
     /**
      * Ouvrir un fichier .graphml
      */
@@ -306,18 +321,25 @@ public class ActionController {
         ActionController.controller.openFile(new String[]{"DOT files (*.dot)"}, new String[]{"dot"});
     }
 
+    /**
+     * Ouvrir un fichier .gevim
+     */
+    public static void openFromGevim() {
+        ActionController.controller.openFile(new String[]{"GEVIM files (*.gevim)"}, new String[]{"gevim"});
+    }
+
     /**
      * Ouvrir un graphe plus généralement
      */
     public static void openGraph() {
-        ActionController.controller.openFile(new String[]{"GraphML files (*.graphml)", "DOT files (*.dot)"}, new String[]{"graphml", "dot"});
+        ActionController.controller.openFile(new String[]{"GraphML files (*.graphml)", "DOT files (*.dot)", "GEVIM files (*.gevim)"}, new String[]{"graphml", "dot", "gevim"});
     }
 
     /**
      * Sauvegarder un graphe plus généralement
      */
     public static void saveGraph() {
-        ActionController.controller.save(new String[]{"GraphML files (*.graphml)", "DOT files (*.dot)"}, new String[]{"graphml", "dot"});
+        ActionController.controller.save(new String[]{"GraphML files (*.graphml)", "DOT files (*.dot)", "GEVIM files (*.gevim)"}, new String[]{"graphml", "dot", "gevim"});
     }
 
     /**
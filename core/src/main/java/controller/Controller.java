@@ -3,11 +3,13 @@ package controller;
 import algorithm.*;
 import controller.state.CreationState;
 import controller.state.State;
-import data.Edge;
 import data.Graph;
 import data.GraphElement;
 import data.Vertex;
+import generator.*;
 import threading.GenerationThread;
+import threading.LayoutWorker;
+import threading.SaveService;
 import view.UIElements.CustomUIManager;
 import view.Window;
 import view.editor.Tab;
@@ -16,10 +18,14 @@ import view.editor.elements.ElementView;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.IOException;
 import java.rmi.AlreadyBoundException;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.Random;
 
 /**
  * Classe Controller, contrôleur principal de l'application
@@ -34,11 +40,48 @@ public class Controller {
     private ArrayList<Graph>        graphs;
     /* Les GraphElement copiés pour être ajoutés à un Graph */
     private ArrayList<GraphElement> copiedElements;
+    /* Le service de sauvegarde en arrière-plan */
+    private SaveService             saveService;
+    /* Le Timer de sauvegarde automatique */
+    private Timer                   autosaveTimer;
+
+    /* Délai entre deux sauvegardes automatiques, en millisecondes */
+    private static final int        AUTOSAVE_DELAY = 2 * 60 * 1000;
+
+    /* Les modèles de graphes aléatoires proposés par la génération d'éléments */
+    private static final String[]   GENERATION_MODELS = { "Sommets isolés", "Erdős–Rényi", "Barabási–Albert", "Watts–Strogatz", "Grille", "Géométrique aléatoire" };
 
     public Controller() {
         this.state          = new CreationState(this);
         this.graphs         = new ArrayList<Graph>();
         this.copiedElements = new ArrayList<GraphElement>();
+        this.saveService    = new SaveService(new SaveService.Listener() {
+            @Override
+            public void saveStarted(File file) {
+                Controller.this.window.setTitle("GEVIM - Sauvegarde de " + file.getName() + "...");
+                Controller.this.window.showSaveProgress(file.getName(), 0);
+            }
+
+            @Override
+            public void saveProgress(File file, int percent) {
+                Controller.this.window.showSaveProgress(file.getName(), percent);
+            }
+
+            @Override
+            public void saveFinished(File file, IOException error) {
+                Controller.this.window.setTitle("GEVIM");
+                Controller.this.window.hideSaveProgress();
+                if (error != null) {
+                    JOptionPane.showMessageDialog(Controller.this.window, "Impossible de sauvegarder " + file.getName() + " :\n" + error.getLocalizedMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
+        this.autosaveTimer  = new Timer(AUTOSAVE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Controller.this.autosave();
+            }
+        });
     }
 
     /**
@@ -49,6 +92,7 @@ public class Controller {
     public void setWindow(Window window) {
         this.window = window;
         this.window.setState(this.state);
+        this.autosaveTimer.start();
     }
 
     /**
@@ -84,15 +128,7 @@ public class Controller {
      * @param dst le Vertex de destination de l'Edge
      */
     public void addEdge(Vertex src, Vertex dst) {
-        boolean ok = true;
-        ArrayList<Edge> src_edges = src.getEdges();
-        for (Edge e : dst.getEdges()) { // on teste si un Edge entre ces deux Vertex existe déjà
-            if (src_edges.contains(e)) {
-                ok = false;
-                break;
-            }
-        }
-        if (ok) {
+        if (!src.isLinkedTo(dst)) { // on teste si un Edge entre ces deux Vertex existe déjà
             ArrayList<GraphElement> tmp = new ArrayList<>();
             tmp.add(this.window.getCurrentTab().getGraph().createEdge(this.window.getCurrentSheet().getDefaultEdgesColor(), src, dst, this.window.getCurrentSheet().getDefaultEdgesThickness()));
             window.getCurrentTab().getUndoRedo().registerAddEdit(tmp);
@@ -151,7 +187,7 @@ public class Controller {
      * @param selectedElement le ElementView sélectionné à ajouter
      */
     public void notifyHandleElementSelected(ElementView selectedElement) {
-        if (this.window.getCurrentSheet().getSelectedElements().contains(selectedElement)) {
+        if (this.window.getCurrentSheet().isSelected(selectedElement)) {
             this.window.getCurrentSheet().unselectElement(selectedElement);
         } else {
             this.window.getCurrentSheet().selectElement(selectedElement);
@@ -166,7 +202,7 @@ public class Controller {
      * @param selectedElement l'ElementView sélectionné
      */
     public void notifyHandleElement(ElementView selectedElement) {
-        if (!this.window.getCurrentSheet().getSelectedElements().contains(selectedElement)) {
+        if (!this.window.getCurrentSheet().isSelected(selectedElement)) {
             this.window.getCurrentSheet().clearSelectedElements();
             this.window.getCurrentSheet().selectElement(selectedElement);
         }
@@ -368,9 +404,7 @@ public class Controller {
             }
         } else {
             if (JOptionPane.showConfirmDialog(this.window, "Souhaitez vous vraiment quitter ?", "Fermer le programme", JOptionPane.YES_NO_OPTION) == JOptionPane.OK_OPTION) {
-                this.graphs.clear();
-                this.window.getTabs().removeAll();
-                this.window.dispose();
+                this.exit();
             }
         }
     }
@@ -413,7 +447,8 @@ public class Controller {
             }
 
             //Si le fichier ne possède pas la bonne extension
-            if (!file.getName().endsWith(".graphml") && !file.getName().endsWith(".dot")) {
+            if (!file.getName().endsWith(".graphml") && !file.getName().endsWith(".dot") && !file.getName().endsWith(".dot.gz")
+                    && !file.getName().endsWith(".gevim")) {
                 JOptionPane.showMessageDialog(null, "Impossible d'utiliser ce format", "Erreur", JOptionPane.ERROR_MESSAGE);
                 file = null;
             }
@@ -434,6 +469,15 @@ public class Controller {
             case "Positionnement Circulaire":
                 new CircularPositioning(initialPosition, application).run(window.getCurrentTab().getGraph());
                 break;
+            case "Positionnement par forces":
+                //Calcul en arrière-plan, le placement étant appliqué au Graph avant le retour
+                new LayoutWorker(this.window, "Positionnement par forces", window.getCurrentTab().getGraph(),
+                                 new ForceDirectedLayout(initialPosition, application)).start();
+                break;
+            case "Positionnement multiniveau":
+                new LayoutWorker(this.window, "Positionnement multiniveau", window.getCurrentTab().getGraph(),
+                                 new MultilevelLayout(initialPosition, application)).start();
+                break;
             case "Coloration des Sommets":
                 new VertexColoring().run(window.getCurrentTab().getGraph(), (Property)algorithmProperties[3], (Color)algorithmProperties[1], (Color)algorithmProperties[2]);
                 break;
@@ -447,8 +491,8 @@ public class Controller {
     }
 
     /**
-     * Méthode d'ouverture d'un fichier et de lecture de ce dernier. Elle utilise de {@link files.gml.GmlFileManager}
-     * ou le {@link files.dot.DotFileManager}
+     * Méthode d'ouverture d'un fichier et de lecture de ce dernier. Elle utilise de {@link files.gml.GmlFileManager},
+     * le {@link files.dot.DotFileManager} ou le {@link files.gevim.GevimFileManager}
      * @param extensions La liste des extensions devant apparaitre à la sélection
      * @param descriptions La liste des descriptions associées aux extensions
      */
@@ -464,12 +508,26 @@ public class Controller {
                     }
                 }
 
+                //Une sauvegarde automatique plus récente que le fichier contient des modifications qui n'y ont pas été enregistrées
+                File recovery = SaveService.recoveryFile(file);
+                if (recovery.isFile() && recovery.lastModified() > file.lastModified()
+                        && JOptionPane.showConfirmDialog(this.window, "Une sauvegarde automatique plus récente que " + file.getName()
+                           + " existe.\nOuvrir cette sauvegarde plutôt que le fichier ?", "Récupération", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+                    this.window.openGEVIM(recovery);
+                    //Le graphe récupéré n'est pas celui du fichier : il reste à sauvegarder
+                    this.window.getCurrentSheet().setFile(file.getAbsolutePath());
+                    return;
+                }
+
                 if (file.getName().contains(".graphml")) {
                     this.window.openGML(file);
                 } else if (file.getName().contains(".dot")) {
                     this.window.openDOT(file);
+                } else if (file.getName().endsWith(".gevim")) {
+                    this.window.openGEVIM(file);
                 }
                 this.window.getCurrentSheet().setFile(file.getAbsolutePath());
+                this.saveService.markSaved(this.window.getCurrentTab().getGraph(), file);
             }
         } catch(IllegalArgumentException iae){
             JOptionPane.showMessageDialog(this.window, "Un problème est survenu lors de la lecture :\n" + iae.getLocalizedMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
@@ -482,8 +540,7 @@ public class Controller {
     }
 
     /**
-     * Méthode de sauvegarde d'un graphe avec écriture dans un fichier, utilisant le {@link files.gml.GmlFileManager} ou
-     * le {@link files.dot.DotFileManager}
+     * Méthode de sauvegarde d'un graphe avec écriture dans un fichier, faite en arrière-plan par le {@link threading.SaveService}
      * @param extensions La liste des extensions devant apparaitre à la sélection
      * @param descriptions La liste des descriptions associées aux extensions
      */
@@ -493,11 +550,7 @@ public class Controller {
                 File file = this.chooseFile(extensions, descriptions);
 
                 if (file != null) {
-                    if (file.getName().contains(".graphml")) {
-                        this.window.getCurrentSheet().saveToGML(file);
-                    } else if (file.getName().contains(".dot")) {
-                        this.window.getCurrentSheet().saveToVIZ(file);
-                    }
+                    this.saveService.save(this.window.getCurrentTab().getGraph(), file);
                     this.window.getCurrentSheet().setFile(file.getAbsolutePath());
                 }
             } catch (ArrayIndexOutOfBoundsException aioobe) {
@@ -523,11 +576,7 @@ public class Controller {
                     file = this.chooseFile(extensions, descriptions);
                 }
                 if (file != null) {
-                    if (file.getName().contains(".graphml")) {
-                        this.window.getCurrentSheet().saveToGML(file);
-                    } else if (file.getName().contains(".dot")) {
-                        this.window.getCurrentSheet().saveToVIZ(file);
-                    }
+                    this.saveService.save(this.window.getCurrentTab().getGraph(), file);
                     this.window.getCurrentSheet().setFile(file.getAbsolutePath());
                 }
             } catch (ArrayIndexOutOfBoundsException aioobe) {
@@ -538,6 +587,36 @@ public class Controller {
         }
     }
 
+    /**
+     * Méthode de sauvegarde automatique, appelée périodiquement : les graphes associés à un fichier et modifiés depuis
+     * leur dernière sauvegarde sont enregistrés en arrière-plan dans le fichier de récupération de ce fichier, qui lui
+     * n'est modifié que quand l'utilisateur le sauvegarde
+     */
+    private void autosave() {
+        for (Tab t : this.window.getTabsArray()) {
+            if (t.getSheet().getFile() != null) {
+                this.saveService.autosave(t.getGraph(), new File(t.getSheet().getFile()));
+            }
+        }
+    }
+
+    /**
+     * Méthode fermant le programme. La fenêtre est fermée immédiatement, mais le programme ne s'arrête qu'une fois
+     * les sauvegardes en cours terminées
+     */
+    public void exit() {
+        this.autosaveTimer.stop();
+        this.graphs.clear();
+        this.window.setVisible(false);
+        this.saveService.shutdown(new Runnable() {
+            @Override
+            public void run() {
+                Controller.this.window.dispose();
+                System.exit(0);
+            }
+        });
+    }
+
     /**
      * Méthode permettant de charger un {@link javax.swing.JOptionPane} pour demander à l'utilisateur le thème
      * qu'il souhaite avoir sur sa fenêtre
@@ -562,20 +641,33 @@ public class Controller {
     }
 
     /**
-     * Méthode de génération d'éléments dans un graphe. On prend le graphe courant et on lui génère X vertices.
+     * Méthode de génération d'éléments dans un graphe. On prend le graphe courant et on lui génère X vertices,
+     * reliés selon le modèle de graphe aléatoire choisi. La même graine redonne le même graphe.
      */
     public void generateGraphElements() {
         if(this.window.getTabCount() < 1 ) { // Si aucune Feuille de dessin n'est ouverte
             JOptionPane.showMessageDialog(null, "Vous devez d'abord ouvrir un graphe.", "Erreur", JOptionPane.ERROR_MESSAGE);
         } else {
-            String result = (String) JOptionPane.showInputDialog(this.window, "Entrez le nombre de noeuds que vous souhaitez générer : ", "Génération d'éléments", JOptionPane.QUESTION_MESSAGE, null, null, "50");
-            if (result != null) {
+            JComboBox<String> model = new JComboBox<>(GENERATION_MODELS);
+            JTextField        count = new JTextField("50");
+            JTextField        seed  = new JTextField(String.valueOf(new Random().nextInt(Integer.MAX_VALUE)));
+            JPanel            panel = new JPanel(new GridLayout(3, 2, 5, 5));
+            panel.add(new JLabel("Modèle : "));
+            panel.add(model);
+            panel.add(new JLabel("Nombre de noeuds : "));
+            panel.add(count);
+            panel.add(new JLabel("Graine : "));
+            panel.add(seed);
+
+            int result = JOptionPane.showConfirmDialog(this.window, panel, "Génération d'éléments", JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+            if (result == JOptionPane.OK_OPTION) {
                 try {
-                    if (Integer.parseInt(result) < 0) {
+                    if (Integer.parseInt(count.getText()) < 0) {
                         throw new Exception();
                     } else {
                         //On commence la génération
-                        GenerationThread generationThread = new GenerationThread(this, Integer.parseInt(result));
+                        GraphGenerator   generator        = createGenerator(model.getSelectedIndex(), Integer.parseInt(count.getText()), Long.parseLong(seed.getText()));
+                        GenerationThread generationThread = new GenerationThread(this, generator);
 
                         this.getGraph(this.window.getCurrentTabIndex()).addGraphElements(generationThread.getElements());
                         this.window.getCurrentTab().getUndoRedo().registerAddEdit(generationThread.getElements());
@@ -593,6 +685,36 @@ public class Controller {
 
     }
 
+    /**
+     * Méthode créant le générateur d'un modèle de graphe aléatoire, avec des paramètres par défaut
+     * donnant quelques Edge par Vertex, dans la zone de la feuille de dessin courante
+     * @param model l'indice du modèle dans GENERATION_MODELS
+     * @param count le nombre de Vertex
+     * @param seed la graine
+     * @return le générateur
+     */
+    private GraphGenerator createGenerator(int model, int count, long seed) {
+        Dimension size = this.window.getCurrentSheet().getMaximumSize();
+        if (model == 2 && count < 2) { // pas d'attachement préférentiel sans au moins deux Vertex
+            model = 0;
+        }
+        switch (model) {
+            case 1:
+                return new ErdosRenyiGenerator(count, ErdosRenyiGenerator.probabilityFor(count, 4), seed, size.width, size.height);
+            case 2:
+                return new BarabasiAlbertGenerator(count, Math.max(1, Math.min(2, count - 1)), seed, size.width, size.height);
+            case 3:
+                return new WattsStrogatzGenerator(count, Math.max(0, Math.min(4, count - 1)) & ~1, 0.1, seed, size.width, size.height);
+            case 4:
+                int columns = (int) Math.ceil(Math.sqrt(count));
+                return new GridGenerator(columns == 0 ? 0 : (count + columns - 1) / columns, columns, size.width, size.height);
+            case 5:
+                return new RandomGeometricGenerator(count, RandomGeometricGenerator.radiusFor(count, 6, size.width, size.height), seed, size.width, size.height);
+            default:
+                return new ErdosRenyiGenerator(count, 0, seed, size.width, size.height);
+        }
+    }
+
     /**
      * Main du logiciel de visualisation de graphes
      *
@@ -0,0 +1,110 @@
+package controller.listeners;
+
+import controller.ActionController;
+import controller.Controller;
+import data.Graph;
+import view.editor.Tab;
+import view.editor.elements.ElementView;
+import view.editor.elements.VertexView;
+
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * {@link java.awt.event.MouseListener} unique d'une {@link view.editor.display.Sheet}. Les ElementView n'étant pas des composants Swing,
+ * c'est lui qui retrouve l'ElementView sous la souris grâce à l'index spatial de la Sheet, et transmet l'événement à l'état courant
+ * du Controller comme s'il avait été reçu par cet ElementView :
+ * - les événements qui suivent une pression (drag, relâchement, clic) vont à l'élément sur lequel la souris a été pressée
+ * - les VertexView reçoivent aussi l'entrée et la sortie de la souris, les EdgeView uniquement les pressions et les clics
+ */
+public class SheetMouseListener extends MouseAdapter {
+
+    private Controller  controller;
+    private Tab         tab;
+    private Graph       graph;
+    /* L'ElementView sur lequel la souris a été pressée, null si c'est sur la feuille de dessin */
+    private ElementView pressedElement;
+    /* Le VertexView sous la souris */
+    private VertexView  hoveredVertex;
+
+    /**
+     * Constructeur de la classe SheetMouseListener
+     * @param controller le Controller de l'application
+     * @param tab le Tab contenant la Sheet écoutée
+     * @param graph le Graph affiché par la Sheet
+     */
+    public SheetMouseListener(Controller controller, Tab tab, Graph graph) {
+        this.controller = controller;
+        this.tab        = tab;
+        this.graph      = graph;
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {
+        this.pressedElement = this.tab.getSheet().getElementAt(e.getPoint());
+        if (this.pressedElement == null) {
+            this.controller.getState().pressed(this.tab, this.graph, e);
+        } else {
+            this.controller.getState().pressed(this.pressedElement, e);
+        }
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        if (this.pressedElement == null) {
+            this.controller.getState().released(this.tab, this.graph, e);
+        } else if (this.pressedElement.isVertexView()) {
+            this.controller.getState().released(this.pressedElement, e);
+        }
+    }
+
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        if (this.pressedElement == null) {
+            this.controller.getState().click(this.tab, this.graph, e);
+        } else {
+            this.controller.getState().click(this.pressedElement, e);
+        }
+    }
+
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        updateHoveredVertex(e);
+        if (this.pressedElement == null) {
+            this.controller.getState().drag(this.tab, this.graph, e);
+        } else if (this.pressedElement.isVertexView()) {
+            this.controller.getState().drag((VertexView) this.pressedElement, e);
+        }
+    }
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        ActionController.setMousePosition(e.getPoint());
+        updateHoveredVertex(e);
+    }
+
+    @Override
+    public void mouseExited(MouseEvent e) {
+        if (this.hoveredVertex != null) {
+            this.controller.getState().mouseExited(this.hoveredVertex, e);
+            this.hoveredVertex = null;
+        }
+    }
+
+    /**
+     * Méthode signalant à l'état courant l'entrée et la sortie de la souris sur les VertexView
+     * @param e l'événement souris
+     */
+    private void updateHoveredVertex(MouseEvent e) {
+        VertexView vertex = this.tab.getSheet().getVertexAt(e.getPoint());
+        if (vertex != this.hoveredVertex) {
+            if (this.hoveredVertex != null) {
+                this.controller.getState().mouseExited(this.hoveredVertex, e);
+            }
+            this.hoveredVertex = vertex;
+            if (vertex != null) {
+                this.controller.getState().mouseEntered(vertex, e);
+            }
+        }
+    }
+}
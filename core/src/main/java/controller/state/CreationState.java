@@ -78,7 +78,7 @@ public class CreationState extends State {
 		if (e.getButton() == MouseEvent.BUTTON3) { // Clic droit sur un ElementView
 			this.controller.notifyHandleElement(element);
             HashMap<String, String> menus = new HashMap<String, String>(){{put("Edit", "Editer");}{put("Delete", "Supprimer");}{put("Copy", "Copier");}{put("Paste", "Coller");}};
-			initNewPopupMenu(menus, e.getPoint()).show(element, e.getX(), e.getY());
+			initNewPopupMenu(menus, e.getPoint()).show(e.getComponent(), e.getX(), e.getY());
 		}
 	}
 
@@ -66,7 +66,7 @@ public class SelectionState extends State {
 			this.controller.notifyHandleElement(element);
 			//Création du menu contextuel avec Edit et Delete comme options.
             HashMap<String, String> menus = new HashMap<String, String>(){{put("Edit", "Editer");}{put("Delete", "Supprimer");}{put("Copy", "Copier");}{put("Paste", "Coller");}};
-            initNewPopupMenu(menus, e.getPoint()).show(element, e.getX(), e.getY());
+            initNewPopupMenu(menus, e.getPoint()).show(e.getComponent(), e.getX(), e.getY());
 		}
 	}
 
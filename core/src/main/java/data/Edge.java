@@ -44,6 +44,24 @@ public class Edge extends GraphElement {
         destination.addEdge(this);
     }
 
+    /**
+     * Constructeur de la classe Edge avec un id donné
+     * @param id l'id de l'Edge
+     * @param label l'étiquette de l'Edge
+     * @param color la couleur de l'Edge
+     * @param origin le Vertex d'origine de l'Edge
+     * @param destination le Vertex de destination de l'Edge
+     * @param thickness l'épaisseur de l'Edge
+     */
+    public Edge(int id, String label, Color color, Vertex origin, Vertex destination, int thickness) {
+        super(id, label, color);
+        this.origin      = origin;
+        this.destination = destination;
+        this.thickness   = thickness;
+        origin.addEdge(this);
+        destination.addEdge(this);
+    }
+
     public Edge(Edge element) {
         super(element);
         this.origin = element.origin;
@@ -66,10 +84,14 @@ public class Edge extends GraphElement {
      * @param origin le nouveau Vertex d'origine
      */
     public void setOrigin(Vertex origin) {
-
-        this.origin.getEdges().remove(this);
+        this.changing();
+        //L'Edge est retiré puis remis dans ses deux Vertex, pour qu'ils mettent à jour leurs voisins
+        this.origin.removeEdge(this);
+        this.destination.removeEdge(this);
         this.origin = origin;
-        origin.addEdge(this);
+        this.origin.addEdge(this);
+        this.destination.addEdge(this);
+        this.changed();
     }
 
     /**
@@ -85,10 +107,14 @@ public class Edge extends GraphElement {
      * @param destination le nouveau Vertex de destination
      */
     public void setDestination(Vertex destination) {
-
-        this.destination.getEdges().remove(this);
+        this.changing();
+        //L'Edge est retiré puis remis dans ses deux Vertex, pour qu'ils mettent à jour leurs voisins
+        this.origin.removeEdge(this);
+        this.destination.removeEdge(this);
         this.destination = destination;
-        destination.addEdge(this);
+        this.origin.addEdge(this);
+        this.destination.addEdge(this);
+        this.changed();
     }
 
     /**
@@ -104,7 +130,9 @@ public class Edge extends GraphElement {
      * @param thickness la nouvelle épaisseur de l'Edge
      */
     public void setThickness(int thickness) {
+        this.changing();
     	this.thickness = thickness;
+        this.changed();
     }
 
     /**
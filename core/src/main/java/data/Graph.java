@@ -2,6 +2,14 @@ package data;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Classe Graph. Gère les interactions entres les {@link data.Edge} et les {@link data.Vertex}
@@ -9,13 +17,52 @@ import java.util.ArrayList;
 public class Graph extends Observable {
 
     private ArrayList<GraphElement> elements;
+    private IDMap<GraphElement>     index;//Index des GraphElement par ID, tenu à jour avec la liste des éléments
+    private IdAllocator             ids;//Distribue les ID des GraphElement du Graph
+    private ArrayList<Vertex>       vertices;//Les Vertex du Graph, dans leur ordre d'ajout
+    private ArrayList<Edge>         edges;//Les Edge du Graph, dans leur ordre d'ajout
     private String                  name;
 
+    /* Ordre dans lequel les modifications en attente sont transmises aux Observer */
+    private static final GraphEvent.Type[] FLUSH_ORDER = { GraphEvent.Type.REMOVED, GraphEvent.Type.ADDED, GraphEvent.Type.MOVED, GraphEvent.Type.PROPERTY_CHANGED };
+
+    private int[][]                 pendingIDs;//ID des GraphElement modifiés depuis la dernière notification, par type de modification
+    private int[]                   pendingCounts;//Nombre d'ID en attente, par type de modification
+    private boolean                 refreshAll;//Si les Observer doivent tout reconstruire à la prochaine notification
+    private int                     pendingTotal;//Nombre total d'ID en attente
+    private boolean                 recorded;//Si des modifications ont été retenues depuis le dernier setChanged()
+    private boolean                 changed;//Si setChanged() a été appelée depuis la dernière notification
+    private ArrayList<GraphElement> pendingElements;//Copie des GraphElement transmise aux Observer par une reconstruction complète différée
+    private final Object            pendingLock = new Object();//Protège les modifications en attente, retenues depuis n'importe quel thread
+    private volatile long           modificationCount;//Nombre d'appels à setChanged() depuis la création du Graph
+
+    /* Au-delà de ce nombre d'ID en attente, les Observer reconstruisent tout plutôt que de traiter chaque modification */
+    private static final int MAX_PENDING_IDS = 1 << 16;
+
+    private Executor                notifier;//Exécute les notifications différées, null pour prévenir les Observer immédiatement
+    private final AtomicBoolean     flushScheduled = new AtomicBoolean();//Si une notification a déjà été confiée au notifier
+    private final Runnable          flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            flush();
+        }
+    };
+
+    private final List<GraphSnapshot> snapshots = new CopyOnWriteArrayList<>();//Les copies du Graph en cours de lecture
+
     /**
      * Constructeur de la classe Graph
      */
     public Graph() {
         this.elements = new ArrayList<GraphElement>();
+        this.index    = new IDMap<GraphElement>();
+        this.ids      = new IdAllocator();
+        this.vertices = new ArrayList<Vertex>();
+        this.edges    = new ArrayList<Edge>();
+        this.pendingIDs    = new int[GraphEvent.Type.values().length][];
+        this.pendingCounts = new int[GraphEvent.Type.values().length];
+        this.refreshAll    = false;
     }
 
     /**
@@ -31,15 +78,43 @@ public class Graph extends Observable {
      * @param elements la nouvelle liste de GraphElement
      */
     public void setGraphElements(ArrayList<GraphElement> elements) {
+        for (GraphElement element : this.elements) {
+            element.graph = null;
+        }
         this.elements = elements;
+        this.index    = new IDMap<GraphElement>(elements.size());
+        this.vertices.clear();
+        this.edges.clear();
+        synchronized (this.pendingLock) {
+            this.refreshAll = true;
+        }
+        for (GraphElement element : elements) {
+            this.index(element);
+        }
     }
     
     /**
-     * Méthode permettant d'ajouter une liste de GraphElement au Graph
+     * Méthode permettant d'ajouter une liste de GraphElement au Graph. Toutes les structures du Graph sont agrandies
+     * une seule fois avant l'ajout ; pour créer beaucoup d'éléments, voir {@link data.GraphBuilder}
      * @param elements la liste de GraphElement à ajouter
      */
     public void addGraphElements(ArrayList<GraphElement> elements) {
+        int vertexCount = 0;
+        for (GraphElement element : elements) {
+            if (element.isVertex()) {
+                vertexCount++;
+            }
+        }
+        this.elements.ensureCapacity(this.elements.size() + elements.size());
+        this.vertices.ensureCapacity(this.vertices.size() + vertexCount);
+        this.edges.ensureCapacity(this.edges.size() + elements.size() - vertexCount);
+        this.index.ensureCapacity(this.elements.size() + elements.size());
+        this.expect(elements.size());
+
     	this.elements.addAll(elements);
+        for (GraphElement element : elements) {
+            this.index(element);
+        }
     }
     
     /**
@@ -60,16 +135,30 @@ public class Graph extends Observable {
     		}
     	}
     	// on ajoute les edges une fois que tous les sommets on été ajoutés dans la liste des nouveaux GraphElement
+    	IdentityHashMap<GraphElement, Integer> positions = positionsOf(elements);
     	for (int i = 0 ; i < elements.size() ; i++) {
     		if (!elements.get(i).isVertex()) {
-    			int origin      = elements.indexOf(((Edge)elements.get(i)).getOrigin());
-    			int destination = elements.indexOf(((Edge)elements.get(i)).getDestination());
+    			int origin      = positions.get(((Edge)elements.get(i)).getOrigin());
+    			int destination = positions.get(((Edge)elements.get(i)).getDestination());
     			new_elements.set(i, new Edge(elements.get(i). getLabel(), elements.get(i).getColor(), (Vertex)new_elements.get(origin), (Vertex)new_elements.get(destination), ((Edge)elements.get(i)).getThickness()));
     		}
     	}
     	return new_elements;
     }
 
+    /**
+     * Méthode associant chaque GraphElement d'une liste à sa position dans celle-ci, pour ne pas la parcourir à chaque Edge copiée
+     * @param elements la liste des GraphElement
+     * @return la position de chaque GraphElement
+     */
+    private static IdentityHashMap<GraphElement, Integer> positionsOf(List<GraphElement> elements) {
+        IdentityHashMap<GraphElement, Integer> positions = new IdentityHashMap<>(elements.size());
+        for (int i = 0 ; i < elements.size() ; i++) {
+            positions.put(elements.get(i), i);
+        }
+        return positions;
+    }
+
     public static Point findBestCopyPoint(ArrayList<GraphElement> elements){
 
         Point bestPoint = new Point(2000,2000);
@@ -143,10 +232,11 @@ public class Graph extends Observable {
     		}
     	}
     	// on ajoute les edges une fois que tous les sommets on été ajoutés dans la liste des nouveaux GraphElement
+    	IdentityHashMap<GraphElement, Integer> positions = positionsOf(elements);
     	for (int i = 0 ; i < elements.size() ; i++) {
     		if (!elements.get(i).isVertex()) {
-    			int origin      = elements.indexOf(((Edge)elements.get(i)).getOrigin());
-    			int destination = elements.indexOf(((Edge)elements.get(i)).getDestination());
+    			int origin      = positions.get(((Edge)elements.get(i)).getOrigin());
+    			int destination = positions.get(((Edge)elements.get(i)).getDestination());
     			new_elements.set(i, new Edge(elements.get(i). getLabel(), elements.get(i).getColor(), (Vertex)new_elements.get(origin), (Vertex)new_elements.get(destination), ((Edge)elements.get(i)).getThickness()));
     		}
     	}
@@ -154,31 +244,51 @@ public class Graph extends Observable {
     }
 
     /**
-     * Getter de la liste des Edge du Graph
+     * Getter de la liste des Edge du Graph. Comme pour {@link #getGraphElements()}, la liste renvoyée est celle du Graph,
+     * toujours à jour et qui n'est pas recréée à chaque appel : elle ne doit pas être modifiée, il faut passer par les
+     * méthodes du Graph
      * @return la liste des Edge
      */
     public ArrayList<Edge> getEdges() {
-    	ArrayList<Edge> edges = new ArrayList<Edge>();
-    	for(GraphElement element : this.elements) {
-    		if (!element.isVertex()) {
-    			edges.add((Edge) element);
-    		}
-    	}
-        return edges;
+        return this.edges;
     }
 
     /**
-     * Getter de la liste des Vertex du Graph
+     * Getter de la liste des Vertex du Graph. Comme pour {@link #getGraphElements()}, la liste renvoyée est celle du Graph,
+     * toujours à jour et qui n'est pas recréée à chaque appel : elle ne doit pas être modifiée, il faut passer par les
+     * méthodes du Graph
      * @return la liste des Vertex
      */
     public ArrayList<Vertex> getVertexes() {
-    	ArrayList<Vertex> vertexes = new ArrayList<Vertex>();
-    	for(GraphElement element : this.elements) {
-    		if (element.isVertex()) {
-    			vertexes.add((Vertex) element);
-    		}
-    	}
-        return vertexes;
+        return this.vertices;
+    }
+
+    /**
+     * Méthode pour récupérer la position d'un Vertex dans la liste {@link #getVertexes()}.
+     * Cette position ne change que lorsqu'un Vertex placé avant lui est supprimé
+     * @param vertex le Vertex
+     * @return sa position, -1 s'il n'appartient pas au Graph
+     */
+    public int getVertexIndex(Vertex vertex) {
+        return rankIn(this.vertices, vertex);
+    }
+
+    /**
+     * Méthode pour récupérer la position d'un Edge dans la liste {@link #getEdges()}.
+     * Cette position ne change que lorsqu'un Edge placé avant lui est supprimé
+     * @param edge l'Edge
+     * @return sa position, -1 s'il n'appartient pas au Graph
+     */
+    public int getEdgeIndex(Edge edge) {
+        return rankIn(this.edges, edge);
+    }
+
+    /**
+     * Getter de l'allocateur des ID du Graph, permet de réserver un bloc d'ID pour créer de nombreux GraphElement
+     * @return l'allocateur des ID
+     */
+    public IdAllocator getIdAllocator() {
+        return this.ids;
     }
 
     /**
@@ -206,8 +316,8 @@ public class Graph extends Observable {
 	 * @return vertex copie du vertex destinée au UndoPanel
      */
 	public Vertex createVertex(Color color, Point position, int size, Vertex.Shape shape) {
-		Vertex vertex = new Vertex(color, position, size, shape);
-		this.elements.add(vertex);
+		Vertex vertex = new Vertex(this.ids.next(), "node", color, position, size, shape);
+		this.register(vertex);
 		return vertex;
 	}
     /**
@@ -219,8 +329,8 @@ public class Graph extends Observable {
 	 * @return edge copie du vertex destinée au UndoPanel
      */
     public Edge createEdge(Color color, Vertex origin, Vertex destination, int thickness) {
-    	Edge edge = new Edge(color, origin, destination, thickness);
-        this.elements.add(edge);
+    	Edge edge = new Edge(this.ids.next(), "edge", color, origin, destination, thickness);
+        this.register(edge);
 		return edge;
     }
 
@@ -255,11 +365,25 @@ public class Graph extends Observable {
     	if (element.isVertex()) {
             //On utilise un endroit temporaire où l'on stocke les Edges à supprimer dans les Vertices pour
             //eviter les accès concurrents lors de la lecture dans les edges du vertex
-            ArrayList<Edge> toClear = new ArrayList<>();
-
-    		for(Edge e : ((Vertex) element).getEdges()){
-                toClear.add(e);
-                this.elements.remove(e);
+            ArrayList<Edge> toClear = new ArrayList<>(((Vertex) element).getEdges());
+
+            if (!toClear.isEmpty()) {
+                //Les Edge sont retirés des listes en un seul parcours plutôt qu'un par Edge
+                Set<GraphElement> removed = Collections.newSetFromMap(new IdentityHashMap<GraphElement, Boolean>());
+                for (Edge e : toClear) {
+                    if (this.index.get(e.getID()) == e) {
+                        this.index.remove(e.getID());
+                        this.record(GraphEvent.Type.REMOVED, e.getID());
+                    }
+                    removed.add(e);
+                }
+                this.elements.removeAll(removed);
+                this.edges.removeAll(removed);
+                for (Edge e : toClear) {
+                    e.rank  = -1;
+                    e.graph = null;
+                }
+                renumber(this.edges, 0);
             }
             for(Edge e : toClear){
                 clearLinkedVertices(e);
@@ -268,7 +392,7 @@ public class Graph extends Observable {
     	}else{
             clearLinkedVertices((Edge) element);
         }
-        this.elements.remove(element);
+        this.unregister(element);
     }
 
     /**
@@ -276,16 +400,8 @@ public class Graph extends Observable {
      * @param e L'edge à supprimer des Vertices d'origine et de destination
      */
     public void clearLinkedVertices(Edge e){
-        
-        int originPosition = e.getDestination().getEdges().indexOf(e);
-        int destinationPosition = e.getOrigin().getEdges().indexOf(e);
-        
-        if(originPosition != -1){
-            e.getDestination().getEdges().remove(originPosition);
-        }
-        if(destinationPosition != -1){
-            e.getOrigin().getEdges().remove(destinationPosition);
-        }
+        e.getDestination().removeEdge(e);
+        e.getOrigin().removeEdge(e);
     }
 
 	/**
@@ -294,19 +410,287 @@ public class Graph extends Observable {
 	 */
 	public void createGraphElement(GraphElement element) {
 
-		this.elements.add(element);
+		this.register(element);
 	}
 
+    /**
+     * Méthode ajoutant un GraphElement à la liste des éléments et à l'index des ID
+     * @param element le GraphElement à ajouter
+     */
+    private void register(GraphElement element) {
+        this.elements.add(element);
+        this.index(element);
+    }
+
+    /**
+     * Méthode ajoutant un GraphElement, déjà présent dans la liste des éléments, à l'index des ID
+     * et à la liste des Vertex ou des Edge
+     * @param element le GraphElement à indexer
+     */
+    private void index(GraphElement element) {
+        GraphElement existing = this.index.get(element.getID());
+        if (existing != null && existing != element) {
+            //Élément créé hors du Graph dont l'ID est déjà pris : on lui en donne un nouveau
+            element.setID(this.ids.next());
+        } else {
+            this.ids.advanceTo(element.getID());
+        }
+        this.index.put(element.getID(), element);
+        this.record(GraphEvent.Type.ADDED, element.getID());
+        element.graph = this;
+        if (element.isVertex()) {
+            element.rank = this.vertices.size();
+            this.vertices.add((Vertex) element);
+        } else {
+            element.rank = this.edges.size();
+            this.edges.add((Edge) element);
+        }
+    }
+
+    /**
+     * Méthode retirant un GraphElement de la liste des éléments, de l'index des ID et de la liste des Vertex ou des Edge
+     * @param element le GraphElement à retirer
+     */
+    private void unregister(GraphElement element) {
+        if (this.elements.remove(element)) {
+            if (this.index.get(element.getID()) == element) {
+                this.index.remove(element.getID());
+            }
+            this.record(GraphEvent.Type.REMOVED, element.getID());
+            List<? extends GraphElement> list = element.isVertex() ? this.vertices : this.edges;
+            int rank = rankIn(list, element);
+            if (rank != -1) {
+                list.remove(rank);
+                renumber(list, rank);
+                element.rank = -1;
+            }
+            element.graph = null;
+        }
+    }
+
+    /**
+     * Méthode renvoyant la position d'un GraphElement dans une liste du Graph, en O(1) dans le cas général
+     * @param list la liste des Vertex ou des Edge
+     * @param element le GraphElement
+     * @return sa position, -1 s'il n'est pas dans la liste
+     */
+    private static int rankIn(List<? extends GraphElement> list, GraphElement element) {
+        int rank = element.rank;
+        if (rank >= 0 && rank < list.size() && list.get(rank) == element) {
+            return rank;
+        }
+        //Cas d'un élément partagé entre plusieurs Graph : sa position mémorisée est celle d'un autre Graph
+        return list.indexOf(element);
+    }
+
+    /**
+     * Méthode mettant à jour la position mémorisée des GraphElement d'une liste à partir d'un certain rang
+     * @param list la liste des Vertex ou des Edge
+     * @param from le premier rang à mettre à jour
+     */
+    private static void renumber(List<? extends GraphElement> list, int from) {
+        for (int i = from; i < list.size(); i++) {
+            list.get(i).rank = i;
+        }
+    }
+
+
+    /**
+     * Méthode signalant qu'un Vertex a été déplacé sans passer par le Graph, pour la prochaine notification des Observer.
+     * Les setters des Vertex du Graph l'appellent eux-mêmes
+     * @param vertex le Vertex déplacé
+     */
+    public void markMoved(Vertex vertex) {
+        this.record(GraphEvent.Type.MOVED, vertex.getID());
+    }
+
+    /**
+     * Méthode signalant que les propriétés d'un GraphElement ont été modifiées sans passer par le Graph,
+     * pour la prochaine notification des Observer. Les setters des GraphElement du Graph l'appellent eux-mêmes
+     * @param element le GraphElement modifié
+     */
+    public void markChanged(GraphElement element) {
+        this.record(GraphEvent.Type.PROPERTY_CHANGED, element.getID());
+    }
+
+    /**
+     * Méthode mémorisant l'ID d'un GraphElement modifié jusqu'à la prochaine notification des Observer
+     * @param type le type de modification
+     * @param id l'ID du GraphElement
+     */
+    private void record(GraphEvent.Type type, int id) {
+        synchronized (this.pendingLock) {
+            //Sans Observer, ou si tout doit être reconstruit, il est inutile de retenir le détail des modifications
+            if (this.refreshAll || !this.hasObservers()) {
+                return;
+            }
+            if (this.pendingTotal == MAX_PENDING_IDS) {
+                this.refreshAll = true;
+                this.clearPending();
+                return;
+            }
+            int t = type.ordinal();
+            //Plusieurs setters appelés à la suite sur le même GraphElement ne le retiennent qu'une fois
+            if (this.pendingCounts[t] > 0 && this.pendingIDs[t][this.pendingCounts[t] - 1] == id) {
+                this.recorded = true;
+                return;
+            }
+            if (this.pendingIDs[t] == null) {
+                this.pendingIDs[t] = new int[16];
+            } else if (this.pendingCounts[t] == this.pendingIDs[t].length) {
+                this.pendingIDs[t] = Arrays.copyOf(this.pendingIDs[t], this.pendingCounts[t] * 2);
+            }
+            this.pendingIDs[t][this.pendingCounts[t]++] = id;
+            this.pendingTotal++;
+            this.recorded = true;
+        }
+    }
+
+    /**
+     * Méthode prévenant qu'un nombre donné de modifications va être retenu : si elles ne tiennent pas dans les ID en attente,
+     * les Observer devront tout reconstruire, et le détail n'est pas retenu du tout plutôt que jusqu'au dépassement
+     * @param count le nombre de modifications à venir
+     */
+    private void expect(int count) {
+        synchronized (this.pendingLock) {
+            if (!this.refreshAll && this.pendingTotal + count > MAX_PENDING_IDS && this.hasObservers()) {
+                this.refreshAll = true;
+                this.clearPending();
+            }
+        }
+    }
+
+    /**
+     * Méthode vidant les modifications en attente, à appeler en détenant pendingLock
+     */
+    private void clearPending() {
+        Arrays.fill(this.pendingCounts, 0);
+        Arrays.fill(this.pendingIDs, null);
+        this.pendingTotal = 0;
+    }
+
+    /**
+     * Setter de l'Executor chargé des notifications. Avec un Executor, les appels successifs à {@link #setChanged()}
+     * sont regroupés en une seule notification, exécutée par celui-ci ; sans (null, par défaut), les Observer sont prévenus
+     * immédiatement, dans le thread appelant
+     * @param notifier l'Executor, par exemple un {@link threading.NotificationDispatcher} pour notifier sur l'EDT
+     */
+    public void setNotificationExecutor(Executor notifier) {
+        this.notifier = notifier;
+    }
 
 	/**
+     * Méthode prévenant les Observer des modifications du Graph. Les modifications faites par le Graph ou signalées
+     * par {@link #markMoved(Vertex)} et {@link #markChanged(GraphElement)} sont transmises sous forme de {@link data.GraphEvent} ;
+     * si aucune n'a été retenue depuis le dernier appel, les Observer recevront la liste de tous les GraphElement et reconstruiront tout.
+     * Une notification différée reçoit une copie de cette liste, faite ici sur le thread qui modifie le Graph.
+     * La notification est immédiate, ou confiée à l'Executor de notification s'il y en a un (voir {@link #setNotificationExecutor(Executor)})
      * (non-Javadoc)
      * @see data.Observable#setChanged()
      */
 	@Override
 	public void setChanged() {
-		this.notifyObservers(this.elements);
+        synchronized (this.pendingLock) {
+            //Des modifications n'ont pas été signalées : elles ne seraient pas couvertes par les GraphEvent
+            if (!this.recorded) {
+                this.refreshAll = true;
+                this.clearPending();
+            }
+            //Une notification différée est exécutée sur un autre thread, pendant que celui-ci continue de modifier la liste
+            if (this.refreshAll && this.notifier != null && this.hasObservers()) {
+                this.pendingElements = new ArrayList<>(this.elements);
+            }
+            this.recorded = false;
+            this.changed  = true;
+            this.modificationCount++;
+        }
+        if (this.notifier == null) {
+            this.flush();
+        } else if (this.flushScheduled.compareAndSet(false, true)) {
+            this.notifier.execute(this.flushTask);
+        }
 	}
 
+    /**
+     * Méthode créant une copie sur écriture du Graph, à lire depuis un autre thread pendant que le Graph continue d'être
+     * modifié (voir {@link data.GraphSnapshot}). Doit être appelée sur le thread qui modifie le Graph ; seules les listes
+     * des Vertex et des Edge sont copiées
+     * @return la copie, à libérer une fois lue
+     */
+    public GraphSnapshot snapshot() {
+        GraphSnapshot snapshot = new GraphSnapshot(this, this.name, this.vertices.toArray(new Vertex[this.vertices.size()]),
+                                                   this.edges.toArray(new Edge[this.edges.size()]));
+        this.snapshots.add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Méthode oubliant une copie du Graph libérée
+     * @param snapshot la copie
+     */
+    void release(GraphSnapshot snapshot) {
+        this.snapshots.remove(snapshot);
+    }
+
+    /**
+     * Méthode gardant l'état d'un GraphElement du Graph dans les copies en cours de lecture, avant sa modification
+     * @param element le GraphElement qui va être modifié
+     */
+    void preserve(GraphElement element) {
+        if (!this.snapshots.isEmpty()) {
+            for (GraphSnapshot snapshot : this.snapshots) {
+                snapshot.preserve(element);
+            }
+        }
+    }
+
+    /**
+     * Getter du nombre de modifications du Graph, augmenté à chaque appel à {@link #setChanged()} : deux valeurs différentes
+     * indiquent que le Graph a été modifié entre temps
+     * @return le nombre de modifications
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Méthode prévenant immédiatement les Observer des modifications en attente, s'il y en a
+     */
+    public void flush() {
+        GraphEvent[] events = new GraphEvent[FLUSH_ORDER.length];
+        int     count = 0;
+        boolean all;
+        ArrayList<GraphElement> elements;
+        //On vide les modifications en attente avant de prévenir les Observer, qui peuvent eux-mêmes modifier le Graph
+        synchronized (this.pendingLock) {
+            if (!this.changed) {
+                return;
+            }
+            all = this.refreshAll;
+            if (!all) {
+                for (GraphEvent.Type type : FLUSH_ORDER) {
+                    int t = type.ordinal();
+                    if (this.pendingCounts[t] > 0) {
+                        events[count++] = new GraphEvent(type, Arrays.copyOf(this.pendingIDs[t], this.pendingCounts[t]));
+                    }
+                }
+            }
+            elements = this.pendingElements != null ? this.pendingElements : this.elements;
+            this.changed         = false;
+            this.refreshAll      = false;
+            this.pendingElements = null;
+            this.clearPending();
+        }
+
+        if (all || count == 0) {
+		    this.notifyObservers(elements);
+        } else {
+            for (int i = 0; i < count; i++) {
+                this.notifyObservers(events[i]);
+            }
+        }
+    }
+
 	/**
 	 * (non-Javadoc)
 	 * @see data.Observable#getState()
@@ -322,12 +706,7 @@ public class Graph extends Observable {
      * @return Le {@link data.GraphElement} dont l'attribut Value est la value passée en paramètre
      */
     public GraphElement getFromID(int id){
-        for(GraphElement ge : this.elements){
-            if(ge.getID()==id){
-                return ge;
-            }
-        }
-        return null;
+        return this.index.get(id);
     }
 
     /**
@@ -337,15 +716,7 @@ public class Graph extends Observable {
      * @return La présence de l'Edge
      */
     public boolean existsBetweenVertices(Vertex one, Vertex two){
-        for(Edge Oe : one.getEdges()){
-            for(Edge Te : two.getEdges()){
-                if(Oe.equals(Te)){
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return one.isLinkedTo(two);
     }
 
 
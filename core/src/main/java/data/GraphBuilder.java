@@ -0,0 +1,229 @@
+package data;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Classe GraphBuilder, prépare l'ajout d'un grand nombre de {@link data.Vertex} et d'{@link data.Edge} à un {@link data.Graph}.
+ * Les Edge sont décrites par l'indice de leurs Vertex dans le GraphBuilder et ne sont créées qu'à la construction :
+ * le nombre d'Edge de chaque Vertex est alors connu, ses structures sont dimensionnées une fois pour toutes,
+ * et les Edge sont reliées à leurs Vertex en un seul passage. La construction ne touche pas au Graph et peut se faire
+ * sur n'importe quel thread ; l'ajout au Graph se fait ensuite d'un bloc, avec une seule notification des Observer.
+ */
+public class GraphBuilder {
+
+    private Vertex[]  vertices;//Les Vertex, dans leur ordre d'ajout
+    private int       vertexCount;//Le nombre de Vertex ajoutés
+
+    /* Les Edge, décrites colonne par colonne */
+    private int[]     edgeIDs;//L'ID de chaque Edge, NO_ID s'il doit être pris dans l'allocateur partagé
+    private String[]  edgeLabels;
+    private Color[]   edgeColors;
+    private int[]     origins;//L'indice du Vertex d'origine de chaque Edge
+    private int[]     destinations;//L'indice du Vertex de destination de chaque Edge
+    private int[]     thicknesses;
+    private int       edgeCount;//Le nombre d'Edge ajoutées
+
+    private ArrayList<GraphElement> elements;//Les GraphElement construits, null tant que la construction n'a pas eu lieu
+
+    /* ID d'une Edge créée sans ID donné */
+    private static final int NO_ID = -1;
+
+    /**
+     * Constructeur de la classe GraphBuilder
+     * @param vertexCount le nombre de Vertex attendus, pour dimensionner les structures dès leur création
+     * @param edgeCount le nombre d'Edge attendues, pour dimensionner les structures dès leur création
+     */
+    public GraphBuilder(int vertexCount, int edgeCount) {
+        this.vertices     = new Vertex[Math.max(0, vertexCount)];
+        this.edgeIDs      = new int[Math.max(0, edgeCount)];
+        this.edgeLabels   = new String[this.edgeIDs.length];
+        this.edgeColors   = new Color[this.edgeIDs.length];
+        this.origins      = new int[this.edgeIDs.length];
+        this.destinations = new int[this.edgeIDs.length];
+        this.thicknesses  = new int[this.edgeIDs.length];
+    }
+
+    /**
+     * Méthode ajoutant un Vertex, qui ne doit pas encore avoir d'Edge
+     * @param vertex le Vertex
+     * @return son indice dans le GraphBuilder, à utiliser pour lui relier des Edge
+     */
+    public int addVertex(Vertex vertex) {
+        this.checkNotBuilt();
+        if (this.vertexCount == this.vertices.length) {
+            this.vertices = Arrays.copyOf(this.vertices, grow(this.vertices.length));
+        }
+        this.vertices[this.vertexCount] = vertex;
+        return this.vertexCount++;
+    }
+
+    /**
+     * Méthode ajoutant une Edge, dont l'ID sera pris dans l'allocateur partagé par les éléments créés hors d'un Graph
+     * @param label l'étiquette de l'Edge
+     * @param color la couleur de l'Edge
+     * @param origin l'indice du Vertex d'origine
+     * @param destination l'indice du Vertex de destination
+     * @param thickness l'épaisseur de l'Edge
+     * @return son indice dans le GraphBuilder
+     */
+    public int addEdge(String label, Color color, int origin, int destination, int thickness) {
+        return this.addEdge(NO_ID, label, color, origin, destination, thickness);
+    }
+
+    /**
+     * Méthode ajoutant une Edge avec un ID donné
+     * @param id l'ID de l'Edge
+     * @param label l'étiquette de l'Edge
+     * @param color la couleur de l'Edge
+     * @param origin l'indice du Vertex d'origine
+     * @param destination l'indice du Vertex de destination
+     * @param thickness l'épaisseur de l'Edge
+     * @return son indice dans le GraphBuilder
+     */
+    public int addEdge(int id, String label, Color color, int origin, int destination, int thickness) {
+        this.checkNotBuilt();
+        if (origin < 0 || origin >= this.vertexCount || destination < 0 || destination >= this.vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex inconnu : " + origin + " -> " + destination);
+        }
+        if (this.edgeCount == this.edgeIDs.length) {
+            this.ensureEdgeCapacity(grow(this.edgeIDs.length));
+        }
+        int e = this.edgeCount++;
+        this.edgeIDs[e]      = id;
+        this.edgeLabels[e]   = label;
+        this.edgeColors[e]   = color;
+        this.origins[e]      = origin;
+        this.destinations[e] = destination;
+        this.thicknesses[e]  = thickness;
+        return e;
+    }
+
+    /**
+     * Méthode ajoutant les Edge d'un autre GraphBuilder, qui ne doit pas avoir été construit, leurs Vertex étant remplacés
+     * par des Vertex de ce GraphBuilder. Permet de fusionner des GraphBuilder remplis en parallèle
+     * @param source le GraphBuilder dont les Edge sont ajoutées
+     * @param vertexIndexes l'indice dans ce GraphBuilder de chaque Vertex de source
+     */
+    public void addEdges(GraphBuilder source, int[] vertexIndexes) {
+        source.checkNotBuilt();
+        if (this.edgeCount + source.edgeCount > this.edgeIDs.length) {
+            this.ensureEdgeCapacity(Math.max(this.edgeCount + source.edgeCount, grow(this.edgeIDs.length)));
+        }
+        for (int e = 0; e < source.edgeCount; e++) {
+            this.addEdge(source.edgeIDs[e], source.edgeLabels[e], source.edgeColors[e],
+                         vertexIndexes[source.origins[e]], vertexIndexes[source.destinations[e]], source.thicknesses[e]);
+        }
+    }
+
+    /**
+     * Getter d'un Vertex ajouté, par exemple pour compléter ses propriétés avant la construction
+     * @param index l'indice du Vertex
+     * @return le Vertex
+     */
+    public Vertex getVertex(int index) {
+        if (index < 0 || index >= this.vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex inconnu : " + index);
+        }
+        return this.vertices[index];
+    }
+
+    /**
+     * Getter du nombre de Vertex ajoutés
+     * @return le nombre de Vertex
+     */
+    public int getVertexCount() {
+        return this.vertexCount;
+    }
+
+    /**
+     * Getter du nombre d'Edge ajoutées
+     * @return le nombre d'Edge
+     */
+    public int getEdgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Méthode construisant les GraphElement : les Vertex sont dimensionnés selon leur nombre d'Edge, puis les Edge
+     * sont créées et reliées à leurs Vertex. Les appels suivants renvoient la même liste
+     * @return les Vertex suivis des Edge, dans leur ordre d'ajout
+     */
+    public ArrayList<GraphElement> build() {
+        if (this.elements != null) {
+            return this.elements;
+        }
+        int[] degrees = new int[this.vertexCount];
+        for (int e = 0; e < this.edgeCount; e++) {
+            degrees[this.origins[e]]++;
+            if (this.destinations[e] != this.origins[e]) {
+                degrees[this.destinations[e]]++;
+            }
+        }
+
+        ArrayList<GraphElement> elements = new ArrayList<>(this.vertexCount + this.edgeCount);
+        for (int v = 0; v < this.vertexCount; v++) {
+            this.vertices[v].ensureEdgeCapacity(degrees[v]);
+            elements.add(this.vertices[v]);
+        }
+        for (int e = 0; e < this.edgeCount; e++) {
+            Vertex origin      = this.vertices[this.origins[e]];
+            Vertex destination = this.vertices[this.destinations[e]];
+            if (this.edgeIDs[e] == NO_ID) {
+                elements.add(new Edge(this.edgeLabels[e], this.edgeColors[e], origin, destination, this.thicknesses[e]));
+            } else {
+                elements.add(new Edge(this.edgeIDs[e], this.edgeLabels[e], this.edgeColors[e], origin, destination, this.thicknesses[e]));
+            }
+        }
+
+        //Les descriptions des Edge ne servent plus
+        this.edgeLabels = null;
+        this.edgeColors = null;
+        this.elements   = elements;
+        return elements;
+    }
+
+    /**
+     * Méthode ajoutant d'un bloc les GraphElement construits à un Graph, puis prévenant une seule fois ses Observer
+     * @param graph le Graph
+     * @return les GraphElement ajoutés
+     */
+    public ArrayList<GraphElement> addTo(Graph graph) {
+        ArrayList<GraphElement> elements = this.build();
+        graph.addGraphElements(elements);
+        graph.setChanged();
+        return elements;
+    }
+
+    /**
+     * Méthode vérifiant que les GraphElement n'ont pas encore été construits
+     */
+    private void checkNotBuilt() {
+        if (this.elements != null) {
+            throw new IllegalStateException("Les GraphElement ont déjà été construits");
+        }
+    }
+
+    /**
+     * Méthode agrandissant les colonnes des Edge
+     * @param capacity la nouvelle capacité
+     */
+    private void ensureEdgeCapacity(int capacity) {
+        this.edgeIDs      = Arrays.copyOf(this.edgeIDs, capacity);
+        this.edgeLabels   = Arrays.copyOf(this.edgeLabels, capacity);
+        this.edgeColors   = Arrays.copyOf(this.edgeColors, capacity);
+        this.origins      = Arrays.copyOf(this.origins, capacity);
+        this.destinations = Arrays.copyOf(this.destinations, capacity);
+        this.thicknesses  = Arrays.copyOf(this.thicknesses, capacity);
+    }
+
+    /**
+     * Méthode calculant la nouvelle capacité d'un tableau plein
+     * @param capacity la capacité actuelle
+     * @return la nouvelle capacité
+     */
+    private static int grow(int capacity) {
+        return Math.max(16, capacity + (capacity >> 1));
+    }
+}
@@ -8,21 +8,34 @@ import java.util.Objects;
  */
 public abstract class GraphElement {
 
-    private static int CURRENT_ID = 0;
+    private static final IdAllocator DEFAULT_IDS = new IdAllocator();//Identifiants des éléments créés en dehors d'un Graph
 
     private String label;
 	private int    value;
     private int    id;
 	private Color  color;
 
+    int   rank = -1;//Position de l'élément dans la liste des Vertex ou des Edge du Graph qui le contient, tenue à jour par le Graph
+    Graph graph;//Le Graph qui contient l'élément, null s'il n'est dans aucun Graph, tenu à jour par le Graph
+
 	/**
-	 * Constructeur de la classe GraphElement
+	 * Constructeur de la classe GraphElement, l'id est pris dans l'allocateur partagé par les éléments créés hors d'un Graph
 	 * @param label l'étiquette de l'élément
 	 */
 	public GraphElement(String label, Color color) {
-		this(CURRENT_ID);
+		this(DEFAULT_IDS.next(), label, color);
+	}
+
+	/**
+	 * Constructeur de la classe GraphElement
+	 * @param id l'id de l'élément, généralement distribué par l'{@link data.IdAllocator} du Graph
+	 * @param label l'étiquette de l'élément
+	 * @param color la couleur de l'élément
+	 */
+	public GraphElement(int id, String label, Color color) {
+		this(id);
         if(Objects.equals(label, "edge") || Objects.equals(label, "node")){
-            this.label = label+ CURRENT_ID;
+            this.label = label + id;
         }else {
             this.label = label;
         }
@@ -36,7 +49,6 @@ public abstract class GraphElement {
 	public GraphElement(int id) {
 		this.id    = id;
         this.value = 1;
-        CURRENT_ID++;
     }
 
 	/**
@@ -44,7 +56,7 @@ public abstract class GraphElement {
 	 * @param graphElement GraphElement dont on copie les propriétés
 	 */
 	public GraphElement(GraphElement graphElement) {
-        this(CURRENT_ID);
+        this(DEFAULT_IDS.next());
 		this.label = graphElement.label;
 		this.value = graphElement.value;
 		this.color = graphElement.color;
@@ -64,7 +76,9 @@ public abstract class GraphElement {
 	 * @param label la nouvelle étiquette
 	 */
 	public void setLabel(String label) {
+        this.changing();
 		this.label = label;
+        this.changed();
 	}
 	
 	/**
@@ -76,7 +90,7 @@ public abstract class GraphElement {
 	}
 	
 	/**
-	 * Setter de l'id de l'élément
+	 * Setter de l'id de l'élément. L'élément ne doit pas appartenir à un Graph, qui l'indexe par son id
 	 * @param id le nouvel id
 	 */
 	public void setID(int id) {
@@ -96,7 +110,9 @@ public abstract class GraphElement {
      * @param value la nouvelle valeur
      */
     public void setValue(int value) {
+        this.changing();
         this.value = value;
+        this.changed();
     }
 
 	/**
@@ -118,6 +134,28 @@ public abstract class GraphElement {
 	 * @param color la couleur du GraphElement
 	 */
 	public void setColor(Color color){
+        this.changing();
 		this.color = color;
+        this.changed();
 	}
+
+    /**
+     * Méthode prévenant le Graph qui contient l'élément qu'il va être modifié, pour que les copies du Graph en cours de
+     * lecture ({@link data.GraphSnapshot}) gardent son état actuel
+     */
+    void changing() {
+        if (this.graph != null) {
+            this.graph.preserve(this);
+        }
+    }
+
+    /**
+     * Méthode signalant une modification des propriétés de l'élément au Graph qui le contient, pour la prochaine
+     * notification de ses Observer : aucune modification faite par un setter ne peut ainsi leur échapper
+     */
+    void changed() {
+        if (this.graph != null) {
+            this.graph.markChanged(this);
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package data;
+
+/**
+ * Classe GraphEvent, décrit une modification d'un {@link data.Graph} transmise à ses {@link view.editor.display.Observer} :
+ * le type de modification et les ID des {@link data.GraphElement} concernés.
+ * Les observateurs n'ont ainsi à mettre à jour que ce qui a changé, au lieu de tout reconstruire.
+ */
+public class GraphEvent {
+
+    /**
+     * Les différents types de modification
+     */
+    public static enum Type {
+        ADDED,//Des GraphElement ont été ajoutés au Graph
+        REMOVED,//Des GraphElement ont été retirés du Graph
+        MOVED,//Des Vertex ont changé de position
+        PROPERTY_CHANGED//Des GraphElement ont changé d'étiquette, de couleur, de taille, de forme, de valeur ou d'extrémités
+    }
+
+    private final Type  type;//Le type de modification
+    private final int[] ids;//Les ID des GraphElement concernés
+
+    /**
+     * Constructeur de la classe GraphEvent
+     * @param type le type de modification
+     * @param ids les ID des GraphElement concernés
+     */
+    public GraphEvent(Type type, int[] ids) {
+        this.type = type;
+        this.ids  = ids;
+    }
+
+    /**
+     * Getter du type de modification
+     * @return le type de modification
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Getter des ID des GraphElement concernés. Pour un retrait, ils ne sont plus dans le Graph
+     * @return les ID
+     */
+    public int[] getIDs() {
+        return this.ids;
+    }
+}
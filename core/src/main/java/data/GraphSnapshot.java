@@ -0,0 +1,134 @@
+package data;
+
+import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Classe GraphSnapshot, copie sur écriture d'un {@link data.Graph} : elle garde l'état du Graph au moment de sa création,
+ * et peut être lue depuis un autre thread pendant que le Graph continue d'être modifié. Sa création ne copie que les listes
+ * des Vertex et des Edge ; un GraphElement n'est recopié que s'il est modifié avant la libération de la copie, par ses setters,
+ * juste avant sa modification. Les setters et la lecture prennent le verrou de la copie : chaque GraphElement est lu
+ * entièrement avant sa modification, ou remplacé par son état d'origine.
+ * La copie doit être libérée avec {@link #release()} une fois lue, pour que les modifications ne soient plus recopiées.
+ */
+public class GraphSnapshot {
+
+    private final Graph                             graph;//Le Graph copié
+    private final String                            name;//Le nom du Graph
+    private final Vertex[]                          vertices;//Les Vertex du Graph, dans leur ordre
+    private final Edge[]                            edges;//Les Edge du Graph, dans leur ordre
+    private final Map<Vertex, Vertex>               vertexOriginals;//L'état d'origine des Vertex modifiés depuis la création
+    private final Map<Edge, EdgeState>              edgeOriginals;//L'état d'origine des Edge modifiées depuis la création
+
+    /**
+     * Constructeur de la classe GraphSnapshot, voir {@link data.Graph#snapshot()}
+     * @param graph le Graph copié
+     * @param name le nom du Graph
+     * @param vertices les Vertex du Graph
+     * @param edges les Edge du Graph
+     */
+    GraphSnapshot(Graph graph, String name, Vertex[] vertices, Edge[] edges) {
+        this.graph           = graph;
+        this.name            = name;
+        this.vertices        = vertices;
+        this.edges           = edges;
+        this.vertexOriginals = new IdentityHashMap<>();
+        this.edgeOriginals   = new IdentityHashMap<>();
+    }
+
+    /**
+     * Méthode recopiant l'état d'un GraphElement avant sa modification, s'il ne l'a pas déjà été
+     * @param element le GraphElement qui va être modifié
+     */
+    synchronized void preserve(GraphElement element) {
+        if (element.isVertex()) {
+            if (!this.vertexOriginals.containsKey(element)) {
+                this.vertexOriginals.put((Vertex) element, copyOf((Vertex) element));
+            }
+        } else if (!this.edgeOriginals.containsKey(element)) {
+            this.edgeOriginals.put((Edge) element, new EdgeState((Edge) element));
+        }
+    }
+
+    /**
+     * Méthode copiant un Vertex, avec son ID et sans ses Edge
+     * @param vertex le Vertex
+     * @return la copie
+     */
+    private static Vertex copyOf(Vertex vertex) {
+        Vertex copy = new Vertex(vertex.getID(), null, vertex.getColor(), new Point(vertex.getPosition()), vertex.getSize(), vertex.getShape());
+        copy.setLabel(vertex.getLabel());
+        copy.setValue(vertex.getValue());
+        return copy;
+    }
+
+    /**
+     * Getter du nom du Graph
+     * @return le nom
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Méthode recopiant l'état du Graph au moment de la création de la copie. Peut être appelée depuis n'importe quel thread,
+     * le Graph pouvant être modifié en même temps : les Vertex sont recopiés avec leur ID, et les Edge retenues par l'indice
+     * de leurs extrémités
+     * @return les éléments copiés, prêts à être ajoutés à un nouveau Graph
+     */
+    public GraphBuilder copy() {
+        GraphBuilder   builder = new GraphBuilder(this.vertices.length, this.edges.length);
+        IDMap<Integer> indexes = new IDMap<>(this.vertices.length);
+        for (Vertex vertex : this.vertices) {
+            Vertex copy;
+            synchronized (this) {
+                Vertex original = this.vertexOriginals.get(vertex);
+                copy = copyOf(original != null ? original : vertex);
+            }
+            indexes.put(copy.getID(), builder.addVertex(copy));
+        }
+        for (Edge edge : this.edges) {
+            synchronized (this) {
+                EdgeState state = this.edgeOriginals.get(edge);
+                if (state == null) {
+                    state = new EdgeState(edge);
+                }
+                builder.addEdge(edge.getID(), state.label, state.color, indexes.get(state.origin.getID()),
+                                indexes.get(state.destination.getID()), state.thickness);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Méthode libérant la copie : les modifications suivantes du Graph ne sont plus recopiées
+     */
+    public void release() {
+        this.graph.release(this);
+        synchronized (this) {
+            this.vertexOriginals.clear();
+            this.edgeOriginals.clear();
+        }
+    }
+
+    /**
+     * Classe EdgeState, état d'une Edge : contrairement à une copie de l'Edge, il n'est pas relié à ses Vertex
+     */
+    private static class EdgeState {
+
+        private final String label;
+        private final Color  color;
+        private final Vertex origin;
+        private final Vertex destination;
+        private final int    thickness;
+
+        EdgeState(Edge edge) {
+            this.label       = edge.getLabel();
+            this.color       = edge.getColor();
+            this.origin      = edge.getOrigin();
+            this.destination = edge.getDestination();
+            this.thickness   = edge.getThickness();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * Classe IDMap, table de hachage associant un identifiant entier à un objet sans passer par des clés {@link java.lang.Integer}.
+ * Elle utilise un adressage ouvert avec sondage linéaire : les clés et les valeurs sont rangées dans deux tableaux parallèles,
+ * ce qui évite une allocation par entrée et permet des recherches en O(1).
+ * @param <V> le type des valeurs associées aux identifiants
+ */
+public class IDMap<V> {
+
+    private static final int   MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR  = 0.6f;
+
+    private int[]    keys;//Les clés, une case est libre lorsque la valeur associée est nulle
+    private Object[] values;//Les valeurs associées aux clés
+    private int      size;//Le nombre d'entrées de la table
+    private int      mask;//Masque de la capacité (qui est une puissance de 2)
+    private int      threshold;//Nombre d'entrées à partir duquel la table est agrandie
+
+    /**
+     * Constructeur par défaut de la classe IDMap
+     */
+    public IDMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructeur de la classe IDMap
+     * @param expectedSize le nombre d'entrées attendues, pour dimensionner la table dès sa création
+     */
+    public IDMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Méthode pour récupérer la valeur associée à un identifiant
+     * @param key l'identifiant
+     * @return la valeur associée, null si l'identifiant n'est pas présent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = hash(key) & this.mask;
+        while (this.values[slot] != null) {
+            if (this.keys[slot] == key) {
+                return (V) this.values[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Méthode pour savoir si un identifiant est présent dans la table
+     * @param key l'identifiant
+     * @return le résultat sous la forme d'un booléen
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Méthode pour associer une valeur à un identifiant, en remplaçant l'ancienne valeur s'il y en avait une
+     * @param key l'identifiant
+     * @param value la valeur à associer, ne doit pas être nulle
+     * @return l'ancienne valeur associée à l'identifiant, null s'il n'y en avait pas
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("IDMap n'accepte pas de valeur nulle");
+        }
+        int slot = hash(key) & this.mask;
+        while (this.values[slot] != null) {
+            if (this.keys[slot] == key) {
+                V previous = (V) this.values[slot];
+                this.values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot]   = key;
+        this.values[slot] = value;
+        if (++this.size > this.threshold) {
+            rehash(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Méthode pour retirer un identifiant de la table
+     * @param key l'identifiant à retirer
+     * @return la valeur qui lui était associée, null s'il n'était pas présent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = hash(key) & this.mask;
+        while (this.values[slot] != null) {
+            if (this.keys[slot] == key) {
+                V previous = (V) this.values[slot];
+                shiftBack(slot);
+                this.size--;
+                return previous;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Méthode pour s'assurer que la table peut contenir un certain nombre d'entrées sans être agrandie
+     * @param expectedSize le nombre d'entrées attendues
+     */
+    public void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > this.keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    /**
+     * Getter du nombre d'entrées de la table
+     * @return le nombre d'entrées
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Méthode pour savoir si la table est vide
+     * @return le résultat sous la forme d'un booléen
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Méthode pour vider la table, sans réduire sa capacité
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Méthode comblant la case libérée en ramenant les entrées suivantes de la même séquence de sondage
+     * (suppression sans marqueur, pour que les recherches restent courtes)
+     * @param slot la case libérée
+     */
+    private void shiftBack(int slot) {
+        int free = slot;
+        int next = (free + 1) & this.mask;
+        while (this.values[next] != null) {
+            int ideal = hash(this.keys[next]) & this.mask;
+            // l'entrée peut être ramenée si sa case idéale n'est pas entre la case libre et sa position actuelle
+            if (((next - ideal) & this.mask) >= ((next - free) & this.mask)) {
+                this.keys[free]   = this.keys[next];
+                this.values[free] = this.values[next];
+                free = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.values[free] = null;
+    }
+
+    /**
+     * Méthode pour agrandir la table et y replacer toutes les entrées
+     * @param capacity la nouvelle capacité (puissance de 2)
+     */
+    private void rehash(int capacity) {
+        int[]    oldKeys   = this.keys;
+        Object[] oldValues = this.values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & this.mask;
+                while (this.values[slot] != null) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot]   = oldKeys[i];
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Méthode pour allouer les tableaux de la table
+     * @param capacity la capacité (puissance de 2)
+     */
+    private void allocate(int capacity) {
+        this.keys      = new int[capacity];
+        this.values    = new Object[capacity];
+        this.mask      = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Méthode calculant la capacité nécessaire pour contenir un certain nombre d'entrées
+     * @param expectedSize le nombre d'entrées attendues
+     * @return la capacité, une puissance de 2
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Fonction de mélange des bits de l'identifiant : les ID étant souvent consécutifs, on les disperse dans la table
+     * @param key l'identifiant
+     * @return le hash de l'identifiant
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
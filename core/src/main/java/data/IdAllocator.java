@@ -0,0 +1,59 @@
+package data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe IdAllocator, distribue les identifiants des {@link data.GraphElement} sans verrou.
+ * Chaque {@link data.Graph} possède le sien ; les identifiants distribués ne sont jamais réutilisés,
+ * et un bloc d'identifiants consécutifs peut être réservé en une seule opération atomique (générateurs, imports).
+ */
+public class IdAllocator {
+
+    private final AtomicInteger next;//Le prochain identifiant à distribuer
+
+    /**
+     * Constructeur de la classe IdAllocator, le premier identifiant distribué sera 0
+     */
+    public IdAllocator() {
+        this.next = new AtomicInteger();
+    }
+
+    /**
+     * Méthode pour obtenir un nouvel identifiant
+     * @return l'identifiant
+     */
+    public int next() {
+        return this.next.getAndIncrement();
+    }
+
+    /**
+     * Méthode pour réserver un bloc d'identifiants consécutifs
+     * @param count le nombre d'identifiants à réserver
+     * @return le premier identifiant du bloc, les suivants étant first+1 ... first+count-1
+     */
+    public int reserve(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Nombre d'identifiants négatif : " + count);
+        }
+        return this.next.getAndAdd(count);
+    }
+
+    /**
+     * Méthode pour s'assurer qu'un identifiant ne sera plus distribué, par exemple lorsqu'il a été lu dans un fichier
+     * @param id l'identifiant déjà utilisé
+     */
+    public void advanceTo(int id) {
+        int current = this.next.get();
+        while (current <= id && !this.next.compareAndSet(current, id + 1)) {
+            current = this.next.get();
+        }
+    }
+
+    /**
+     * Getter du prochain identifiant qui sera distribué, sans le consommer
+     * @return le prochain identifiant
+     */
+    public int peek() {
+        return this.next.get();
+    }
+}
@@ -1,14 +1,17 @@
 package data;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import view.editor.display.Observer;
 
 /**
- * Classe abstraite Observable, classe qui est observée par des {@link view.editor.display.Observer} et les prévient quand elle est modifiée
+ * Classe abstraite Observable, classe qui est observée par des {@link view.editor.display.Observer} et les prévient quand elle est modifiée.
+ * La liste des Observer peut être lue et modifiée depuis n'importe quel thread : chaque modification la recopie, et les parcours
+ * en cours gardent l'ancienne version
  */
 public abstract class Observable {
-	private ArrayList<Observer> myObservers = new ArrayList<Observer>();
+	private List<Observer> myObservers = new CopyOnWriteArrayList<Observer>();
 	
 	/**
 	 * Méthode pour ajouter un Observer à la classe
@@ -18,6 +21,14 @@ public abstract class Observable {
 		this.myObservers.add(observer);
 	}
 	
+	/**
+	 * Méthode pour retirer un Observer de la classe
+	 * @param observer l'Observer à retirer
+	 */
+	public void removeObserver(Observer observer) {
+		this.myObservers.remove(observer);
+	}
+
 	/**
 	 * Méthode pour prévenir les Observer de la classe qu'elle a été modifiée
 	 * @param object l'objet qui a été modifié
@@ -28,6 +39,24 @@ public abstract class Observable {
 		}
 	}
 	
+	/**
+	 * Méthode pour prévenir les Observer de la classe d'une modification précise
+	 * @param event la modification
+	 */
+	public void notifyObservers(GraphEvent event) {
+		for (Observer observer : this.myObservers) {
+			observer.update(this, event);
+		}
+	}
+
+	/**
+	 * Méthode pour savoir si la classe est observée, utilisable depuis n'importe quel thread
+	 * @return le résultat sous la forme d'un booléen
+	 */
+	protected boolean hasObservers() {
+		return !this.myObservers.isEmpty();
+	}
+	
 	/**
 	 * Méthode appelée lorsque la classe a été modifiée
 	 */
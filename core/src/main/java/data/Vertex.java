@@ -1,17 +1,22 @@
 package data;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 
 /**
  * Classe Vertex, ils peuvent être reliés par des {@link data.Edge}, partie du modèle de l'application
  */
 public class Vertex extends GraphElement {
 
-    private Point           position;
-    private int             size;
-    private Shape           shape;
-    private ArrayList<Edge> edges;
+    private Point                   position;
+    private int                     size;
+    private Shape                   shape;
+    private Edge                    edge;//L'unique Edge du Vertex tant qu'il n'en a qu'une, null sinon
+    private LinkedHashSet<Edge>     edges;//Les Edge du Vertex, dans leur ordre d'ajout, null tant qu'il en a moins de deux
+    private HashMap<Vertex,Integer> neighbours;//Nombre d'Edge reliant le Vertex à chacun de ses voisins, null comme edges
 
     /**
      * les différentes formes disponibles
@@ -66,7 +71,22 @@ public class Vertex extends GraphElement {
         this.position = position;
         this.size     = size;
         this.shape    = shape;
-        this.edges    = new ArrayList<Edge>();
+    }
+
+    /**
+     * Constructeur de la classe Vertex avec un id donné
+     * @param id l'id du Vertex
+     * @param label l'étiquette du Vertex
+     * @param color la couleur du Vertex
+     * @param position la position du Vertex
+     * @param size la taille du Vertex
+     * @param shape la forme du Vertex
+     */
+    public Vertex(int id, String label, Color color, Point position, int size, Shape shape) {
+        super(id, label, color);
+        this.position = position;
+        this.size     = size;
+        this.shape    = shape;
     }
 
     /**
@@ -78,7 +98,6 @@ public class Vertex extends GraphElement {
         this.position = new Point(element.position);
         this.size     = element.size;
         this.shape    = Shape.valueOf(element.shape.name());
-        this.edges    = new ArrayList<Edge>();
     }
 
     /**
@@ -93,39 +112,133 @@ public class Vertex extends GraphElement {
         this.position = position;
         this.size     = size;
         this.shape    = shape;
-        this.edges    = new ArrayList<Edge>();
     }
     
     /**
-     * Méthode pour ajouter un Edge au Vertex
+     * Méthode pour ajouter un Edge au Vertex, en temps constant. Les structures d'adjacence ne sont créées qu'à partir
+     * de la deuxième Edge : un Vertex isolé ou une feuille n'en a pas
      * @param edge le nouvel Edge
      */
     public void addEdge(Edge edge){
-        this.edges.add(edge);
+        if (this.edges == null) {
+            if (this.edge == null) {
+                this.edge = edge;
+                return;
+            }
+            if (this.edge == edge) {
+                return;
+            }
+            this.allocateEdges(4);
+        }
+        if (this.edges.add(edge)) {
+            Vertex neighbour = this.neighbourThrough(edge);
+            Integer count    = this.neighbours.get(neighbour);
+            this.neighbours.put(neighbour, count == null ? 1 : count + 1);
+        }
+    }
+
+    /**
+     * Méthode créant les structures d'adjacence du Vertex, en y plaçant son unique Edge s'il en a une
+     * @param capacity la capacité des structures
+     */
+    private void allocateEdges(int capacity) {
+        this.edges      = new LinkedHashSet<Edge>(capacity);
+        this.neighbours = new HashMap<Vertex,Integer>(capacity);
+        if (this.edge != null) {
+            this.edges.add(this.edge);
+            this.neighbours.put(this.neighbourThrough(this.edge), 1);
+            this.edge = null;
+        }
     }
 
     /**
-     * Méthode pour supprimer un Edge spécifique de la liste des Edge du Vertex
+     * Méthode dimensionnant les structures du Vertex pour un nombre d'Edge donné, afin qu'elles ne soient pas agrandies
+     * au fil des ajouts. Utilisée par le {@link data.GraphBuilder}, qui connaît ce nombre avant de créer les Edge
+     * @param count le nombre d'Edge attendues
+     */
+    void ensureEdgeCapacity(int count) {
+        if (count < 2 || count <= this.getEdges().size()) {
+            return;
+        }
+        int capacity = (int) (count / 0.75f) + 1;
+        if (this.edges == null) {
+            this.allocateEdges(capacity);
+        } else {
+            LinkedHashSet<Edge> edges = new LinkedHashSet<Edge>(capacity);
+            edges.addAll(this.edges);
+            HashMap<Vertex,Integer> neighbours = new HashMap<Vertex,Integer>(capacity);
+            neighbours.putAll(this.neighbours);
+            this.edges      = edges;
+            this.neighbours = neighbours;
+        }
+    }
+
+    /**
+     * Méthode pour supprimer un Edge spécifique de la liste des Edge du Vertex, en temps constant
      * @param edge l'Edge à retirer
      */
     public void removeEdge(Edge edge){
-        this.edges.remove(edge);
+        if (this.edges == null) {
+            if (this.edge == edge) {
+                this.edge = null;
+            }
+            return;
+        }
+        if (this.edges.remove(edge)) {
+            Vertex neighbour = this.neighbourThrough(edge);
+            Integer count    = this.neighbours.get(neighbour);
+            if (count == null || count <= 1) {
+                this.neighbours.remove(neighbour);
+            } else {
+                this.neighbours.put(neighbour, count - 1);
+            }
+        }
     }
 
     /**
-     * Getter de la liste des Edge du Vertex
-     * @return la liste des Edge
+     * Méthode pour savoir si au moins un Edge relie le Vertex à un autre Vertex, en temps constant
+     * @param vertex l'autre Vertex
+     * @return le résultat sous la forme d'un booléen
      */
-    public ArrayList<Edge> getEdges() {
-        return this.edges;
+    public boolean isLinkedTo(Vertex vertex) {
+        if (this.edges == null) {
+            return this.edge != null && this.neighbourThrough(this.edge) == vertex;
+        }
+        return this.neighbours.containsKey(vertex);
     }
 
     /**
-     * Setter de la liste des Edge du Vertex
-     * @param edges la nouvelle liste des Edge
+     * Getter des Edge du Vertex. La collection renvoyée est une vue en lecture seule :
+     * pour la modifier il faut passer par {@link #addEdge(Edge)} et {@link #removeEdge(Edge)}
+     * @return les Edge, dans leur ordre d'ajout
      */
-    public void setEdges(ArrayList<Edge> edges) {
-        this.edges = edges;
+    public Collection<Edge> getEdges() {
+        if (this.edges == null) {
+            return this.edge == null ? Collections.<Edge>emptySet() : Collections.singleton(this.edge);
+        }
+        return Collections.unmodifiableSet(this.edges);
+    }
+
+    /**
+     * Setter des Edge du Vertex
+     * @param edges les nouveaux Edge
+     */
+    public void setEdges(Collection<Edge> edges) {
+        this.edge       = null;
+        this.edges      = null;
+        this.neighbours = null;
+        for (Edge edge : edges) {
+            this.addEdge(edge);
+        }
+    }
+
+    /**
+     * Méthode renvoyant le Vertex situé à l'autre extrémité d'un Edge
+     * @param edge l'Edge
+     * @return le Vertex voisin
+     */
+    private Vertex neighbourThrough(Edge edge) {
+        return edge.getOrigin() == this ? edge.getDestination() : edge.getOrigin();
     }
 
     /**
@@ -133,7 +246,9 @@ public class Vertex extends GraphElement {
      * @param position la nouvelle position
      */
     public void setPosition(Point position) {
+        this.changing();
         this.position = position;
+        this.moved();
     }
 
     /**
@@ -149,7 +264,9 @@ public class Vertex extends GraphElement {
      * @param size la nouvelle taille
      */
     public void setSize(int size) {
+        this.changing();
         this.size = size;
+        this.changed();
     }
 
     /**
@@ -165,7 +282,9 @@ public class Vertex extends GraphElement {
      * @param shape la nouvelle forme
      */
     public void setShape(Shape shape) {
+        this.changing();
         this.shape = shape;
+        this.changed();
     }
 
     /**
@@ -182,8 +301,19 @@ public class Vertex extends GraphElement {
      * @param vectorY la direction du vecteur de déplacement en ordonnée
      */
     public void move(int vectorX, int vectorY) {
+        this.changing();
         this.position.x += vectorX;
         this.position.y += vectorY;
+        this.moved();
+    }
+
+    /**
+     * Méthode signalant le déplacement du Vertex au Graph qui le contient, pour la prochaine notification de ses Observer
+     */
+    private void moved() {
+        if (this.graph != null) {
+            this.graph.markMoved(this);
+        }
     }
 
     /**
@@ -24,14 +24,12 @@ public class DotFileManager {
     }
 
     /**
-     * Méthode princiapel de sauvegarde du {@link data.Graph} dans un fichier .dot (utilise {@link files.dot.DotFileWriter}
+     * Méthode princiapel de sauvegarde du {@link data.Graph} dans un fichier .dot, compressé si son nom se termine par .gz
+     * (utilise {@link files.dot.DotFileWriter}
      */
     public void saveToDotFile(){
 
-        GraphDot graphDot = new GraphDot();
-        graphDot.createFromGraph(graph);
-
-        DotFileWriter dotFileWriter = new DotFileWriter(graphDot, fileAssociated);
+        DotFileWriter dotFileWriter = new DotFileWriter(graph, fileAssociated);
         try {
             dotFileWriter.writeFile();
         } catch (IOException e) {
@@ -53,7 +51,7 @@ public class DotFileManager {
             e.printStackTrace();
         }
 
-        graph = reader.getGraphDot().exportToGraph();
+        graph = reader.getGraph();
 
     }
 
@@ -1,116 +1,571 @@
 package files.dot;
 
-import files.dot.elements.DotElement;
-import files.dot.elements.EdgeDot;
-import files.dot.elements.VertexDot;
+import data.Graph;
+import data.GraphBuilder;
+import data.Vertex;
 
+import java.awt.*;
 import java.io.*;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
- * Classe principale de mangement de la lecture dans un fichier .dot
+ * Classe principale de mangement de la lecture dans un fichier .dot. Le fichier est lu au fil de l'eau par un
+ * {@link files.dot.DotLexer} et analysé instruction par instruction, quelle que soit la façon dont elles sont réparties
+ * sur les lignes. Les Vertex sont retrouvés par leur identifiant grâce à une table de hachage, et les éléments sont
+ * créés au fur et à mesure dans un {@link data.GraphBuilder}, sans représentation intermédiaire du fichier.
  */
 public class DotFileReader {
 
-    private GraphDot graphDot;
+    /* Encodage des fichiers .dot */
+    public static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /* Les attributs d'un Vertex, pour retenir lesquels ont été donnés par une instruction lors d'une lecture par morceaux */
+    static final int LABEL = 1, POS = 2, COLOR = 4, SIZE = 8, SHAPE = 16, VALUE = 32;
+
+    private Graph graph;
     private File file;
 
+    private DotLexer                 lexer;//Le lexer du fichier en cours de lecture
+    private DotLexer.Token           token;//Le lexème courant
+    private GraphBuilder             builder;//Les éléments lus
+    private HashMap<String, Integer> nodes;//L'indice dans le GraphBuilder des Vertex déjà rencontrés, par identifiant
+    private HashMap<String, String>  attributes;//Les attributs de l'instruction en cours, réutilisés d'une instruction à l'autre
+    private int[]                    chain;//Les extrémités des Edge de l'instruction en cours, deux cases par Edge
+    private int                      chainLength;//Le nombre de cases utilisées dans chain
+
+    /* Lecture d'un morceau de fichier (voir {@link DotParallelReader}), null sinon */
+    private ArrayList<String>        ids;//L'identifiant de chaque Vertex, dans l'ordre du GraphBuilder
+    private byte[]                   given;//Les attributs donnés par une instruction à chaque Vertex
+    private HashMap<String, String>  nodeDefaults;//Les attributs par défaut des Vertex du graphe principal
+    private HashMap<String, String>  edgeDefaults;//Les attributs par défaut des Edge du graphe principal
+
     /**
      * Constructeur de la classe
-     * @param file Le {@link java.io.File} depuis qui récupérer le {@link files.dot.GraphDot}
+     * @param file Le {@link java.io.File} depuis qui récupérer le {@link data.Graph}
      */
     public DotFileReader(File file) {
         this.file = file;
-        graphDot = new GraphDot();
     }
 
     /**
-     * Méthode de lecture et d'interprétation des données du {@link java.io.File}
-     * @throws IOException Si jamais le fichier n'est pas trouvé
+     * Méthode de lecture et d'interprétation des données du {@link java.io.File}, éventuellement compressé au format gzip
+     * @throws IOException Si jamais le fichier n'est pas trouvé ou n'est pas un fichier .dot valide
      */
     public void readFile() throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(file));
+        //Gros fichier : lecture en parallèle si le fichier peut être découpé
+        int chunks = DotParallelReader.chunkCount(file.length());
+        if (chunks > 1) {
+            FileInputStream input = new FileInputStream(file);
+            try {
+                this.graph = new DotParallelReader(input.getChannel(), chunks).read();
+            } finally {
+                input.close();
+            }
+            if (this.graph != null) {
+                return;
+            }
+        }
 
-        //Lecture de toutes les lignes du fichier
-        for(String line; (line = reader.readLine()) != null; ) {
-            processLine(line);
+        InputStream input = new BufferedInputStream(new FileInputStream(file));
+        Reader      reader;
+        try {
+            //Fichier compressé au format gzip : reconnu à ses deux premiers octets
+            input.mark(2);
+            boolean gzip = input.read() == 0x1f && input.read() == 0x8b;
+            input.reset();
+            if (gzip) {
+                input = new GZIPInputStream(input, 1 << 16);
+            }
+            reader = new InputStreamReader(input, CHARSET);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+        try {
+            read(reader);
+        } finally {
+            reader.close();
         }
     }
 
     /**
-     * Méthode d'interprétation d'une seul ligne d'un fichier .dot
-     * @param line Le {@link java.lang.String} contenant la ligne
+     * Méthode de lecture et d'interprétation d'un graphe au format .dot
+     * @param reader Le {@link java.io.Reader} à lire, qu'il est inutile de bufferiser
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
      */
-    public void processLine(String line){
+    public void read(Reader reader) throws IOException {
+        this.begin();
+        this.lexer = new DotLexer(reader);
+        this.advance();
+        this.header();
+        this.statements(new HashMap<String, String>(), new HashMap<String, String>(), null);
+        this.expect(DotLexer.Token.RBRACE);
 
-        if(line.contains("graph")){
+        this.graph.addGraphElements(this.builder.build());
+        this.builder    = null;
+        this.nodes      = null;
+        this.attributes = null;
+        this.lexer      = null;
+    }
 
-            line = line.replace("{", "");
-            line = line.replace("graph ", "");
-            line = line.replace(" ", "");
+    /**
+     * Méthode préparant une nouvelle lecture
+     */
+    private void begin() {
+        this.builder     = new GraphBuilder(1024, 1024);
+        this.nodes       = new HashMap<>();
+        this.attributes  = new HashMap<>();
+        this.chain       = new int[16];
+        this.chainLength = 0;
+        this.graph       = new Graph();
+        this.ids         = null;
+        this.given       = null;
+    }
 
-            graphDot.setName(line);
-        }else if(line.contains("--")){
+    /**
+     * Méthode analysant l'en-tête du graphe, jusqu'à l'accolade ouvrante comprise : [strict] graph|digraph [nom] {
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void header() throws IOException {
+        if (this.token == DotLexer.Token.ID && this.lexer.isKeyword("strict")) {
+            this.advance();
+        }
+        if (this.token != DotLexer.Token.ID || !(this.lexer.isKeyword("graph") || this.lexer.isKeyword("digraph"))) {
+            throw this.lexer.error("graph ou digraph attendu");
+        }
+        this.advance();
+        if (this.token == DotLexer.Token.ID) {
+            this.graph.setName(this.lexer.getText());
+            this.advance();
+        }
+        this.expect(DotLexer.Token.LBRACE);
+    }
 
-            EdgeDot ed = new EdgeDot();
+    /**
+     * Méthode analysant l'en-tête d'un fichier lu par morceaux
+     * @param reader Le début du fichier, jusqu'à l'accolade ouvrante du graphe principal comprise
+     * @return Le nom du graphe, null s'il n'en a pas
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    String readHeader(Reader reader) throws IOException {
+        this.begin();
+        this.lexer = new DotLexer(reader);
+        this.advance();
+        this.header();
+        return this.graph.getName();
+    }
 
-            line = line.replace(" ", "");
+    /**
+     * Méthode préparant la lecture d'un morceau du corps d'un fichier : les Vertex sont ajoutés à un GraphBuilder propre
+     * au morceau, avec leur identifiant et les attributs qui leur sont donnés explicitement, pour être fusionnés ensuite
+     */
+    void beginChunk() {
+        this.begin();
+        this.ids          = new ArrayList<>();
+        this.given        = new byte[1024];
+        this.nodeDefaults = new HashMap<>();
+        this.edgeDefaults = new HashMap<>();
+    }
 
-            String origin = line.substring(0, line.lastIndexOf("-"));
-            line = line.replace(origin, "");
-            origin = origin.replace(" ", "");
-            origin = origin.replace("-", "");
-            ed.setOrigin(graphDot.getVertexById(Integer.parseInt(origin)));
+    /**
+     * Méthode analysant une instruction d'attributs par défaut du graphe principal située avant le morceau, pour que
+     * le morceau commence avec les mêmes attributs par défaut qu'en lecture séquentielle
+     * @param reader Le fichier, à partir du début de l'instruction
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    void readDefaults(Reader reader) throws IOException {
+        this.lexer = new DotLexer(reader);
+        this.advance();
+        this.statement(this.nodeDefaults, this.edgeDefaults, null);
+    }
 
-            String destination = line.substring(0, line.indexOf("["));
-            line = line.replace(destination, "");
-            destination = destination.replace("-", "");
-            ed.setDestination(graphDot.getVertexById(Integer.parseInt(destination)));
+    /**
+     * Méthode analysant un morceau du corps d'un fichier, qui ne contient que des instructions complètes du graphe principal
+     * @param reader Le morceau
+     * @param line Le numéro de la ligne où commence le morceau
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    void readChunk(Reader reader, int line) throws IOException {
+        this.lexer = new DotLexer(reader, line);
+        this.advance();
+        while (this.token != DotLexer.Token.EOF) {
+            this.statement(this.nodeDefaults, this.edgeDefaults, null);
+            if (this.token == DotLexer.Token.SEMICOLON) {
+                this.advance();
+            }
+        }
+        this.lexer      = null;
+        this.attributes = null;
+    }
 
-            line = line.replace("[", "");
-            line = line.replace("]", "");
-            line = line.replace(";", "");
-            createAttributes(line, ed);
+    /**
+     * Getter des éléments lus dans un morceau
+     * @return Le GraphBuilder du morceau
+     */
+    GraphBuilder getBuilder() {
+        return this.builder;
+    }
 
-            graphDot.getEdges().add(ed);
-        }else if(line.contains("}")){
-            //Fin de la lecture, ne fait rien
-        }else{
+    /**
+     * Getter de la table des Vertex lus dans un morceau
+     * @return L'indice dans le GraphBuilder du morceau de chaque Vertex, par identifiant
+     */
+    HashMap<String, Integer> getNodes() {
+        return this.nodes;
+    }
 
-            VertexDot vd = new VertexDot();
+    /**
+     * Getter des identifiants des Vertex lus dans un morceau
+     * @return L'identifiant de chaque Vertex, dans l'ordre du GraphBuilder du morceau
+     */
+    ArrayList<String> getIds() {
+        return this.ids;
+    }
 
-            line = line.replace(" ", "");
+    /**
+     * Getter des attributs donnés explicitement à un Vertex lu dans un morceau
+     * @param index L'indice du Vertex dans le GraphBuilder du morceau
+     * @return Les attributs ({@link #LABEL}, {@link #POS}...) sous forme de masque
+     */
+    int getGiven(int index) {
+        return this.given[index];
+    }
 
-            vd.setId(Integer.parseInt(line.substring(0,line.indexOf("["))));
+    /**
+     * Méthode copiant certains attributs d'un Vertex dans un autre
+     * @param source Le Vertex dont les attributs sont copiés
+     * @param destination Le Vertex qui reçoit les attributs
+     * @param mask Les attributs à copier ({@link #LABEL}, {@link #POS}...)
+     */
+    static void copyAttributes(Vertex source, Vertex destination, int mask) {
+        if ((mask & LABEL) != 0) {
+            destination.setLabel(source.getLabel());
+        }
+        if ((mask & POS) != 0) {
+            destination.setPosition(source.getPosition());
+        }
+        if ((mask & COLOR) != 0) {
+            destination.setColor(source.getColor());
+        }
+        if ((mask & SIZE) != 0) {
+            destination.setSize(source.getSize());
+        }
+        if ((mask & SHAPE) != 0) {
+            destination.setShape(source.getShape());
+        }
+        if ((mask & VALUE) != 0) {
+            destination.setValue(source.getValue());
+        }
+    }
 
-            line = line.substring(line.indexOf("["), line.length());
-            line = line.replace("[", "");
-            line = line.replace("]", "");
-            line = line.replace(";", "");
+    /**
+     * Méthode analysant une liste d'instructions, jusqu'à l'accolade fermante (non consommée)
+     * @param nodeDefaults Les attributs par défaut des Vertex, hérités du bloc englobant
+     * @param edgeDefaults Les attributs par défaut des Edge, hérités du bloc englobant
+     * @param members Les Vertex cités dans le bloc, à remplir s'il s'agit d'un sous-graphe, sinon null
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void statements(HashMap<String, String> nodeDefaults, HashMap<String, String> edgeDefaults, ArrayList<Integer> members) throws IOException {
+        while (this.token != DotLexer.Token.RBRACE) {
+            if (this.token == DotLexer.Token.EOF) {
+                throw this.lexer.error("} attendue");
+            }
+            this.statement(nodeDefaults, edgeDefaults, members);
+            if (this.token == DotLexer.Token.SEMICOLON) {
+                this.advance();
+            }
+        }
+    }
+
+    /**
+     * Méthode analysant une instruction : attributs par défaut, attribut du graphe, Vertex, Edge ou sous-graphe
+     * @param nodeDefaults Les attributs par défaut des Vertex du bloc
+     * @param edgeDefaults Les attributs par défaut des Edge du bloc
+     * @param members Les Vertex cités dans le bloc, null si on n'en a pas besoin
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void statement(HashMap<String, String> nodeDefaults, HashMap<String, String> edgeDefaults, ArrayList<Integer> members) throws IOException {
+        if (this.token == DotLexer.Token.ID && !this.lexer.isQuoted()) {
+            if (this.lexer.isKeyword("node") || this.lexer.isKeyword("edge") || this.lexer.isKeyword("graph")) {
+                HashMap<String, String> defaults = this.lexer.isKeyword("node") ? nodeDefaults : this.lexer.isKeyword("edge") ? edgeDefaults : null;
+                this.advance();
+                this.attributes(defaults);
+                return;
+            }
+        }
+
+        int[] operand;
+        if (this.token == DotLexer.Token.ID && !this.lexer.isKeyword("subgraph")) {
+            String id = this.lexer.getText();
+            this.advance();
+            if (this.token == DotLexer.Token.EQUALS) {
+                //Attribut du graphe, ignoré
+                this.advance();
+                this.expect(DotLexer.Token.ID);
+                return;
+            }
+            this.port();
+            int node = this.node(id, nodeDefaults, members);
+            if (this.token != DotLexer.Token.EDGE && this.token != DotLexer.Token.ARC) {
+                this.attributes.clear();
+                this.attributes(this.attributes);
+                this.setAttributes(this.builder.getVertex(node), this.attributes);
+                if (this.given != null) {
+                    this.given[node] |= given(this.attributes);
+                }
+                return;
+            }
+            operand = new int[] { node };
+        } else {
+            operand = this.subgraph(nodeDefaults, edgeDefaults, members);
+        }
+        if (this.token == DotLexer.Token.EDGE || this.token == DotLexer.Token.ARC) {
+            this.edges(operand, nodeDefaults, edgeDefaults, members);
+        }
+    }
+
+    /**
+     * Méthode analysant une suite d'Edge a -- b -> c ... suivie de ses attributs, l'origine étant déjà lue.
+     * Les Edge ne sont ajoutées qu'une fois leurs attributs connus
+     * @param origin Les Vertex de la première extrémité
+     * @param nodeDefaults Les attributs par défaut des Vertex du bloc
+     * @param edgeDefaults Les attributs par défaut des Edge du bloc
+     * @param members Les Vertex cités dans le bloc, null si on n'en a pas besoin
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void edges(int[] origin, HashMap<String, String> nodeDefaults, HashMap<String, String> edgeDefaults, ArrayList<Integer> members) throws IOException {
+        int start = this.chainLength;
+        while (this.token == DotLexer.Token.EDGE || this.token == DotLexer.Token.ARC) {
+            this.advance();
+            int[] destination;
+            if (this.token == DotLexer.Token.ID && !this.lexer.isKeyword("subgraph")) {
+                String id = this.lexer.getText();
+                this.advance();
+                this.port();
+                destination = new int[] { this.node(id, nodeDefaults, members) };
+            } else {
+                //Les Edge du sous-graphe sont ajoutées par l'analyse du sous-graphe, après celles déjà retenues ici
+                destination = this.subgraph(nodeDefaults, edgeDefaults, members);
+            }
+            for (int o : origin) {
+                for (int d : destination) {
+                    if (this.chainLength + 2 > this.chain.length) {
+                        this.chain = Arrays.copyOf(this.chain, this.chain.length * 2);
+                    }
+                    this.chain[this.chainLength++] = o;
+                    this.chain[this.chainLength++] = d;
+                }
+            }
+            origin = destination;
+        }
+
+        this.attributes.clear();
+        this.attributes(this.attributes);
+        String label = attribute("label", this.attributes, edgeDefaults);
+        String color = attribute("color", this.attributes, edgeDefaults);
+        String size  = attribute("size", this.attributes, edgeDefaults);
+        try {
+            Color edgeColor = color == null ? Color.BLACK : Color.decode(color);
+            int   thickness = size == null ? 1 : Integer.parseInt(size);
+            for (int i = start; i < this.chainLength; i += 2) {
+                this.builder.addEdge(label == null ? "edge" : label, edgeColor, this.chain[i], this.chain[i + 1], thickness);
+            }
+        } catch (NumberFormatException e) {
+            throw this.lexer.error("attribut d'Edge invalide : " + e.getMessage());
+        }
+        this.chainLength = start;
+    }
+
+    /**
+     * Méthode analysant un sous-graphe, dont les Vertex et les Edge sont ajoutés au graphe
+     * @param nodeDefaults Les attributs par défaut des Vertex du bloc englobant
+     * @param edgeDefaults Les attributs par défaut des Edge du bloc englobant
+     * @param members Les Vertex cités dans le bloc englobant, null si on n'en a pas besoin
+     * @return Les Vertex cités dans le sous-graphe
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private int[] subgraph(HashMap<String, String> nodeDefaults, HashMap<String, String> edgeDefaults, ArrayList<Integer> members) throws IOException {
+        if (this.token == DotLexer.Token.ID && this.lexer.isKeyword("subgraph")) {
+            this.advance();
+            if (this.token == DotLexer.Token.ID) {
+                this.advance();
+            }
+        }
+        this.expect(DotLexer.Token.LBRACE);
+        ArrayList<Integer> subgraphMembers = new ArrayList<>();
+        this.statements(new HashMap<>(nodeDefaults), new HashMap<>(edgeDefaults), subgraphMembers);
+        this.expect(DotLexer.Token.RBRACE);
+        if (members != null) {
+            members.addAll(subgraphMembers);
+        }
+        int[] operand = new int[subgraphMembers.size()];
+        for (int i = 0; i < operand.length; i++) {
+            operand[i] = subgraphMembers.get(i);
+        }
+        return operand;
+    }
+
+    /**
+     * Méthode renvoyant l'indice du Vertex d'un identifiant, en le créant s'il n'a pas encore été rencontré
+     * @param id L'identifiant du Vertex dans le fichier
+     * @param nodeDefaults Les attributs par défaut des Vertex du bloc, donnés au Vertex s'il est créé
+     * @param members Les Vertex cités dans le bloc, null si on n'en a pas besoin
+     * @return L'indice du Vertex dans le GraphBuilder
+     * @throws IOException Si un attribut par défaut est invalide
+     */
+    private int node(String id, HashMap<String, String> nodeDefaults, ArrayList<Integer> members) throws IOException {
+        Integer index = this.nodes.get(id);
+        if (index == null) {
+            Vertex vertex = new Vertex("vertex", Color.BLACK, new Point(10, 10), 15, Vertex.Shape.SQUARE);
+            this.setAttributes(vertex, nodeDefaults);
+            index = this.builder.addVertex(vertex);
+            this.nodes.put(id, index);
+            if (this.ids != null) {
+                this.ids.add(id);
+                if (index == this.given.length) {
+                    this.given = Arrays.copyOf(this.given, 2 * index);
+                }
+            }
+        }
+        if (members != null) {
+            members.add(index);
+        }
+        return index;
+    }
+
+    /**
+     * Méthode appliquant des attributs à un Vertex, les attributs inconnus étant ignorés
+     * @param vertex Le Vertex
+     * @param attributes Les attributs, par nom
+     * @throws IOException Si la valeur d'un attribut est invalide
+     */
+    private void setAttributes(Vertex vertex, Map<String, String> attributes) throws IOException {
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            String value = attribute.getValue();
+            try {
+                switch (attribute.getKey()) {
+                    case "label": vertex.setLabel(value); break;
+                    case "pos":   vertex.setPosition(GraphDot.decodePosition(value)); break;
+                    case "color": vertex.setColor(Color.decode(value)); break;
+                    case "size":  vertex.setSize(Integer.parseInt(value)); break;
+                    case "shape": vertex.setShape(Vertex.Shape.decode(value)); break;
+                    case "value": vertex.setValue(Integer.parseInt(value)); break;
+                    default: break;
+                }
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw this.lexer.error("valeur invalide pour l'attribut " + attribute.getKey() + " : " + value);
+            }
+        }
+    }
+
+    /**
+     * Méthode renvoyant les attributs connus d'une liste d'attributs
+     * @param attributes Les attributs, par nom
+     * @return Le masque des attributs ({@link #LABEL}, {@link #POS}...)
+     */
+    private static int given(Map<String, String> attributes) {
+        int mask = 0;
+        for (String name : attributes.keySet()) {
+            switch (name) {
+                case "label": mask |= LABEL; break;
+                case "pos":   mask |= POS; break;
+                case "color": mask |= COLOR; break;
+                case "size":  mask |= SIZE; break;
+                case "shape": mask |= SHAPE; break;
+                case "value": mask |= VALUE; break;
+                default: break;
+            }
+        }
+        return mask;
+    }
 
-            createAttributes(line, vd);
+    /**
+     * Méthode renvoyant la valeur d'un attribut, donné dans l'instruction ou à défaut par défaut
+     * @param name Le nom de l'attribut
+     * @param attributes Les attributs de l'instruction
+     * @param defaults Les attributs par défaut
+     * @return La valeur, null si l'attribut n'est pas donné
+     */
+    private static String attribute(String name, HashMap<String, String> attributes, HashMap<String, String> defaults) {
+        String value = attributes.get(name);
+        return value != null ? value : defaults.get(name);
+    }
 
-            graphDot.getVertices().add(vd);
+    /**
+     * Méthode sautant le port (:port ou :port:compass) qui peut suivre l'identifiant d'un Vertex
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void port() throws IOException {
+        while (this.token == DotLexer.Token.COLON) {
+            this.advance();
+            this.expect(DotLexer.Token.ID);
         }
     }
 
     /**
-     * Méthode de création des attributs d'un {@link files.dot.elements.DotElement} à partir d'un {@link java.lang.String}
-     * @param attributes Le {@link java.lang.String} à interpréter
-     * @param elem Le {@link files.dot.elements.DotElement} dans lequel ranger les attributs crées
+     * Méthode analysant des listes d'attributs [a=b, c=d; e] [f=g] ..., éventuellement absentes
+     * @param attributes Les attributs à compléter, null pour ignorer les attributs lus
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
      */
-    public void createAttributes(String attributes, DotElement elem){
-        String[] attributesFile = attributes.split(",");
+    private void attributes(HashMap<String, String> attributes) throws IOException {
+        while (this.token == DotLexer.Token.LBRACKET) {
+            this.advance();
+            while (this.token != DotLexer.Token.RBRACKET) {
+                if (this.token != DotLexer.Token.ID) {
+                    throw this.lexer.error("nom d'attribut attendu");
+                }
+                String name  = this.lexer.getText();
+                String value = "true";
+                this.advance();
+                if (this.token == DotLexer.Token.EQUALS) {
+                    this.advance();
+                    if (this.token != DotLexer.Token.ID) {
+                        throw this.lexer.error("valeur de l'attribut " + name + " attendue");
+                    }
+                    value = this.lexer.getText();
+                    this.advance();
+                }
+                if (attributes != null) {
+                    attributes.put(name, value);
+                }
+                if (this.token == DotLexer.Token.COMMA || this.token == DotLexer.Token.SEMICOLON) {
+                    this.advance();
+                }
+            }
+            this.advance();
+        }
+    }
 
-        for(String att : attributesFile){
-            elem.addAttribute(att.split("=")[0], att.split("=")[1]);
+    /**
+     * Méthode passant au lexème suivant
+     * @throws IOException En cas d'erreur de lecture ou de lexème invalide
+     */
+    private void advance() throws IOException {
+        this.token = this.lexer.next();
+    }
+
+    /**
+     * Méthode consommant un lexème d'un type donné
+     * @param expected Le type attendu
+     * @throws IOException Si le lexème courant n'est pas du type attendu
+     */
+    private void expect(DotLexer.Token expected) throws IOException {
+        if (this.token != expected) {
+            throw this.lexer.error(expected + " attendu au lieu de " + this.token);
         }
+        this.advance();
     }
 
     /**
-     * Getter du {@link files.dot.GraphDot} associé à l'instance
-     * @return Un {@link files.dot.GraphDot}
+     * Getter du {@link data.Graph} lu
+     * @return Le {@link data.Graph}, null si aucun fichier n'a été lu
      */
-    public GraphDot getGraphDot(){
-        return graphDot;
+    public Graph getGraph(){
+        return graph;
     }
 }
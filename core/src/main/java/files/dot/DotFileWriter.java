@@ -1,52 +1,172 @@
 package files.dot;
 
-import files.dot.elements.EdgeDot;
-import files.dot.elements.VertexDot;
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import threading.Progress;
+import threading.ProgressListener;
 
+import java.awt.*;
 import java.io.*;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Classe permettant de manager l'écriture d'un {@link files.dot.GraphDot} dans un fichier
+ * Classe permettant de manager l'écriture d'un {@link data.Graph} dans un fichier .dot. Les éléments sont écrits
+ * directement depuis le Graph, ligne par ligne, dans un tampon réutilisé : la mémoire utilisée ne dépend que de la taille
+ * des tampons, pas de celle du Graph. Le fichier est compressé au format gzip si son nom se termine par .gz
  */
 public class DotFileWriter {
 
-    private GraphDot graphDot;
+    /* Taille des tampons d'écriture */
+    private static final int    BUFFER_SIZE = 1 << 16;
+    /* Écriture hexadécimale de chaque octet, pour les couleurs */
+    private static final char[] HEX         = new char[512];
+
+    static {
+        char[] digits = "0123456789abcdef".toCharArray();
+        for (int i = 0; i < 256; i++) {
+            HEX[2 * i]     = digits[i >> 4];
+            HEX[2 * i + 1] = digits[i & 0xF];
+        }
+    }
+
+    private Graph graph;
     private File file;
 
+    private final StringBuilder line;//La ligne en cours d'écriture, réutilisée d'un élément à l'autre
+    private char[]              chars;//Les caractères de la ligne, copiés pour être écrits sans créer de String
+    private ProgressListener    listener;//L'objet prévenu de l'avancement de l'écriture, null s'il n'y en a pas
+
     /**
      * Constructeur de la classe
-     * @param graphDot Le {@link files.dot.GraphDot} devant être écrit
-     * @param file Le {@link java.io.File} dans lequel sera écrit le {@link files.dot.GraphDot}
+     * @param graph Le {@link data.Graph} devant être écrit
+     * @param file Le {@link java.io.File} dans lequel sera écrit le {@link data.Graph}
+     */
+    public DotFileWriter(Graph graph, File file) {
+        this.graph = graph;
+        this.file  = file;
+        this.line  = new StringBuilder(256);
+        this.chars = new char[256];
+    }
+
+    /**
+     * Setter de l'objet prévenu de l'avancement de l'écriture, qui compte les éléments écrits
+     * @param listener l'objet prévenu, null pour ne plus l'être
      */
-    public DotFileWriter(GraphDot graphDot, File file) {
-        this.graphDot = graphDot;
-        this.file = file;
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
     }
 
     /**
-     * Méthode procédant à l'écriture du {@link files.dot.GraphDot} dans le {@link java.io.File}
-     * @throws IOException Si jamais le fichier n'existe pas
+     * Méthode procédant à l'écriture du {@link data.Graph} dans le {@link java.io.File}
+     * @throws IOException Si jamais le fichier ne peut pas être écrit
      */
     public void writeFile() throws IOException {
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        if (file.getName().endsWith(".gz")) {
+            try {
+                output = new GZIPOutputStream(output, BUFFER_SIZE);
+            } catch (IOException e) {
+                output.close();
+                throw e;
+            }
+        }
 
-        DotFileParser filewriter = new DotFileParser(file);
+        Writer writer = new OutputStreamWriter(output, DotFileReader.CHARSET);
+        try {
+            write(writer);
+        } finally {
+            writer.close();
+        }
+    }
 
-        String fileHeader = "graph " + graphDot.getName() + " { \n";
-        String fileFooter = "}";
+    /**
+     * Méthode écrivant le {@link data.Graph} au format .dot
+     * @param writer Le {@link java.io.Writer} dans lequel écrire, qui n'est pas fermé
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void write(Writer writer) throws IOException {
+        Progress progress = new Progress(this.listener, (long) graph.getVertexes().size() + graph.getEdges().size());
+        this.line.setLength(0);
+        this.line.append("graph ");
+        this.appendQuoted(graph.getName());
+        this.line.append(" {\n");
+        this.flushLine(writer);
 
-        filewriter.write(fileHeader);
+        for (Vertex v : graph.getVertexes()) {
+            Point position = v.getPosition();
+            this.line.append("    ").append(v.getID()).append(" [label=");
+            this.appendQuoted(v.getLabel());
+            this.line.append(", pos=\"").append(position.x).append(',').append(position.y);
+            this.line.append("\", size=").append(v.getSize());
+            this.line.append(", shape=").append(v.getShape().toString());
+            this.line.append(", color=");
+            this.appendColor(v.getColor());
+            this.line.append(", value=").append(v.getValue()).append("];\n");
+            this.flushLine(writer);
+            progress.advance(1);
+        }
 
-        for(VertexDot vd : graphDot.getVertices()){
-            filewriter.write(vd, 1);
+        for (Edge e : graph.getEdges()) {
+            this.line.append("    ").append(e.getOrigin().getID()).append(" -- ").append(e.getDestination().getID());
+            this.line.append(" [label=");
+            this.appendQuoted(e.getLabel());
+            this.line.append(", size=").append(e.getThickness());
+            this.line.append(", color=");
+            this.appendColor(e.getColor());
+            this.line.append("];\n");
+            this.flushLine(writer);
+            progress.advance(1);
         }
 
-        for(EdgeDot ed : graphDot.getEdges()){
-            filewriter.write(ed, 1);
+        this.line.append("}\n");
+        this.flushLine(writer);
+        writer.flush();
+    }
+
+    /**
+     * Méthode ajoutant une chaîne entre guillemets à la ligne, les guillemets et les \ qu'elle contient étant échappés
+     * @param text La chaîne, null pour une chaîne vide
+     */
+    private void appendQuoted(String text) {
+        this.line.append('"');
+        if (text == null) {
+            text = "";
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                this.line.append('\\');
+            }
+            this.line.append(c);
         }
+        this.line.append('"');
+    }
 
-        filewriter.write(fileFooter);
+    /**
+     * Méthode ajoutant une couleur, sous la forme "#rrggbb", à la ligne
+     * @param color La couleur
+     */
+    private void appendColor(Color color) {
+        this.line.append("\"#");
+        this.line.append(HEX, 2 * color.getRed(), 2);
+        this.line.append(HEX, 2 * color.getGreen(), 2);
+        this.line.append(HEX, 2 * color.getBlue(), 2);
+        this.line.append('"');
+    }
 
-        filewriter.flush();
-        filewriter.close();
+    /**
+     * Méthode écrivant la ligne en cours puis la vidant
+     * @param writer Le {@link java.io.Writer} dans lequel écrire
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    private void flushLine(Writer writer) throws IOException {
+        int length = this.line.length();
+        if (length > this.chars.length) {
+            this.chars = new char[Math.max(length, 2 * this.chars.length)];
+        }
+        this.line.getChars(0, length, this.chars, 0);
+        writer.write(this.chars, 0, length);
+        this.line.setLength(0);
     }
 }
@@ -0,0 +1,351 @@
+package files.dot;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Classe DotLexer, découpe en lexèmes le contenu d'un fichier .dot lu au fil de l'eau depuis un {@link java.io.Reader}.
+ * Les caractères sont lus par blocs dans un tampon réutilisé, sans découpage en lignes : une instruction peut s'étendre
+ * sur plusieurs lignes. Les commentaires (// ..., /* ... *&#47; et les lignes commençant par #) sont ignorés.
+ */
+public class DotLexer {
+
+    /**
+     * Les types de lexèmes
+     */
+    public enum Token {
+        ID,//Identifiant, nombre ou chaîne entre guillemets (sans les guillemets)
+        LBRACE, RBRACE, LBRACKET, RBRACKET, SEMICOLON, COMMA, EQUALS, COLON,
+        EDGE,//Arc non orienté : --
+        ARC,//Arc orienté : ->
+        EOF
+    }
+
+    /* Taille du tampon de lecture */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /* Nombre de chaînes gardées pour être réutilisées, et longueur maximale de ces chaînes */
+    private static final int CACHE_SIZE   = 1 << 12;
+    private static final int CACHE_LENGTH = 16;
+
+    private final Reader        reader;
+    private final char[]        buffer;
+    private int                 position;//Position du prochain caractère dans le tampon
+    private int                 limit;//Nombre de caractères valides dans le tampon
+    private int                 line;//Numéro de la ligne courante, pour les messages d'erreur
+    private final StringBuilder text;//Texte du dernier identifiant, réutilisé d'un lexème à l'autre
+    private boolean             quoted;//Si le dernier identifiant était entre guillemets
+    private final String[]      cache;//Les dernières chaînes courtes créées, rangées selon leur hash : noms d'attributs, couleurs, tailles...
+
+    /**
+     * Constructeur de la classe DotLexer
+     * @param reader le {@link java.io.Reader} à lire, qu'il est inutile de bufferiser
+     */
+    public DotLexer(Reader reader) {
+        this(reader, 1);
+    }
+
+    /**
+     * Constructeur de la classe DotLexer, pour lire une partie d'un fichier
+     * @param reader le {@link java.io.Reader} à lire, qu'il est inutile de bufferiser
+     * @param line le numéro de la ligne où commence la partie lue, pour les messages d'erreur
+     */
+    public DotLexer(Reader reader, int line) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.line   = line;
+        this.text   = new StringBuilder(64);
+        this.cache  = new String[CACHE_SIZE];
+    }
+
+    /**
+     * Méthode lisant le lexème suivant
+     * @return son type, {@link Token#EOF} à la fin du flux
+     * @throws IOException en cas d'erreur de lecture ou de lexème invalide
+     */
+    public Token next() throws IOException {
+        int c = this.skipBlanks();
+        switch (c) {
+            case -1:  return Token.EOF;
+            case '{': return Token.LBRACE;
+            case '}': return Token.RBRACE;
+            case '[': return Token.LBRACKET;
+            case ']': return Token.RBRACKET;
+            case ';': return Token.SEMICOLON;
+            case ',': return Token.COMMA;
+            case '=': return Token.EQUALS;
+            case ':': return Token.COLON;
+            case '"':
+                this.readQuoted();
+                return Token.ID;
+            case '<':
+                this.readHtml();
+                return Token.ID;
+            case '-':
+                int n = this.peek();
+                if (n == '-') {
+                    this.position++;
+                    return Token.EDGE;
+                } else if (n == '>') {
+                    this.position++;
+                    return Token.ARC;
+                } else if ((n >= '0' && n <= '9') || n == '.') {
+                    //Nombre négatif
+                    this.readId(c);
+                    return Token.ID;
+                }
+                throw this.error("caractère inattendu '-'");
+            default:
+                if (!isIdChar(c)) {
+                    throw this.error("caractère inattendu '" + (char) c + "'");
+                }
+                this.readId(c);
+                return Token.ID;
+        }
+    }
+
+    /**
+     * Getter du texte du dernier identifiant lu. Les chaînes courtes déjà rencontrées sont réutilisées
+     * @return le texte, sans guillemets
+     */
+    public String getText() {
+        int length = this.text.length();
+        if (length > CACHE_LENGTH) {
+            return this.text.toString();
+        }
+        //Les mêmes noms et valeurs reviennent à chaque ligne : on évite de recréer la chaîne
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + this.text.charAt(i);
+        }
+        int    slot   = (hash ^ (hash >>> 12)) & (CACHE_SIZE - 1);
+        String cached = this.cache[slot];
+        if (cached == null || cached.hashCode() != hash || !cached.contentEquals(this.text)) {
+            cached = this.text.toString();
+            this.cache[slot] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Méthode pour savoir si le dernier identifiant lu était entre guillemets : un mot-clé entre guillemets est un identifiant
+     * @return le résultat sous la forme d'un booléen
+     */
+    public boolean isQuoted() {
+        return this.quoted;
+    }
+
+    /**
+     * Méthode pour savoir si le dernier identifiant lu est un mot-clé donné, les mots-clés du format .dot ne tenant pas compte de la casse
+     * @param keyword le mot-clé, en minuscules
+     * @return le résultat sous la forme d'un booléen
+     */
+    public boolean isKeyword(String keyword) {
+        if (this.quoted || this.text.length() != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toLowerCase(this.text.charAt(i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Getter du numéro de la ligne courante
+     * @return le numéro de ligne, à partir de 1
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Méthode créant une erreur de syntaxe située à la ligne courante
+     * @param message la description de l'erreur
+     * @return l'exception
+     */
+    public IOException error(String message) {
+        return new IOException("Ligne " + this.line + " : " + message);
+    }
+
+    /**
+     * Méthode sautant les blancs et les commentaires
+     * @return le premier caractère significatif, déjà consommé, -1 à la fin du flux
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private int skipBlanks() throws IOException {
+        boolean lineStart = this.position == 0 && this.limit == 0;
+        while (true) {
+            int c = this.read();
+            if (c == '\n') {
+                this.line++;
+                lineStart = true;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\f') {
+                //Blanc : on continue
+            } else if (c == '#' && lineStart) {
+                this.skipLine();
+            } else if (c == '/' && this.peek() == '/') {
+                this.skipLine();
+            } else if (c == '/' && this.peek() == '*') {
+                this.position++;
+                this.skipComment();
+                lineStart = false;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Méthode sautant la fin de la ligne courante, sans consommer le retour à la ligne
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private void skipLine() throws IOException {
+        for (int c = this.peek(); c != -1 && c != '\n'; c = this.peek()) {
+            this.position++;
+        }
+    }
+
+    /**
+     * Méthode sautant un commentaire sur plusieurs lignes, dont l'ouverture a déjà été lue
+     * @throws IOException en cas d'erreur de lecture ou de commentaire non fermé
+     */
+    private void skipComment() throws IOException {
+        for (int c = this.read(); c != -1; c = this.read()) {
+            if (c == '\n') {
+                this.line++;
+            } else if (c == '*' && this.peek() == '/') {
+                this.position++;
+                return;
+            }
+        }
+        throw this.error("commentaire non fermé");
+    }
+
+    /**
+     * Méthode lisant un identifiant sans guillemets : lettres, chiffres, _, . et les caractères de la forme (x%y) des positions
+     * écrites par l'application
+     * @param first le premier caractère, déjà consommé
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private void readId(int first) throws IOException {
+        this.text.setLength(0);
+        this.quoted = false;
+        this.text.append((char) first);
+        while (true) {
+            //Parcours direct du tampon, sans appel par caractère
+            int start = this.position;
+            while (this.position < this.limit && isIdChar(this.buffer[this.position])) {
+                this.position++;
+            }
+            this.text.append(this.buffer, start, this.position - start);
+            if (this.position < this.limit || !this.fill()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Méthode lisant une chaîne entre guillemets, dont le guillemet ouvrant a déjà été lu. Seuls \" et \\ sont déséchappés,
+     * les autres séquences (\n, \l...) étant gardées telles quelles pour les labels ; une ligne coupée par \ suivi d'un
+     * retour à la ligne est recollée
+     * @throws IOException en cas d'erreur de lecture ou de chaîne non fermée
+     */
+    private void readQuoted() throws IOException {
+        this.text.setLength(0);
+        this.quoted = true;
+        for (int c = this.read(); c != -1; c = this.read()) {
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                int n = this.read();
+                if (n == '"' || n == '\\') {
+                    this.text.append((char) n);
+                } else if (n == '\n') {
+                    this.line++;
+                } else if (n == '\r' && this.peek() == '\n') {
+                    this.position++;
+                    this.line++;
+                } else if (n != -1) {
+                    this.text.append('\\').append((char) n);
+                }
+            } else {
+                if (c == '\n') {
+                    this.line++;
+                }
+                this.text.append((char) c);
+            }
+        }
+        throw this.error("chaîne non fermée");
+    }
+
+    /**
+     * Méthode lisant une chaîne HTML entre chevrons, dont le chevron ouvrant a déjà été lu, en tenant compte des chevrons imbriqués
+     * @throws IOException en cas d'erreur de lecture ou de chaîne non fermée
+     */
+    private void readHtml() throws IOException {
+        this.text.setLength(0);
+        this.quoted = true;
+        int depth = 1;
+        for (int c = this.read(); c != -1; c = this.read()) {
+            if (c == '<') {
+                depth++;
+            } else if (c == '>' && --depth == 0) {
+                return;
+            } else if (c == '\n') {
+                this.line++;
+            }
+            this.text.append((char) c);
+        }
+        throw this.error("chaîne HTML non fermée");
+    }
+
+    /**
+     * Méthode consommant le caractère suivant
+     * @return le caractère, -1 à la fin du flux
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private int read() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position++];
+    }
+
+    /**
+     * Méthode renvoyant le caractère suivant sans le consommer
+     * @return le caractère, -1 à la fin du flux
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private int peek() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.buffer[this.position];
+    }
+
+    /**
+     * Méthode remplissant le tampon, qui doit avoir été entièrement consommé
+     * @return false à la fin du flux
+     * @throws IOException en cas d'erreur de lecture
+     */
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = this.reader.read(this.buffer, 0, this.buffer.length);
+        } while (count == 0);
+        this.position = 0;
+        this.limit    = Math.max(count, 0);
+        return count > 0;
+    }
+
+    /**
+     * Méthode pour savoir si un caractère peut faire partie d'un identifiant sans guillemets
+     * @param c le caractère
+     * @return le résultat sous la forme d'un booléen
+     */
+    static boolean isIdChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.'
+                || c == '#' || c == '(' || c == ')' || c == '%' || c >= 0x80;
+    }
+}
@@ -0,0 +1,480 @@
+package files.dot;
+
+import data.Graph;
+import data.GraphBuilder;
+import threading.ComputePool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classe de lecture en parallèle des gros fichiers .dot. Un premier passage sur les octets du fichier, sans analyse, repère
+ * les limites des instructions du graphe principal (hors chaînes, commentaires, sous-graphes et listes d'attributs) ; le corps
+ * du graphe est découpé en morceaux à ces limites, et chaque morceau est analysé par un {@link DotFileReader} sur un thread
+ * du pool partagé {@link threading.ComputePool}, avec sa propre table des Vertex. Les morceaux sont ensuite fusionnés dans
+ * l'ordre du fichier en un seul {@link data.GraphBuilder} : un Vertex déjà lu dans un morceau précédent n'est pas recréé,
+ * il reçoit seulement les attributs que le morceau lui donne. Le Graph obtenu est le même qu'avec une lecture séquentielle.
+ */
+class DotParallelReader {
+
+    /* Taille minimale d'un morceau : en dessous, la lecture séquentielle est plus rapide */
+    private static final long MIN_CHUNK_SIZE   = 1 << 22;
+    /* Taille des blocs lus lors du découpage */
+    private static final int  SCAN_BLOCK       = 1 << 20;
+    /* Nombre maximal d'instructions d'attributs par défaut du graphe principal, relues au début de chaque morceau */
+    private static final int  MAX_DEFAULTS     = 1024;
+
+    /* Les états du découpage */
+    private static final int NORMAL = 0, SLASH = 1, QUOTED = 2, ESCAPE = 3, HTML = 4, LINE_COMMENT = 5, BLOCK_COMMENT = 6, STAR = 7;
+
+    /* Les octets pouvant faire partie d'un identifiant sans guillemets */
+    private static final boolean[] ID_CHARS = new boolean[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            ID_CHARS[c] = DotLexer.isIdChar(c);
+        }
+    }
+
+    private final FileChannel channel;//Le fichier lu
+    private final int         chunkCount;//Le nombre de morceaux voulus
+
+    /* Le découpage du fichier */
+    private long              bodyStart;//La position suivant l'accolade ouvrante du graphe principal
+    private long              bodyEnd;//La position de l'accolade fermante du graphe principal
+    private long[]            starts;//La position du début de chaque morceau
+    private int[]             lines;//Le numéro de la ligne où commence chaque morceau
+    private int               count;//Le nombre de morceaux trouvés
+    private ArrayList<Long>   defaults;//La position des instructions node [...] et edge [...] du graphe principal
+
+    private DotFileReader[]   readers;//Le résultat de la lecture de chaque morceau
+    private IOException[]     errors;//L'erreur de lecture de chaque morceau, null s'il n'y en a pas
+
+    /**
+     * Constructeur de la classe
+     * @param channel Le fichier à lire
+     * @param chunkCount Le nombre de morceaux voulus, qui peut ne pas être atteint si le fichier a trop peu d'instructions
+     */
+    DotParallelReader(FileChannel channel, int chunkCount) {
+        this.channel    = channel;
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Méthode calculant le nombre de morceaux à lire en parallèle pour un fichier
+     * @param size La taille du fichier en octets
+     * @return Le nombre de morceaux, 1 si le fichier doit être lu séquentiellement
+     */
+    static int chunkCount(long size) {
+        return (int) Math.max(1, Math.min(ComputePool.get().getParallelism(), size / MIN_CHUNK_SIZE));
+    }
+
+    /**
+     * Méthode de lecture du fichier
+     * @return Le Graph lu, null si le fichier ne peut pas être lu par morceaux (fichier compressé, incomplet, trop petit...)
+     * et doit être lu séquentiellement
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    Graph read() throws IOException {
+        if (!this.split()) {
+            return null;
+        }
+
+        DotFileReader header = new DotFileReader(null);
+        String        name   = header.readHeader(this.reader(0, this.bodyStart));
+
+        this.readers = new DotFileReader[this.count];
+        this.errors  = new IOException[this.count];
+        ComputePool.get().invoke(new ChunkAction(0, this.count));
+        for (IOException error : this.errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        Graph graph = new Graph();
+        graph.setName(name);
+        graph.addGraphElements(this.merge().build());
+        return graph;
+    }
+
+    /**
+     * Méthode fusionnant les morceaux lus, dans l'ordre du fichier, dans le GraphBuilder du premier morceau
+     * @return Le GraphBuilder contenant tous les éléments lus
+     */
+    private GraphBuilder merge() {
+        GraphBuilder             builder = this.readers[0].getBuilder();
+        HashMap<String, Integer> nodes   = this.readers[0].getNodes();
+        for (int i = 1; i < this.count; i++) {
+            DotFileReader     chunk  = this.readers[i];
+            GraphBuilder      local  = chunk.getBuilder();
+            ArrayList<String> ids    = chunk.getIds();
+            int[]             global = new int[ids.size()];
+            for (int v = 0; v < global.length; v++) {
+                Integer index = nodes.get(ids.get(v));
+                if (index == null) {
+                    index = builder.addVertex(local.getVertex(v));
+                    nodes.put(ids.get(v), index);
+                } else if (chunk.getGiven(v) != 0) {
+                    DotFileReader.copyAttributes(local.getVertex(v), builder.getVertex(index), chunk.getGiven(v));
+                }
+                global[v] = index;
+            }
+            builder.addEdges(local, global);
+            this.readers[i] = null;
+        }
+        return builder;
+    }
+
+    /**
+     * Méthode lisant un morceau, après avoir relu les attributs par défaut donnés avant lui
+     * @param chunk Le numéro du morceau
+     * @throws IOException En cas d'erreur de lecture ou de syntaxe
+     */
+    private void readChunk(int chunk) throws IOException {
+        long start = this.starts[chunk];
+        long end   = chunk + 1 < this.count ? this.starts[chunk + 1] : this.bodyEnd;
+
+        DotFileReader reader = new DotFileReader(null);
+        reader.beginChunk();
+        for (long position : this.defaults) {
+            if (position >= start) {
+                break;
+            }
+            reader.readDefaults(this.reader(position, start));
+        }
+        reader.readChunk(this.reader(start, end), this.lines[chunk]);
+        this.readers[chunk] = reader;
+    }
+
+    /**
+     * Méthode découpant le corps du graphe en morceaux, en un seul passage sur les octets du fichier. Une limite est placée
+     * après un ; ou un retour à la ligne du graphe principal, hors d'une liste d'attributs, lorsque ce qui précède termine
+     * une instruction et que ce qui suit ne peut pas la prolonger
+     * @return false si le fichier ne peut pas être lu par morceaux
+     * @throws IOException En cas d'erreur de lecture
+     */
+    private boolean split() throws IOException {
+        long   size  = this.channel.size();
+        byte[] block = new byte[SCAN_BLOCK];
+        ByteBuffer wrapper = ByteBuffer.wrap(block);
+        if (size < 2 || this.channel.read(ByteBuffer.wrap(block, 0, 2), 0) == 2 && (block[0] & 0xFF) == 0x1f && (block[1] & 0xFF) == 0x8b) {
+            //Fichier compressé au format gzip
+            return false;
+        }
+
+        this.bodyStart = -1;
+        this.bodyEnd   = -1;
+        this.starts    = new long[this.chunkCount];
+        this.lines     = new int[this.chunkCount];
+        this.count     = 0;
+        this.defaults  = new ArrayList<>();
+
+        int     state     = NORMAL;
+        int     html      = 0;//Profondeur des chevrons d'une chaîne HTML
+        int     braces    = 0;
+        int     brackets  = 0;
+        int     line      = 1;
+        boolean lineBlank = true;//Si la ligne courante n'a que des blancs pour l'instant
+        int     last      = '{';//Le dernier caractère significatif
+        boolean keyword   = false;//Si le dernier mot est un mot-clé, qui doit être suivi d'autre chose
+        long    wordStart = -1;//Le début du mot en cours, -1 hors d'un mot
+        int     before    = '{';//Le dernier caractère significatif avant le mot en cours
+        int     wordSize  = 0;
+        char[]  word      = new char[8];//Le début du mot en cours, en minuscules
+        long    pending   = -1;//Limite possible après un retour à la ligne, selon le caractère suivant
+        int     pendingLine = 0;
+        long    target    = size;
+
+        for (long position = 0; position < size && this.bodyEnd < 0; ) {
+            wrapper.clear();
+            int n = this.channel.read(wrapper, position);
+            if (n <= 0) {
+                break;
+            }
+            for (int k = 0; k < n && this.bodyEnd < 0; k++) {
+                int  c = block[k] & 0xFF;
+                long p = position + k;
+                switch (state) {
+                    case NORMAL:
+                        if (wordStart >= 0 && !ID_CHARS[c]) {
+                            //Fin d'un mot
+                            keyword = isWord(word, wordSize, "subgraph") || isWord(word, wordSize, "graph")
+                                    || isWord(word, wordSize, "digraph") || isWord(word, wordSize, "strict");
+                            if (isWord(word, wordSize, "node") || isWord(word, wordSize, "edge")) {
+                                keyword = true;
+                                //Instruction d'attributs par défaut, et non Vertex nommé node au milieu d'une instruction
+                                if (braces == 1 && brackets == 0 && before != '-' && before != '>' && before != '=' && before != ':') {
+                                    this.defaults.add(wordStart);
+                                }
+                            }
+                            wordStart = -1;
+                        }
+                        if (c == '\n') {
+                            line++;
+                            lineBlank = true;
+                            if (pending < 0 && p >= target && braces == 1 && brackets == 0
+                                    && ((ID_CHARS[last] && !keyword) || last == '"' || last == ']' || last == '}')) {
+                                pending     = p + 1;
+                                pendingLine = line;
+                            }
+                            break;
+                        }
+                        if (c == ' ' || c == '\t' || c == '\r' || c == '\f') {
+                            break;
+                        }
+                        if (pending >= 0) {
+                            //Le retour à la ligne est une limite si ce caractère commence une nouvelle instruction
+                            if (c != '#' && (ID_CHARS[c] || c == '"' || c == '<') && braces == 1) {
+                                this.addChunk(pending, pendingLine);
+                                target = this.target(size);
+                            }
+                            pending = -1;
+                        }
+                        if (c == '#' && lineBlank) {
+                            state = LINE_COMMENT;
+                            break;
+                        }
+                        lineBlank = false;
+                        if (ID_CHARS[c]) {
+                            if (wordStart < 0) {
+                                before    = last;
+                                wordStart = p;
+                                wordSize  = 0;
+                            }
+                            if (wordSize < word.length) {
+                                word[wordSize] = Character.toLowerCase((char) c);
+                            }
+                            wordSize++;
+                            //Suite du mot, sans repasser par l'automate
+                            while (k + 1 < n && ID_CHARS[block[k + 1] & 0xFF]) {
+                                c = block[++k] & 0xFF;
+                                if (wordSize < word.length) {
+                                    word[wordSize] = Character.toLowerCase((char) c);
+                                }
+                                wordSize++;
+                            }
+                        } else if (c == '"') {
+                            state = QUOTED;
+                        } else if (c == '<') {
+                            state = HTML;
+                            html  = 1;
+                        } else if (c == '/') {
+                            state = SLASH;
+                        } else if (c == '{') {
+                            if (++braces == 1 && this.bodyStart < 0) {
+                                this.bodyStart = p + 1;
+                                this.starts[this.count] = p + 1;
+                                this.lines[this.count]  = line;
+                                this.count++;
+                                target = this.target(size);
+                            }
+                        } else if (c == '}') {
+                            if (--braces == 0) {
+                                this.bodyEnd = p;
+                            }
+                        } else if (c == '[') {
+                            brackets++;
+                        } else if (c == ']') {
+                            brackets--;
+                        } else if (c == ';' && p >= target && braces == 1 && brackets == 0) {
+                            this.addChunk(p + 1, line);
+                            target = this.target(size);
+                        }
+                        last = c;
+                        break;
+                    case SLASH:
+                        if (c == '/') {
+                            state = LINE_COMMENT;
+                        } else if (c == '*') {
+                            state = BLOCK_COMMENT;
+                        } else {
+                            //Simple caractère /, qui n'est pas valide : la lecture du morceau signalera l'erreur
+                            state = NORMAL;
+                            last  = '/';
+                            k--;
+                        }
+                        break;
+                    case QUOTED:
+                        //Contenu de la chaîne, sans repasser par l'automate
+                        while (c != '"' && c != '\\' && c != '\n' && k + 1 < n) {
+                            c = block[++k] & 0xFF;
+                        }
+                        if (c == '"') {
+                            state = NORMAL;
+                            last  = '"';
+                        } else if (c == '\\') {
+                            state = ESCAPE;
+                        } else if (c == '\n') {
+                            line++;
+                        }
+                        break;
+                    case ESCAPE:
+                        if (c == '\n') {
+                            line++;
+                        }
+                        state = QUOTED;
+                        break;
+                    case HTML:
+                        if (c == '<') {
+                            html++;
+                        } else if (c == '>' && --html == 0) {
+                            state = NORMAL;
+                            last  = '"';
+                        } else if (c == '\n') {
+                            line++;
+                        }
+                        break;
+                    case LINE_COMMENT:
+                        if (c == '\n') {
+                            state = NORMAL;
+                            k--;
+                        }
+                        break;
+                    case BLOCK_COMMENT:
+                    case STAR:
+                        if (c == '/' && state == STAR) {
+                            state = NORMAL;
+                            last  = '/';
+                        } else {
+                            state = c == '*' ? STAR : BLOCK_COMMENT;
+                            if (c == '\n') {
+                                line++;
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            position += n;
+        }
+
+        return this.bodyStart >= 0 && this.bodyEnd >= 0 && this.count > 1 && this.defaults.size() <= MAX_DEFAULTS;
+    }
+
+    /**
+     * Méthode ajoutant un morceau
+     * @param start La position du début du morceau
+     * @param line Le numéro de la ligne où il commence
+     */
+    private void addChunk(long start, int line) {
+        this.starts[this.count] = start;
+        this.lines[this.count]  = line;
+        this.count++;
+    }
+
+    /**
+     * Méthode calculant la position à partir de laquelle chercher le début du morceau suivant
+     * @param size La taille du fichier
+     * @return La position, size s'il y a assez de morceaux
+     */
+    private long target(long size) {
+        if (this.count >= this.chunkCount) {
+            return size;
+        }
+        return this.bodyStart + (size - this.bodyStart) * this.count / this.chunkCount;
+    }
+
+    /**
+     * Méthode pour savoir si un mot, dont on a gardé le début en minuscules, est un mot donné
+     * @param word Le début du mot
+     * @param size La longueur du mot
+     * @param expected Le mot attendu, en minuscules
+     * @return le résultat sous la forme d'un booléen
+     */
+    private static boolean isWord(char[] word, int size, String expected) {
+        if (size != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (word[i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Méthode créant un {@link java.io.Reader} sur une partie du fichier
+     * @param start La position du début de la partie
+     * @param end La position de la fin de la partie
+     * @return Le Reader
+     */
+    private Reader reader(long start, long end) {
+        return new InputStreamReader(new RegionInputStream(this.channel, start, end), DotFileReader.CHARSET);
+    }
+
+    /**
+     * Classe RegionInputStream, lit une partie d'un fichier par des lectures à position donnée, qui peuvent se faire
+     * depuis plusieurs threads sur le même {@link java.nio.channels.FileChannel}
+     */
+    private static class RegionInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long              position;//La position du prochain octet à lire
+        private final long        end;//La position de la fin de la partie
+
+        RegionInputStream(FileChannel channel, long start, long end) {
+            this.channel  = channel;
+            this.position = start;
+            this.end      = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return this.read(b, 0, 1) == 1 ? b[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.position >= this.end) {
+                return -1;
+            }
+            len = (int) Math.min(len, this.end - this.position);
+            int n = this.channel.read(ByteBuffer.wrap(b, off, len), this.position);
+            if (n > 0) {
+                this.position += n;
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Classe ChunkAction, tâche fork/join divisant un intervalle de morceaux jusqu'à n'en lire qu'un
+     */
+    private class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int first;//Le premier morceau
+        private final int last;//Le morceau suivant le dernier
+
+        ChunkAction(int first, int last) {
+            this.first = first;
+            this.last  = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.last - this.first == 1) {
+                try {
+                    readChunk(this.first);
+                } catch (IOException e) {
+                    errors[this.first] = e;
+                }
+            } else {
+                int middle = (this.first + this.last) >>> 1;
+                invokeAll(new ChunkAction(this.first, middle), new ChunkAction(middle, this.last));
+            }
+        }
+    }
+}
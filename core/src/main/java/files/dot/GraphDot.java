@@ -2,7 +2,7 @@ package files.dot;
 
 import data.Edge;
 import data.Graph;
-import data.GraphElement;
+import data.GraphBuilder;
 import data.Vertex;
 import files.dot.elements.EdgeDot;
 import files.dot.elements.VertexDot;
@@ -70,8 +70,8 @@ public class GraphDot {
      * @return Le {@link data.Graph} créee
      */
     public Graph exportToGraph(){
-        ArrayList<GraphElement> elements = new ArrayList<>();
-        HashMap<VertexDot, Vertex> verticesMap = new HashMap<>();
+        GraphBuilder builder = new GraphBuilder(vertices.size(), edges.size());
+        HashMap<VertexDot, Integer> verticesMap = new HashMap<>(vertices.size() * 2);
 
         for(VertexDot vd : vertices){
             HashMap<String, Object> properties = vd.getAttributes();
@@ -84,10 +84,7 @@ public class GraphDot {
             int value = 1;
 
             if(properties.get("pos") != null) {
-                String pos = (String) vd.getAttributes().get("pos");
-                pos = pos.replace("(","");
-                pos = pos.replace(")", "");
-                position.setLocation(Integer.parseInt(pos.split("%")[0]),Integer.parseInt(pos.split("%")[1]));
+                position = decodePosition((String) properties.get("pos"));
             }
 
             if(properties.get("color") != null) {
@@ -113,8 +110,7 @@ public class GraphDot {
             Vertex v = new Vertex(label, color, position,size, shape);
             v.setValue(value);
 
-            elements.add(v);
-            verticesMap.put(vd, v);
+            verticesMap.put(vd, builder.addVertex(v));
         }
 
         for(EdgeDot ed : edges){
@@ -139,17 +135,29 @@ public class GraphDot {
                 size = Integer.parseInt((String)properties.get("size"));
             }
 
-            Edge e = new Edge(label, color, verticesMap.get(origin), verticesMap.get(destination), size);
-            elements.add(e);
+            builder.addEdge(label, color, verticesMap.get(origin), verticesMap.get(destination), size);
         }
 
         Graph g = new Graph();
-        g.addGraphElements(elements);
+        g.addGraphElements(builder.build());
         g.setName(this.name);
 
         return g;
     }
 
+    /**
+     * Méthode de décodage d'une position, écrite par l'application (x%y) ou au format de Graphviz (x,y)
+     * @param pos La position sous forme de {@link java.lang.String}
+     * @return La position
+     */
+    public static Point decodePosition(String pos){
+        pos = pos.replace("(","");
+        pos = pos.replace(")", "");
+        pos = pos.replace("!", "");
+        String[] coordinates = pos.split("[%,]");
+        return new Point((int) Math.round(Double.parseDouble(coordinates[0])), (int) Math.round(Double.parseDouble(coordinates[1])));
+    }
+
     /**
      * Getter du nom du graphe
      * @return Le nom du graphe (string)
@@ -0,0 +1,60 @@
+package files.gevim;
+
+import data.Graph;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Classe permettant de gérer la lecture et l'écriture de fichiers .gevim, le format binaire de l'application. Elle utilise
+ * la classe {@link GevimFileReader} pour lire les fichiers et la classe {@link GevimFileWriter} pour en écrire.
+ */
+public class GevimFileManager {
+
+    private Graph graph;
+    private File fileAssociated;
+
+    /**
+     * Constructeur de la classe
+     * @param graph Le {@link data.Graph} associé
+     * @param fileAssociated Le {@link java.io.File} associé
+     */
+    public GevimFileManager(Graph graph, File fileAssociated) {
+        this.graph = graph;
+        this.fileAssociated = fileAssociated;
+    }
+
+    /**
+     * Méthode principale de lecture d'un graphe depuis un fichier .gevim (utilise {@link GevimFileReader}), auquel sont
+     * appliquées les modifications enregistrées dans son journal ({@link GevimJournal})
+     * @throws IOException Si le fichier ne peut pas être lu ou est corrompu
+     */
+    public void openGraph() throws IOException {
+        GevimFileReader reader = new GevimFileReader(this.fileAssociated);
+        reader.readFile();
+
+        this.graph = reader.getGraph();
+        GevimJournal.replay(this.fileAssociated, this.graph);
+        if (this.graph.getName() == null) {
+            String name = this.fileAssociated.getName();
+            this.graph.setName(name.endsWith(".gevim") ? name.substring(0, name.length() - ".gevim".length()) : name);
+        }
+    }
+
+    /**
+     * Méthode principale de sauvegarde du {@link data.Graph} dans un fichier .gevim (utilise {@link GevimFileWriter})
+     * @throws IOException Si le fichier ne peut pas être écrit
+     */
+    public void saveGraph() throws IOException {
+        GevimFileWriter writer = new GevimFileWriter(this.graph, this.fileAssociated);
+        writer.writeFile();
+    }
+
+    /**
+     * Getter du {@link data.Graph}
+     * @return Le Graphe
+     */
+    public Graph getGraph() {
+        return this.graph;
+    }
+}
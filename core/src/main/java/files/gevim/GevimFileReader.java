@@ -0,0 +1,414 @@
+package files.gevim;
+
+import data.Graph;
+import data.GraphBuilder;
+import data.Vertex;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Classe de lecture des fichiers .gevim, le format binaire de l'application. Le fichier est projeté en mémoire
+ * ({@link java.nio.channels.FileChannel#map}) : son ouverture ne lit que l'en-tête, et chaque propriété est lue
+ * à la demande directement dans le fichier. Le {@link data.Graph} n'est construit que si on le demande.
+ * <p>
+ * Format (petit-boutiste) : un en-tête de {@link #HEADER_SIZE} octets puis des colonnes de valeurs primitives.
+ * <ul>
+ *     <li>en-tête : "GEVM", version, nombre de Vertex, nombre d'Edge, nombre de chaînes, chaîne du nom du graphe,
+ *     taille de la table des chaînes, somme de contrôle CRC32 de tout ce qui suit l'en-tête</li>
+ *     <li>Vertex : colonnes d'int ID, x, y, taille, valeur, couleur RGB, étiquette ; puis une colonne d'octets pour la forme,
+ *     complétée à un multiple de 4</li>
+ *     <li>Edge : colonnes d'int ID, indice du Vertex d'origine, indice du Vertex de destination, épaisseur, couleur RGB, étiquette</li>
+ *     <li>table des chaînes : nombre de chaînes + 1 positions de début, puis les chaînes en UTF-8. Les étiquettes sont
+ *     des indices dans cette table, -1 pour aucune étiquette ; chaque chaîne n'y figure qu'une fois</li>
+ * </ul>
+ */
+public class GevimFileReader {
+
+    /* "GEVM" en petit-boutiste */
+    static final int MAGIC       = 'G' | 'E' << 8 | 'V' << 16 | 'M' << 24;
+    static final int VERSION     = 1;
+    static final int HEADER_SIZE = 40;
+
+    /* Les colonnes, dans leur ordre dans le fichier */
+    static final int VERTEX_ID = 0, VERTEX_X = 1, VERTEX_Y = 2, VERTEX_SIZE = 3, VERTEX_VALUE = 4, VERTEX_RGB = 5,
+                     VERTEX_LABEL = 6, VERTEX_COLUMNS = 7;
+    static final int EDGE_ID = 0, EDGE_ORIGIN = 1, EDGE_DESTINATION = 2, EDGE_THICKNESS = 3, EDGE_RGB = 4, EDGE_LABEL = 5,
+                     EDGE_COLUMNS = 6;
+
+    private static final Vertex.Shape[] SHAPES = Vertex.Shape.values();
+
+    private File file;
+
+    private ByteBuffer buffer;//Le fichier projeté en mémoire
+    private int        vertexCount;
+    private int        edgeCount;
+    private int        stringCount;
+    private int        nameIndex;
+    private long       checksum;
+
+    /* Position du début de chaque partie du fichier */
+    private int        vertices, shapes, edges, offsets, strings;
+
+    private String[]   decoded;//Les chaînes déjà décodées, créé à la première lecture d'une chaîne
+    private Graph      graph;//Le Graph construit, null tant qu'il n'a pas été demandé
+
+    /**
+     * Constructeur de la classe
+     * @param file Le fichier .gevim à lire
+     */
+    public GevimFileReader(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Méthode d'ouverture du fichier, dont la somme de contrôle est vérifiée
+     * @throws IOException Si le fichier ne peut pas être lu, n'est pas un fichier .gevim ou est corrompu
+     */
+    public void readFile() throws IOException {
+        this.readFile(true);
+    }
+
+    /**
+     * Méthode d'ouverture du fichier : il est projeté en mémoire et son en-tête est lu. Sans vérification de la somme de
+     * contrôle, le contenu du fichier n'est lu qu'au fil des accès
+     * @param verify Si la somme de contrôle doit être vérifiée, ce qui demande de lire tout le fichier
+     * @throws IOException Si le fichier ne peut pas être lu, n'est pas un fichier .gevim ou est corrompu
+     */
+    public void readFile(boolean verify) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(this.file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Fichier trop volumineux : " + channel.size() + " octets");
+            }
+            //La projection reste valide une fois le fichier fermé
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.open(mapped);
+        } finally {
+            input.close();
+        }
+        if (verify) {
+            this.verifyChecksum();
+        }
+    }
+
+    /**
+     * Méthode d'ouverture d'un contenu au format .gevim déjà en mémoire
+     * @param buffer Le contenu, de sa position 0 à sa limite
+     * @throws IOException Si le contenu n'est pas au format .gevim
+     */
+    void open(ByteBuffer buffer) throws IOException {
+        this.buffer  = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.graph   = null;
+        this.decoded = null;
+        if (this.buffer.limit() < HEADER_SIZE || this.buffer.getInt(0) != MAGIC) {
+            throw new IOException("Le fichier n'est pas au format .gevim");
+        }
+        if (this.buffer.getInt(4) != VERSION) {
+            throw new IOException("Version du format .gevim non prise en charge : " + this.buffer.getInt(4));
+        }
+        this.vertexCount = this.buffer.getInt(8);
+        this.edgeCount   = this.buffer.getInt(12);
+        this.stringCount = this.buffer.getInt(16);
+        this.nameIndex   = this.buffer.getInt(20);
+        long stringBytes = this.buffer.getLong(24);
+        this.checksum    = this.buffer.getLong(32);
+
+        long[] layout = layout(this.vertexCount, this.edgeCount, this.stringCount, stringBytes);
+        if (this.vertexCount < 0 || this.edgeCount < 0 || this.stringCount < 0 || stringBytes < 0
+                || layout[5] != this.buffer.limit()) {
+            throw new IOException("Fichier .gevim tronqué ou corrompu");
+        }
+        this.vertices = (int) layout[0];
+        this.shapes   = (int) layout[1];
+        this.edges    = (int) layout[2];
+        this.offsets  = (int) layout[3];
+        this.strings  = (int) layout[4];
+    }
+
+    /**
+     * Méthode calculant la position de chaque partie d'un fichier
+     * @param vertexCount Le nombre de Vertex
+     * @param edgeCount Le nombre d'Edge
+     * @param stringCount Le nombre de chaînes
+     * @param stringBytes La taille des chaînes en UTF-8
+     * @return Les positions des Vertex, des formes, des Edge, des positions des chaînes et des chaînes, puis la taille du fichier
+     */
+    static long[] layout(long vertexCount, long edgeCount, long stringCount, long stringBytes) {
+        long vertices = HEADER_SIZE;
+        long shapes   = vertices + 4 * VERTEX_COLUMNS * vertexCount;
+        long edges    = shapes + ((vertexCount + 3) & ~3L);
+        long offsets  = edges + 4 * EDGE_COLUMNS * edgeCount;
+        long strings  = offsets + 4 * (stringCount + 1);
+        return new long[]{vertices, shapes, edges, offsets, strings, strings + stringBytes};
+    }
+
+    /**
+     * Méthode vérifiant la somme de contrôle du fichier
+     * @throws IOException Si le fichier est corrompu
+     */
+    public void verifyChecksum() throws IOException {
+        ByteBuffer content = this.buffer.duplicate();
+        content.position(HEADER_SIZE);
+        CRC32  crc   = new CRC32();
+        byte[] chunk = new byte[1 << 16];
+        while (content.hasRemaining()) {
+            int length = Math.min(chunk.length, content.remaining());
+            content.get(chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        if (crc.getValue() != this.checksum) {
+            throw new IOException("Fichier .gevim corrompu : somme de contrôle invalide");
+        }
+    }
+
+    /**
+     * Getter du nombre de Vertex du fichier
+     * @return le nombre de Vertex
+     */
+    public int getVertexCount() {
+        return this.vertexCount;
+    }
+
+    /**
+     * Getter du nombre d'Edge du fichier
+     * @return le nombre d'Edge
+     */
+    public int getEdgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Getter du nom du graphe enregistré
+     * @return le nom, null s'il n'y en a pas
+     */
+    public String getName() {
+        return this.getString(this.nameIndex);
+    }
+
+    /**
+     * Getter d'une propriété entière d'un Vertex
+     * @param column la colonne de la propriété ({@link #VERTEX_X}, {@link #VERTEX_SIZE}...)
+     * @param index l'indice du Vertex
+     * @return la valeur de la propriété
+     */
+    int getVertexInt(int column, int index) {
+        checkIndex(index, this.vertexCount);
+        return this.buffer.getInt(this.vertices + 4 * (column * this.vertexCount + index));
+    }
+
+    /**
+     * Getter d'une propriété entière d'une Edge
+     * @param column la colonne de la propriété ({@link #EDGE_ORIGIN}, {@link #EDGE_THICKNESS}...)
+     * @param index l'indice de l'Edge
+     * @return la valeur de la propriété
+     */
+    int getEdgeInt(int column, int index) {
+        checkIndex(index, this.edgeCount);
+        return this.buffer.getInt(this.edges + 4 * (column * this.edgeCount + index));
+    }
+
+    /**
+     * Getter de l'ID d'un Vertex
+     * @param index l'indice du Vertex
+     * @return son ID
+     */
+    public int getVertexID(int index) {
+        return this.getVertexInt(VERTEX_ID, index);
+    }
+
+    /**
+     * Getter de la position d'un Vertex
+     * @param index l'indice du Vertex
+     * @return sa position
+     */
+    public Point getVertexPosition(int index) {
+        return new Point(this.getVertexInt(VERTEX_X, index), this.getVertexInt(VERTEX_Y, index));
+    }
+
+    /**
+     * Getter de la taille d'un Vertex
+     * @param index l'indice du Vertex
+     * @return sa taille
+     */
+    public int getVertexSize(int index) {
+        return this.getVertexInt(VERTEX_SIZE, index);
+    }
+
+    /**
+     * Getter de la valeur d'un Vertex
+     * @param index l'indice du Vertex
+     * @return sa valeur
+     */
+    public int getVertexValue(int index) {
+        return this.getVertexInt(VERTEX_VALUE, index);
+    }
+
+    /**
+     * Getter de la couleur d'un Vertex
+     * @param index l'indice du Vertex
+     * @return sa couleur
+     */
+    public Color getVertexColor(int index) {
+        return new Color(this.getVertexInt(VERTEX_RGB, index));
+    }
+
+    /**
+     * Getter de l'étiquette d'un Vertex
+     * @param index l'indice du Vertex
+     * @return son étiquette
+     */
+    public String getVertexLabel(int index) {
+        return this.getString(this.getVertexInt(VERTEX_LABEL, index));
+    }
+
+    /**
+     * Getter de la forme d'un Vertex
+     * @param index l'indice du Vertex
+     * @return sa forme
+     * @throws IllegalStateException si le fichier contient une forme inconnue
+     */
+    public Vertex.Shape getVertexShape(int index) {
+        checkIndex(index, this.vertexCount);
+        int shape = this.buffer.get(this.shapes + index);
+        if (shape < 0 || shape >= SHAPES.length) {
+            throw new IllegalStateException("Forme inconnue : " + shape);
+        }
+        return SHAPES[shape];
+    }
+
+    /**
+     * Getter de l'ID d'une Edge
+     * @param index l'indice de l'Edge
+     * @return son ID
+     */
+    public int getEdgeID(int index) {
+        return this.getEdgeInt(EDGE_ID, index);
+    }
+
+    /**
+     * Getter du Vertex d'origine d'une Edge
+     * @param index l'indice de l'Edge
+     * @return l'indice du Vertex d'origine
+     */
+    public int getEdgeOrigin(int index) {
+        return this.getEdgeInt(EDGE_ORIGIN, index);
+    }
+
+    /**
+     * Getter du Vertex de destination d'une Edge
+     * @param index l'indice de l'Edge
+     * @return l'indice du Vertex de destination
+     */
+    public int getEdgeDestination(int index) {
+        return this.getEdgeInt(EDGE_DESTINATION, index);
+    }
+
+    /**
+     * Getter de l'épaisseur d'une Edge
+     * @param index l'indice de l'Edge
+     * @return son épaisseur
+     */
+    public int getEdgeThickness(int index) {
+        return this.getEdgeInt(EDGE_THICKNESS, index);
+    }
+
+    /**
+     * Getter de la couleur d'une Edge
+     * @param index l'indice de l'Edge
+     * @return sa couleur
+     */
+    public Color getEdgeColor(int index) {
+        return new Color(this.getEdgeInt(EDGE_RGB, index));
+    }
+
+    /**
+     * Getter de l'étiquette d'une Edge
+     * @param index l'indice de l'Edge
+     * @return son étiquette
+     */
+    public String getEdgeLabel(int index) {
+        return this.getString(this.getEdgeInt(EDGE_LABEL, index));
+    }
+
+    /**
+     * Getter du {@link data.Graph} enregistré, construit au premier appel
+     * @return le Graph
+     * @throws IOException si le fichier est corrompu
+     */
+    public Graph getGraph() throws IOException {
+        if (this.graph != null) {
+            return this.graph;
+        }
+        try {
+            GraphBuilder builder = new GraphBuilder(this.vertexCount, this.edgeCount);
+            for (int i = 0; i < this.vertexCount; i++) {
+                Vertex vertex = new Vertex(this.getVertexID(i), this.getVertexLabel(i), this.getVertexColor(i),
+                                           this.getVertexPosition(i), this.getVertexSize(i), this.getVertexShape(i));
+                vertex.setValue(this.getVertexValue(i));
+                builder.addVertex(vertex);
+            }
+            for (int i = 0; i < this.edgeCount; i++) {
+                builder.addEdge(this.getEdgeID(i), this.getEdgeLabel(i), this.getEdgeColor(i),
+                                this.getEdgeOrigin(i), this.getEdgeDestination(i), this.getEdgeThickness(i));
+            }
+            Graph graph = new Graph();
+            graph.setName(this.getName());
+            graph.addGraphElements(builder.build());
+            this.graph = graph;
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            throw new IOException("Fichier .gevim corrompu : " + e.getMessage(), e);
+        }
+        return this.graph;
+    }
+
+    /**
+     * Méthode renvoyant une chaîne de la table, décodée au premier accès
+     * @param index l'indice de la chaîne, -1 pour aucune chaîne
+     * @return la chaîne, null pour l'indice -1
+     */
+    private String getString(int index) {
+        if (index == -1) {
+            return null;
+        }
+        checkIndex(index, this.stringCount);
+        if (this.decoded == null) {
+            this.decoded = new String[this.stringCount];
+        }
+        String text = this.decoded[index];
+        if (text == null) {
+            int start = this.buffer.getInt(this.offsets + 4 * index);
+            int end   = this.buffer.getInt(this.offsets + 4 * (index + 1));
+            if (start < 0 || end < start || this.strings + end > this.buffer.limit()) {
+                throw new IllegalStateException("Chaîne invalide : " + index);
+            }
+            byte[] bytes = new byte[end - start];
+            ByteBuffer content = this.buffer.duplicate();
+            content.position(this.strings + start);
+            content.get(bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+            this.decoded[index] = text;
+        }
+        return text;
+    }
+
+    /**
+     * Méthode vérifiant qu'un indice est valide
+     * @param index l'indice
+     * @param count le nombre d'éléments
+     */
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Indice invalide : " + index);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package files.gevim;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import threading.Progress;
+import threading.ProgressListener;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Classe d'écriture d'un {@link data.Graph} dans un fichier .gevim (voir {@link GevimFileReader} pour le format).
+ * Les colonnes sont écrites l'une après l'autre depuis le Graph à travers un tampon réutilisé ; seules la table des
+ * étiquettes et une colonne d'indices par type d'élément sont gardées en mémoire.
+ */
+public class GevimFileWriter {
+
+    /* Taille du tampon d'écriture */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Graph graph;
+    private File file;
+
+    private FileChannel channel;//Le fichier en cours d'écriture
+    private ByteBuffer  buffer;//Le tampon d'écriture
+    private CRC32       crc;//La somme de contrôle de ce qui a été écrit après l'en-tête
+
+    private ProgressListener listener;//L'objet prévenu de l'avancement de l'écriture, null s'il n'y en a pas
+
+    /**
+     * Constructeur de la classe
+     * @param graph Le {@link data.Graph} devant être écrit
+     * @param file Le {@link java.io.File} dans lequel sera écrit le {@link data.Graph}
+     */
+    public GevimFileWriter(Graph graph, File file) {
+        this.graph = graph;
+        this.file  = file;
+    }
+
+    /**
+     * Setter de l'objet prévenu de l'avancement de l'écriture, qui compte les éléments écrits
+     * @param listener l'objet prévenu, null pour ne plus l'être
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Méthode procédant à l'écriture du {@link data.Graph} dans le {@link java.io.File}
+     * @throws IOException Si jamais le fichier ne peut pas être écrit ou si le Graph est trop gros pour le format
+     */
+    public void writeFile() throws IOException {
+        List<Vertex> vertices = this.graph.getVertexes();
+        List<Edge>   edges    = this.graph.getEdges();
+
+        //Table des chaînes : chaque étiquette n'est écrite qu'une fois
+        HashMap<String, Integer> indexes = new HashMap<>();
+        ArrayList<String>        strings = new ArrayList<>();
+        int   nameIndex    = intern(this.graph.getName(), indexes, strings);
+        int[] vertexLabels = new int[vertices.size()];
+        int[] edgeLabels   = new int[edges.size()];
+        for (int i = 0; i < vertexLabels.length; i++) {
+            vertexLabels[i] = intern(vertices.get(i).getLabel(), indexes, strings);
+        }
+        for (int i = 0; i < edgeLabels.length; i++) {
+            edgeLabels[i] = intern(edges.get(i).getLabel(), indexes, strings);
+        }
+        indexes = null;
+        long stringBytes = 0;
+        for (String text : strings) {
+            stringBytes += utf8Length(text);
+        }
+        long[] layout = GevimFileReader.layout(vertices.size(), edges.size(), strings.size(), stringBytes);
+        if (layout[5] > Integer.MAX_VALUE) {
+            throw new IOException("Graphe trop volumineux pour le format .gevim");
+        }
+
+        //Une unité par valeur écrite dans les colonnes, et par chaîne
+        Progress progress = new Progress(this.listener, (long) vertices.size() * (GevimFileReader.VERTEX_COLUMNS + 1)
+                                                        + (long) edges.size() * GevimFileReader.EDGE_COLUMNS + strings.size());
+        FileOutputStream output = new FileOutputStream(this.file);
+        try {
+            this.channel = output.getChannel();
+            this.buffer  = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            this.crc     = new CRC32();
+            //L'en-tête, qui contient la somme de contrôle, est écrit à la fin
+            this.channel.position(GevimFileReader.HEADER_SIZE);
+
+            for (int column = 0; column < GevimFileReader.VERTEX_COLUMNS; column++) {
+                for (int i = 0; i < vertexLabels.length; i++) {
+                    Vertex v = vertices.get(i);
+                    int    value;
+                    switch (column) {
+                        case GevimFileReader.VERTEX_ID:    value = v.getID(); break;
+                        case GevimFileReader.VERTEX_X:     value = v.getPosition().x; break;
+                        case GevimFileReader.VERTEX_Y:     value = v.getPosition().y; break;
+                        case GevimFileReader.VERTEX_SIZE:  value = v.getSize(); break;
+                        case GevimFileReader.VERTEX_VALUE: value = v.getValue(); break;
+                        case GevimFileReader.VERTEX_RGB:   value = v.getColor().getRGB() & 0xFFFFFF; break;
+                        default:                           value = vertexLabels[i]; break;
+                    }
+                    this.ensureRemaining(4);
+                    this.buffer.putInt(value);
+                    progress.advance(1);
+                }
+            }
+            for (Vertex v : vertices) {
+                this.ensureRemaining(1);
+                this.buffer.put((byte) v.getShape().ordinal());
+                progress.advance(1);
+            }
+            for (int i = vertices.size(); (i & 3) != 0; i++) {
+                this.ensureRemaining(1);
+                this.buffer.put((byte) 0);
+            }
+
+            for (int column = 0; column < GevimFileReader.EDGE_COLUMNS; column++) {
+                for (int i = 0; i < edgeLabels.length; i++) {
+                    Edge e = edges.get(i);
+                    int  value;
+                    switch (column) {
+                        case GevimFileReader.EDGE_ID:          value = e.getID(); break;
+                        case GevimFileReader.EDGE_ORIGIN:      value = this.graph.getVertexIndex(e.getOrigin()); break;
+                        case GevimFileReader.EDGE_DESTINATION: value = this.graph.getVertexIndex(e.getDestination()); break;
+                        case GevimFileReader.EDGE_THICKNESS:   value = e.getThickness(); break;
+                        case GevimFileReader.EDGE_RGB:         value = e.getColor().getRGB() & 0xFFFFFF; break;
+                        default:                               value = edgeLabels[i]; break;
+                    }
+                    this.ensureRemaining(4);
+                    this.buffer.putInt(value);
+                    progress.advance(1);
+                }
+            }
+
+            int offset = 0;
+            for (String text : strings) {
+                this.ensureRemaining(4);
+                this.buffer.putInt(offset);
+                offset += utf8Length(text);
+            }
+            this.ensureRemaining(4);
+            this.buffer.putInt(offset);
+            for (String text : strings) {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                for (int written = 0; written < bytes.length; ) {
+                    this.ensureRemaining(1);
+                    int length = Math.min(this.buffer.remaining(), bytes.length - written);
+                    this.buffer.put(bytes, written, length);
+                    written += length;
+                }
+                progress.advance(1);
+            }
+            this.flushBuffer();
+
+            ByteBuffer header = ByteBuffer.allocate(GevimFileReader.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(GevimFileReader.MAGIC).putInt(GevimFileReader.VERSION);
+            header.putInt(vertices.size()).putInt(edges.size()).putInt(strings.size()).putInt(nameIndex);
+            header.putLong(stringBytes).putLong(this.crc.getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+        } finally {
+            output.close();
+            this.channel = null;
+            this.buffer  = null;
+        }
+    }
+
+    /**
+     * Méthode vidant le tampon s'il n'a plus la place demandée
+     * @param bytes le nombre d'octets à écrire
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    private void ensureRemaining(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            this.flushBuffer();
+        }
+    }
+
+    /**
+     * Méthode écrivant le contenu du tampon dans le fichier, en mettant à jour la somme de contrôle
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    private void flushBuffer() throws IOException {
+        this.buffer.flip();
+        this.crc.update(this.buffer.array(), 0, this.buffer.limit());
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Méthode renvoyant l'indice d'une chaîne dans la table, en l'y ajoutant si elle n'y est pas encore
+     * @param text la chaîne
+     * @param indexes l'indice des chaînes déjà ajoutées
+     * @param strings les chaînes déjà ajoutées
+     * @return l'indice de la chaîne, -1 pour null
+     */
+    private static int intern(String text, HashMap<String, Integer> indexes, ArrayList<String> strings) {
+        if (text == null) {
+            return -1;
+        }
+        Integer index = indexes.get(text);
+        if (index == null) {
+            index = strings.size();
+            indexes.put(text, index);
+            strings.add(text);
+        }
+        return index;
+    }
+
+    /**
+     * Méthode calculant la taille d'une chaîne en UTF-8 sans l'encoder
+     * @param text la chaîne
+     * @return le nombre d'octets
+     */
+    private static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;//Encodé en '?'
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,390 @@
+package files.gevim;
+
+import data.Edge;
+import data.Graph;
+import data.GraphElement;
+import data.GraphEvent;
+import data.Observable;
+import data.Vertex;
+import view.editor.display.Observer;
+
+import java.awt.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Classe GevimJournal, journal des modifications d'un {@link data.Graph} enregistré dans un fichier .gevim.
+ * Le journal observe le Graph et traduit chaque {@link data.GraphEvent} en enregistrements binaires : l'état complet d'un
+ * Vertex ou d'une Edge ajouté, déplacé ou modifié, ou l'ID d'un GraphElement retiré. Sauvegarder le Graph revient alors
+ * à ajouter ces enregistrements à la fin du fichier journal (nom du fichier .gevim suivi de {@link #EXTENSION}) plutôt qu'à
+ * réécrire tout le fichier ; à la lecture du fichier .gevim, le journal est rejoué.
+ *
+ * Le journal commence par un en-tête (magic, version, puis taille et date de modification du fichier .gevim auquel il
+ * s'applique) suivi de lots d'enregistrements, un par sauvegarde : taille, enregistrements, somme de contrôle CRC32.
+ * Un lot incomplet ou corrompu (sauvegarde interrompue) et les suivants sont ignorés. Un journal dont l'en-tête ne
+ * correspond plus au fichier .gevim, qui a été réécrit depuis, est ignoré lui aussi.
+ *
+ * Les enregistrements sont créés sur le thread qui notifie les Observer du Graph (l'EDT) ; les méthodes statiques
+ * d'écriture et de lecture du fichier peuvent être appelées depuis n'importe quel thread.
+ */
+public class GevimJournal implements Observer {
+
+    /* Extension ajoutée au nom du fichier .gevim pour obtenir celui du journal */
+    public static final String EXTENSION = ".journal";
+
+    static final int MAGIC   = 'G' | 'E' << 8 | 'V' << 16 | 'J' << 24;
+    static final int VERSION = 1;
+
+    /* Types d'enregistrement */
+    private static final byte VERTEX = 1, EDGE = 2, REMOVE = 3;
+
+    private static final Vertex.Shape[] SHAPES = Vertex.Shape.values();
+
+    private final File                  file;//Le fichier .gevim auquel s'applique le journal
+    private ByteArrayOutputStream       records;//Les enregistrements pas encore ajoutés au fichier
+    private DataOutputStream            output;//Le flux d'écriture des enregistrements
+    private boolean                     stale;//Si des modifications n'ont pas pu être enregistrées
+
+    /**
+     * Constructeur de la classe GevimJournal, qui commence à observer le Graph (voir {@link data.Observable#removeObserver(Observer)}
+     * pour l'arrêter). Le Graph doit correspondre au contenu du fichier .gevim et de son journal
+     * @param graph le Graph à observer
+     * @param file le fichier .gevim auquel s'applique le journal
+     */
+    public GevimJournal(Graph graph, File file) {
+        this.file    = file.getAbsoluteFile();
+        this.records = new ByteArrayOutputStream();
+        this.output  = new DataOutputStream(this.records);
+        this.stale   = false;
+        graph.addObserver(this);
+    }
+
+    /**
+     * Getter du fichier .gevim auquel s'applique le journal
+     * @return le fichier
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Méthode indiquant si des modifications n'ont pas pu être enregistrées (le Graph a été modifié sans
+     * {@link data.GraphEvent}) : le journal ne suffit plus et le fichier doit être réécrit
+     * @return true si le fichier doit être réécrit
+     */
+    public boolean isStale() {
+        return this.stale;
+    }
+
+    /**
+     * Méthode renvoyant les enregistrements faits depuis le dernier appel, et les oubliant
+     * @return les enregistrements, à ajouter au fichier avec {@link #append(File, byte[])}
+     */
+    public byte[] takeRecords() {
+        byte[] bytes = this.records.toByteArray();
+        this.records.reset();
+        return bytes;
+    }
+
+    /**
+     * Méthode indiquant que le journal ne suffit plus, par exemple parce que des enregistrements n'ont pas pu être écrits
+     */
+    public void invalidate() {
+        this.stale = true;
+    }
+
+    /**
+     * Méthode oubliant les enregistrements faits, après une réécriture complète du fichier
+     */
+    public void reset() {
+        this.records.reset();
+        this.stale = false;
+    }
+
+    /**
+     * Méthode appelée quand le Graph a été modifié sans détail des modifications
+     * (non-Javadoc)
+     * @see view.editor.display.Observer#update(data.Observable, java.lang.Object)
+     */
+    @Override
+    public void update(Observable observable, Object object) {
+        this.stale = true;
+    }
+
+    /**
+     * Méthode enregistrant une modification du Graph
+     * (non-Javadoc)
+     * @see view.editor.display.Observer#update(data.Observable, data.GraphEvent)
+     */
+    @Override
+    public void update(Observable observable, GraphEvent event) {
+        try {
+            for (int id : event.getIDs()) {
+                if (event.getType() == GraphEvent.Type.REMOVED) {
+                    this.output.writeByte(REMOVE);
+                    this.output.writeInt(id);
+                    continue;
+                }
+                //Un GraphElement ajouté puis retiré avant la notification n'est plus dans le Graph
+                GraphElement element = ((Graph) observable).getFromID(id);
+                if (element == null) {
+                    continue;
+                }
+                if (element.isVertex()) {
+                    Vertex v = (Vertex) element;
+                    this.output.writeByte(VERTEX);
+                    this.output.writeInt(v.getID());
+                    this.output.writeInt(v.getPosition().x);
+                    this.output.writeInt(v.getPosition().y);
+                    this.output.writeInt(v.getSize());
+                    this.output.writeInt(v.getValue());
+                    this.output.writeInt(v.getColor().getRGB() & 0xFFFFFF);
+                    this.output.writeByte(v.getShape().ordinal());
+                    writeString(this.output, v.getLabel());
+                } else {
+                    Edge e = (Edge) element;
+                    this.output.writeByte(EDGE);
+                    this.output.writeInt(e.getID());
+                    this.output.writeInt(e.getOrigin().getID());
+                    this.output.writeInt(e.getDestination().getID());
+                    this.output.writeInt(e.getThickness());
+                    this.output.writeInt(e.getColor().getRGB() & 0xFFFFFF);
+                    writeString(this.output, e.getLabel());
+                }
+            }
+        } catch (IOException e) {
+            //Impossible avec un ByteArrayOutputStream
+            this.stale = true;
+        }
+    }
+
+    /**
+     * Méthode renvoyant le fichier journal d'un fichier .gevim
+     * @param file le fichier .gevim
+     * @return le fichier journal, qui n'existe pas forcément
+     */
+    public static File journalFile(File file) {
+        return new File(file.getAbsolutePath() + EXTENSION);
+    }
+
+    /**
+     * Méthode ajoutant un lot d'enregistrements à la fin du journal d'un fichier .gevim, et le forçant sur le disque.
+     * Si le journal n'existe pas ou s'applique à une version précédente du fichier, il est recréé
+     * @param file le fichier .gevim
+     * @param records les enregistrements, renvoyés par {@link #takeRecords()}
+     * @throws IOException Si le journal ne peut pas être écrit
+     */
+    public static void append(File file, byte[] records) throws IOException {
+        File journal = journalFile(file);
+        if (!journal.exists() || !matches(journal, file)) {
+            DataOutputStream header = new DataOutputStream(new FileOutputStream(journal));
+            try {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(file.length());
+                header.writeLong(file.lastModified());
+            } finally {
+                header.close();
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(records, 0, records.length);
+        FileOutputStream output = new FileOutputStream(journal, true);
+        try {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output, 1 << 16));
+            data.writeInt(records.length);
+            data.write(records);
+            data.writeInt((int) crc.getValue());
+            data.flush();
+            output.getChannel().force(true);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Méthode supprimant le journal d'un fichier .gevim, après sa réécriture complète
+     * @param file le fichier .gevim
+     */
+    public static void delete(File file) {
+        journalFile(file).delete();
+    }
+
+    /**
+     * Méthode rejouant sur un Graph, lu depuis un fichier .gevim, le journal de ce fichier s'il en a un
+     * @param file le fichier .gevim
+     * @param graph le Graph lu depuis le fichier
+     * @return le nombre de lots d'enregistrements rejoués
+     * @throws IOException Si le journal ne peut pas être lu ou ne correspond pas au Graph
+     */
+    public static int replay(File file, Graph graph) throws IOException {
+        File journal = journalFile(file);
+        if (!journal.exists() || !matches(journal, file)) {
+            return 0;
+        }
+        int batches = 0;
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(journal), 1 << 16));
+        try {
+            long remaining = journal.length() - 24;
+            input.skipBytes(24);
+            CRC32 crc = new CRC32();
+            while (remaining >= 8) {
+                int length = input.readInt();
+                if (length < 0 || length > remaining - 8) {
+                    break;
+                }
+                byte[] records = new byte[length];
+                input.readFully(records);
+                crc.reset();
+                crc.update(records, 0, length);
+                if (input.readInt() != (int) crc.getValue()) {
+                    break;
+                }
+                apply(records, graph);
+                remaining -= length + 8;
+                batches++;
+            }
+        } finally {
+            input.close();
+        }
+        return batches;
+    }
+
+    /**
+     * Méthode vérifiant qu'un journal s'applique bien à la version actuelle d'un fichier .gevim
+     * @param journal le journal
+     * @param file le fichier .gevim
+     * @return true si l'en-tête du journal correspond au fichier
+     * @throws IOException Si le journal ne peut pas être lu
+     */
+    private static boolean matches(File journal, File file) throws IOException {
+        if (journal.length() < 24) {
+            return false;
+        }
+        DataInputStream input = new DataInputStream(new FileInputStream(journal));
+        try {
+            return input.readInt() == MAGIC && input.readInt() == VERSION
+                    && input.readLong() == file.length() && input.readLong() == file.lastModified();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Méthode appliquant un lot d'enregistrements à un Graph
+     * @param records les enregistrements
+     * @param graph le Graph
+     * @throws IOException Si un enregistrement est invalide ou ne correspond pas au Graph
+     */
+    private static void apply(byte[] records, Graph graph) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(records));
+        while (input.available() > 0) {
+            byte type = input.readByte();
+            int  id   = input.readInt();
+            GraphElement existing = graph.getFromID(id);
+            switch (type) {
+                case VERTEX: {
+                    Point position = new Point(input.readInt(), input.readInt());
+                    int   size     = input.readInt();
+                    int   value    = input.readInt();
+                    Color color    = new Color(input.readInt());
+                    int   shape    = input.readUnsignedByte();
+                    String label   = readString(input);
+                    if (shape >= SHAPES.length || (existing != null && !existing.isVertex())) {
+                        throw new IOException("Enregistrement de Vertex invalide dans le journal (ID " + id + ")");
+                    }
+                    Vertex v = (Vertex) existing;
+                    if (v == null) {
+                        v = new Vertex(id, label, color, position, size, SHAPES[shape]);
+                        add(graph, v);
+                    } else {
+                        v.setLabel(label);
+                        v.setColor(color);
+                        v.setPosition(position);
+                        v.setSize(size);
+                        v.setShape(SHAPES[shape]);
+                    }
+                    v.setValue(value);
+                    break;
+                }
+                case EDGE: {
+                    GraphElement origin      = graph.getFromID(input.readInt());
+                    GraphElement destination = graph.getFromID(input.readInt());
+                    int    thickness = input.readInt();
+                    Color  color     = new Color(input.readInt());
+                    String label     = readString(input);
+                    if (origin == null || !origin.isVertex() || destination == null || !destination.isVertex()
+                            || (existing != null && existing.isVertex())) {
+                        throw new IOException("Enregistrement d'Edge invalide dans le journal (ID " + id + ")");
+                    }
+                    Edge e = (Edge) existing;
+                    if (e != null && e.getOrigin() == origin && e.getDestination() == destination) {
+                        e.setLabel(label);
+                        e.setColor(color);
+                        e.setThickness(thickness);
+                        break;
+                    }
+                    //Les extrémités ont changé : l'Edge est recréée avec le même ID
+                    if (e != null) {
+                        graph.removeGraphElement(e);
+                    }
+                    add(graph, new Edge(id, label, color, (Vertex) origin, (Vertex) destination, thickness));
+                    break;
+                }
+                case REMOVE:
+                    if (existing != null) {
+                        graph.removeGraphElement(existing);
+                    }
+                    break;
+                default:
+                    throw new IOException("Type d'enregistrement inconnu dans le journal : " + type);
+            }
+        }
+    }
+
+    /**
+     * Méthode ajoutant au Graph un GraphElement rejoué
+     * @param graph le Graph
+     * @param element le GraphElement, avec son ID
+     */
+    private static void add(Graph graph, GraphElement element) {
+        ArrayList<GraphElement> elements = new ArrayList<>(1);
+        elements.add(element);
+        graph.addGraphElements(elements);
+    }
+
+    /**
+     * Méthode écrivant une chaîne, éventuellement null, en UTF-8 précédée de sa taille
+     * @param output le flux
+     * @param text la chaîne
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    private static void writeString(DataOutputStream output, String text) throws IOException {
+        if (text == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Méthode lisant une chaîne écrite par {@link #writeString(DataOutputStream, String)}
+     * @param input le flux
+     * @return la chaîne, éventuellement null
+     * @throws IOException En cas d'erreur de lecture
+     */
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
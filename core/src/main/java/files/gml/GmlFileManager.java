@@ -3,6 +3,7 @@ package files.gml;
 import data.Graph;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * Classe permettant de gérer la lecture et l'écriture de fichiers .gml, les fichiers GraphML. Elle utilise
@@ -33,7 +34,6 @@ public class GmlFileManager{
 
         GmlGraphReader gmlGraphReader = new GmlGraphReader(this.fileAssociated);
         gmlGraphReader.readFile();
-        gmlGraphReader.createGraph();
 
         this.graph = gmlGraphReader.getCreatedGraph();
         this.graph.setName(this.fileAssociated.getName().substring(0, this.fileAssociated.getName().indexOf(".graphml")));
@@ -43,13 +43,11 @@ public class GmlFileManager{
     /**
      * Méthode principale d'écriture d'un graphe dans un fichier GML. Elle passe les données à la classe {@link GmlGraphWriter}
      * et cette dernière se charge de les écrire.
+     * @throws IOException Si le fichier ne peut pas être écrit
      */
-    public void saveGraph(){
-
+    public void saveGraph() throws IOException {
         GmlGraphWriter gmlGraphWriter = new GmlGraphWriter(this.graph, this.fileAssociated);
-        gmlGraphWriter.createGmlGraph();
-        gmlGraphWriter.writeGraphToFile();
-
+        gmlGraphWriter.writeFile();
     }
 
     /**
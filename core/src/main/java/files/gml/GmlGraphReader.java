@@ -1,29 +1,52 @@
 package files.gml;
 
-import com.tinkerpop.blueprints.Direction;
-import com.tinkerpop.blueprints.Edge;
-import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
-import com.tinkerpop.blueprints.util.io.graphml.GraphMLReader;
 import data.Graph;
-import data.GraphElement;
+import data.GraphBuilder;
+import data.Vertex;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.io.*;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Classe de lecture de fichier .gml et d'interprétation des données du fichier. Elle utilise la classe {@link com.tinkerpop.blueprints.Graph},
- * associée à la bibliothèque tinkerpop.blueprints.
+ * Classe de lecture de fichier .gml (GraphML) et d'interprétation des données du fichier. Le fichier est lu au fil de l'eau
+ * avec l'API StAX ({@link javax.xml.stream.XMLStreamReader}) et les éléments sont créés directement dans un
+ * {@link data.GraphBuilder} : en dehors du Graph créé, seule la correspondance entre les identifiants du fichier et les
+ * Vertex est gardée en mémoire.
  */
 public class GmlGraphReader {
 
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        //Pas de DTD ni d'entités externes dans un fichier GraphML
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
     private Graph graph;
-    private TinkerGraph gmlGraph;
     private File file;
 
+    private XMLStreamReader          reader;//Le fichier en cours de lecture
+    private GraphBuilder             builder;//Les éléments lus
+    private HashMap<String, Integer> nodes;//L'indice dans le GraphBuilder des Vertex déjà rencontrés, par identifiant
+    private HashMap<String, String>  keys;//Le nom de l'attribut de chaque clé déclarée, par identifiant de clé
+    private HashMap<String, String>  nodeDefaults;//Les valeurs par défaut des attributs des Vertex, par nom
+    private HashMap<String, String>  edgeDefaults;//Les valeurs par défaut des attributs des Edge, par nom
+
+    /* Les propriétés de l'élément en cours de lecture, réutilisées d'un élément à l'autre */
+    private String  label;
+    private int     red, green, blue;
+    private double  x, y;
+    private int     size, value;
+    private String  shape;
+
     /**
      * Constructeur de la classe.
      * @param file Le fichier dans lequel récupérer les données
@@ -31,102 +54,214 @@ public class GmlGraphReader {
     public GmlGraphReader(File file){
         this.file = file;
         this.graph = null;
-        this.gmlGraph = new TinkerGraph();
-        new GraphMLReader(gmlGraph);
     }
 
     /**
-     * Méthode de lecture du fichier. Elle range les données dans un {@link com.tinkerpop.blueprints.Graph}. (plus précisément
-     * dans un {@link com.tinkerpop.blueprints.impls.tg.TinkerGraph})
+     * Méthode de lecture du fichier et de création du {@link data.Graph} associé aux données du fichier.
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier GraphML valide
      */
-    public void readFile(){
-
+    public void readFile() throws IOException {
+        InputStream input = new BufferedInputStream(new FileInputStream(this.file), 1 << 16);
         try {
-            GraphMLReader.inputGraph(gmlGraph, String.valueOf(this.file));
-        } catch (IOException e) {
-            e.printStackTrace();
+            read(input);
+        } finally {
+            input.close();
         }
     }
 
     /**
-     * Méthode de création du {@link data.Graph} associé aux données qui ont pu être récupérées du fichier.
+     * Méthode de lecture d'un graphe au format GraphML et de création du {@link data.Graph} associé
+     * @param input Le flux à lire, qui n'est pas fermé
+     * @throws IOException Si le flux ne peut pas être lu ou ne contient pas un graphe GraphML valide
      */
-    public void createGraph() {
-        this.graph = new Graph();
-        ArrayList<GraphElement> graphElements = new ArrayList<>();
-        HashMap<Vertex, data.Vertex> vertices = new HashMap<>();
-
-        Color color = Color.BLACK;
-        String name = "element";
-        data.Vertex.Shape shape = data.Vertex.Shape.SQUARE;
-        Point point = new Point(50,50);
-        int size = 15;
-        int value = 1;
-
-        for (Vertex v : this.gmlGraph.getVertices()) {
-            if (!vertices.containsKey(v)) {
-
-                if(v.getProperty("r")!=null) {
-                    color = new Color((int) v.getProperty("r"), (int) v.getProperty("g"), (int) v.getProperty("b"));
-                }
-
-                if(v.getProperty("name")!=null){
-                    name = v.getProperty("name");
+    public void read(InputStream input) throws IOException {
+        this.graph        = new Graph();
+        this.builder      = new GraphBuilder(1024, 1024);
+        this.nodes        = new HashMap<>();
+        this.keys         = new HashMap<>();
+        this.nodeDefaults = new HashMap<>();
+        this.edgeDefaults = new HashMap<>();
+        try {
+            this.reader = FACTORY.createXMLStreamReader(input);
+            try {
+                while (this.reader.hasNext()) {
+                    if (this.reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        switch (this.reader.getLocalName()) {
+                            case "key":  this.key(); break;
+                            case "node": this.node(); break;
+                            case "edge": this.edge(); break;
+                            default: break;
+                        }
+                    }
                 }
+            } finally {
+                this.reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Valeur invalide ligne " + this.reader.getLocation().getLineNumber() + " : " + e.getMessage(), e);
+        }
 
-                if(v.getProperty("x")!=null && v.getProperty("y")!=null){
-                    point = new Point((int) v.getProperty("x"), (int) v.getProperty("y"));
-                }
+        this.graph.addGraphElements(this.builder.build());
+        this.builder = null;
+        this.nodes   = null;
+        this.reader  = null;
+    }
 
-                if(v.getProperty("size")!=null){
-                    size = v.getProperty("size");
-                }
+    /**
+     * Méthode lisant la déclaration d'une clé, et sa valeur par défaut s'il y en a une
+     * @throws XMLStreamException En cas d'erreur de lecture
+     */
+    private void key() throws XMLStreamException {
+        String id   = this.reader.getAttributeValue(null, "id");
+        String name = this.reader.getAttributeValue(null, "attr.name");
+        String type = this.reader.getAttributeValue(null, "for");
+        if (id == null) {
+            throw new XMLStreamException("Clé sans identifiant", this.reader.getLocation());
+        }
+        this.keys.put(id, name == null ? id : name);
 
-                if(v.getProperty("value")!=null){
-                    value = v.getProperty("value");
+        while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("default".equals(this.reader.getLocalName())) {
+                String defaultValue = this.reader.getElementText();
+                if ("node".equals(type) || "all".equals(type)) {
+                    this.nodeDefaults.put(this.keys.get(id), defaultValue);
                 }
-
-                if(v.getProperty("g:shape")!=null){
-                    shape = data.Vertex.Shape.decode((String)v.getProperty("g:shape"));
+                if ("edge".equals(type) || "all".equals(type)) {
+                    this.edgeDefaults.put(this.keys.get(id), defaultValue);
                 }
-
-                data.Vertex sourceVertex = new data.Vertex(name, color, point, size, shape);
-                sourceVertex.setValue(value);
-                vertices.put(v, sourceVertex);
-                graphElements.add(sourceVertex);
+            } else {
+                this.skip();
             }
         }
+    }
 
+    /**
+     * Méthode lisant un Vertex et ses données. Un Vertex déjà cité par une Edge reçoit ses propriétés
+     * @throws XMLStreamException En cas d'erreur de lecture
+     */
+    private void node() throws XMLStreamException {
+        String id = this.reader.getAttributeValue(null, "id");
+        this.label = "element";
+        this.red   = 0;
+        this.green = 0;
+        this.blue  = 0;
+        this.x     = 50;
+        this.y     = 50;
+        this.size  = 15;
+        this.value = 1;
+        this.shape = null;
+        for (Map.Entry<String, String> attribute : this.nodeDefaults.entrySet()) {
+            this.property(attribute.getKey(), attribute.getValue());
+        }
+        this.data();
 
-        for (Edge e : gmlGraph.getEdges()) {
+        Vertex vertex = this.builder.getVertex(this.vertex(id));
+        vertex.setLabel(this.label);
+        vertex.setColor(new Color(this.red, this.green, this.blue));
+        vertex.setPosition(new Point((int) Math.round(this.x), (int) Math.round(this.y)));
+        vertex.setSize(this.size);
+        vertex.setValue(this.value);
+        if (this.shape != null) {
+            vertex.setShape(Vertex.Shape.decode(this.shape));
+        }
+    }
 
-            Vertex source = e.getVertex(Direction.OUT);
-            Vertex target = e.getVertex(Direction.IN);
+    /**
+     * Méthode lisant une Edge et ses données
+     * @throws XMLStreamException En cas d'erreur de lecture
+     */
+    private void edge() throws XMLStreamException {
+        String source = this.reader.getAttributeValue(null, "source");
+        String target = this.reader.getAttributeValue(null, "target");
+        if (source == null || target == null) {
+            throw new XMLStreamException("Edge sans source ou sans destination", this.reader.getLocation());
+        }
+        this.label = this.reader.getAttributeValue(null, "label");
+        this.red   = 0;
+        this.green = 0;
+        this.blue  = 0;
+        this.size  = 1;
+        for (Map.Entry<String, String> attribute : this.edgeDefaults.entrySet()) {
+            this.property(attribute.getKey(), attribute.getValue());
+        }
+        this.data();
 
-            if(e.getProperty("r")!=null){
-                color = new Color((int)e.getProperty("r"), (int) e.getProperty("g"), (int) e.getProperty("b"));
-            }else{
-                color = Color.BLACK;
-            }
+        this.builder.addEdge(this.label == null ? "element" : this.label, new Color(this.red, this.green, this.blue),
+                             this.vertex(source), this.vertex(target), this.size);
+    }
 
-            if(e.getProperty("name")!=null){
-                name = e.getProperty("name");
-            }else{
-                name = "element";
-            }
+    /**
+     * Méthode renvoyant l'indice du Vertex d'un identifiant, en le créant s'il n'a pas encore été rencontré
+     * @param id L'identifiant du Vertex dans le fichier
+     * @return L'indice du Vertex dans le GraphBuilder
+     */
+    private int vertex(String id) {
+        Integer index = this.nodes.get(id);
+        if (index == null) {
+            index = this.builder.addVertex(new Vertex("element", Color.BLACK, new Point(50, 50), 15, Vertex.Shape.SQUARE));
+            this.nodes.put(id, index);
+        }
+        return index;
+    }
 
-            if(e.getProperty("size")!=null){
-                size = e.getProperty("size");
-            }else{
-                size = 1;
+    /**
+     * Méthode lisant les données (balises data) de l'élément courant, jusqu'à sa fin
+     * @throws XMLStreamException En cas d'erreur de lecture
+     */
+    private void data() throws XMLStreamException {
+        while (this.reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("data".equals(this.reader.getLocalName())) {
+                String key  = this.reader.getAttributeValue(null, "key");
+                String name = this.keys.get(key);
+                this.property(name == null ? key : name, this.reader.getElementText());
+            } else {
+                this.skip();
             }
+        }
+    }
 
-            data.Edge createdEdge = new data.Edge(name, color, vertices.get(source), vertices.get(target), size);
-            graphElements.add(createdEdge);
-
+    /**
+     * Méthode appliquant une propriété à l'élément en cours de lecture, les propriétés inconnues étant ignorées.
+     * Les nombres sont acceptés quel que soit le type déclaré par leur clé (int, long, float ou double)
+     * @param name Le nom de la propriété
+     * @param text Sa valeur
+     */
+    private void property(String name, String text) {
+        if (name == null) {
+            return;
         }
+        text = text.trim();
+        switch (name) {
+            case "name":    this.label = text; break;
+            case "label":   this.label = text; break;
+            case "r":       this.red   = (int) Double.parseDouble(text); break;
+            case "g":       this.green = (int) Double.parseDouble(text); break;
+            case "b":       this.blue  = (int) Double.parseDouble(text); break;
+            case "x":       this.x     = Double.parseDouble(text); break;
+            case "y":       this.y     = Double.parseDouble(text); break;
+            case "size":    this.size  = (int) Double.parseDouble(text); break;
+            case "value":   this.value = (int) Double.parseDouble(text); break;
+            case "g:shape": this.shape = text; break;
+            default: break;
+        }
+    }
 
-        this.graph.addGraphElements(graphElements);
+    /**
+     * Méthode sautant l'élément courant et son contenu
+     * @throws XMLStreamException En cas d'erreur de lecture
+     */
+    private void skip() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
     }
 
     /**
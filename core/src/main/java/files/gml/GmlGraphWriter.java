@@ -1,132 +1,202 @@
 package files.gml;
 
-import com.tinkerpop.blueprints.Edge;
-import com.tinkerpop.blueprints.Vertex;
-import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
-import com.tinkerpop.blueprints.util.io.graphml.GraphMLTokens;
-import com.tinkerpop.blueprints.util.io.graphml.GraphMLWriter;
+import data.Edge;
 import data.Graph;
+import data.Vertex;
+import threading.Progress;
+import threading.ProgressListener;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.awt.*;
+import java.io.*;
 
 /**
- * Classe principale utilisant les {@link com.tinkerpop.blueprints.Graph} pour écrire des {@link data.Graph} dans des
- * fichiers.
+ * Classe d'écriture des {@link data.Graph} dans des fichiers GraphML. Les éléments sont écrits au fil de l'eau avec l'API StAX
+ * ({@link javax.xml.stream.XMLStreamWriter}), directement depuis le Graph : la mémoire utilisée ne dépend pas de la taille du Graph.
+ * Le fichier produit a la même forme que celui écrit par Blueprints (mêmes clés et mêmes types).
  */
 public class GmlGraphWriter {
 
+    /* Taille du tampon d'écriture */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /* Encodage des fichiers écrits */
+    private static final String ENCODING = "UTF-8";
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+
+    /* Les clés des Vertex et des Edge : identifiant (qui est aussi le nom de l'attribut) puis type */
+    private static final String[][] VERTEX_KEYS = {
+            {"name", "string"}, {"size", "int"}, {"value", "int"}, {"g:shape", "string"},
+            {"r", "int"}, {"g", "int"}, {"b", "int"}, {"x", "double"}, {"y", "double"}
+    };
+    private static final String[][] EDGE_KEYS = {
+            {"r", "int"}, {"g", "int"}, {"b", "int"}, {"size", "int"}
+    };
+
     private Graph graph;
-    private TinkerGraph gmlGraph;
-    private GraphMLWriter gmlWriter;
     private File file;
 
+    private XMLStreamWriter  writer;//Le flux en cours d'écriture
+    private final char[]     digits;//Les chiffres du dernier nombre écrit, réutilisés d'un nombre à l'autre
+    private ProgressListener listener;//L'objet prévenu de l'avancement de l'écriture, null s'il n'y en a pas
+
     /**
      * Constructeur de la classe
      * @param graph Le {@link data.Graph} à retranscrire en GraphML.
      * @param file Le {@link java.io.File} dans lequel sera écrite la retranscription.
      */
     public GmlGraphWriter(Graph graph, File file){
-        this.graph = graph;
-        this.gmlGraph = new TinkerGraph();
-        this.gmlWriter = new GraphMLWriter(gmlGraph);
-        this.file = file;
+        this.graph  = graph;
+        this.file   = file;
+        this.digits = new char[16];
     }
 
     /**
-     * Méthode de création du {@link com.tinkerpop.blueprints.Graph} grâce à la retranscription de tous les
-     * éléments du {@link data.Graph} en {@link com.tinkerpop.blueprints.Element} (les éléments du GraphML).
-     * Elle applique des propriétés au graphe.
+     * Setter de l'objet prévenu de l'avancement de l'écriture, qui compte les éléments écrits
+     * @param listener l'objet prévenu, null pour ne plus l'être
      */
-    public void createGmlGraph(){
-
-        addGraphElementsToGml();
-
-        Map<String, String> vertexKeyTypes = new HashMap<String, String>();
-        vertexKeyTypes.put("name", GraphMLTokens.STRING);
-        vertexKeyTypes.put("size", GraphMLTokens.INT);
-        vertexKeyTypes.put("value", GraphMLTokens.INT);
-        vertexKeyTypes.put("g:shape", GraphMLTokens.STRING);
-        vertexKeyTypes.put("r", GraphMLTokens.INT);
-        vertexKeyTypes.put("g", GraphMLTokens.INT);
-        vertexKeyTypes.put("b", GraphMLTokens.INT);
-        vertexKeyTypes.put("x", GraphMLTokens.DOUBLE);
-        vertexKeyTypes.put("y", GraphMLTokens.DOUBLE);
-
-
-
-        Map<String, String> edgeKeyTypes = new HashMap<String, String>();
-        edgeKeyTypes.put("r", GraphMLTokens.INT);
-        edgeKeyTypes.put("g", GraphMLTokens.INT);
-        edgeKeyTypes.put("b", GraphMLTokens.INT);
-        edgeKeyTypes.put("size", GraphMLTokens.INT);
-
-        gmlWriter.setVertexKeyTypes(vertexKeyTypes);
-        gmlWriter.setEdgeKeyTypes(edgeKeyTypes);
-
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
     }
 
     /**
-     * Méthode de retranscription des {@link data.GraphElement} en éléments du {@link com.tinkerpop.blueprints.Graph}. Ils seront
-     * ensuite utilisés pour être écrits dans le fichier associé.
+     * Méthode d'écriture du {@link data.Graph} dans le fichier.
+     * @throws IOException Si jamais le fichier ne peut pas être écrit
      */
-    private void addGraphElementsToGml(){
-
-        HashMap<data.Vertex, Vertex> vertexMapping = new HashMap<>();
-
-        for(data.Vertex v : this.graph.getVertexes()){
-            if(!vertexMapping.containsKey(v)){
-                Vertex GMLvertex = gmlGraph.addVertex(null);
-                GMLvertex.setProperty("name", v.getLabel());
-                GMLvertex.setProperty("size", v.getValue());
-                GMLvertex.setProperty("value", v.getValue());
-                GMLvertex.setProperty("g:shape", v.getShape());
-                GMLvertex.setProperty("r", v.getColor().getRed());
-                GMLvertex.setProperty("g", v.getColor().getGreen());
-                GMLvertex.setProperty("b", v.getColor().getBlue());
-                GMLvertex.setProperty("x", v.getPosition().x);
-                GMLvertex.setProperty("y", v.getPosition().y);
-                vertexMapping.put(v, GMLvertex);
-            }
+    public void writeFile() throws IOException {
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(this.file), BUFFER_SIZE);
+        try {
+            write(output);
+        } finally {
+            output.close();
         }
+    }
 
-        for(data.Edge e : this.graph.getEdges()){
-
-            data.Vertex destination = e.getDestination();
-            data.Vertex origin = e.getOrigin();
-
-            if(e.getLabel()==null){
-                e.setLabel("edge"+e.getID());
+    /**
+     * Méthode écrivant le {@link data.Graph} au format GraphML
+     * @param output Le flux dans lequel écrire, qui n'est pas fermé
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void write(OutputStream output) throws IOException {
+        Progress progress = new Progress(this.listener, (long) this.graph.getVertexes().size() + this.graph.getEdges().size());
+        try {
+            this.writer = FACTORY.createXMLStreamWriter(output, ENCODING);
+            try {
+                this.writer.writeStartDocument(ENCODING, "1.0");
+                this.writer.writeStartElement("graphml");
+                this.writer.writeDefaultNamespace("http://graphml.graphdrawing.org/xmlns");
+                this.writeKeys("node", VERTEX_KEYS);
+                this.writeKeys("edge", EDGE_KEYS);
+
+                this.writer.writeStartElement("graph");
+                this.writer.writeAttribute("id", "G");
+                this.writer.writeAttribute("edgedefault", "directed");
+
+                for (Vertex v : this.graph.getVertexes()) {
+                    Color color = v.getColor();
+                    this.writer.writeStartElement("node");
+                    this.writer.writeAttribute("id", Integer.toString(v.getID()));
+                    this.writeData("name", v.getLabel());
+                    this.writeData("size", v.getSize(), false);
+                    this.writeData("value", v.getValue(), false);
+                    this.writeData("g:shape", v.getShape().toString());
+                    this.writeData("r", color.getRed(), false);
+                    this.writeData("g", color.getGreen(), false);
+                    this.writeData("b", color.getBlue(), false);
+                    this.writeData("x", v.getPosition().x, true);
+                    this.writeData("y", v.getPosition().y, true);
+                    this.writer.writeEndElement();
+                    progress.advance(1);
+                }
+
+                for (Edge e : this.graph.getEdges()) {
+                    Color color = e.getColor();
+                    this.writer.writeStartElement("edge");
+                    this.writer.writeAttribute("id", Integer.toString(e.getID()));
+                    this.writer.writeAttribute("source", Integer.toString(e.getOrigin().getID()));
+                    this.writer.writeAttribute("target", Integer.toString(e.getDestination().getID()));
+                    this.writer.writeAttribute("label", e.getLabel() == null ? "edge" + e.getID() : e.getLabel());
+                    this.writeData("r", color.getRed(), false);
+                    this.writeData("g", color.getGreen(), false);
+                    this.writeData("b", color.getBlue(), false);
+                    this.writeData("size", e.getThickness(), false);
+                    this.writer.writeEndElement();
+                    progress.advance(1);
+                }
+
+                this.writer.writeEndElement();
+                this.writer.writeEndElement();
+                this.writer.writeEndDocument();
+                this.writer.flush();
+            } finally {
+                this.writer.close();
+                this.writer = null;
             }
-
-            Edge GMLEdge = gmlGraph.addEdge(null, vertexMapping.get(origin), vertexMapping.get(destination), e.getLabel());
-            GMLEdge.setProperty("r", e.getColor().getRed());
-            GMLEdge.setProperty("g", e.getColor().getGreen());
-            GMLEdge.setProperty("b", e.getColor().getBlue());
-            GMLEdge.setProperty("size", e.getThickness());
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
         }
-
-
     }
 
     /**
-     * Méthode d'écriture du {@link com.tinkerpop.blueprints.Graph} dans un fichier.
+     * Méthode écrivant la déclaration des clés d'un type d'élément
+     * @param type "node" ou "edge"
+     * @param keys Les clés, avec leur type
+     * @throws XMLStreamException En cas d'erreur d'écriture
      */
-    public void writeGraphToFile(){
-
-        FileOutputStream out;
+    private void writeKeys(String type, String[][] keys) throws XMLStreamException {
+        for (String[] key : keys) {
+            this.writer.writeEmptyElement("key");
+            this.writer.writeAttribute("id", key[0]);
+            this.writer.writeAttribute("for", type);
+            this.writer.writeAttribute("attr.name", key[0]);
+            this.writer.writeAttribute("attr.type", key[1]);
+        }
+    }
 
-        try {
-            out = new FileOutputStream(this.file);
-            GraphMLWriter.outputGraph(gmlGraph, out);
+    /**
+     * Méthode écrivant une donnée textuelle de l'élément courant
+     * @param key La clé de la donnée
+     * @param text Sa valeur, rien n'est écrit si elle est null
+     * @throws XMLStreamException En cas d'erreur d'écriture
+     */
+    private void writeData(String key, String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+        this.writer.writeStartElement("data");
+        this.writer.writeAttribute("key", key);
+        this.writer.writeCharacters(text);
+        this.writer.writeEndElement();
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Méthode écrivant une donnée numérique de l'élément courant, sans créer de String
+     * @param key La clé de la donnée
+     * @param number Sa valeur
+     * @param decimal Si la clé est de type double, la valeur étant alors écrite avec une décimale
+     * @throws XMLStreamException En cas d'erreur d'écriture
+     */
+    private void writeData(String key, int number, boolean decimal) throws XMLStreamException {
+        int  end   = this.digits.length;
+        int  start = end;
+        if (decimal) {
+            this.digits[--start] = '0';
+            this.digits[--start] = '.';
+        }
+        long n = Math.abs((long) number);
+        do {
+            this.digits[--start] = (char) ('0' + n % 10);
+            n /= 10;
+        } while (n != 0);
+        if (number < 0) {
+            this.digits[--start] = '-';
         }
 
-        gmlGraph.shutdown();
+        this.writer.writeStartElement("data");
+        this.writer.writeAttribute("key", key);
+        this.writer.writeCharacters(this.digits, start, end - start);
+        this.writer.writeEndElement();
     }
 }
@@ -0,0 +1,82 @@
+package generator;
+
+import java.util.Random;
+
+/**
+ * Classe BarabasiAlbertGenerator, générateur de graphes sans échelle par attachement préférentiel : chaque nouveau Vertex
+ * est relié à m Vertex existants distincts, choisis avec une probabilité proportionnelle à leur degré.
+ * L'attachement dépend de tous les Vertex précédents : seul le placement est parallèle, les Edge sont créées en un seul
+ * morceau, en temps proportionnel à leur nombre
+ */
+public class BarabasiAlbertGenerator extends GraphGenerator {
+
+    private final int edgesPerVertex;//Le nombre d'Edge créées par chaque nouveau Vertex
+
+    /**
+     * Constructeur de la classe BarabasiAlbertGenerator
+     * @param vertexCount le nombre de Vertex
+     * @param edgesPerVertex le nombre d'Edge créées par chaque nouveau Vertex, au moins 1 et inférieur au nombre de Vertex
+     * @param seed la graine
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    public BarabasiAlbertGenerator(int vertexCount, int edgesPerVertex, long seed, int width, int height) {
+        super(vertexCount, seed, width, height);
+        if (edgesPerVertex < 1 || (vertexCount > 0 && edgesPerVertex >= vertexCount)) {
+            throw new IllegalArgumentException("Nombre d'Edge par Vertex invalide : " + edgesPerVertex);
+        }
+        this.edgesPerVertex = edgesPerVertex;
+    }
+
+    /**
+     * Méthode créant toutes les Edge en un seul morceau. Les m premiers Vertex servent de cibles au Vertex m, puis chaque
+     * Vertex tire ses cibles dans la liste des extrémités des Edge déjà créées, où chaque Vertex apparaît autant de fois
+     * que son degré
+     */
+    @Override
+    protected EdgeBuffer[] generateEdges(int[] x, int[] y) {
+        int        m         = this.edgesPerVertex;
+        long       count     = (long) m * Math.max(0, this.vertexCount - m);
+        EdgeBuffer edges     = new EdgeBuffer((int) count);
+        int[]      endpoints = new int[(int) (2 * count)];
+        int        size      = 0;
+        int[]      targets   = new int[m];
+        Random     random    = random(EDGES, 0);
+        int        reported  = 0;
+
+        for (int i = 0; i < m; i++) {
+            targets[i] = i;
+        }
+        for (int source = m; source < this.vertexCount; source++) {
+            for (int target : targets) {
+                edges.add(source, target);
+                endpoints[size++] = source;
+                endpoints[size++] = target;
+            }
+            //Tirage de m cibles distinctes pour le Vertex suivant
+            for (int i = 0; i < m; i++) {
+                int candidate;
+                boolean taken;
+                do {
+                    candidate = endpoints[random.nextInt(size)];
+                    taken     = false;
+                    for (int j = 0; j < i; j++) {
+                        taken |= targets[j] == candidate;
+                    }
+                } while (taken);
+                targets[i] = candidate;
+            }
+            if ((source + 1) % CHUNK_SIZE == 0) {
+                advance(source + 1 - reported);
+                reported = source + 1;
+            }
+        }
+        advance(this.vertexCount - reported);
+        return new EdgeBuffer[] { edges };
+    }
+
+    @Override
+    protected void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges) {
+        //Les Edge sont créées par generateEdges
+    }
+}
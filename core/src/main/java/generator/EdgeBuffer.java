@@ -0,0 +1,39 @@
+package generator;
+
+import java.util.Arrays;
+
+/**
+ * Classe EdgeBuffer, liste extensible d'Edge sous la forme de deux tableaux d'indices de Vertex.
+ * Chaque morceau d'une génération remplit la sienne, sans synchronisation
+ */
+class EdgeBuffer {
+
+    int[] origins;//Les indices des Vertex d'origine
+    int[] destinations;//Les indices des Vertex de destination
+    int   size;//Le nombre d'Edge
+
+    /**
+     * Constructeur de la classe EdgeBuffer
+     * @param capacity le nombre d'Edge prévu
+     */
+    EdgeBuffer(int capacity) {
+        this.origins      = new int[Math.max(capacity, 16)];
+        this.destinations = new int[this.origins.length];
+    }
+
+    /**
+     * Méthode ajoutant un Edge
+     * @param origin l'indice du Vertex d'origine
+     * @param destination l'indice du Vertex de destination
+     */
+    void add(int origin, int destination) {
+        if (this.size == this.origins.length) {
+            int capacity = this.origins.length + (this.origins.length >> 1);
+            this.origins      = Arrays.copyOf(this.origins, capacity);
+            this.destinations = Arrays.copyOf(this.destinations, capacity);
+        }
+        this.origins[this.size]      = origin;
+        this.destinations[this.size] = destination;
+        this.size++;
+    }
+}
@@ -0,0 +1,74 @@
+package generator;
+
+import java.util.Random;
+
+/**
+ * Classe ErdosRenyiGenerator, générateur de graphes aléatoires G(n, p) : chaque paire de Vertex est reliée par un Edge
+ * avec la probabilité p, indépendamment des autres. Plutôt que de tirer les n(n-1)/2 paires, on saute directement
+ * d'un Edge au suivant selon une loi géométrique (méthode de Batagelj et Brandes), en temps proportionnel au nombre d'Edge
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+    private final double probability;//La probabilité qu'une paire de Vertex soit reliée
+
+    /**
+     * Constructeur de la classe ErdosRenyiGenerator
+     * @param vertexCount le nombre de Vertex
+     * @param probability la probabilité qu'une paire de Vertex soit reliée, entre 0 et 1
+     * @param seed la graine
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    public ErdosRenyiGenerator(int vertexCount, double probability, long seed, int width, int height) {
+        super(vertexCount, seed, width, height);
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Probabilité hors de [0, 1] : " + probability);
+        }
+        this.probability = probability;
+    }
+
+    /**
+     * Méthode donnant la probabilité pour obtenir un degré moyen
+     * @param vertexCount le nombre de Vertex
+     * @param averageDegree le degré moyen voulu
+     * @return la probabilité, entre 0 et 1
+     */
+    public static double probabilityFor(int vertexCount, double averageDegree) {
+        return vertexCount < 2 ? 0 : Math.min(1, Math.max(0, averageDegree / (vertexCount - 1)));
+    }
+
+    /**
+     * Méthode créant les Edge (u, v), u < v, dont le Vertex u est dans le morceau
+     */
+    @Override
+    protected void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges) {
+        if (this.probability == 0) {
+            return;
+        }
+        double logQ = Math.log(1 - this.probability);
+        for (int u = from; u < to; u++) {
+            long v = u;
+            while (true) {
+                if (this.probability == 1) {
+                    v++;
+                } else {
+                    //Nombre de paires sautées avant la prochaine reliée
+                    v += 1 + (long) Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+                }
+                if (v >= this.vertexCount) {
+                    break;
+                }
+                edges.add(u, (int) v);
+            }
+        }
+    }
+
+    @Override
+    protected int expectedEdges(int from, int to) {
+        double pairs = 0;
+        for (int u = from; u < to; u++) {
+            pairs += this.vertexCount - 1 - u;
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8, pairs * this.probability * 1.1);
+    }
+}
@@ -0,0 +1,99 @@
+package generator;
+
+import data.GraphBuilder;
+import data.GraphElement;
+import data.Vertex;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * Classe GeneratedGraph, résultat d'un {@link GraphGenerator} : la position de chaque Vertex et les extrémités de chaque Edge,
+ * sous forme de tableaux d'entiers. Les Vertex sont désignés par leur indice, de 0 à getVertexCount()-1
+ */
+public class GeneratedGraph {
+
+    private final int[] x;//L'abscisse de chaque Vertex
+    private final int[] y;//L'ordonnée de chaque Vertex
+    private final int[] origins;//L'indice du Vertex d'origine de chaque Edge
+    private final int[] destinations;//L'indice du Vertex de destination de chaque Edge
+
+    /**
+     * Constructeur de la classe GeneratedGraph
+     * @param x l'abscisse de chaque Vertex
+     * @param y l'ordonnée de chaque Vertex
+     * @param origins l'indice du Vertex d'origine de chaque Edge
+     * @param destinations l'indice du Vertex de destination de chaque Edge
+     */
+    public GeneratedGraph(int[] x, int[] y, int[] origins, int[] destinations) {
+        this.x            = x;
+        this.y            = y;
+        this.origins      = origins;
+        this.destinations = destinations;
+    }
+
+    /**
+     * Getter du nombre de Vertex
+     * @return le nombre de Vertex
+     */
+    public int getVertexCount() {
+        return this.x.length;
+    }
+
+    /**
+     * Getter du nombre d'Edge
+     * @return le nombre d'Edge
+     */
+    public int getEdgeCount() {
+        return this.origins.length;
+    }
+
+    /**
+     * Getter de la position d'un Vertex
+     * @param vertex l'indice du Vertex
+     * @return sa position
+     */
+    public Point getPosition(int vertex) {
+        return new Point(this.x[vertex], this.y[vertex]);
+    }
+
+    /**
+     * Getter du Vertex d'origine d'un Edge
+     * @param edge l'indice de l'Edge
+     * @return l'indice de son Vertex d'origine
+     */
+    public int getOrigin(int edge) {
+        return this.origins[edge];
+    }
+
+    /**
+     * Getter du Vertex de destination d'un Edge
+     * @param edge l'indice de l'Edge
+     * @return l'indice de son Vertex de destination
+     */
+    public int getDestination(int edge) {
+        return this.destinations[edge];
+    }
+
+    /**
+     * Méthode créant les GraphElement du graphe généré, prêts à être ajoutés d'un bloc à un {@link data.Graph}.
+     * Les ID sont consécutifs : firstID à firstID+getVertexCount()-1 pour les Vertex, puis les suivants pour les Edge
+     * @param firstID le premier ID du bloc, réservé auprès du Graph
+     * @param vertexColor la couleur des Vertex
+     * @param vertexSize la taille des Vertex
+     * @param shape la forme des Vertex
+     * @param edgeColor la couleur des Edge
+     * @param thickness l'épaisseur des Edge
+     * @return les Vertex suivis des Edge
+     */
+    public ArrayList<GraphElement> toGraphElements(int firstID, Color vertexColor, int vertexSize, Vertex.Shape shape, Color edgeColor, int thickness) {
+        GraphBuilder builder = new GraphBuilder(getVertexCount(), getEdgeCount());
+        for (int i = 0; i < getVertexCount(); i++) {
+            builder.addVertex(new Vertex(firstID + i, "vertex", vertexColor, new Point(this.x[i], this.y[i]), vertexSize, shape));
+        }
+        for (int i = 0; i < this.origins.length; i++) {
+            builder.addEdge(firstID + getVertexCount() + i, "edge", edgeColor, this.origins[i], this.destinations[i], thickness);
+        }
+        return builder.build();
+    }
+}
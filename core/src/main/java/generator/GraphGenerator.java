@@ -0,0 +1,269 @@
+package generator;
+
+import threading.ComputePool;
+import threading.ProgressListener;
+
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe mère des générateurs de graphes aléatoires. La génération se fait en deux phases, chacune découpée en morceaux
+ * de CHUNK_SIZE Vertex traités en parallèle par le pool partagé {@link threading.ComputePool} : le placement des Vertex,
+ * puis la création des Edge. Chaque morceau a son propre générateur aléatoire, dont la graine est dérivée de celle du
+ * générateur, de la phase et du numéro du morceau : le graphe obtenu ne dépend que de la graine et des paramètres,
+ * pas du nombre de threads ni de l'ordre d'exécution.
+ */
+public abstract class GraphGenerator {
+
+    /* Nombre de Vertex par morceau de génération */
+    public static final int CHUNK_SIZE = 4096;
+
+    /* Les phases de la génération, pour dériver les graines */
+    protected static final int POSITIONS = 1;
+    protected static final int EDGES     = 2;
+
+    protected final int    vertexCount;//Le nombre de Vertex à générer
+    protected final long   seed;//La graine
+    protected final int    width;//La largeur de la zone où placer les Vertex
+    protected final int    height;//La hauteur de la zone où placer les Vertex
+
+    private ProgressListener listener;//L'écouteur de l'avancement, null s'il n'y en a pas
+    private AtomicLong       done;//Le nombre d'unités de travail effectuées
+    private AtomicInteger    percent;//Le dernier pourcentage atteint
+    private int              delivered;//Le dernier pourcentage signalé à l'écouteur
+
+    /**
+     * Interface des tâches exécutées sur chaque morceau de Vertex
+     */
+    protected interface ChunkTask {
+        /**
+         * Méthode traitant un morceau
+         * @param chunk le numéro du morceau
+         * @param from l'indice du premier Vertex du morceau
+         * @param to l'indice suivant le dernier Vertex du morceau
+         * @param random le générateur aléatoire du morceau
+         */
+        void run(int chunk, int from, int to, Random random);
+    }
+
+    /**
+     * Constructeur de la classe GraphGenerator
+     * @param vertexCount le nombre de Vertex à générer
+     * @param seed la graine
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    protected GraphGenerator(int vertexCount, long seed, int width, int height) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Nombre de Vertex négatif : " + vertexCount);
+        }
+        this.vertexCount = vertexCount;
+        this.seed        = seed;
+        this.width       = Math.max(1, width);
+        this.height      = Math.max(1, height);
+    }
+
+    /**
+     * Setter de l'écouteur de l'avancement
+     * @param listener l'écouteur, null pour ne plus être prévenu
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Méthode générant le graphe
+     * @return le graphe généré
+     */
+    public GeneratedGraph generate() {
+        this.done      = new AtomicLong();
+        this.percent   = new AtomicInteger(-1);
+        this.delivered = -1;
+        advance(0);
+
+        final int[] x = new int[this.vertexCount];
+        final int[] y = new int[this.vertexCount];
+        runChunks(POSITIONS, new ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to, Random random) {
+                positions(from, to, random, x, y);
+                advance(to - from);
+            }
+        });
+
+        EdgeBuffer[] buffers = generateEdges(x, y);
+        int edgeCount = 0;
+        for (EdgeBuffer buffer : buffers) {
+            edgeCount += buffer.size;
+        }
+        //Les Edge sont rangées dans l'ordre des morceaux, quel que soit l'ordre dans lequel ils ont été traités
+        int[] origins      = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int   position     = 0;
+        for (EdgeBuffer buffer : buffers) {
+            System.arraycopy(buffer.origins, 0, origins, position, buffer.size);
+            System.arraycopy(buffer.destinations, 0, destinations, position, buffer.size);
+            position += buffer.size;
+        }
+        return new GeneratedGraph(x, y, origins, destinations);
+    }
+
+    /**
+     * Méthode plaçant les Vertex d'un morceau. Par défaut, ils sont placés uniformément dans la zone
+     * @param from l'indice du premier Vertex du morceau
+     * @param to l'indice suivant le dernier Vertex du morceau
+     * @param random le générateur aléatoire du morceau
+     * @param x l'abscisse de chaque Vertex, à remplir
+     * @param y l'ordonnée de chaque Vertex, à remplir
+     */
+    protected void positions(int from, int to, Random random, int[] x, int[] y) {
+        for (int i = from; i < to; i++) {
+            x[i] = random.nextInt(this.width);
+            y[i] = random.nextInt(this.height);
+        }
+    }
+
+    /**
+     * Méthode créant les Edge. Par défaut, chaque morceau crée ses Edge avec {@link #edges(int, int, Random, int[], int[], EdgeBuffer)}
+     * @param x l'abscisse de chaque Vertex
+     * @param y l'ordonnée de chaque Vertex
+     * @return les Edge de chaque morceau, dans l'ordre des morceaux
+     */
+    protected EdgeBuffer[] generateEdges(final int[] x, final int[] y) {
+        final EdgeBuffer[] buffers = new EdgeBuffer[getChunkCount()];
+        runChunks(EDGES, new ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to, Random random) {
+                EdgeBuffer buffer = new EdgeBuffer(expectedEdges(from, to));
+                edges(from, to, random, x, y, buffer);
+                buffers[chunk] = buffer;
+                advance(to - from);
+            }
+        });
+        return buffers;
+    }
+
+    /**
+     * Méthode créant les Edge d'un morceau
+     * @param from l'indice du premier Vertex du morceau
+     * @param to l'indice suivant le dernier Vertex du morceau
+     * @param random le générateur aléatoire du morceau
+     * @param x l'abscisse de chaque Vertex
+     * @param y l'ordonnée de chaque Vertex
+     * @param edges les Edge du morceau, à remplir
+     */
+    protected abstract void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges);
+
+    /**
+     * Méthode estimant le nombre d'Edge créées par un morceau, pour dimensionner sa liste
+     * @param from l'indice du premier Vertex du morceau
+     * @param to l'indice suivant le dernier Vertex du morceau
+     * @return le nombre d'Edge estimé
+     */
+    protected int expectedEdges(int from, int to) {
+        return to - from;
+    }
+
+    /**
+     * Méthode exécutant une tâche sur tous les morceaux, en parallèle
+     * @param phase la phase de la génération
+     * @param task la tâche
+     */
+    protected void runChunks(int phase, ChunkTask task) {
+        int chunks = getChunkCount();
+        if (chunks > 0) {
+            ComputePool.get().invoke(new ChunkAction(phase, task, 0, chunks));
+        }
+    }
+
+    /**
+     * Getter du nombre de morceaux
+     * @return le nombre de morceaux
+     */
+    protected int getChunkCount() {
+        return (this.vertexCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Méthode créant le générateur aléatoire d'un morceau d'une phase
+     * @param phase la phase de la génération
+     * @param chunk le numéro du morceau
+     * @return le générateur aléatoire
+     */
+    protected Random random(int phase, int chunk) {
+        return new Random(mix(this.seed + mix(((long) phase << 32) + chunk)));
+    }
+
+    /**
+     * Méthode signalant l'avancement de la génération. Chaque phase compte une unité par Vertex
+     * @param units le nombre d'unités de travail effectuées depuis le dernier appel
+     */
+    protected void advance(long units) {
+        ProgressListener listener = this.listener;
+        if (listener == null) {
+            return;
+        }
+        long total   = 2L * Math.max(1, this.vertexCount);
+        int  current = (int) (100 * this.done.addAndGet(units) / total);
+        int  last    = this.percent.get();
+        //Seul le thread qui fait avancer le pourcentage le signale, et jamais après un pourcentage plus grand
+        while (current > last) {
+            if (this.percent.compareAndSet(last, current)) {
+                synchronized (this) {
+                    if (current > this.delivered) {
+                        this.delivered = current;
+                        listener.progress(current);
+                    }
+                }
+                return;
+            }
+            last = this.percent.get();
+        }
+    }
+
+    /**
+     * Méthode mélangeant les bits d'un entier (finaliseur de SplitMix64), pour dériver des graines indépendantes
+     * @param z l'entier
+     * @return l'entier mélangé
+     */
+    protected static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Classe ChunkAction, tâche fork/join divisant un intervalle de morceaux jusqu'à n'en traiter qu'un
+     */
+    private class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int       phase;//La phase de la génération
+        private final ChunkTask task;//La tâche à exécuter sur chaque morceau
+        private final int       first;//Le premier morceau
+        private final int       last;//Le morceau suivant le dernier
+
+        ChunkAction(int phase, ChunkTask task, int first, int last) {
+            this.phase = phase;
+            this.task  = task;
+            this.first = first;
+            this.last  = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.last - this.first == 1) {
+                int from = this.first * CHUNK_SIZE;
+                int to   = (int) Math.min((long) from + CHUNK_SIZE, vertexCount);
+                this.task.run(this.first, from, to, random(this.phase, this.first));
+            } else {
+                int middle = (this.first + this.last) >>> 1;
+                invokeAll(new ChunkAction(this.phase, this.task, this.first, middle),
+                          new ChunkAction(this.phase, this.task, middle, this.last));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package generator;
+
+import java.util.Random;
+
+/**
+ * Classe GridGenerator, générateur de grilles : les Vertex sont placés ligne par ligne sur une grille régulière couvrant
+ * la zone, et chacun est relié à ses voisins de droite et du dessous. La génération ne dépend d'aucun tirage aléatoire
+ */
+public class GridGenerator extends GraphGenerator {
+
+    private final int rows;//Le nombre de lignes
+    private final int columns;//Le nombre de colonnes
+
+    /**
+     * Constructeur de la classe GridGenerator
+     * @param rows le nombre de lignes
+     * @param columns le nombre de colonnes
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    public GridGenerator(int rows, int columns, int width, int height) {
+        super(checkedCount(rows, columns), 0, width, height);
+        this.rows    = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Méthode vérifiant les dimensions de la grille
+     * @param rows le nombre de lignes
+     * @param columns le nombre de colonnes
+     * @return le nombre de Vertex
+     */
+    private static int checkedCount(int rows, int columns) {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dimensions de grille invalides : " + rows + "x" + columns);
+        }
+        return rows * columns;
+    }
+
+    @Override
+    protected void positions(int from, int to, Random random, int[] x, int[] y) {
+        for (int i = from; i < to; i++) {
+            x[i] = (int) ((i % this.columns + 0.5) * this.width / this.columns);
+            y[i] = (int) ((i / this.columns + 0.5) * this.height / this.rows);
+        }
+    }
+
+    @Override
+    protected void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges) {
+        for (int i = from; i < to; i++) {
+            if (i % this.columns + 1 < this.columns) {
+                edges.add(i, i + 1);
+            }
+            if (i / this.columns + 1 < this.rows) {
+                edges.add(i, i + this.columns);
+            }
+        }
+    }
+
+    @Override
+    protected int expectedEdges(int from, int to) {
+        return 2 * (to - from);
+    }
+}
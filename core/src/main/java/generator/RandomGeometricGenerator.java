@@ -0,0 +1,104 @@
+package generator;
+
+import java.util.Random;
+
+/**
+ * Classe RandomGeometricGenerator, générateur de graphes géométriques aléatoires : les Vertex sont placés uniformément
+ * dans la zone, et deux Vertex sont reliés si leur distance est au plus le rayon. Les Vertex sont rangés dans une grille
+ * de cases d'au moins le rayon de côté, pour ne comparer chaque Vertex qu'à ceux des cases voisines
+ */
+public class RandomGeometricGenerator extends GraphGenerator {
+
+    private final int radius;//La distance maximale entre deux Vertex reliés
+
+    /**
+     * Constructeur de la classe RandomGeometricGenerator
+     * @param vertexCount le nombre de Vertex
+     * @param radius la distance maximale entre deux Vertex reliés
+     * @param seed la graine
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    public RandomGeometricGenerator(int vertexCount, int radius, long seed, int width, int height) {
+        super(vertexCount, seed, width, height);
+        if (radius < 0) {
+            throw new IllegalArgumentException("Rayon négatif : " + radius);
+        }
+        this.radius = radius;
+    }
+
+    /**
+     * Méthode donnant le rayon pour obtenir un degré moyen, aux effets de bord près
+     * @param vertexCount le nombre de Vertex
+     * @param averageDegree le degré moyen voulu
+     * @param width la largeur de la zone
+     * @param height la hauteur de la zone
+     * @return le rayon
+     */
+    public static int radiusFor(int vertexCount, double averageDegree, int width, int height) {
+        return vertexCount < 2 ? 0 : (int) Math.ceil(Math.sqrt(averageDegree * width * height / (Math.PI * (vertexCount - 1))));
+    }
+
+    /**
+     * Méthode rangeant les Vertex dans la grille (tri par dénombrement, séquentiel), puis créant les Edge en parallèle
+     */
+    @Override
+    protected EdgeBuffer[] generateEdges(final int[] x, final int[] y) {
+        //Des cases assez grandes pour ne pas en avoir beaucoup plus que de Vertex
+        final int cell    = (int) Math.max(Math.max(1, this.radius), Math.ceil(Math.sqrt((double) this.width * this.height / Math.max(1, this.vertexCount))));
+        final int columns = this.width / cell + 1;
+        final int rows    = this.height / cell + 1;
+
+        final int[] start    = new int[columns * rows + 1];
+        final int[] vertices = new int[this.vertexCount];
+        for (int i = 0; i < this.vertexCount; i++) {
+            start[(y[i] / cell) * columns + x[i] / cell + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] fill = new int[columns * rows];
+        for (int i = 0; i < this.vertexCount; i++) {
+            int c = (y[i] / cell) * columns + x[i] / cell;
+            vertices[start[c] + fill[c]++] = i;
+        }
+
+        final EdgeBuffer[] buffers = new EdgeBuffer[getChunkCount()];
+        final long         r2      = (long) this.radius * this.radius;
+        runChunks(EDGES, new ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to, Random random) {
+                EdgeBuffer edges = new EdgeBuffer(expectedEdges(from, to));
+                for (int u = from; u < to; u++) {
+                    int cx = x[u] / cell, cy = y[u] / cell;
+                    for (int ny = Math.max(0, cy - 1); ny <= Math.min(rows - 1, cy + 1); ny++) {
+                        for (int nx = Math.max(0, cx - 1); nx <= Math.min(columns - 1, cx + 1); nx++) {
+                            int c = ny * columns + nx;
+                            for (int k = start[c]; k < start[c + 1]; k++) {
+                                int  v  = vertices[k];
+                                long dx = x[u] - x[v], dy = y[u] - y[v];
+                                if (v > u && dx * dx + dy * dy <= r2) {
+                                    edges.add(u, v);
+                                }
+                            }
+                        }
+                    }
+                }
+                buffers[chunk] = edges;
+                advance(to - from);
+            }
+        });
+        return buffers;
+    }
+
+    @Override
+    protected void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges) {
+        //Les Edge sont créées par generateEdges
+    }
+
+    @Override
+    protected int expectedEdges(int from, int to) {
+        double degree = Math.PI * this.radius * this.radius * this.vertexCount / ((double) this.width * this.height);
+        return (int) Math.min(1 << 24, (to - from) * degree / 2 + 16);
+    }
+}
@@ -0,0 +1,70 @@
+package generator;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Classe WattsStrogatzGenerator, générateur de graphes "petit monde" : les Vertex sont placés en anneau et chacun est relié
+ * à ses k/2 voisins suivants, puis l'autre extrémité de chaque Edge est remplacée, avec la probabilité beta, par un Vertex
+ * tiré au hasard. Les boucles sont évitées ; des Edge en double restent possibles, avec une probabilité faible
+ */
+public class WattsStrogatzGenerator extends GraphGenerator {
+
+    private final int    neighbours;//Le nombre de voisins de chaque Vertex dans l'anneau, pair
+    private final double rewiring;//La probabilité de remplacer l'extrémité d'une Edge
+
+    /**
+     * Constructeur de la classe WattsStrogatzGenerator
+     * @param vertexCount le nombre de Vertex
+     * @param neighbours le nombre de voisins de chaque Vertex dans l'anneau, pair et inférieur au nombre de Vertex
+     * @param rewiring la probabilité de remplacer l'extrémité d'une Edge, entre 0 et 1
+     * @param seed la graine
+     * @param width la largeur de la zone où placer les Vertex
+     * @param height la hauteur de la zone où placer les Vertex
+     */
+    public WattsStrogatzGenerator(int vertexCount, int neighbours, double rewiring, long seed, int width, int height) {
+        super(vertexCount, seed, width, height);
+        if (neighbours < 0 || neighbours % 2 != 0 || (vertexCount > 0 && neighbours >= vertexCount)) {
+            throw new IllegalArgumentException("Nombre de voisins invalide : " + neighbours);
+        }
+        if (rewiring < 0 || rewiring > 1) {
+            throw new IllegalArgumentException("Probabilité hors de [0, 1] : " + rewiring);
+        }
+        this.neighbours = neighbours;
+        this.rewiring   = rewiring;
+    }
+
+    /**
+     * Méthode plaçant les Vertex sur un cercle, dans l'ordre de l'anneau
+     */
+    @Override
+    protected void positions(int from, int to, Random random, int[] x, int[] y) {
+        Point  center = new Point(this.width / 2, this.height / 2);
+        double radius = 0.45 * Math.min(this.width, this.height);
+        for (int i = from; i < to; i++) {
+            double angle = 2 * Math.PI * i / this.vertexCount;
+            x[i] = (int) (center.x + radius * Math.cos(angle));
+            y[i] = (int) (center.y + radius * Math.sin(angle));
+        }
+    }
+
+    @Override
+    protected void edges(int from, int to, Random random, int[] x, int[] y, EdgeBuffer edges) {
+        for (int u = from; u < to; u++) {
+            for (int j = 1; j <= this.neighbours / 2; j++) {
+                int v = (u + j) % this.vertexCount;
+                if (random.nextDouble() < this.rewiring) {
+                    do {
+                        v = random.nextInt(this.vertexCount);
+                    } while (v == u);
+                }
+                edges.add(u, v);
+            }
+        }
+    }
+
+    @Override
+    protected int expectedEdges(int from, int to) {
+        return (to - from) * (this.neighbours / 2);
+    }
+}
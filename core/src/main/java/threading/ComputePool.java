@@ -0,0 +1,26 @@
+package threading;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe ComputePool, donne accès au pool fork/join partagé par tous les calculs parallèles de l'application (génération
+ * de graphes, lecture des gros fichiers, placements par forces, création des vues). Un seul pool, d'autant de threads
+ * que de cœurs, évite que plusieurs calculs lancés en même temps se partagent les cœurs avec plusieurs fois trop de threads.
+ * Les threads du pool sont des démons, qui n'empêchent pas l'application de se fermer
+ */
+public final class ComputePool {
+
+    /* Le pool partagé */
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+
+    private ComputePool() {
+    }
+
+    /**
+     * Getter du pool partagé
+     * @return le pool
+     */
+    public static ForkJoinPool get() {
+        return POOL;
+    }
+}
@@ -0,0 +1,39 @@
+package threading;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe DaemonThreadFactory, crée les threads des tâches de fond de l'application : des threads démons, qui n'empêchent pas
+ * l'application de se fermer, nommés et de la priorité donnée pour ne pas ralentir l'EDT
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String        name;//Le préfixe du nom des threads
+    private final int           priority;//La priorité des threads
+    private final AtomicInteger count;//Le nombre de threads créés
+
+    /**
+     * Constructeur de la classe DaemonThreadFactory
+     * @param name le préfixe du nom des threads
+     * @param priority la priorité des threads, entre {@link Thread#MIN_PRIORITY} et {@link Thread#MAX_PRIORITY}
+     */
+    public DaemonThreadFactory(String name, int priority) {
+        this.name     = name;
+        this.priority = priority;
+        this.count    = new AtomicInteger();
+    }
+
+    /**
+     * Méthode créant un nouveau thread
+     * @param runnable la tâche du thread
+     * @return le thread, non démarré
+     */
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, this.name + "-" + this.count.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(this.priority);
+        return thread;
+    }
+}
@@ -1,33 +1,35 @@
 package threading;
 
 import controller.Controller;
+import data.Graph;
 import data.GraphElement;
-import data.Vertex;
-import view.Window;
+import generator.GeneratedGraph;
+import generator.GraphGenerator;
+import view.editor.display.Sheet;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Random;
 
 
 /**
- * Classe de génération d'éléments. Elle les génère en sous-traitant dans un thread.
+ * Classe de génération d'éléments. Elle les génère en sous-traitant dans un thread, à l'aide d'un {@link generator.GraphGenerator}.
  */
 public class GenerationThread extends JDialog implements Runnable {
     private JProgressBar            progress;
-    private int                     value;
-    private int                     numberOfElements;
     private ArrayList<GraphElement> elements;
-    private Dimension               parentSize;
+    private GraphGenerator          generator;
     private Controller              controller;
 
-    public GenerationThread(Controller controller, int generationNumber) {
+    /**
+     * Constructeur de la classe GenerationThread, qui lance la génération et attend sa fin
+     * @param controller le Controller de l'application
+     * @param generator le générateur à utiliser
+     */
+    public GenerationThread(Controller controller, GraphGenerator generator) {
         this.elements         = new ArrayList<>();
         this.controller       = controller;
-        this.numberOfElements = generationNumber;
-        this.value            = 0;
-        this.parentSize       = this.controller.getWindow().getCurrentSheet().getMaximumSize();
+        this.generator        = generator;
         this.progress         = new JProgressBar (0, 100);
         this.progress.setStringPainted (true);
 
@@ -58,52 +60,48 @@ public class GenerationThread extends JDialog implements Runnable {
      * qui lance à proprement parler la génération.
      */
     public void run() {
-        this.generation();
-        onEnd();
+        try {
+            this.generation();
+        } finally {
+            onEnd();
+        }
     }
 
     /**
-     * Méthode appellée à la fin du traitement
+     * Méthode appellée à la fin du traitement. La fermeture passe par l'EDT, pour avoir lieu après l'ouverture de la fenêtre
      */
     private void onEnd() {
-        dispose();
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                dispose();
+            }
+        });
     }
 
     /**
      * Methode executee par le nouveau thread, elle génére les éléments.
      */
     public void generation() {
-        Rectangle viewRectangle = new Rectangle(new Point(0,0), parentSize);
-        Random    r             = new Random();
-
-        Color     color         = this.controller.getWindow().getCurrentSheet().getDefaultVerticesColor();
-        int       size          = this.controller.getWindow().getCurrentSheet().getDefaultVerticesSize();
-        Vertex.Shape shape      = this.controller.getWindow().getCurrentSheet().getDefaultVerticesShape();
-
-        for (int i = 0; i < this.numberOfElements; i++) {
-            this.elements.add(new Vertex("vertex", color, new Point(r.nextInt(viewRectangle.width) + viewRectangle.x, r.nextInt(viewRectangle.height) + viewRectangle.y), size, shape));
-            this.majProgress(); //Mise à jour de la barre de progression
-        }
-    }
-
-    /**
-     * Méthode mettant à jour la barre de progression par le processus de gestion des événements.
-     * Pour plus d'ingormations, se référer à http://gfx.developpez.com/tutoriel/java/swing/swing-threading/
-     **/
-    public void majProgress() {
-        //Si l'on peut update maintenant
-        if (SwingUtilities.isEventDispatchThread()) {
-            this.value ++;
-            this.progress.setValue((100 * this.value)/this.numberOfElements);
-        } else {
-            //Sinon, on le met en attente et sera appelé plus tard
-            Runnable callMAJ = new Runnable(){
-                public void run (){
-                    majProgress ();
-                }
-            };
-            SwingUtilities.invokeLater (callMAJ);
-        }
+        Sheet sheet = this.controller.getWindow().getCurrentSheet();
+        Graph graph = this.controller.getWindow().getCurrentTab().getGraph();
+
+        //La barre de progression n'est mise à jour que lorsque le pourcentage change
+        this.generator.setProgressListener(new ProgressListener() {
+            @Override
+            public void progress(final int percent) {
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        progress.setValue(percent);
+                    }
+                });
+            }
+        });
+        GeneratedGraph generated = this.generator.generate();
+
+        //Les ID des éléments générés sont réservés en un seul bloc auprès du Graph courant
+        int firstId = graph.getIdAllocator().reserve(generated.getVertexCount() + generated.getEdgeCount());
+        this.elements = generated.toGraphElements(firstId, sheet.getDefaultVerticesColor(), sheet.getDefaultVerticesSize(), sheet.getDefaultVerticesShape(),
+                                                  sheet.getDefaultEdgesColor(), sheet.getDefaultEdgesThickness());
     }
 
     public ArrayList<GraphElement> getElements() {
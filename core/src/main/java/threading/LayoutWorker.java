@@ -0,0 +1,131 @@
+package threading;
+
+import algorithm.CompactGraph;
+import algorithm.ILayout;
+import data.Graph;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Classe LayoutWorker, calcule en arrière-plan le placement d'un {@link data.Graph} par un {@link algorithm.ILayout}, puis
+ * l'applique au Graph sur l'EDT. Le Graph est lu sur l'EDT dans un {@link algorithm.CompactGraph} avant le calcul, qui ne
+ * travaille que sur ses tableaux. Une fenêtre modale affiche l'avancement et permet d'annuler le calcul : le Graph n'est
+ * alors pas modifié. L'EDT continue de dessiner l'éditeur pendant le calcul.
+ */
+public class LayoutWorker extends SwingWorker<Boolean, Void> {
+
+    private final Graph        graph;//Le Graph à placer
+    private final ILayout      layout;//L'algorithme de placement
+    private final CompactGraph compact;//La copie compacte du Graph, sur laquelle le placement est calculé
+    private final JDialog      dialog;//La fenêtre de progression
+
+    /**
+     * Constructeur de la classe LayoutWorker. Doit être appelé sur l'EDT
+     * @param owner la fenêtre de l'application
+     * @param title le nom du placement, affiché dans la fenêtre de progression
+     * @param graph le Graph à placer
+     * @param layout l'algorithme de placement
+     */
+    public LayoutWorker(Window owner, String title, Graph graph, ILayout layout) {
+        this.graph   = graph;
+        this.layout  = layout;
+        this.compact = new CompactGraph(graph);
+        this.dialog  = initDialog(owner, title);
+    }
+
+    /**
+     * Méthode créant la fenêtre, modale, affichant la progression et permettant d'annuler le calcul
+     * @param owner la fenêtre de l'application
+     * @param title le nom du placement
+     * @return la fenêtre
+     */
+    private JDialog initDialog(Window owner, String title) {
+        final JProgressBar progress = new JProgressBar(0, 100);
+        progress.setStringPainted(true);
+        JButton cancel = new JButton("Annuler");
+        cancel.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                cancel(true);
+            }
+        });
+        addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if ("progress".equals(evt.getPropertyName())) {
+                    progress.setValue((Integer) evt.getNewValue());
+                }
+            }
+        });
+
+        JDialog dialog = new JDialog(owner, title + " ...");
+        dialog.setModal(true);
+        // fermer la fenêtre annule le calcul
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancel(true);
+            }
+        });
+        dialog.getContentPane().add(progress, BorderLayout.CENTER);
+        dialog.getContentPane().add(cancel, BorderLayout.LINE_END);
+        dialog.setPreferredSize(new Dimension(300, 60));
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        return dialog;
+    }
+
+    /**
+     * Méthode lançant le calcul et affichant la fenêtre de progression. Elle ne rend la main qu'une fois le placement
+     * appliqué au Graph, ou annulé
+     */
+    public void start() {
+        execute();
+        // la fenêtre étant modale, l'appel bloque jusqu'à sa fermeture par done()
+        this.dialog.setVisible(true);
+    }
+
+    /**
+     * Méthode exécutée sur le thread de travail, calculant le placement sur le CompactGraph
+     * @return false si le calcul a été interrompu
+     */
+    @Override
+    protected Boolean doInBackground() {
+        return this.layout.compute(this.compact, new ProgressListener() {
+            @Override
+            public void progress(int percent) {
+                setProgress(percent);
+            }
+        });
+    }
+
+    /**
+     * Méthode exécutée sur l'EDT à la fin du calcul, terminé ou annulé : le placement calculé est appliqué au Graph,
+     * puis la fenêtre de progression est fermée
+     */
+    @Override
+    protected void done() {
+        try {
+            if (!isCancelled() && get()) {
+                this.compact.writeBack();
+                this.graph.setChanged();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            JOptionPane.showMessageDialog(this.dialog.getOwner(), "Le placement a échoué :\n" + e.getCause().getLocalizedMessage(),
+                                          "Erreur", JOptionPane.ERROR_MESSAGE);
+        } finally {
+            this.dialog.dispose();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package threading;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classe NotificationDispatcher, exécute les notifications d'un {@link data.Graph} sur l'EDT, au plus une fois par image.
+ * Les tâches soumises, depuis l'EDT ou depuis un autre thread, sont mises en file puis exécutées ensemble au prochain tic
+ * d'un {@link javax.swing.Timer} : une rafale de {@link data.Graph#setChanged()} ne donne lieu qu'à une seule mise à jour
+ * des vues. Une tâche déjà en attente n'est pas ajoutée une seconde fois, ce qui limite à une notification en attente
+ * par Graph ; la file est bornée, et un thread de travail qui la trouve pleine attend que l'EDT l'ait vidée.
+ */
+public class NotificationDispatcher implements Executor, ActionListener {
+
+    /* Durée minimale entre deux exécutions, en millisecondes (environ 60 images par seconde) */
+    public static final int FRAME_DELAY = 16;
+    /* Nombre maximal de tâches en attente */
+    public static final int CAPACITY    = 256;
+
+    private final BlockingQueue<Runnable> tasks;//Les tâches en attente, dans leur ordre de soumission
+    private final Set<Runnable>           queued;//Les mêmes tâches, pour ne pas mettre deux fois une tâche en file
+    private final AtomicBoolean           scheduled;//Si le Timer a déjà été lancé pour les tâches en attente
+    private final Timer                   timer;//Le Timer déclenchant l'exécution sur l'EDT
+
+    /**
+     * Constructeur de la classe NotificationDispatcher
+     */
+    public NotificationDispatcher() {
+        this.tasks     = new ArrayBlockingQueue<>(CAPACITY);
+        this.queued    = Collections.newSetFromMap(new ConcurrentHashMap<Runnable, Boolean>());
+        this.scheduled = new AtomicBoolean();
+        this.timer     = new Timer(FRAME_DELAY, this);
+        this.timer.setRepeats(false);
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Méthode soumettant une tâche, qui sera exécutée sur l'EDT à la prochaine image. Si elle y est déjà en attente, elle
+     * n'y sera exécutée qu'une fois. Si la file est pleine, l'appel attend qu'elle se vide ; sur l'EDT, qui ne peut pas
+     * attendre, les tâches en attente sont exécutées tout de suite
+     * @param task la tâche
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!this.queued.add(task)) {
+            return;
+        }
+        if (SwingUtilities.isEventDispatchThread()) {
+            while (!this.tasks.offer(task)) {
+                this.runTasks();
+            }
+        } else {
+            try {
+                this.tasks.put(task);
+            } catch (InterruptedException e) {
+                //Le thread est interrompu : la tâche est abandonnée
+                this.queued.remove(task);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.timer.start();
+        }
+    }
+
+    /**
+     * Méthode appelée sur l'EDT par le Timer, exécutant les tâches en attente
+     * @param actionEvent l'événement du Timer
+     */
+    @Override
+    public void actionPerformed(ActionEvent actionEvent) {
+        this.scheduled.set(false);
+        this.runTasks();
+    }
+
+    /**
+     * Méthode exécutant sur l'EDT les tâches en attente. Les tâches soumises pendant l'exécution le sont à l'image suivante
+     */
+    private void runTasks() {
+        for (int n = this.tasks.size(); n > 0; n--) {
+            Runnable task = this.tasks.poll();
+            if (task == null) {
+                break;
+            }
+            //Retirée avant son exécution : une nouvelle soumission pendant celle-ci est remise en file
+            this.queued.remove(task);
+            task.run();
+        }
+    }
+}
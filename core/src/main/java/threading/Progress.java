@@ -0,0 +1,46 @@
+package threading;
+
+/**
+ * Classe Progress, compte le travail effectué par un calcul ou une écriture et en transmet le pourcentage à un
+ * {@link threading.ProgressListener}, seulement quand il change. Le travail peut être compté unité par unité : le
+ * pourcentage n'est recalculé qu'une fois atteint le travail du pourcentage suivant
+ */
+public class Progress {
+
+    private final ProgressListener listener;//L'objet prévenu de l'avancement, null si l'avancement n'est pas suivi
+    private final long             total;//Le travail total
+    private long                   done;//Le travail effectué
+    private long                   next;//Le travail à partir duquel le pourcentage change
+    private int                    percent;//Le dernier pourcentage transmis
+
+    /**
+     * Constructeur de la classe Progress
+     * @param listener l'objet prévenu de l'avancement, peut être null
+     * @param total le travail total, dans l'unité des appels à {@link #advance(long)}
+     */
+    public Progress(ProgressListener listener, long total) {
+        this.listener = listener;
+        this.total    = Math.max(1, total);
+        this.percent  = -1;
+    }
+
+    /**
+     * Méthode comptant du travail effectué
+     * @param work le travail effectué depuis l'appel précédent
+     */
+    public void advance(long work) {
+        if (this.listener == null) {
+            return;
+        }
+        this.done += work;
+        if (this.done < this.next) {
+            return;
+        }
+        int percent = (int) (100 * Math.min(this.done, this.total) / this.total);
+        if (percent != this.percent) {
+            this.percent = percent;
+            this.listener.progress(percent);
+        }
+        this.next = percent == 100 ? Long.MAX_VALUE : ((percent + 1) * this.total + 99) / 100;
+    }
+}
@@ -0,0 +1,15 @@
+package threading;
+
+/**
+ * Interface ProgressListener, reçoit l'avancement d'un calcul en arrière-plan : génération ({@link generator.GraphGenerator}),
+ * placement ({@link algorithm.ILayout}). Elle n'est appelée que lorsque le pourcentage change, soit au plus cent fois,
+ * et peut l'être depuis n'importe quel thread de calcul
+ */
+public interface ProgressListener {
+
+    /**
+     * Méthode appelée lorsque l'avancement du calcul change
+     * @param percent le pourcentage du calcul effectué, entre 0 et 100
+     */
+    void progress(int percent);
+}
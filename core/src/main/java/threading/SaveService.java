@@ -0,0 +1,416 @@
+package threading;
+
+import data.Graph;
+import data.GraphSnapshot;
+import files.dot.DotFileWriter;
+import files.gevim.GevimFileWriter;
+import files.gevim.GevimJournal;
+import files.gml.GmlGraphWriter;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Classe SaveService, sauvegarde les {@link data.Graph} en arrière-plan sur un thread dédié aux écritures.
+ * Au début de chaque sauvegarde, une copie sur écriture du Graph ({@link data.GraphSnapshot}) est créée sur l'EDT, le seul
+ * thread qui le modifie, sans recopier ses éléments ; elle est ensuite lue et écrite sur le thread de sauvegarde dans un fichier
+ * temporaire du même répertoire, qui remplace le fichier demandé une fois complet : une sauvegarde interrompue ne laisse jamais
+ * de fichier à moitié écrit. Les demandes successives de sauvegarde
+ * d'un même fichier qui n'a pas encore commencé à être écrit sont regroupées en une seule.
+ * Les fichiers .gevim ont un journal ({@link files.gevim.GevimJournal}) : tant qu'il reste petit devant le fichier, une
+ * sauvegarde se contente d'y ajouter les modifications faites depuis la précédente ; sinon le fichier est réécrit en entier
+ * et le journal supprimé (compaction).
+ * Les sauvegardes automatiques ({@link #autosave(Graph, File)}) n'écrivent jamais le fichier de l'utilisateur, mais un
+ * fichier de récupération à côté de lui ({@link #recoveryFile(File)}), supprimé à la sauvegarde suivante du fichier.
+ * Toutes les méthodes publiques doivent être appelées sur l'EDT, et les {@link Listener} y sont prévenus.
+ */
+public class SaveService {
+
+    /**
+     * Interface des objets prévenus de l'avancement des sauvegardes, sur l'EDT
+     */
+    public interface Listener {
+
+        /**
+         * Méthode appelée quand une sauvegarde commence, après la copie du Graph
+         * @param file le fichier en cours d'écriture
+         */
+        void saveStarted(File file);
+
+        /**
+         * Méthode appelée quand l'écriture du fichier avance, au plus une fois par pour cent d'éléments écrits. Une
+         * sauvegarde qui ne fait que compléter le journal d'un fichier .gevim n'en signale pas
+         * @param file le fichier en cours d'écriture
+         * @param percent le pourcentage des éléments écrits, entre 0 et 100
+         */
+        void saveProgress(File file, int percent);
+
+        /**
+         * Méthode appelée quand une sauvegarde se termine
+         * @param file le fichier écrit
+         * @param error l'erreur survenue, null si la sauvegarde a réussi
+         */
+        void saveFinished(File file, IOException error);
+    }
+
+    /* Le fichier .gevim est réécrit quand son journal dépasse cette fraction de sa taille... */
+    private static final int  COMPACTION_RATIO    = 4;
+    /* ...et cette taille, en octets */
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+    /* Suffixe ajouté au nom d'un fichier pour obtenir son fichier de récupération */
+    private static final String RECOVERY_SUFFIX   = ".autosave.gevim";
+
+    private final ExecutorService          writer;//Le thread de sauvegarde
+    private final Map<File, Graph>         pending;//Les Graph dont la sauvegarde n'a pas encore commencé, par fichier
+    private final Map<Graph, Long>         saved;//Le nombre de modifications de chaque Graph lors de sa dernière sauvegarde
+    private final Map<Graph, Long>         recovered;//Le nombre de modifications de chaque Graph lors de sa dernière sauvegarde automatique
+    private final Map<Graph, GevimJournal> journals;//Le journal de chaque Graph enregistré dans un fichier .gevim
+    private final Listener                 listener;//L'objet prévenu de l'avancement des sauvegardes, peut être null
+    private boolean                        closed;//Si le service a été arrêté
+
+    /**
+     * Constructeur de la classe SaveService
+     * @param listener l'objet prévenu de l'avancement des sauvegardes, peut être null
+     */
+    public SaveService(Listener listener) {
+        this.writer    = Executors.newSingleThreadExecutor(new DaemonThreadFactory("save", Thread.NORM_PRIORITY));
+        this.pending   = new HashMap<>();
+        this.saved     = new WeakHashMap<>();
+        this.recovered = new WeakHashMap<>();
+        this.journals  = new WeakHashMap<>();
+        this.listener  = listener;
+        this.closed    = false;
+    }
+
+    /**
+     * Méthode demandant la sauvegarde d'un Graph. Le format est choisi selon l'extension du fichier (.graphml, .dot, .dot.gz
+     * ou .gevim). Si une sauvegarde de ce fichier est déjà en attente, elle enregistrera ce Graph à la place.
+     * @param graph le Graph à sauvegarder
+     * @param file le fichier dans lequel l'écrire
+     */
+    public void save(Graph graph, File file) {
+        this.submit(graph, file.getAbsoluteFile(), false);
+    }
+
+    /**
+     * Méthode demandant la sauvegarde automatique d'un Graph dans le fichier de récupération de son fichier, s'il a été
+     * modifié depuis sa dernière sauvegarde et depuis sa dernière sauvegarde automatique. Le fichier lui-même n'est pas modifié
+     * @param graph le Graph à sauvegarder
+     * @param file le fichier du Graph
+     */
+    public void autosave(Graph graph, File file) {
+        Long count = this.recovered.get(graph);
+        if (this.isModified(graph) && (count == null || count != graph.getModificationCount())) {
+            this.submit(graph, recoveryFile(file), true);
+        }
+    }
+
+    /**
+     * Méthode renvoyant le fichier de récupération d'un fichier, écrit par les sauvegardes automatiques, au format .gevim
+     * @param file le fichier
+     * @return le fichier de récupération, dans le même répertoire
+     */
+    public static File recoveryFile(File file) {
+        file = file.getAbsoluteFile();
+        return new File(file.getParentFile(), file.getName() + RECOVERY_SUFFIX);
+    }
+
+    /**
+     * Méthode confiant une sauvegarde au thread de sauvegarde, sauf si une sauvegarde de ce fichier est déjà en attente
+     * @param graph le Graph à sauvegarder
+     * @param target le fichier dans lequel l'écrire, absolu
+     * @param recovery si c'est un fichier de récupération
+     */
+    private void submit(Graph graph, File target, boolean recovery) {
+        if (this.closed) {
+            return;
+        }
+        if (this.pending.put(target, graph) == null) {
+            this.writer.execute(new SaveTask(target, recovery));
+        }
+    }
+
+    /**
+     * Méthode indiquant si un Graph a été modifié depuis sa dernière sauvegarde réussie (ou depuis
+     * {@link #markSaved(Graph, File)}). Un Graph qui n'a jamais été sauvegardé est considéré comme modifié
+     * @param graph le Graph
+     * @return true si le Graph a des modifications non sauvegardées
+     */
+    public boolean isModified(Graph graph) {
+        Long count = this.saved.get(graph);
+        return count == null || count != graph.getModificationCount();
+    }
+
+    /**
+     * Méthode indiquant que l'état actuel d'un Graph est déjà enregistré dans un fichier, par exemple parce qu'il vient d'en être lu
+     * @param graph le Graph
+     * @param file le fichier
+     */
+    public void markSaved(Graph graph, File file) {
+        this.saved.put(graph, graph.getModificationCount());
+        this.attachJournal(graph, file.getAbsoluteFile());
+    }
+
+    /**
+     * Méthode associant au Graph le journal de son fichier si c'est un fichier .gevim, ou lui retirant son journal sinon.
+     * Les modifications en attente de notification sont d'abord transmises : elles sont déjà dans le fichier
+     * @param graph le Graph
+     * @param file le fichier dont le contenu correspond au Graph
+     */
+    private void attachJournal(Graph graph, File file) {
+        graph.flush();
+        GevimJournal journal = this.journals.get(graph);
+        if (journal != null && journal.getFile().equals(file)) {
+            journal.reset();
+            return;
+        }
+        if (journal != null) {
+            graph.removeObserver(journal);
+            this.journals.remove(graph);
+        }
+        if (file.getName().endsWith(".gevim")) {
+            this.journals.put(graph, new GevimJournal(graph, file));
+        }
+    }
+
+    /**
+     * Méthode indiquant si le journal d'un fichier .gevim est devenu assez gros pour que le fichier soit réécrit
+     * @param file le fichier .gevim
+     * @return true si le fichier doit être réécrit
+     */
+    private static boolean needsCompaction(File file) {
+        return !file.exists() || GevimJournal.journalFile(file).length() > Math.max(file.length() / COMPACTION_RATIO, MIN_COMPACTION_SIZE);
+    }
+
+    /**
+     * Méthode arrêtant le service : les sauvegardes déjà demandées sont terminées, les suivantes sont ignorées
+     * @param done la tâche à exécuter sur l'EDT une fois toutes les sauvegardes terminées, peut être null
+     */
+    public void shutdown(final Runnable done) {
+        this.closed = true;
+        this.writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (done != null) {
+                    SwingUtilities.invokeLater(done);
+                }
+            }
+        });
+        this.writer.shutdown();
+    }
+
+    /**
+     * Méthode écrivant un Graph dans un fichier de façon atomique : il est d'abord écrit et forcé sur le disque dans un fichier
+     * temporaire du même répertoire, qui est ensuite renommé. Le format est choisi selon l'extension du fichier
+     * @param graph le Graph à écrire, qui ne doit pas être modifié pendant l'écriture
+     * @param file le fichier dans lequel l'écrire
+     * @throws IOException Si le fichier ne peut pas être écrit ou si son extension n'est pas reconnue
+     */
+    public static void write(Graph graph, File file) throws IOException {
+        write(graph, file, null);
+    }
+
+    /**
+     * Méthode écrivant un Graph dans un fichier de façon atomique, comme {@link #write(Graph, File)}, en signalant
+     * l'avancement de l'écriture
+     * @param graph le Graph à écrire, qui ne doit pas être modifié pendant l'écriture
+     * @param file le fichier dans lequel l'écrire
+     * @param listener l'objet prévenu de l'avancement, sur le thread qui écrit, peut être null
+     * @throws IOException Si le fichier ne peut pas être écrit ou si son extension n'est pas reconnue
+     */
+    public static void write(Graph graph, File file, ProgressListener listener) throws IOException {
+        file = file.getAbsoluteFile();
+        String name = file.getName();
+        //Le nom du fichier temporaire se termine comme celui du fichier, les écrivains s'en servant (compression des .dot.gz)
+        File temp = File.createTempFile(".save-", "-" + name, file.getParentFile());
+        boolean moved = false;
+        try {
+            if (name.endsWith(".gevim")) {
+                GevimFileWriter writer = new GevimFileWriter(graph, temp);
+                writer.setProgressListener(listener);
+                writer.writeFile();
+            } else if (name.contains(".dot")) {
+                DotFileWriter writer = new DotFileWriter(graph, temp);
+                writer.setProgressListener(listener);
+                writer.writeFile();
+            } else if (name.contains(".graphml")) {
+                GmlGraphWriter writer = new GmlGraphWriter(graph, temp);
+                writer.setProgressListener(listener);
+                writer.writeFile();
+            } else {
+                throw new IOException("Format de fichier inconnu : " + name);
+            }
+
+            RandomAccessFile output = new RandomAccessFile(temp, "rw");
+            try {
+                output.getChannel().force(true);
+            } finally {
+                output.close();
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+            //Le journal s'appliquait à l'ancienne version du fichier
+            if (name.endsWith(".gevim")) {
+                GevimJournal.delete(file);
+            }
+        } finally {
+            if (!moved) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Classe SaveTask, sauvegarde d'un fichier exécutée sur le thread de sauvegarde
+     */
+    private class SaveTask implements Runnable {
+
+        private final File    file;//Le fichier à écrire
+        private final boolean recovery;//Si c'est un fichier de récupération, écrit par une sauvegarde automatique
+        private Graph         graph;//Le Graph à sauvegarder, null si la sauvegarde a déjà été faite
+        private GraphSnapshot snapshot;//La copie sur écriture du Graph, null si seul le journal est complété
+        private byte[]        records;//Les enregistrements à ajouter au journal, null si le Graph est réécrit
+        private long          count;//Le nombre de modifications du Graph lors de la copie
+
+        /**
+         * Constructeur de la classe SaveTask
+         * @param file le fichier à écrire
+         * @param recovery si c'est un fichier de récupération
+         */
+        public SaveTask(File file, boolean recovery) {
+            this.file     = file;
+            this.recovery = recovery;
+        }
+
+        @Override
+        public void run() {
+            IOException error = null;
+            try {
+                SwingUtilities.invokeAndWait(new Runnable() {
+                    @Override
+                    public void run() {
+                        copy();
+                    }
+                });
+                if (this.graph == null) {
+                    return;
+                }
+                if (this.records != null) {
+                    if (this.records.length > 0) {
+                        GevimJournal.append(this.file, this.records);
+                    }
+                } else {
+                    Graph copy = new Graph();
+                    copy.setName(this.snapshot.getName());
+                    copy.addGraphElements(this.snapshot.copy().build());
+                    //Le Graph n'a plus à garder l'état de ses éléments pendant l'écriture
+                    this.snapshot.release();
+                    this.snapshot = null;
+                    write(copy, this.file, listener == null ? null : new ProgressListener() {
+                        @Override
+                        public void progress(final int percent) {
+                            SwingUtilities.invokeLater(new Runnable() {
+                                @Override
+                                public void run() {
+                                    listener.saveProgress(file, percent);
+                                }
+                            });
+                        }
+                    });
+                }
+                //Le fichier est à jour : son fichier de récupération n'a plus lieu d'être
+                if (!this.recovery) {
+                    Files.deleteIfExists(recoveryFile(this.file).toPath());
+                }
+            } catch (IOException e) {
+                error = e;
+            } catch (InterruptedException | InvocationTargetException e) {
+                error = new IOException(e.getMessage(), e);
+            } catch (RuntimeException e) {
+                error = new IOException(e.getMessage(), e);
+            } finally {
+                if (this.snapshot != null) {
+                    this.snapshot.release();
+                }
+            }
+
+            final IOException result = error;
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    if (recovery) {
+                        if (result == null) {
+                            recovered.put(graph, count);
+                        }
+                    } else if (result == null) {
+                        saved.put(graph, count);
+                    } else if (journals.get(graph) != null) {
+                        //Le fichier ne correspond plus au journal : la prochaine sauvegarde le réécrira
+                        journals.get(graph).invalidate();
+                    }
+                    if (listener != null) {
+                        listener.saveFinished(file, result);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Méthode copiant le Graph en attente pour ce fichier, à appeler sur l'EDT. Si le journal du fichier suffit, seuls
+         * ses enregistrements sont récupérés ; sinon une copie sur écriture du Graph est créée, sans recopier ses éléments,
+         * pour être lue sur le thread de sauvegarde
+         */
+        private void copy() {
+            this.graph = pending.remove(this.file);
+            if (this.graph == null) {
+                return;
+            }
+            if (this.recovery) {
+                //Le Graph a pu être sauvegardé depuis la demande : le fichier de récupération serait plus récent que lui sans raison
+                if (!isModified(this.graph)) {
+                    this.graph = null;
+                    return;
+                }
+                this.count    = this.graph.getModificationCount();
+                this.snapshot = this.graph.snapshot();
+                if (listener != null) {
+                    listener.saveStarted(this.file);
+                }
+                return;
+            }
+            //Le journal doit avoir reçu toutes les modifications faites jusqu'ici
+            this.graph.flush();
+            this.count = this.graph.getModificationCount();
+            GevimJournal journal = journals.get(this.graph);
+            if (journal != null && journal.getFile().equals(this.file) && !journal.isStale() && !needsCompaction(this.file)) {
+                this.records = journal.takeRecords();
+                if (listener != null) {
+                    listener.saveStarted(this.file);
+                }
+                return;
+            }
+            //Les modifications suivantes seront enregistrées dans le journal du fichier réécrit
+            attachJournal(this.graph, this.file);
+
+            this.snapshot = this.graph.snapshot();
+            if (listener != null) {
+                listener.saveStarted(this.file);
+            }
+        }
+    }
+}
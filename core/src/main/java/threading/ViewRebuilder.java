@@ -0,0 +1,238 @@
+package threading;
+
+import data.Edge;
+import data.GraphElement;
+import data.IDMap;
+import data.Vertex;
+import view.editor.display.Sheet;
+import view.editor.elements.EdgeView;
+import view.editor.elements.ElementView;
+import view.editor.elements.VertexView;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Classe ViewRebuilder, recrée en arrière-plan les ElementView d'une {@link view.editor.display.Sheet} pour un grand Graph.
+ * Les ElementView sont créés par lots en arrière-plan, les VertexView étant retrouvés par l'ID de leur Vertex,
+ * puis chaque lot est ajouté à la Sheet sur l'EDT. Le nombre de lots en attente est limité pour que l'EDT n'ait jamais
+ * beaucoup d'éléments à ajouter d'un coup : l'éditeur reste utilisable pendant le chargement, qui peut être annulé.
+ * Le thread de travail ne fait que distribuer les lots : ils sont créés en parallèle par le {@link threading.ComputePool}.
+ * Après une annulation, la Sheet signale que son affichage est incomplet et propose de le recharger.
+ */
+public class ViewRebuilder extends SwingWorker<Void, List<ElementView>> {
+
+    /* Nombre d'ElementView par lot */
+    public static final int  BATCH_SIZE          = 2000;
+    /* Nombre maximal de lots créés et pas encore ajoutés à la Sheet */
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    private final Sheet              sheet;//La Sheet à remplir
+    private final List<GraphElement> elements;//Les GraphElement du Graph, copiés sur l'EDT
+    private final int                hoverThickness;//L'épaisseur à rajouter aux EdgeView sélectionnées
+    private final Semaphore          pending;//Les lots pouvant encore être créés avant d'être ajoutés
+    private final JDialog            dialog;//La fenêtre de progression
+    private boolean                  interrupted;//Vrai si l'utilisateur a annulé la reconstruction, sur l'EDT
+
+    /**
+     * Constructeur de la classe ViewRebuilder. Doit être appelé sur l'EDT
+     * @param sheet la Sheet à remplir, vidée de ses ElementView
+     * @param elements les GraphElement du Graph
+     * @param hoverThickness l'épaisseur à rajouter aux EdgeView sélectionnées
+     */
+    public ViewRebuilder(Sheet sheet, List<GraphElement> elements, int hoverThickness) {
+        this.sheet          = sheet;
+        // la liste du Graph peut être modifiée sur l'EDT pendant la reconstruction
+        this.elements       = new ArrayList<>(elements);
+        this.hoverThickness = hoverThickness;
+        this.pending        = new Semaphore(MAX_PENDING_BATCHES);
+        this.dialog         = initDialog();
+    }
+
+    /**
+     * Méthode créant la fenêtre, non modale, affichant la progression et permettant d'annuler la reconstruction
+     * @return la fenêtre
+     */
+    private JDialog initDialog() {
+        final JProgressBar progress = new JProgressBar(0, 100);
+        progress.setStringPainted(true);
+        JButton cancel = new JButton("Annuler");
+        cancel.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                interrupted = true;
+                cancel(true);
+            }
+        });
+        addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if ("progress".equals(evt.getPropertyName())) {
+                    progress.setValue((Integer) evt.getNewValue());
+                }
+            }
+        });
+
+        JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(this.sheet), "Actualisation ...");
+        dialog.setModal(false);
+        // la fenêtre ne prend pas le focus du clavier à l'éditeur
+        dialog.setFocusableWindowState(false);
+        dialog.getContentPane().add(progress, BorderLayout.CENTER);
+        dialog.getContentPane().add(cancel, BorderLayout.LINE_END);
+        dialog.setPreferredSize(new Dimension(300, 60));
+        dialog.pack();
+        dialog.setLocationRelativeTo(this.sheet);
+        return dialog;
+    }
+
+    /**
+     * Méthode lançant la reconstruction et affichant la fenêtre de progression
+     */
+    public void start() {
+        this.dialog.setVisible(true);
+        execute();
+    }
+
+    /**
+     * Méthode exécutée sur le thread de travail, créant les ElementView par lots : les VertexView d'abord, puis les EdgeView.
+     * Les lots sont créés par tournées d'autant de lots que de threads du {@link threading.ComputePool}, en parallèle,
+     * puis publiés dans l'ordre
+     * @return rien
+     * @throws InterruptedException si la reconstruction a été annulée pendant l'attente d'un lot
+     */
+    @Override
+    protected Void doInBackground() throws InterruptedException {
+        List<GraphElement> vertices = new ArrayList<>();
+        List<GraphElement> edges    = new ArrayList<>();
+        for (GraphElement element : this.elements) {
+            (element.isVertex() ? vertices : edges).add(element);
+        }
+
+        IDMap<VertexView> vertexViews = new IDMap<>();
+        ForkJoinPool      pool        = ComputePool.get();
+        int               round       = BATCH_SIZE * pool.getParallelism();
+        int               done        = 0;
+        for (List<GraphElement> part : Arrays.asList(vertices, edges)) {
+            for (int from = 0; from < part.size(); from += round) {
+                int to = Math.min(from + round, part.size());
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                List<ElementView>[] batches = new List[(to - from + BATCH_SIZE - 1) / BATCH_SIZE];
+                pool.invoke(new BatchAction(part, vertexViews, batches, from, from, to));
+                for (List<ElementView> batch : batches) {
+                    if (isCancelled()) {
+                        return null;
+                    }
+                    // les EdgeView des tournées suivantes retrouvent leurs extrémités par l'ID de leur Vertex
+                    for (ElementView view : batch) {
+                        if (view.isVertexView()) {
+                            vertexViews.put(view.getGraphElement().getID(), (VertexView) view);
+                        }
+                    }
+                    done += batch.size();
+                    this.pending.acquire();
+                    publish(batch);
+                    setProgress((int) (100L * done / this.elements.size()));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Classe BatchAction, tâche fork/join divisant un intervalle de GraphElement en lots de BATCH_SIZE,
+     * et créant les ElementView de chaque lot
+     */
+    private class BatchAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<GraphElement>  part;//Les GraphElement, tous des Vertex ou tous des Edge
+        private final IDMap<VertexView>   vertexViews;//Les VertexView déjà créés, lus seulement
+        private final List<ElementView>[] batches;//Les lots de la tournée, remplis par les tâches
+        private final int                 round;//Le premier GraphElement de la tournée
+        private final int                 from;//Le premier GraphElement de la tâche, au début d'un lot
+        private final int                 to;//Le GraphElement suivant le dernier
+
+        BatchAction(List<GraphElement> part, IDMap<VertexView> vertexViews, List<ElementView>[] batches, int round, int from, int to) {
+            this.part        = part;
+            this.vertexViews = vertexViews;
+            this.batches     = batches;
+            this.round       = round;
+            this.from        = from;
+            this.to          = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (ViewRebuilder.this.isCancelled()) {
+                return;
+            }
+            if (this.to - this.from > BATCH_SIZE) {
+                int middle = this.from + (this.to - this.from) / BATCH_SIZE / 2 * BATCH_SIZE;
+                invokeAll(new BatchAction(this.part, this.vertexViews, this.batches, this.round, this.from, middle),
+                          new BatchAction(this.part, this.vertexViews, this.batches, this.round, middle, this.to));
+                return;
+            }
+            List<ElementView> batch = new ArrayList<>(this.to - this.from);
+            for (int i = this.from; i < this.to; i++) {
+                GraphElement element = this.part.get(i);
+                if (element.isVertex()) {
+                    batch.add(new VertexView((Vertex) element));
+                } else {
+                    Edge       edge = (Edge) element;
+                    VertexView src  = this.vertexViews.get(edge.getOrigin().getID());
+                    VertexView dst  = this.vertexViews.get(edge.getDestination().getID());
+                    if (src != null && dst != null) {
+                        batch.add(new EdgeView(edge, hoverThickness, src, dst));
+                    }
+                }
+            }
+            this.batches[(this.from - this.round) / BATCH_SIZE] = batch;
+        }
+    }
+
+    /**
+     * Méthode exécutée sur l'EDT, ajoutant les lots créés à la Sheet
+     * @param batches les lots
+     */
+    @Override
+    protected void process(List<List<ElementView>> batches) {
+        for (List<ElementView> batch : batches) {
+            if (!isCancelled()) {
+                this.sheet.addViews(batch);
+            }
+            this.pending.release();
+        }
+    }
+
+    /**
+     * Méthode exécutée sur l'EDT à la fin de la reconstruction, terminée ou annulée. Si l'utilisateur l'a annulée,
+     * la Sheet n'affiche qu'une partie du Graph : elle le signale, et la reconstruction peut être relancée tout de suite
+     */
+    @Override
+    protected void done() {
+        this.dialog.dispose();
+        this.sheet.repaint();
+        if (this.interrupted) {
+            this.sheet.setIncomplete(true);
+            int answer = JOptionPane.showOptionDialog(this.sheet,
+                    "Chargement interrompu : seuls " + this.sheet.getViewCount() + " éléments sur " + this.elements.size()
+                    + " sont affichés.\nLes éléments manquants ne peuvent être ni sélectionnés ni modifiés.",
+                    "Affichage incomplet", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE, null,
+                    new Object[] { "Recharger", "Garder l'affichage partiel" }, "Recharger");
+            if (answer == JOptionPane.YES_OPTION) {
+                this.sheet.reload();
+            }
+        }
+    }
+}
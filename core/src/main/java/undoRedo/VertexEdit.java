@@ -84,7 +84,6 @@ public class VertexEdit extends AbstractUndoableEdit {
                 graph.getVertexes().get(s.getIndex()).setPosition(vertexAfter.getPosition());
             if(vertexAfter.getValue()!=-1)
                 graph.getVertexes().get(s.getIndex()).setValue(vertexAfter.getValue());
-
         }
         graph.setChanged();
 
@@ -7,6 +7,7 @@ import controller.state.State;
 import data.Graph;
 import data.Vertex;
 import files.dot.DotFileManager;
+import files.gevim.GevimFileManager;
 import files.gml.GmlFileManager;
 import undoRedo.snap.SnapVertex;
 import view.UIElements.CustomTabbedPaneUI;
@@ -22,9 +23,12 @@ import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Classe Window gérant la fenêtre principale de l'application. C'est la Vue principale du pattern MVC,
@@ -51,6 +55,8 @@ public class Window extends JFrame {
 
     /* Le Paneau initial à l'ouverture du programme */
     private JPanel                 startPanel;
+    /* La barre d'avancement des sauvegardes en arrière-plan */
+    private JProgressBar           saveProgress;
 
     /**
      * Constructeur de la classe Window
@@ -64,6 +70,7 @@ public class Window extends JFrame {
         initMenu();
         initBackPanel();
         initToolMenuBar();
+        initSaveProgressBar();
         initStartPanel();
 
         tabs.setFocusable(false);
@@ -147,7 +154,14 @@ public class Window extends JFrame {
         this.setSize(width, height);
         this.setMinimumSize(new Dimension(width, height));
         this.setLocationRelativeTo(null);
-        this.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        //Le Controller ne quitte qu'une fois les sauvegardes en cours terminées
+        this.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                Window.this.controller.exit();
+            }
+        });
 
         this.tabs = CustomUIManager.addTab(new JTabbedPane(SwingConstants.TOP));
         this.tabs.setUI(new CustomTabbedPaneUI());
@@ -213,6 +227,35 @@ public class Window extends JFrame {
         super.getContentPane().add(toolBar, BorderLayout.NORTH);
     }
 
+    /**
+     * Initialise la barre d'avancement des sauvegardes, en bas de la fenêtre, masquée tant qu'aucune sauvegarde n'est en cours
+     */
+    private void initSaveProgressBar() {
+        this.saveProgress = new JProgressBar(0, 100);
+        this.saveProgress.setStringPainted(true);
+        this.saveProgress.setVisible(false);
+        super.getContentPane().add(this.saveProgress, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Méthode affichant l'avancement d'une sauvegarde en arrière-plan. L'édition reste possible pendant la sauvegarde
+     *
+     * @param fileName le nom du fichier en cours d'écriture
+     * @param percent  le pourcentage des éléments écrits
+     */
+    public void showSaveProgress(String fileName, int percent) {
+        this.saveProgress.setString("Sauvegarde de " + fileName + " : " + percent + " %");
+        this.saveProgress.setValue(percent);
+        this.saveProgress.setVisible(true);
+    }
+
+    /**
+     * Méthode masquant la barre d'avancement des sauvegardes
+     */
+    public void hideSaveProgress() {
+        this.saveProgress.setVisible(false);
+    }
+
     /**
      * Méthode privée pour ajouter un StateButton avec une image dans un toolBar
      *
@@ -241,10 +284,12 @@ public class Window extends JFrame {
         JMenu open        = ButtonFactory.createJMenu("Ouvrir");
         this.addJMenuItem(open, "depuis GraphML...", "from GraphML...");
         this.addJMenuItem(open, "depuis GraphViz...", "from GraphViz...");
+        this.addJMenuItem(open, "depuis GEVIM...", "from GEVIM...");
 
         JMenu saveas      = ButtonFactory.createJMenu("Sauvegarder comme ...");
         this.addJMenuItem(saveas, "GraphML...", "GraphML...");
         this.addJMenuItem(saveas, "GraphViz...", "GraphViz...");
+        this.addJMenuItem(saveas, "GEVIM...", "GEVIM...");
 
         this.addJMenuItem(file, "Nouveau", "New");
         file.add(open);
@@ -461,6 +506,22 @@ public class Window extends JFrame {
         }
     }
 
+    /**
+     * Méthode pour ouvrir un fichier .gevim appellée par le Controller
+     * @param file Le fichier à ouvrir
+     * @throws Exception Exception lors de la lecture du fichier ou de son ouverture
+     */
+    public void openGEVIM(File file) throws Exception{
+        if(file != null){
+            GevimFileManager gevimFileManager = new GevimFileManager(null, file);
+            gevimFileManager.openGraph();
+
+            this.addNewTab(this.controller.addGraph(gevimFileManager.getGraph()), gevimFileManager.getGraph().getName());
+            this.tabs.setSelectedIndex(this.tabs.getTabCount() - 1);
+            this.controller.getGraph(this.getCurrentTabIndex()).setChanged();
+        }
+    }
+
     /**
      * Méthode permettant d'appeller la Fenêtre de sélection d'un algorithme, de tester si on peut l'appliquer et on l'applique au Graph
      */
@@ -473,21 +534,19 @@ public class Window extends JFrame {
                     if (selectedAlgorithm != null) {
                         //Sauvegarde des propriétés de l'ensemble des graphElements
                         if (this.tabs.getSelectedIndex() != -1) {
-                            ArrayList<Vertex> elements = getCurrentTab().getGraph().getVertexes();
-                            ArrayList<SnapVertex> before = new ArrayList<>();
-                            ArrayList<SnapVertex> after = new ArrayList<>();
+                            List<Vertex> elements = getCurrentTab().getGraph().getVertexes();
+                            ArrayList<SnapVertex> before = new ArrayList<>(elements.size());
+                            ArrayList<SnapVertex> after = new ArrayList<>(elements.size());
 
-                            for (Vertex v : elements) {
-                                before.add(new SnapVertex(v, elements.indexOf(v)));
+                            for (int i = 0; i < elements.size(); i++) {
+                                before.add(new SnapVertex(elements.get(i), i));
                             }
                             int vertexWidth          = getCurrentSheet().getDefaultVerticesSize();
                             Point applyPosition      = new Point(getCurrentSheetViewPort().getViewPosition().x + vertexWidth / 2, getCurrentSheetViewPort().getViewPosition().y + vertexWidth / 2);
                             Dimension applyDimension = new Dimension(getCurrentSheet().getMaximumSize().width - vertexWidth, getCurrentSheet().getMaximumSize().height - vertexWidth);
                             this.controller.applyAlgorithm(selectedAlgorithm, applyPosition, applyDimension);
-                            elements = getCurrentTab().getGraph().getVertexes();
-
-                            for (Vertex v : elements) {
-                                after.add(new SnapVertex(v, elements.indexOf(v)));
+                            for (int i = 0; i < elements.size(); i++) {
+                                after.add(new SnapVertex(elements.get(i), i));
                             }
 
                             this.getCurrentTab().getUndoRedo().registerAlgoEdit(before, after);
@@ -1,9 +1,10 @@
 package view.editor;
 
-import controller.ActionController;
 import controller.Controller;
 import controller.listeners.KeyActionListener;
+import controller.listeners.SheetMouseListener;
 import data.Graph;
+import threading.NotificationDispatcher;
 import undoRedo.UndoPanel;
 import view.UIElements.CustomUIManager;
 import view.editor.display.MiniMap;
@@ -53,6 +54,8 @@ public class Tab extends JSplitPane {
 
         this.controller = controller;
 
+        // les notifications du Graph sont regroupées et faites sur l'EDT, une fois par image
+        graph.setNotificationExecutor(new NotificationDispatcher());
         initSheet(title, graph);
         initBoardPanel(graph);
 
@@ -120,31 +123,10 @@ public class Tab extends JSplitPane {
         scrollPane = CustomUIManager.addScrollPane(new ScrollPane(this, sheet));
         scrollPane.setMinimumSize(new Dimension(500,500));
 
-        sheet.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                controller.getState().click(Tab.this, graph, e);
-            }
-
-            @Override
-            public void mousePressed(MouseEvent e) { controller.getState().pressed(Tab.this, graph, e); }
-
-            @Override
-            public void mouseReleased(MouseEvent e) {
-                controller.getState().released(Tab.this, graph, e);
-            }
-
-        });
-
-        sheet.addMouseMotionListener(new MouseMotionListener() {
-            @Override
-            public void mouseDragged(MouseEvent e) { controller.getState().drag(Tab.this, graph, e); }
-
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                ActionController.setMousePosition(e.getPoint());
-            }
-        });
+        // un seul listener pour la feuille de dessin et tous ses ElementView
+        SheetMouseListener mouseListener = new SheetMouseListener(this.controller, this, graph);
+        sheet.addMouseListener(mouseListener);
+        sheet.addMouseMotionListener(mouseListener);
 
         scrollPane.addMouseWheelListener(new MouseWheelListener() {
             @Override
@@ -1,36 +1,40 @@
 package view.editor.display;
 
-import data.Edge;
-import data.GraphElement;
+import data.GraphEvent;
 import data.Observable;
-import data.Vertex;
-import threading.UpdateThread;
+import threading.DaemonThreadFactory;
 import view.UIElements.CustomUIManager;
-import view.editor.elements.EdgeView;
-import view.editor.elements.VertexView;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.ListIterator;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Classe MiniMap affichant une miniature de la feuille de dessin actuelle et permettant de s'y déplacer
+ * Classe MiniMap affichant une miniature de la feuille de dessin actuelle et permettant de s'y déplacer.
+ * La miniature est dessinée une fois dans une image, sur un thread de faible priorité, puis simplement copiée à l'écran :
+ * déplacer la zone de sélection ne redessine pas le Graph
  */
 public class MiniMap extends JComponent implements Observer, AdjustmentListener {
 
 	private static final long serialVersionUID = 1L;
 
+    /* Le thread dessinant les miniatures de toutes les MiniMap */
+    private static final ExecutorService RENDERER = Executors.newSingleThreadExecutor(new DaemonThreadFactory("minimap", Thread.MIN_PRIORITY));
+
     /* Le scrollPane conteneur de la feuille de dessin */
 	private view.editor.ScrollPane pane;
     /* La feuille de dessin */
 	private Sheet                  sheet;
 
-    /* La liste des EdgeView affichées */
-	private ArrayList<EdgeView>    edges;
-    /* La liste des VertexView affichés */
-    private ArrayList<VertexView>  vertices;
+    /* La miniature du Graph, null tant qu'elle n'a pas été dessinée */
+    private BufferedImage          thumbnail;
+    /* Si une miniature est en train d'être dessinée */
+    private boolean                rendering;
+    /* Si le Graph a été modifié pendant qu'une miniature était dessinée */
+    private boolean                dirty;
     
     /* Le rectangle de la zone de sélection */
     private Rectangle              selectionZone;
@@ -43,8 +47,6 @@ public class MiniMap extends JComponent implements Observer, AdjustmentListener
     public MiniMap(view.editor.ScrollPane pane, Sheet sheet) {
         this.pane     = pane;
         this.sheet    = sheet;
-        this.edges    = new ArrayList<>();
-        this.vertices = new ArrayList<>();
 
         updateSelectionZone();
         this.addMouseListener(new MouseAdapter() {
@@ -63,22 +65,24 @@ public class MiniMap extends JComponent implements Observer, AdjustmentListener
     }
 
 	/**
-	 * Override de la méthode paintComponent pour dessiner le graph
+	 * Override de la méthode paintComponent pour dessiner la miniature du graph et la zone de sélection
 	 * @param g les Graphics
 	 */
 	public void paintComponent(Graphics g) {
-        g.setColor(CustomUIManager.minimapColor);
-        g.fillRect(0, 0, super.getWidth(), super.getHeight());
+        if (this.thumbnail == null || this.thumbnail.getWidth() != this.getWidth() || this.thumbnail.getHeight() != this.getHeight()) {
+            // pas encore de miniature, ou la MiniMap a été redimensionnée
+            requestThumbnail();
+        }
+        if (this.thumbnail != null) {
+            g.drawImage(this.thumbnail, 0, 0, this.getWidth(), this.getHeight(), null);
+        } else {
+            g.setColor(CustomUIManager.minimapColor);
+            g.fillRect(0, 0, super.getWidth(), super.getHeight());
+        }
 		g.setColor(CustomUIManager.selectionColor);
 		g.fillRect(this.selectionZone.x, this.selectionZone.y, this.selectionZone.width, this.selectionZone.height);
 		g.setColor(CustomUIManager.selectionBorderColor);
 		g.drawRect(this.selectionZone.x, this.selectionZone.y, this.selectionZone.width, this.selectionZone.height);
-        for(EdgeView e : this.edges){
-            e.paintComponent(g, 1.0*this.getWidth()/this.sheet.getMaximumSize().width, 1.0*this.getHeight()/this.sheet.getMaximumSize().height, false);
-        }
-        for (VertexView v : this.vertices) {
-            v.paintComponent(g, 1.0*this.getWidth()/this.sheet.getMaximumSize().width, 1.0*this.getHeight()/this.sheet.getMaximumSize().height, false);
-        }
     }
 
     /**
@@ -86,67 +90,76 @@ public class MiniMap extends JComponent implements Observer, AdjustmentListener
      * @param observable la classe observée
      * @param object l'objet de la classe observée ayant été modifié
      */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void update(Observable observable, Object object) {
-		this.vertices.clear();
-        this.edges.clear();
-		super.removeAll();
-		// pour chaque GraphElement du Graph
-        ArrayList<GraphElement> elements = (ArrayList<GraphElement>)object;
-
-        if(elements.size()<1000) {
-            // pour chaque GraphElement du Graph
-            for (GraphElement element : elements) {
-                if (element.isVertex()) {
-                    addVertex((Vertex) element);
-                }
-            }
-
-            for (GraphElement element : elements) {
-                if (!element.isVertex()) {
-                    VertexView src = null, dst = null;
-                    ListIterator<VertexView> search = vertices.listIterator();
-
-                    while (search.hasNext() && (src == null || dst == null)) {
-                        VertexView tmp = search.next();
-                        if (tmp.getVertex().getID() == ((Edge) element).getOrigin().getID()) src = tmp;
-                        else if (tmp.getVertex().getID() == ((Edge) element).getDestination().getID()) dst = tmp;
-                    }
-                    if (src != null && dst != null) addEdge((Edge) element, src, dst);
-                }
-            }
-        }else{
-            UpdateThread updateThread = new UpdateThread(this, elements, this.sheet.getController());
-
-            this.vertices.addAll(updateThread.getVertices());
-            this.edges.addAll(updateThread.getEdges());
-        }
-
+        requestThumbnail();
         updateSelectionZone();
-		this.repaint();
 	}
-	
-	/**
-     * Méthode permettant d'ajouter un VertexView à la position désirée
-     * @param vertex le modèle Vertex du VertexView
+
+    /**
+     * Override de la méthode update de la classe Observer, la miniature étant redessinée quelle que soit la modification
+     * @param observable la classe observée
+     * @param event la modification du Graph
      */
-    public void addVertex(Vertex vertex){
-    	VertexView vertexView = new VertexView(vertex);
-        this.vertices.add(vertexView);
-        super.add(vertexView);
+    @Override
+    public void update(Observable observable, GraphEvent event) {
+        requestThumbnail();
     }
-    
+
+    /**
+     * Méthode demandant une nouvelle miniature. Les éléments du Graph sont copiés sur l'EDT, puis la miniature est dessinée
+     * sur le thread de fond et affichée une fois prête. Une seule miniature est dessinée à la fois : les demandes reçues
+     * entre-temps sont regroupées en une seule, faite à la fin de la précédente
+     */
+    private void requestThumbnail() {
+        if (this.rendering) {
+            this.dirty = true;
+            return;
+        }
+        final int width  = this.getWidth();
+        final int height = this.getHeight();
+        if (width <= 0 || height <= 0) {
+            // la MiniMap n'est pas encore affichée : la miniature sera demandée au premier dessin
+            return;
+        }
+        final Thumbnail snapshot = new Thumbnail(this.sheet.getGraph());
+        final double    scaleX   = 1.0*width/this.sheet.getMaximumSize().width;
+        final double    scaleY   = 1.0*height/this.sheet.getMaximumSize().height;
+        final Color     color    = CustomUIManager.minimapColor;
+        this.rendering = true;
+        this.dirty     = false;
+        RENDERER.execute(new Runnable() {
+            @Override
+            public void run() {
+                BufferedImage image = null;
+                try {
+                    image = snapshot.render(width, height, scaleX, scaleY, color);
+                } finally {
+                    final BufferedImage result = image;
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            onThumbnailRendered(result);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
     /**
-     * Méthode permettant d'ajouter un EdgeView
-     * @param edge le modèle Edge de l'EdgeView
-     * @param origin le VertexView d'origine de l'EdgeView
-     * @param destination le VertexView de destination de l'EdgeView
+     * Méthode appelée sur l'EDT lorsqu'une miniature a été dessinée
+     * @param image la miniature, null si elle n'a pas pu être dessinée
      */
-    public void addEdge(Edge edge, VertexView origin, VertexView destination ){
-    	EdgeView edgeView = new EdgeView(edge, 2, origin, destination);
-        this.edges.add(edgeView);
-        super.add(edgeView);
+    private void onThumbnailRendered(BufferedImage image) {
+        this.rendering = false;
+        if (image != null) {
+            this.thumbnail = image;
+        }
+        if (this.dirty) {
+            requestThumbnail();
+        }
+        this.repaint();
     }
 
     /**
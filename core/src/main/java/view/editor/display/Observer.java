@@ -1,5 +1,6 @@
 package view.editor.display;
 
+import data.GraphEvent;
 import data.Observable;
 
 /**
@@ -13,4 +14,11 @@ public interface Observer {
 	 * @param object l'objet de la classe observée ayant été modifié
 	 */
 	void update(Observable observable, Object object);
+
+	/**
+	 * Méthode appelée par la classe observée pour une modification précise, l'Observer ne met à jour que ce qui a changé
+	 * @param observable la classe observée
+	 * @param event la modification
+	 */
+	void update(Observable observable, GraphEvent event);
 }
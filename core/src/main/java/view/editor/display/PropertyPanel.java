@@ -11,6 +11,9 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.Vector;
 
 /**
@@ -36,6 +39,9 @@ public class PropertyPanel extends JTabbedPane implements Observer {
     private Vector<Vector<String>> edgeDatas;
     private Vector<String>         columnVertexNames;
     private Vector<String>         columnEdgeNames;
+    /* Les lignes des tables, par ID de leur GraphElement */
+    private IDMap<Vector<String>>  vertexRows;
+    private IDMap<Vector<String>>  edgeRows;
 
     /**
      * Constructeur de la classe initialisant les données du {@link javax.swing.JTable} à partir d'un {@link Sheet} et de son {@link data.Graph} associé
@@ -59,7 +65,8 @@ public class PropertyPanel extends JTabbedPane implements Observer {
 
         vertexDatas = new Vector<>();
         edgeDatas = new Vector<>();
-
+        vertexRows = new IDMap<>();
+        edgeRows = new IDMap<>();
 
         vertexPropertyTable = new JTable(vertexDatas, columnVertexNames);
         edgePropertyTable = new JTable(edgeDatas, columnEdgeNames);
@@ -216,27 +223,112 @@ public class PropertyPanel extends JTabbedPane implements Observer {
     public void update(Observable observable, Object object) {
         vertexDatas.clear();
         edgeDatas.clear();
+        vertexRows.clear();
+        edgeRows.clear();
 
         for (GraphElement element : (ArrayList<GraphElement>)object) {
-            Vector<String> newData = new Vector<>();
-            if (element.isVertex()) {
-                newData.add(element.getLabel());
-                newData.add(String.valueOf(((Vertex) element).getSize()));
-                newData.add(String.valueOf(element.getValue()));
-                newData.add(String.valueOf(element.getID()));
-                vertexDatas.add(newData);
-            } else {
-                newData.add(element.getLabel());
-                newData.add(String.valueOf(((Edge) element).getThickness()));
-                newData.add(String.valueOf(element.getID()));
-                edgeDatas.add(newData);
-            }
+            addRow(element);
         }
 
         vertexPropertyTable.updateUI();
         edgePropertyTable.updateUI();
     }
 
+    /**
+     * Méthode d'update overridée de l'interface {@link Observer}. Seules les lignes des GraphElement concernés sont modifiées
+     * @param observable la classe observée
+     * @param event la modification du Graph
+     */
+    @Override
+    public void update(Observable observable, GraphEvent event) {
+        switch (event.getType()) {
+            case ADDED:
+                for (int id : event.getIDs()) {
+                    GraphElement element = this.graph.getFromID(id);
+                    if (element != null && vertexRows.get(id) == null && edgeRows.get(id) == null) {
+                        addRow(element);
+                    }
+                }
+                break;
+            case REMOVED:
+                Set<Vector<String>> removed = Collections.newSetFromMap(new IdentityHashMap<Vector<String>, Boolean>());
+                for (int id : event.getIDs()) {
+                    Vector<String> row = vertexRows.remove(id);
+                    if (row == null) row = edgeRows.remove(id);
+                    if (row != null) removed.add(row);
+                }
+                if (!removed.isEmpty()) {
+                    removeRows(vertexDatas, removed);
+                    removeRows(edgeDatas, removed);
+                }
+                break;
+            case PROPERTY_CHANGED:
+                for (int id : event.getIDs()) {
+                    GraphElement element = this.graph.getFromID(id);
+                    Vector<String> row = element == null ? null : element.isVertex() ? vertexRows.get(id) : edgeRows.get(id);
+                    if (row != null) {
+                        fillRow(element, row);
+                    }
+                }
+                break;
+            default:
+                // MOVED : les positions ne sont pas affichées dans les tables
+                return;
+        }
+
+        vertexPropertyTable.updateUI();
+        edgePropertyTable.updateUI();
+    }
+
+    /**
+     * Méthode ajoutant la ligne d'un GraphElement à la table correspondante
+     * @param element le GraphElement
+     */
+    private void addRow(GraphElement element) {
+        Vector<String> newData = new Vector<>();
+        fillRow(element, newData);
+        if (element.isVertex()) {
+            vertexDatas.add(newData);
+            vertexRows.put(element.getID(), newData);
+        } else {
+            edgeDatas.add(newData);
+            edgeRows.put(element.getID(), newData);
+        }
+    }
+
+    /**
+     * Méthode remplissant une ligne avec les propriétés d'un GraphElement
+     * @param element le GraphElement
+     * @param row la ligne, vidée au préalable
+     */
+    private void fillRow(GraphElement element, Vector<String> row) {
+        row.clear();
+        row.add(element.getLabel());
+        if (element.isVertex()) {
+            row.add(String.valueOf(((Vertex) element).getSize()));
+            row.add(String.valueOf(element.getValue()));
+        } else {
+            row.add(String.valueOf(((Edge) element).getThickness()));
+        }
+        row.add(String.valueOf(element.getID()));
+    }
+
+    /**
+     * Méthode retirant des lignes d'une table en un seul parcours
+     * @param datas les lignes de la table
+     * @param removed les lignes à retirer
+     */
+    private static void removeRows(Vector<Vector<String>> datas, Set<Vector<String>> removed) {
+        int kept = 0;
+        for (int i = 0; i < datas.size(); i++) {
+            Vector<String> row = datas.get(i);
+            if (!removed.contains(row)) {
+                datas.set(kept++, row);
+            }
+        }
+        datas.setSize(kept);
+    }
+
     /**
      * Méthode de vérification d'une donnée entière, pour éviter d'avoir des entiers inférieurs à 0.
      * @param data L'entier devant être vérifié
@@ -2,9 +2,7 @@ package view.editor.display;
 
 import controller.Controller;
 import data.*;
-import files.dot.DotFileManager;
-import files.gml.GmlFileManager;
-import threading.UpdateThread;
+import threading.ViewRebuilder;
 import undoRedo.snap.SnapEdge;
 import undoRedo.snap.SnapPosition;
 import undoRedo.snap.SnapProperties;
@@ -20,13 +18,16 @@ import view.frames.VerticesEditor;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionAdapter;
-import java.io.File;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.ListIterator;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Classe Sheet, feuille de dessin affichant un {@link data.Graph} dans l'application, est un {@link Observer} de la classe Graph
@@ -45,13 +46,29 @@ public class Sheet extends JComponent implements Observer {
     private ArrayList<EdgeView>     edges;
     /* La liste des VertexView affichés */
     private ArrayList<VertexView>   vertices;
-
-    /* La liste des ElementView sélectionnés dans la zone précédente (avant le Ctrl enfoncé) */
-    private ArrayList<ElementView>  previousSelectedElements;
+    /* Les EdgeView affichées, par ID de leur Edge */
+    private IDMap<EdgeView>         edgeViews;
+    /* Les VertexView affichés, par ID de leur Vertex */
+    private IDMap<VertexView>       vertexViews;
+    /* Index spatial des VertexView, selon la position et la taille de leur Vertex */
+    private SpatialIndex<VertexView> vertexIndex;
+    /* Index spatial des EdgeView, selon le rectangle englobant leurs extrémités */
+    private SpatialIndex<EdgeView>  edgeIndex;
+    /* Les tuiles de la couche statique de l'affichage, pour l'échelle et le niveau de détail courants */
+    private TileCache               tileCache;
+    /* La reconstruction en arrière-plan des ElementView en cours, null s'il n'y en a pas */
+    private ViewRebuilder           rebuilder;
+    /* Si la dernière reconstruction a été annulée, et que seule une partie du Graph est affichée */
+    private boolean                 incomplete;
+
+    /* Les ElementView sélectionnés dans la zone précédente (avant le Ctrl enfoncé) */
+    private Set<ElementView>        previousSelectedElements;
     /* La liste des ElementView sélectionnés */
     private ArrayList<ElementView>  selectedElements;
-    /* La liste des ElementView qui sont actuellement dans la zone de sélection */
-    private ArrayList<ElementView>  currentSelectedElements;
+    /* Les ElementView sélectionnés, pour savoir en O(1) si un ElementView l'est */
+    private Set<ElementView>        selectedSet;
+    /* Les ElementView qui sont actuellement dans la zone de sélection */
+    private Set<ElementView>        currentSelectedElements;
 
     /* La liste des positions avant le déplacement des ElementView sélectionnés */
     private ArrayList<SnapPosition> previousPositions;
@@ -88,6 +105,27 @@ public class Sheet extends JComponent implements Observer {
     /* L'échelle du zoom */
     private double                  scale;
 
+    /** Niveaux de détail de l'affichage **/
+    /* Échelle en dessous de laquelle les labels ne sont plus affichés */
+    private static final double     LABEL_MIN_SCALE    = 0.5;
+    /* Nombre d'éléments visibles au-delà duquel les labels ne sont plus affichés */
+    private static final int        LABEL_MAX_VISIBLE  = 2000;
+    /* Taille à l'écran, en pixels, en dessous de laquelle un VertexView est dessiné comme un point */
+    private static final int        POINT_MAX_SIZE     = 3;
+    /* Nombre de VertexView visibles au-delà duquel ils sont tous dessinés comme des points */
+    private static final int        POINT_MIN_VISIBLE  = 20000;
+    /* Nombre d'EdgeView visibles au-delà duquel elles sont dessinées en traits fins, sans anticrénelage */
+    private static final int        THIN_MIN_VISIBLE   = 20000;
+    /* Échelle en dessous de laquelle les EdgeView sont dessinées en traits fins */
+    private static final double     THIN_MAX_SCALE     = 0.25;
+    /* Marge, en pixels, autour de la zone à dessiner pour les labels et l'épaisseur des traits */
+    private static final int        LABEL_MARGIN       = 100;
+    private static final int        STROKE_MARGIN      = 16;
+    /* Marge, sans le zoom, autour d'un point pour trouver les EdgeView qui le contiennent (au moins leur demi-épaisseur cliquable) */
+    private static final int        EDGE_HIT_MARGIN    = 32;
+    /* Nombre de GraphElement à partir duquel les ElementView sont recréés en arrière-plan */
+    private static final int        REBUILD_MIN_ELEMENTS = 1000;
+
     /**
      * Constructeur du Tab, l'onglet. Un onglet est associé à un {@link data.Graph}
      * @param tab l'onglet Tab qui a créé la Feuille de dessin
@@ -102,9 +140,15 @@ public class Sheet extends JComponent implements Observer {
         
         this.edges                    = new ArrayList<>();
         this.vertices                 = new ArrayList<>();
+        this.edgeViews                = new IDMap<>();
+        this.vertexViews              = new IDMap<>();
+        this.vertexIndex              = new SpatialIndex<>();
+        this.edgeIndex                = new SpatialIndex<>();
+        this.tileCache                = new TileCache();
         this.selectedElements         = new ArrayList<>();
-        this.currentSelectedElements  = new ArrayList<>();
-        this.previousSelectedElements = new ArrayList<>();
+        this.selectedSet              = Collections.newSetFromMap(new IdentityHashMap<ElementView, Boolean>());
+        this.currentSelectedElements  = Collections.newSetFromMap(new IdentityHashMap<ElementView, Boolean>());
+        this.previousSelectedElements = Collections.newSetFromMap(new IdentityHashMap<ElementView, Boolean>());
 
         this.previousPositions        = new ArrayList<>();
 
@@ -124,6 +168,15 @@ public class Sheet extends JComponent implements Observer {
         this.edgeColor                = new Color(0,0,0);
 
         this.scale                    = (float) 1.0;
+
+        // F5 recharge l'affichage resté incomplet après une reconstruction annulée
+        registerKeyboardAction(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                if (incomplete && isShowing()) {
+                    reload();
+                }
+            }
+        }, KeyStroke.getKeyStroke(KeyEvent.VK_F5, 0), JComponent.WHEN_IN_FOCUSED_WINDOW);
     }
 
     /**
@@ -132,9 +185,10 @@ public class Sheet extends JComponent implements Observer {
      * @return un boolean avec le résultat
      */
     public boolean canAddVertex(Point position) {
-    	for (VertexView v : this.vertices) {
-    		int margin = this.defaultVerticesSize /2;
-    		int side   = v.getWidth() + margin*3; 
+        int margin = this.defaultVerticesSize /2;
+        // seuls les VertexView proches de la position peuvent la recouvrir
+        for (VertexView v : this.vertexIndex.query(new Rectangle(position.x - margin*3, position.y - margin*3, margin*6, margin*6))) {
+    		int side   = margin*3;
     		if (new Rectangle(v.getPosition().x - margin, v.getPosition().y - margin, side, side).contains(position))
     			return false;
     	}
@@ -142,12 +196,53 @@ public class Sheet extends JComponent implements Observer {
     }
 
     /**
-     * Méthode de dessin des éléments dans un onglet, à partir des données d'un {@link data.Graph}
+     * Méthode de dessin des éléments dans un onglet, à partir des données d'un {@link data.Graph}.
+     * Les éléments non sélectionnés sont copiés depuis les tuiles du {@link TileCache}, qui ne sont redessinées que si elles
+     * ont été invalidées ; les éléments sélectionnés, la zone de sélection et l'Edge temporaire sont dessinés par-dessus
      * @param g {@link java.awt.Graphics} à partir de quoi dessiner
      */
     public void paintComponent(Graphics g){
-        g.setColor(this.defaultSheetColor);
-        g.fillRect(0, 0, getWidth(), getHeight());
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setFont(getFont());
+
+        // niveau de détail selon le zoom et le nombre d'éléments visibles à l'écran, le même pour toutes les tuiles
+        Rectangle visibleArea = getUnscaledArea(getVisibleRect().isEmpty() ? clip : getVisibleRect(), this.paintLabels ? LABEL_MARGIN : STROKE_MARGIN);
+        // les comptes s'arrêtent aux seuils : au-delà, seul le fait de les dépasser compte
+        int     visibleEdges    = this.edgeIndex.count(visibleArea, Math.max(LABEL_MAX_VISIBLE, THIN_MIN_VISIBLE));
+        int     visibleVertices = this.vertexIndex.count(visibleArea, Math.max(LABEL_MAX_VISIBLE, POINT_MIN_VISIBLE));
+        boolean labels = this.paintLabels && this.scale >= LABEL_MIN_SCALE && visibleEdges + visibleVertices <= LABEL_MAX_VISIBLE;
+        boolean points = visibleVertices > POINT_MIN_VISIBLE;
+        boolean thin   = visibleEdges > THIN_MIN_VISIBLE || this.scale < THIN_MAX_SCALE;
+        this.tileCache.validate(this.scale, (labels ? 1 : 0) | (points ? 2 : 0) | (thin ? 4 : 0));
+
+        // copier les tuiles de la couche statique, en dessinant celles qui manquent
+        int size = TileCache.TILE_SIZE;
+        for (int ty = Math.max(0, clip.y) / size; ty <= Math.max(0, clip.y + clip.height - 1) / size; ty++) {
+            for (int tx = Math.max(0, clip.x) / size; tx <= Math.max(0, clip.x + clip.width - 1) / size; tx++) {
+                BufferedImage tile = this.tileCache.get(tx, ty);
+                if (tile == null) {
+                    tile = paintTile(tx, ty, labels, points, thin);
+                    this.tileCache.put(tx, ty, tile);
+                }
+                g.drawImage(tile, tx * size, ty * size, null);
+            }
+        }
+
+        // dessiner les ElementView sélectionnés par-dessus
+        for (ElementView element : this.selectedElements) {
+            if (!element.isVertexView() && intersects(this.edgeIndex.getBounds((EdgeView) element), clip)) {
+                paintEdge(g, (EdgeView) element, labels, thin, true);
+            }
+        }
+        for (ElementView element : this.selectedElements) {
+            if (element.isVertexView() && intersects(this.vertexIndex.getBounds((VertexView) element), clip)) {
+                paintVertex(g, (VertexView) element, labels, points);
+            }
+        }
+
         // dessiner ou non la zone de sélection
     	if (this.selectionZone != null) {
     		g.setColor(CustomUIManager.selectionColor);
@@ -160,14 +255,214 @@ public class Sheet extends JComponent implements Observer {
             g.setColor(this.edgeColor);
             g.drawLine(this.originEdge.x, this.originEdge.y, this.destinationEdge.x, this.destinationEdge.y);
         }
-        // dessiner tous les EdgeView
-        for(EdgeView e : this.edges){
-            e.paintComponent(g, this.scale, this.scale, this.paintLabels);
+    }
+
+    /**
+     * Méthode dessinant une tuile de la couche statique : le fond et les ElementView non sélectionnés qui la touchent
+     * @param tx l'abscisse de la tuile, en nombre de tuiles
+     * @param ty l'ordonnée de la tuile, en nombre de tuiles
+     * @param labels si on dessine les labels
+     * @param points si on dessine les VertexView comme des points
+     * @param thin si on dessine les EdgeView en traits fins
+     * @return l'image de la tuile
+     */
+    private BufferedImage paintTile(int tx, int ty, boolean labels, boolean points, boolean thin) {
+        int           size  = TileCache.TILE_SIZE;
+        BufferedImage image = this.tileCache.obtain();
+        if (image == null) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            image = configuration != null ? configuration.createCompatibleImage(size, size, Transparency.OPAQUE)
+                                          : new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        }
+        Rectangle  clip = new Rectangle(tx * size, ty * size, size, size);
+        Graphics2D g    = image.createGraphics();
+        g.setColor(this.defaultSheetColor);
+        g.fillRect(0, 0, size, size);
+        g.translate(-clip.x, -clip.y);
+        g.setClip(clip);
+        g.setFont(getFont());
+
+        int margin = this.paintLabels ? LABEL_MARGIN : STROKE_MARGIN;
+        for (EdgeView e : getVisible(this.edgeIndex, this.edges, clip, margin)) {
+            if (!this.selectedSet.contains(e)) {
+                paintEdge(g, e, labels, thin, false);
+            }
         }
-        // dessiner tous les VertexView
-        for (VertexView v : this.vertices) {
-            v.paintComponent(g, this.scale, this.scale, this.paintLabels);
+        for (VertexView v : getVisible(this.vertexIndex, this.vertices, clip, margin)) {
+            if (!this.selectedSet.contains(v)) {
+                paintVertex(g, v, labels, points);
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Méthode dessinant une EdgeView selon le niveau de détail
+     * @param g les Graphics
+     * @param e l'EdgeView
+     * @param labels si on dessine son label
+     * @param thin si on la dessine en trait fin, sans anticrénelage
+     * @param selected si elle est sélectionnée, auquel cas elle est dessinée même plus courte qu'un pixel
+     */
+    private void paintEdge(Graphics g, EdgeView e, boolean labels, boolean thin, boolean selected) {
+        if (thin) {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            int x1 = (int) (e.getOrigin().getPosition().x * this.scale), y1 = (int) (e.getOrigin().getPosition().y * this.scale);
+            int x2 = (int) (e.getDestination().getPosition().x * this.scale), y2 = (int) (e.getDestination().getPosition().y * this.scale);
+            // une EdgeView plus courte qu'un pixel est cachée par ses VertexView
+            if (x1 != x2 || y1 != y2 || selected) {
+                g.setColor(e.getColor());
+                g.drawLine(x1, y1, x2, y2);
+            }
+        } else {
+            e.paintComponent(g, this.scale, this.scale, labels);
+        }
+    }
+
+    /**
+     * Méthode dessinant un VertexView selon le niveau de détail
+     * @param g les Graphics
+     * @param v le VertexView
+     * @param labels si on dessine son label
+     * @param points si on le dessine comme un point, ce qui est aussi le cas s'il est plus petit que POINT_MAX_SIZE
+     */
+    private void paintVertex(Graphics g, VertexView v, boolean labels, boolean points) {
+        int size = (int) (v.getVertex().getSize() * this.scale);
+        if (points || size < POINT_MAX_SIZE) {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            size = Math.max(1, Math.min(size, POINT_MAX_SIZE));
+            g.setColor(v.getColor());
+            g.fillRect((int) (v.getPosition().x * this.scale) - size/2, (int) (v.getPosition().y * this.scale) - size/2, size, size);
+        } else {
+            v.paintComponent(g, this.scale, this.scale, labels);
+        }
+    }
+
+    /**
+     * Méthode pour savoir si le rectangle d'indexation d'un ElementView, avec la marge de dessin, touche une zone de l'écran
+     * @param bounds le rectangle d'indexation, sans le zoom
+     * @param clip la zone, à l'écran
+     * @return le résultat sous la forme d'un booléen
+     */
+    private boolean intersects(Rectangle bounds, Rectangle clip) {
+        return bounds != null && getScaledArea(bounds).intersects(clip);
+    }
+
+    /**
+     * Méthode renvoyant la zone, sans le zoom, correspondant à une zone de l'écran agrandie d'une marge
+     * @param area la zone, à l'écran
+     * @param margin la marge, à l'écran
+     * @return la zone sans le zoom
+     */
+    private Rectangle getUnscaledArea(Rectangle area, int margin) {
+        return new Rectangle((int) Math.floor((area.x - margin) / this.scale), (int) Math.floor((area.y - margin) / this.scale),
+                             (int) Math.ceil((area.width + 2*margin) / this.scale) + 1, (int) Math.ceil((area.height + 2*margin) / this.scale) + 1);
+    }
+
+    /**
+     * Méthode renvoyant la zone de l'écran où est dessiné un ElementView, à partir de son rectangle d'indexation
+     * agrandi de la marge laissée pour les labels et l'épaisseur des traits
+     * @param bounds le rectangle d'indexation, sans le zoom
+     * @return la zone, à l'écran
+     */
+    private Rectangle getScaledArea(Rectangle bounds) {
+        int margin = this.paintLabels ? LABEL_MARGIN : STROKE_MARGIN;
+        return new Rectangle((int) Math.floor(bounds.x * this.scale) - margin, (int) Math.floor(bounds.y * this.scale) - margin,
+                             (int) Math.ceil(bounds.width * this.scale) + 2*margin + 1, (int) Math.ceil(bounds.height * this.scale) + 2*margin + 1);
+    }
+
+    /**
+     * Méthode invalidant les tuiles où est dessiné un ElementView non sélectionné, pour qu'elles soient redessinées.
+     * Les ElementView sélectionnés ne sont pas dans les tuiles : il faut appeler cette méthode quand ils ne le sont pas
+     * @param element l'ElementView
+     */
+    private void invalidateView(ElementView element) {
+        if (this.selectedSet.contains(element)) {
+            return;
+        }
+        Rectangle bounds = element.isVertexView() ? this.vertexIndex.getBounds((VertexView) element) : this.edgeIndex.getBounds((EdgeView) element);
+        if (bounds != null) {
+            this.tileCache.invalidate(getScaledArea(bounds));
+        }
+    }
+
+    /**
+     * Méthode renvoyant les ElementView d'un index spatial qui touchent une zone de la feuille de dessin, dans leur ordre d'affichage
+     * @param index l'index spatial
+     * @param all tous les ElementView, dans leur ordre d'affichage
+     * @param clip la zone, à l'écran
+     * @param margin la marge autour de la zone, à l'écran
+     * @param <T> le type des ElementView
+     * @return les ElementView dans la zone
+     */
+    private <T extends ElementView> ArrayList<T> getVisible(SpatialIndex<T> index, ArrayList<T> all, Rectangle clip, int margin) {
+        ArrayList<T> visible = index.query(getUnscaledArea(clip, margin));
+        if (visible.size() == all.size()) {
+            return all;
+        }
+        // l'ordre d'affichage est celui du Graph, pour que les éléments qui se chevauchent restent dans le même ordre
+        if (visible.size() <= POINT_MIN_VISIBLE) {
+            Collections.sort(visible, new Comparator<T>() {
+                @Override
+                public int compare(T a, T b) {
+                    return Integer.compare(rankOf(a), rankOf(b));
+                }
+            });
+        }
+        return visible;
+    }
+
+    /**
+     * Méthode renvoyant l'ElementView affiché sous un point de la feuille de dessin, les VertexView étant prioritaires
+     * @param point le point, à l'écran
+     * @return l'ElementView, null s'il n'y en a aucun
+     */
+    public ElementView getElementAt(Point point) {
+        VertexView vertexView = getVertexAt(point);
+        return vertexView != null ? vertexView : getAt(this.edgeIndex, point, EDGE_HIT_MARGIN);
+    }
+
+    /**
+     * Méthode renvoyant le VertexView affiché sous un point de la feuille de dessin
+     * @param point le point, à l'écran
+     * @return le VertexView, null s'il n'y en a aucun
+     */
+    public VertexView getVertexAt(Point point) {
+        return getAt(this.vertexIndex, point, 1);
+    }
+
+    /**
+     * Méthode renvoyant l'ElementView d'un index spatial qui contient un point, le dernier dessiné s'ils se chevauchent
+     * @param index l'index spatial
+     * @param point le point, à l'écran
+     * @param margin la marge autour du point, sans le zoom
+     * @param <T> le type des ElementView
+     * @return l'ElementView, null s'il n'y en a aucun
+     */
+    private <T extends ElementView> T getAt(SpatialIndex<T> index, Point point, int margin) {
+        T   found     = null;
+        int foundRank = -1;
+        for (T element : index.query(new Rectangle((int) (point.x / this.scale) - margin, (int) (point.y / this.scale) - margin, 2*margin, 2*margin))) {
+            if (element.contains(point.x, point.y)) {
+                int rank = rankOf(element);
+                if (rank > foundRank) {
+                    found     = element;
+                    foundRank = rank;
+                }
+            }
         }
+        return found;
+    }
+
+    /**
+     * Méthode renvoyant la position du GraphElement d'un ElementView dans la liste des Vertex ou des Edge du Graph
+     * @param element l'ElementView
+     * @return la position
+     */
+    private int rankOf(ElementView element) {
+        return element.isVertexView() ? this.graph.getVertexIndex((Vertex) element.getGraphElement())
+                                      : this.graph.getEdgeIndex((Edge) element.getGraphElement());
     }
 
     /**
@@ -200,13 +495,19 @@ public class Sheet extends JComponent implements Observer {
      * @return la position du VertexView dans la liste des VertexView
      */
     public int getVertexPositionFromID(int ID){
-        for(VertexView vv : vertices){
-            if(vv.getGraphElement().getID() == ID){
-                return vertices.indexOf(vv);
-            }
-        }
-        return -1;
+        VertexView vv = this.vertexViews.get(ID);
+        return vv == null ? -1 : this.vertices.indexOf(vv);
     }
+
+    /**
+     * Méthode permettant de récupérer le VertexView d'un Vertex à partir de son ID
+     * @param ID l'ID du Vertex
+     * @return le VertexView, null s'il n'est pas affiché
+     */
+    public VertexView getVertexView(int ID) {
+        return this.vertexViews.get(ID);
+    }
+
     /**
      * Getter de la liste des EdgeView du Tab
      * @return la liste des EdgeView
@@ -221,21 +522,30 @@ public class Sheet extends JComponent implements Observer {
      * @return la position de l'EdgeView dans la liste des EdgeView
      */
     public int getEdgePositionFromID(int ID){
-        for(EdgeView ev : this.edges){
-            if(ev.getGraphElement().getID() == ID){
-                return this.edges.indexOf(ev);
-            }
-        }
-        return -1;
+        EdgeView ev = this.edgeViews.get(ID);
+        return ev == null ? -1 : this.edges.indexOf(ev);
     }
 
+    /**
+     * Méthode permettant de récupérer l'EdgeView d'un Edge à partir de son ID
+     * @param ID l'ID de l'Edge
+     * @return l'EdgeView, null si elle n'est pas affichée
+     */
+    public EdgeView getEdgeView(int ID) {
+        return this.edgeViews.get(ID);
+    }
+
+
     /**
      * Méthode pour déselectionner un ElementView de la liste des ElementView sélectionnés
      * @param element le ElementView à retirer de la liste
      */
     public void unselectElement(ElementView element){
     	element.updateHover(false);
-        this.selectedElements.remove(element);
+        if (this.selectedSet.remove(element)) {
+            this.selectedElements.remove(element);
+            invalidateView(element);
+        }
     }
 
     /**
@@ -243,8 +553,20 @@ public class Sheet extends JComponent implements Observer {
      * @param element le ElementView à ajouter à la liste
      */
     public void selectElement(ElementView element){
+        invalidateView(element);
         element.updateHover(true);
-        this.selectedElements.add(element);
+        if (this.selectedSet.add(element)) {
+            this.selectedElements.add(element);
+        }
+    }
+
+    /**
+     * Méthode pour savoir si un ElementView est sélectionné
+     * @param element l'ElementView
+     * @return le résultat sous la forme d'un booléen
+     */
+    public boolean isSelected(ElementView element) {
+        return this.selectedSet.contains(element);
     }
 
     /**
@@ -275,13 +597,13 @@ public class Sheet extends JComponent implements Observer {
         if(selectedElements.size()==1){
             SnapProperties snapBefore=null;
             if(selectedElements.get(0).isVertexView()) {
-                snapBefore = new SnapVertex((Vertex) selectedElements.get(0).getGraphElement(), graph.getVertexes().indexOf(selectedElements.get(0).getGraphElement()));
+                snapBefore = new SnapVertex((Vertex) selectedElements.get(0).getGraphElement(), graph.getVertexIndex((Vertex) selectedElements.get(0).getGraphElement()));
             }
             else {
-                snapBefore = new SnapEdge((Edge) selectedElements.get(0).getGraphElement(), graph.getEdges().indexOf(selectedElements.get(0).getGraphElement()));
+                snapBefore = new SnapEdge((Edge) selectedElements.get(0).getGraphElement(), graph.getEdgeIndex((Edge) selectedElements.get(0).getGraphElement()));
 
             }
-            SnapProperties snapAfter= selectedElements.get(0).modify(this.graph);
+            SnapProperties snapAfter= selectedElements.get(0).modify(this.graph, this);
 
             if(snapAfter!=null)
               tab.getUndoRedo().registerSingleTypeEdit(snapBefore, snapAfter);
@@ -378,9 +700,10 @@ public class Sheet extends JComponent implements Observer {
         for (ElementView element : this.selectedElements) {
             if (element.getGraphElement().isVertex()) {
                 tmpPosition = ((Vertex)element.getGraphElement()).getPosition();
-                tmpIndex    = graph.getVertexes().indexOf(element.getGraphElement());
+                tmpIndex    = graph.getVertexIndex((Vertex) element.getGraphElement());
                 this.previousPositions.add(new SnapPosition(tmpPosition,tmpIndex));
                 ((VertexView) element).move(new Point((int) (vector.x / this.scale), (int) (vector.y / this.scale)));
+                reindexVertex((VertexView) element);
             }
         }
     }
@@ -396,11 +719,12 @@ public class Sheet extends JComponent implements Observer {
         for (ElementView element : this.selectedElements) {
             if (element.getGraphElement().isVertex()) {
                 tmpPosition = ((Vertex)element.getGraphElement()).getPosition();
-                tmpIndex    = graph.getVertexes().indexOf(element.getGraphElement());
+                tmpIndex    = graph.getVertexIndex((Vertex) element.getGraphElement());
                 after.add(new SnapPosition(tmpPosition, tmpIndex));
             }
         }
         tab.getUndoRedo().registerMoveEdit(this.previousPositions, after);
+        this.graph.setChanged();
     }
 
     /**
@@ -429,6 +753,7 @@ public class Sheet extends JComponent implements Observer {
         }
         for (VertexView vertex : vertices) {
             vertex.move(new Point((int) (vector.x / this.scale), (int) (vector.y / this.scale)));
+            reindexVertex(vertex);
         }
     }
 
@@ -436,8 +761,10 @@ public class Sheet extends JComponent implements Observer {
      * Méthode pour déselectionner tous les ElementView sélectionnés
      */
     public void clearSelectedElements(){
+        this.selectedSet.clear();
     	for(ElementView element : this.selectedElements) {
     		element.updateHover(false);
+            invalidateView(element);
     	}
         this.selectedElements.clear();
         this.repaint();
@@ -488,11 +815,20 @@ public class Sheet extends JComponent implements Observer {
 		setSelectionZone(origin, position);
         clearCurrentSelectedElements();
         manageElementsInZone();
-        ArrayList<ElementView> elementsToRemove = new ArrayList<>(this.selectedElements);
-        elementsToRemove.removeAll(this.currentSelectedElements); // on récupère les ElementView qui ne sont plus sélectionnés
-        for (ElementView e : elementsToRemove) {
-            if (!this.previousSelectedElements.contains(e))
-            unselectElement(e);
+        // on récupère les ElementView qui ne sont plus dans la zone et qui n'étaient pas sélectionnés avant
+        Set<ElementView> elementsToRemove = Collections.newSetFromMap(new IdentityHashMap<ElementView, Boolean>());
+        for (ElementView e : this.selectedElements) {
+            if (!this.currentSelectedElements.contains(e) && !this.previousSelectedElements.contains(e)) {
+                e.updateHover(false);
+                elementsToRemove.add(e);
+            }
+        }
+        if (!elementsToRemove.isEmpty()) {
+            this.selectedElements.removeAll(elementsToRemove);
+            this.selectedSet.removeAll(elementsToRemove);
+            for (ElementView e : elementsToRemove) {
+                invalidateView(e);
+            }
         }
 		this.repaint();
 	}
@@ -501,12 +837,12 @@ public class Sheet extends JComponent implements Observer {
      * Méthode pour gérer la sélection des ElementView présents dans la zone de sélection en fonction des ElementView sélectionnés précédemment
      */
     public void manageElementsInZone() {
-        for (VertexView v : this.vertices) {
+        for (VertexView v : this.vertexIndex.query(getUnscaledSelectionZone())) {
             if (this.selectionZone.contains(new Point((int)(v.getPosition().x * this.scale), (int)(v.getPosition().y * this.scale)))) {
                 handleSelectElement(v);
             }
         }
-        for (EdgeView e : this.edges) {
+        for (EdgeView e : this.edgeIndex.query(this.selectionZone)) {
             if (edgeIsInSelectionZone(e)) {
                 handleSelectElement(e);
             }
@@ -517,17 +853,27 @@ public class Sheet extends JComponent implements Observer {
      * Méthode pour sélectionner les ElementView présents dans la zone de sélection
      */
 	public void selectElementsInZone() {
-		for (VertexView v : this.vertices) {
+		for (VertexView v : this.vertexIndex.query(getUnscaledSelectionZone())) {
 			if (this.selectionZone.contains(new Point((int)(v.getPosition().x * this.scale), (int)(v.getPosition().y * this.scale)))) {
 				selectElement(v);
 			}
 		}
-		for (EdgeView e : this.edges) {
+		for (EdgeView e : this.edgeIndex.query(this.selectionZone)) {
             if (edgeIsInSelectionZone(e)) {
 				selectElement(e);
 			}
 		}
 	}
+
+    /**
+     * Méthode renvoyant la zone de sélection dans les coordonnées des Vertex, sans le zoom, légèrement agrandie pour les arrondis
+     * @return la zone de sélection sans le zoom
+     */
+    private Rectangle getUnscaledSelectionZone() {
+        int x = (int) Math.floor(this.selectionZone.x / this.scale);
+        int y = (int) Math.floor(this.selectionZone.y / this.scale);
+        return new Rectangle(x - 1, y - 1, (int) Math.ceil(this.selectionZone.width / this.scale) + 2, (int) Math.ceil(this.selectionZone.height / this.scale) + 2);
+    }
 	
 	/**
 	 * Méthode permettant de gérer la sélection d'un ElementView : 
@@ -538,7 +884,7 @@ public class Sheet extends JComponent implements Observer {
 	public void handleSelectElement(ElementView e) {
         if (this.previousSelectedElements.contains(e)) { // s'ils étaient sélectionnés à la base, ils sont déselectionnés
             unselectElement(e);
-        } else if (!this.selectedElements.contains(e)) { // s'ils n'étaient pas sélectionnés, ils sont sélectionnés
+        } else if (!this.selectedSet.contains(e)) { // s'ils n'étaient pas sélectionnés, ils sont sélectionnés
             selectElement(e);
         }
         this.currentSelectedElements.add(e);
@@ -617,6 +963,7 @@ public class Sheet extends JComponent implements Observer {
      */
     public void setDefaultSheetColor(Color defaultSheetColor) {
         this.defaultSheetColor = defaultSheetColor;
+        this.tileCache.clear();
     }
 
     /**
@@ -696,25 +1043,18 @@ public class Sheet extends JComponent implements Observer {
      * @param vertex le modèle Vertex du VertexView
      */
     public void addVertex(Vertex vertex){
-    	final VertexView vertexView = new VertexView(vertex);
-        vertexView.addMouseListener(new MouseListener() {
-            @Override
-            public void mouseClicked(MouseEvent e) { controller.getState().click(vertexView, e); }
-            @Override
-            public void mousePressed(MouseEvent e) { controller.getState().pressed(vertexView, e); }
-            @Override
-            public void mouseReleased(MouseEvent e) { controller.getState().released(vertexView, e); }
-            @Override
-            public void mouseEntered(MouseEvent e) { controller.getState().mouseEntered(vertexView, e); }
-            @Override
-            public void mouseExited(MouseEvent e) { controller.getState().mouseExited(vertexView, e); }
-        });
-        vertexView.addMouseMotionListener(new MouseMotionAdapter() {
-            @Override
-            public void mouseDragged(MouseEvent e) { controller.getState().drag(vertexView, e); }
-        });
+    	addVertexView(new VertexView(vertex));
+    }
+
+    /**
+     * Méthode ajoutant un VertexView à la feuille de dessin
+     * @param vertexView le VertexView
+     */
+    private void addVertexView(VertexView vertexView) {
+        vertexView.setScale(this.scale, this.scale);
         this.vertices.add(vertexView);
-        super.add(vertexView);
+        this.vertexViews.put(vertexView.getVertex().getID(), vertexView);
+        indexView(vertexView);
     }
     
     /**
@@ -724,19 +1064,145 @@ public class Sheet extends JComponent implements Observer {
      * @param destination le VertexView de destination de l'EdgeView
      */
     public void addEdge(Edge edge, VertexView origin, VertexView destination ){
-    	final EdgeView edgeView = new EdgeView(edge, this.defaultSelectedThickness, origin, destination);
-    	edgeView.addMouseListener(new MouseAdapter() {
-    		@Override
-			public void mouseClicked(MouseEvent e) {
-				controller.getState().click(edgeView, e);
-			}
-    		@Override
-			public void mousePressed(MouseEvent e) {
-				controller.getState().pressed(edgeView, e);
-			}
-    	});
+    	addEdgeView(new EdgeView(edge, this.defaultSelectedThickness, origin, destination));
+    }
+
+    /**
+     * Méthode ajoutant une EdgeView à la feuille de dessin
+     * @param edgeView l'EdgeView
+     */
+    private void addEdgeView(EdgeView edgeView) {
+        edgeView.setScale(this.scale, this.scale);
         this.edges.add(edgeView);
-        super.add(edgeView);
+        this.edgeViews.put(edgeView.getEdge().getID(), edgeView);
+        indexView(edgeView);
+    }
+
+    /**
+     * Méthode ajoutant un lot d'ElementView créés par un {@link threading.ViewRebuilder}. Les ElementView dont le GraphElement
+     * a été retiré du Graph, ou est déjà affiché, pendant la reconstruction sont ignorés
+     * @param views les ElementView, les VertexView avant les EdgeView qui les relient
+     */
+    public void addViews(List<ElementView> views) {
+        for (ElementView view : views) {
+            GraphElement element = view.getGraphElement();
+            if (this.graph.getFromID(element.getID()) != element) {
+                continue;
+            }
+            if (view.isVertexView()) {
+                if (this.vertexViews.get(element.getID()) == null) {
+                    addVertexView((VertexView) view);
+                }
+            } else if (this.edgeViews.get(element.getID()) == null) {
+                // les extrémités affichées sont celles de la Sheet, qui ont pu être ajoutées entre-temps
+                EdgeView   edgeView = (EdgeView) view;
+                VertexView src      = this.vertexViews.get(edgeView.getEdge().getOrigin().getID());
+                VertexView dst      = this.vertexViews.get(edgeView.getEdge().getDestination().getID());
+                if (src != null && dst != null) {
+                    edgeView.setOrigin(src);
+                    edgeView.setDestination(dst);
+                    addEdgeView(edgeView);
+                }
+            }
+        }
+        this.repaint();
+    }
+
+    /**
+     * Méthode renvoyant le rectangle sous lequel un VertexView est indexé : le carré de son Vertex, sans le zoom
+     * @param vertexView le VertexView
+     * @return le rectangle
+     */
+    private static Rectangle getIndexBounds(VertexView vertexView) {
+        Point position = vertexView.getPosition();
+        int   size     = vertexView.getVertex().getSize();
+        return new Rectangle(position.x - size/2, position.y - size/2, size, size);
+    }
+
+    /**
+     * Méthode renvoyant le rectangle sous lequel une EdgeView est indexée : celui qui englobe ses extrémités, sans le zoom
+     * @param edgeView l'EdgeView
+     * @return le rectangle
+     */
+    private static Rectangle getIndexBounds(EdgeView edgeView) {
+        Point origin      = edgeView.getOrigin().getPosition();
+        Point destination = edgeView.getDestination().getPosition();
+        return new Rectangle(Math.min(origin.x, destination.x), Math.min(origin.y, destination.y),
+                             Math.abs(origin.x - destination.x), Math.abs(origin.y - destination.y));
+    }
+
+    /**
+     * Méthode mettant à jour l'index spatial après le déplacement ou le redimensionnement d'un VertexView et de ses EdgeView
+     * @param vertexView le VertexView
+     */
+    private void reindexVertex(VertexView vertexView) {
+        indexView(vertexView);
+        for (Edge edge : vertexView.getVertex().getEdges()) {
+            EdgeView edgeView = this.edgeViews.get(edge.getID());
+            if (edgeView != null) {
+                indexView(edgeView);
+            }
+        }
+    }
+
+    /**
+     * Méthode mettant à jour l'index spatial pour un VertexView, et invalidant les tuiles où il était et où il est dessiné
+     * @param vertexView le VertexView
+     */
+    private void indexView(VertexView vertexView) {
+        invalidateView(vertexView);
+        this.vertexIndex.put(vertexView, getIndexBounds(vertexView));
+        invalidateView(vertexView);
+    }
+
+    /**
+     * Méthode mettant à jour l'index spatial pour une EdgeView, et invalidant les tuiles où elle était et où elle est dessinée
+     * @param edgeView l'EdgeView
+     */
+    private void indexView(EdgeView edgeView) {
+        invalidateView(edgeView);
+        this.edgeIndex.put(edgeView, getIndexBounds(edgeView));
+        invalidateView(edgeView);
+    }
+
+    /**
+     * Méthode recréant tous les ElementView à partir du Graph, par exemple après une reconstruction annulée
+     */
+    public void reload() {
+        update(this.graph, this.graph.getGraphElements());
+    }
+
+    /**
+     * Setter indiquant si seule une partie du Graph est affichée, après une reconstruction annulée
+     * @param incomplete si l'affichage est incomplet
+     */
+    public void setIncomplete(boolean incomplete) {
+        if (this.incomplete == incomplete) {
+            return;
+        }
+        this.incomplete = incomplete;
+        // le bandeau est placé au-dessus de la zone défilante, pour rester visible sans être recopié au défilement
+        JLabel banner = null;
+        if (incomplete) {
+            banner = new JLabel("Affichage incomplet : " + getViewCount() + " éléments sur " + this.graph.getGraphElements().size()
+                                + " - F5 pour recharger");
+            banner.setOpaque(true);
+            banner.setBackground(new Color(255, 236, 179));
+            banner.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        }
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+        if (scrollPane != null) {
+            scrollPane.setColumnHeaderView(banner);
+            scrollPane.revalidate();
+        }
+    }
+
+    /**
+     * Getter du nombre d'ElementView affichés
+     * @return le nombre de VertexView et d'EdgeView
+     */
+    public int getViewCount() {
+        return this.vertices.size() + this.edges.size();
     }
 
     /**
@@ -747,13 +1213,23 @@ public class Sheet extends JComponent implements Observer {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void update(Observable observable, Object object) {
+        if (this.rebuilder != null) {
+            // la reconstruction précédente n'est plus à jour
+            this.rebuilder.cancel(true);
+            this.rebuilder = null;
+        }
         this.vertices.clear();
         this.edges.clear();
-		super.removeAll();
+        this.vertexViews.clear();
+        this.edgeViews.clear();
+        this.vertexIndex.clear();
+        this.edgeIndex.clear();
+        this.tileCache.clear();
+        setIncomplete(false);
 
         ArrayList<GraphElement> elements = (ArrayList<GraphElement>)object;
 
-        if(elements.size()<1000) {
+        if(elements.size() < REBUILD_MIN_ELEMENTS) {
             // pour chaque GraphElement du Graph
             for (GraphElement element : elements) {
                 if (element.isVertex()) {
@@ -763,26 +1239,136 @@ public class Sheet extends JComponent implements Observer {
 
             for (GraphElement element : elements) {
                 if (!element.isVertex()) {
-                    VertexView src = null, dst = null;
-                    ListIterator<VertexView> search = vertices.listIterator();
-
-                    while (search.hasNext() && (src == null || dst == null)) {
-                        VertexView tmp = search.next();
-                        if (tmp.getVertex().getID() == ((Edge) element).getOrigin().getID()) src = tmp;
-                        else if (tmp.getVertex().getID() == ((Edge) element).getDestination().getID()) dst = tmp;
-                    }
+                    VertexView src = this.vertexViews.get(((Edge) element).getOrigin().getID());
+                    VertexView dst = this.vertexViews.get(((Edge) element).getDestination().getID());
                     if (src != null && dst != null) addEdge((Edge) element, src, dst);
                 }
             }
         } else {
-            UpdateThread updateThread = new UpdateThread(this, elements, this.controller);
-            this.vertices.addAll(updateThread.getVertices());
-            this.edges.addAll(updateThread.getEdges());
+            // les ElementView sont recréés en arrière-plan et ajoutés au fur et à mesure
+            this.rebuilder = new ViewRebuilder(this, elements, this.defaultSelectedThickness);
+            this.rebuilder.start();
         }
 
         this.repaint();
 	}
 
+    /**
+     * Méthode pour mettre à jour uniquement les VertexView et EdgeView concernés par une modification du Graph observé
+     * (non-Javadoc)
+     * @see Observer#update(data.Observable, data.GraphEvent)
+     */
+    @Override
+    public void update(Observable observable, GraphEvent event) {
+        switch (event.getType()) {
+            case ADDED:
+                addViews(event.getIDs());
+                break;
+            case REMOVED:
+                removeViews(event.getIDs());
+                break;
+            case PROPERTY_CHANGED:
+                refreshViews(event.getIDs());
+                break;
+            default:
+                // MOVED : les ElementView lisent directement la position des Vertex, seul l'index spatial est à mettre à jour
+                for (int id : event.getIDs()) {
+                    VertexView vertexView = this.vertexViews.get(id);
+                    if (vertexView != null) {
+                        reindexVertex(vertexView);
+                    }
+                }
+                break;
+        }
+        this.repaint();
+    }
+
+    /**
+     * Méthode créant les ElementView des GraphElement ajoutés au Graph
+     * @param ids les ID des GraphElement ajoutés
+     */
+    private void addViews(int[] ids) {
+        // les VertexView d'abord, pour que les EdgeView puissent y être reliées
+        for (int id : ids) {
+            GraphElement element = this.graph.getFromID(id);
+            if (element != null && element.isVertex() && this.vertexViews.get(id) == null) {
+                addVertex((Vertex) element);
+            }
+        }
+        for (int id : ids) {
+            GraphElement element = this.graph.getFromID(id);
+            if (element != null && !element.isVertex() && this.edgeViews.get(id) == null) {
+                VertexView src = this.vertexViews.get(((Edge) element).getOrigin().getID());
+                VertexView dst = this.vertexViews.get(((Edge) element).getDestination().getID());
+                if (src != null && dst != null) addEdge((Edge) element, src, dst);
+            }
+        }
+    }
+
+    /**
+     * Méthode retirant les ElementView des GraphElement retirés du Graph, y compris de la sélection
+     * @param ids les ID des GraphElement retirés
+     */
+    private void removeViews(int[] ids) {
+        Set<ElementView> removed = Collections.newSetFromMap(new IdentityHashMap<ElementView, Boolean>());
+        for (int id : ids) {
+            VertexView vertexView = this.vertexViews.remove(id);
+            if (vertexView != null) {
+                removed.add(vertexView);
+                invalidateView(vertexView);
+                this.vertexIndex.remove(vertexView);
+            }
+            EdgeView edgeView = this.edgeViews.remove(id);
+            if (edgeView != null) {
+                removed.add(edgeView);
+                invalidateView(edgeView);
+                this.edgeIndex.remove(edgeView);
+            }
+        }
+        if (!removed.isEmpty()) {
+            // un seul parcours de chaque liste, quel que soit le nombre d'éléments retirés
+            this.vertices.removeAll(removed);
+            this.edges.removeAll(removed);
+            this.selectedElements.removeAll(removed);
+            this.selectedSet.removeAll(removed);
+            this.currentSelectedElements.removeAll(removed);
+            this.previousSelectedElements.removeAll(removed);
+        }
+    }
+
+    /**
+     * Méthode remettant à jour l'affichage des ElementView dont le GraphElement a été modifié
+     * @param ids les ID des GraphElement modifiés
+     */
+    private void refreshViews(int[] ids) {
+        for (int id : ids) {
+            ElementView view = this.vertexViews.get(id);
+            if (view != null) {
+                // la taille du Vertex a pu changer
+                reindexVertex((VertexView) view);
+            } else {
+                EdgeView edgeView = this.edgeViews.get(id);
+                if (edgeView != null) {
+                    // les extrémités de l'Edge ont pu changer
+                    VertexView src = this.vertexViews.get(edgeView.getEdge().getOrigin().getID());
+                    VertexView dst = this.vertexViews.get(edgeView.getEdge().getDestination().getID());
+                    if (src != null) edgeView.setOrigin(src);
+                    if (dst != null) edgeView.setDestination(dst);
+                    indexView(edgeView);
+                }
+                view = edgeView;
+            }
+            if (view != null) {
+                view.updateHover(false);
+                if (this.selectedSet.contains(view)) {
+                    view.updateHover(true);
+                }
+                // la couleur ou le label ont pu changer
+                invalidateView(view);
+            }
+        }
+    }
+
     /**
      * Getter du Graph
      * @return le Graph
@@ -807,28 +1393,6 @@ public class Sheet extends JComponent implements Observer {
         return this.controller;
     }
 
-    /**
-     * Fonction servant à sauvegarder un graphe au format GraphML à l'aide de la classe {@link files.gml.GmlFileManager}
-     * @param file Le fichier où sera enregistré le graphe (au format .gml)
-     */
-    public void saveToGML(File file){
-        if(file != null) {
-            GmlFileManager gmlFileManager = new GmlFileManager(this.graph, file);
-            gmlFileManager.saveGraph();
-        }
-    }
-
-    /**
-     * Fonction servant à sauvegarder un graphe au format graphVIZ à l'aide de la classe {@link files.dot.DotFileManager}
-     * @param dot Le fichier où sera enregistré le graphe (au format .dot)
-     */
-    public void saveToVIZ(File dot) {
-        if(dot != null){
-            DotFileManager dotFileManager = new DotFileManager(this.graph, dot);
-            dotFileManager.saveToDotFile();
-        }
-    }
-
     /**
      * Getter de l'échelle du zoom de la feuille de dessin
      * @return l'échelle du zoom
@@ -841,7 +1405,16 @@ public class Sheet extends JComponent implements Observer {
      * Setter de l'échelle du zoom de la feuille de dessin
      * @param scale la nouvelle échelle du zoom
      */
-    public void setScale(double scale) { this.scale = scale; }
+    public void setScale(double scale) {
+        this.scale = scale;
+        // les ElementView hors de la zone visible ne sont pas dessinés : on leur donne directement la nouvelle échelle
+        for (EdgeView e : this.edges) {
+            e.setScale(scale, scale);
+        }
+        for (VertexView v : this.vertices) {
+            v.setScale(scale, scale);
+        }
+    }
 
     /**
      * Méthoder permettant de modifier les ElementView sélectionnés avec la fenêtre de propriétés et de sauvegarder les propriétés modifiées
@@ -849,7 +1422,7 @@ public class Sheet extends JComponent implements Observer {
     public void modifyElements(){
         if (selectionComposedByVerticesOnly()) {
             ArrayList<SnapProperties> verticesBefore = new ArrayList<>();
-            VerticesEditor verticesEditor = new VerticesEditor(this.selectedElements.get(0));
+            VerticesEditor verticesEditor = new VerticesEditor(this);
 
             if (!verticesEditor.isNotModified()) {
                 boolean colorModified = verticesEditor.isColorModified();
@@ -868,7 +1441,7 @@ public class Sheet extends JComponent implements Observer {
                     for (ElementView ev : this.selectedElements) {
                         Vertex v = (Vertex) ev.getGraphElement();
 
-                        SnapVertex tmpSnap = new SnapVertex(v, graph.getVertexes().indexOf(v));
+                        SnapVertex tmpSnap = new SnapVertex(v, graph.getVertexIndex(v));
                         verticesBefore.add(tmpSnap);
 
                         if (colorModified) {
@@ -911,7 +1484,7 @@ public class Sheet extends JComponent implements Observer {
             }
 
         } else {
-            ElementsEditor elementsViewEditor = new ElementsEditor(this.selectedElements.get(0));
+            ElementsEditor elementsViewEditor = new ElementsEditor(this);
 
             if(!elementsViewEditor.isNotModified()) {
                 boolean colorModified = elementsViewEditor.isColorModified();
@@ -0,0 +1,328 @@
+package view.editor.display;
+
+import data.IDMap;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Classe SpatialIndex, index spatial des éléments affichés dans une {@link Sheet}, associant chaque élément à son rectangle englobant.
+ * Il s'agit d'une grille hiérarchique (équivalente à un quadtree "lâche") : le niveau L découpe le plan en cases de côté
+ * 2^(CELL_SHIFT+L), et chaque élément est rangé dans une seule case, celle qui contient son centre au plus petit niveau
+ * dont les cases sont au moins aussi grandes que lui. Une recherche ne parcourt ainsi, à chaque niveau, que les cases
+ * voisines de la zone recherchée, et les éléments longs (Edge) ne sont pas recopiés dans toutes les cases qu'ils traversent.
+ * @param <T> le type des éléments indexés, comparés par identité
+ */
+public class SpatialIndex<T> {
+
+    private static final int CELL_SHIFT = 5;//Côté des cases du niveau le plus fin : 32 pixels
+    private static final int LEVELS     = 24;//Nombre de niveaux, le dernier couvrant tout l'espace des coordonnées entières
+
+    /**
+     * Classe Entry, position d'un élément dans l'index
+     */
+    private static class Entry {
+        Rectangle bounds;//Le rectangle englobant de l'élément
+        int       level;//Le niveau de la grille où il est rangé
+        int       cell;//La clé de la case où il est rangé
+    }
+
+    private final ArrayList<IDMap<ArrayList<Object>>> levels;//Les cases non vides de chaque niveau, par clé
+    private final int[]                               levelCounts;//Le nombre d'éléments de chaque niveau
+    private final Map<T, Entry>                       entries;//La position de chaque élément indexé
+
+    /**
+     * Constructeur de la classe SpatialIndex
+     */
+    public SpatialIndex() {
+        this.levels      = new ArrayList<>(LEVELS);
+        this.levelCounts = new int[LEVELS];
+        this.entries     = new IdentityHashMap<>();
+        for (int i = 0; i < LEVELS; i++) {
+            this.levels.add(null);
+        }
+    }
+
+    /**
+     * Méthode pour ajouter un élément à l'index, ou mettre à jour son rectangle englobant s'il y est déjà
+     * @param element l'élément
+     * @param bounds son rectangle englobant, copié
+     */
+    public void put(T element, Rectangle bounds) {
+        Entry entry = this.entries.get(element);
+        int level = levelFor(bounds);
+        int cell  = cellOf(bounds, level);
+        if (entry != null) {
+            if (entry.level == level && entry.cell == cell) {
+                entry.bounds.setBounds(bounds);
+                return;
+            }
+            unlink(element, entry);
+        } else {
+            entry = new Entry();
+            this.entries.put(element, entry);
+        }
+        entry.bounds = new Rectangle(bounds);
+        entry.level  = level;
+        entry.cell   = cell;
+
+        IDMap<ArrayList<Object>> cells = this.levels.get(level);
+        if (cells == null) {
+            cells = new IDMap<>();
+            this.levels.set(level, cells);
+        }
+        ArrayList<Object> content = cells.get(cell);
+        if (content == null) {
+            content = new ArrayList<>(4);
+            cells.put(cell, content);
+        }
+        content.add(element);
+        this.levelCounts[level]++;
+    }
+
+    /**
+     * Méthode pour retirer un élément de l'index
+     * @param element l'élément
+     * @return vrai si l'élément était indexé
+     */
+    public boolean remove(T element) {
+        Entry entry = this.entries.remove(element);
+        if (entry == null) {
+            return false;
+        }
+        unlink(element, entry);
+        return true;
+    }
+
+    /**
+     * Méthode retirant un élément de la case où il est rangé
+     * @param element l'élément
+     * @param entry sa position dans l'index
+     */
+    private void unlink(T element, Entry entry) {
+        IDMap<ArrayList<Object>> cells   = this.levels.get(entry.level);
+        ArrayList<Object>        content = cells.get(entry.cell);
+        for (int i = 0; i < content.size(); i++) {
+            if (content.get(i) == element) {
+                // l'ordre dans une case n'a pas d'importance : on remplace par le dernier élément
+                content.set(i, content.get(content.size() - 1));
+                content.remove(content.size() - 1);
+                break;
+            }
+        }
+        if (content.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+        this.levelCounts[entry.level]--;
+    }
+
+    /**
+     * Méthode pour vider l'index
+     */
+    public void clear() {
+        this.entries.clear();
+        for (int i = 0; i < LEVELS; i++) {
+            this.levels.set(i, null);
+            this.levelCounts[i] = 0;
+        }
+    }
+
+    /**
+     * Getter du nombre d'éléments indexés
+     * @return le nombre d'éléments
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Getter du rectangle englobant d'un élément
+     * @param element l'élément
+     * @return son rectangle englobant, null s'il n'est pas indexé
+     */
+    public Rectangle getBounds(T element) {
+        Entry entry = this.entries.get(element);
+        return entry == null ? null : new Rectangle(entry.bounds);
+    }
+
+    /**
+     * Méthode renvoyant les éléments dont le rectangle englobant touche une zone, bords compris.
+     * Une zone de largeur et de hauteur nulles permet de rechercher les éléments sous un point
+     * @param area la zone
+     * @return les éléments, dans un ordre quelconque
+     */
+    public ArrayList<T> query(Rectangle area) {
+        ArrayList<T> result = new ArrayList<>();
+        search(area, result, Integer.MAX_VALUE);
+        return result;
+    }
+
+    /**
+     * Méthode comptant les éléments dont le rectangle englobant touche une zone, bords compris, sans les renvoyer.
+     * Le compte s'arrête dès qu'il dépasse limit : il coûte au plus de l'ordre de limit éléments examinés, même sur une
+     * zone qui en contient beaucoup plus
+     * @param area la zone
+     * @param limit le nombre au-delà duquel le compte exact n'intéresse pas l'appelant
+     * @return le nombre d'éléments, ou limit + 1 s'il y en a plus que limit
+     */
+    public int count(Rectangle area, int limit) {
+        return search(area, null, limit);
+    }
+
+    /**
+     * Méthode parcourant les éléments dont le rectangle englobant touche une zone
+     * @param area la zone
+     * @param result la liste à laquelle ajouter les éléments, null pour seulement les compter
+     * @param limit le nombre d'éléments au-delà duquel le parcours s'arrête
+     * @return le nombre d'éléments trouvés, au plus limit + 1
+     */
+    @SuppressWarnings("unchecked")
+    private int search(Rectangle area, ArrayList<T> result, int limit) {
+        int found = 0;
+
+        // nombre de cases à examiner : au-delà du nombre d'éléments, un simple parcours est plus rapide
+        long cellsToVisit = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            if (this.levelCounts[level] > 0) {
+                int shift = CELL_SHIFT + level;
+                int side  = 1 << shift;
+                cellsToVisit += (long) (((area.x + area.width + side) >> shift) - ((area.x - side) >> shift) + 1)
+                              * (((area.y + area.height + side) >> shift) - ((area.y - side) >> shift) + 1);
+            }
+        }
+        if (cellsToVisit > this.entries.size()) {
+            for (Map.Entry<T, Entry> e : this.entries.entrySet()) {
+                if (touches(e.getValue().bounds, area)) {
+                    if (result != null) {
+                        result.add(e.getKey());
+                    }
+                    if (++found > limit) {
+                        return found;
+                    }
+                }
+            }
+            return found;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (this.levelCounts[level] == 0) {
+                continue;
+            }
+            IDMap<ArrayList<Object>> cells = this.levels.get(level);
+            int shift = CELL_SHIFT + level;
+            int side  = 1 << shift;
+            // un élément du niveau ne dépasse pas de plus d'une demi-case de la case contenant son centre
+            int minX = (area.x - side) >> shift, maxX = (area.x + area.width + side) >> shift;
+            int minY = (area.y - side) >> shift, maxY = (area.y + area.height + side) >> shift;
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    ArrayList<Object> content = cells.get(key(cx, cy));
+                    if (content != null) {
+                        for (Object element : content) {
+                            if (touches(this.entries.get(element).bounds, area)) {
+                                if (result != null) {
+                                    result.add((T) element);
+                                }
+                                if (++found > limit) {
+                                    return found;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Méthode renvoyant l'élément dont le rectangle englobant est le plus proche d'un point.
+     * La zone de recherche est doublée jusqu'à trouver un élément, soit un nombre logarithmique de recherches
+     * @param point le point
+     * @param maxDistance la distance maximale
+     * @return l'élément le plus proche, null s'il n'y en a aucun à moins de maxDistance
+     */
+    public T nearest(Point point, int maxDistance) {
+        int radius = Math.min(1 << CELL_SHIFT, Math.max(maxDistance, 0));
+        while (true) {
+            T    best         = null;
+            long bestDistance = Long.MAX_VALUE;
+            for (T element : query(new Rectangle(point.x - radius, point.y - radius, 2 * radius, 2 * radius))) {
+                long distance = squaredDistance(this.entries.get(element).bounds, point);
+                if (distance < bestDistance) {
+                    best         = element;
+                    bestDistance = distance;
+                }
+            }
+            // tout élément à moins de radius du point est dans la zone : le plus proche trouvé est le bon
+            if (best != null && bestDistance <= (long) radius * radius) {
+                return best;
+            }
+            if (radius >= maxDistance) {
+                return null;
+            }
+            radius = (int) Math.min((long) radius * 2, maxDistance);
+        }
+    }
+
+    /**
+     * Méthode renvoyant le niveau de la grille adapté à un rectangle englobant
+     * @param bounds le rectangle englobant
+     * @return le niveau
+     */
+    private static int levelFor(Rectangle bounds) {
+        int extent = Math.max(bounds.width, bounds.height);
+        int level  = 0;
+        while (level < LEVELS - 1 && (1 << (CELL_SHIFT + level)) < extent) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Méthode renvoyant la clé de la case contenant le centre d'un rectangle englobant
+     * @param bounds le rectangle englobant
+     * @param level le niveau de la grille
+     * @return la clé de la case
+     */
+    private static int cellOf(Rectangle bounds, int level) {
+        int shift = CELL_SHIFT + level;
+        return key((bounds.x + bounds.width / 2) >> shift, (bounds.y + bounds.height / 2) >> shift);
+    }
+
+    /**
+     * Méthode calculant la clé d'une case à partir de ses coordonnées dans la grille. Deux cases très éloignées peuvent
+     * partager une clé : leurs éléments sont alors examinés ensemble, ce qui ne change pas le résultat des recherches
+     * @param cx l'abscisse de la case
+     * @param cy l'ordonnée de la case
+     * @return la clé
+     */
+    private static int key(int cx, int cy) {
+        return (cx << 16) | (cy & 0xFFFF);
+    }
+
+    /**
+     * Méthode pour savoir si deux rectangles se touchent, bords compris
+     * @param bounds le premier rectangle
+     * @param area le second rectangle
+     * @return le résultat sous la forme d'un booléen
+     */
+    private static boolean touches(Rectangle bounds, Rectangle area) {
+        return bounds.x <= area.x + area.width && area.x <= bounds.x + bounds.width
+            && bounds.y <= area.y + area.height && area.y <= bounds.y + bounds.height;
+    }
+
+    /**
+     * Méthode calculant le carré de la distance entre un point et un rectangle
+     * @param bounds le rectangle
+     * @param point le point
+     * @return le carré de la distance, nul si le point est dans le rectangle
+     */
+    private static long squaredDistance(Rectangle bounds, Point point) {
+        long dx = Math.max(0, Math.max(bounds.x - point.x, point.x - (bounds.x + bounds.width)));
+        long dy = Math.max(0, Math.max(bounds.y - point.y, point.y - (bounds.y + bounds.height)));
+        return dx * dx + dy * dy;
+    }
+}
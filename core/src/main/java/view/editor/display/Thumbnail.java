@@ -0,0 +1,104 @@
+package view.editor.display;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Classe Thumbnail, copie des positions, tailles et couleurs des éléments d'un {@link data.Graph}, prise sur l'EDT,
+ * à partir de laquelle la miniature du Graph peut être dessinée sur un autre thread sans accéder au Graph
+ */
+public class Thumbnail {
+
+    /* Les Vertex : position, taille et couleur */
+    private final int[] vertexX;
+    private final int[] vertexY;
+    private final int[] vertexSize;
+    private final int[] vertexColor;
+    /* Les Edge : positions des extrémités et couleur */
+    private final int[] edgeX1;
+    private final int[] edgeY1;
+    private final int[] edgeX2;
+    private final int[] edgeY2;
+    private final int[] edgeColor;
+
+    /**
+     * Constructeur de la classe Thumbnail, copiant les éléments du Graph
+     * @param graph le Graph
+     */
+    public Thumbnail(Graph graph) {
+        List<Vertex> vertices = graph.getVertexes();
+        List<Edge>   edges    = graph.getEdges();
+
+        this.vertexX     = new int[vertices.size()];
+        this.vertexY     = new int[vertices.size()];
+        this.vertexSize  = new int[vertices.size()];
+        this.vertexColor = new int[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex vertex = vertices.get(i);
+            Point  position = vertex.getPosition();
+            this.vertexX[i]     = position.x;
+            this.vertexY[i]     = position.y;
+            this.vertexSize[i]  = vertex.getSize();
+            this.vertexColor[i] = vertex.getColor().getRGB();
+        }
+
+        this.edgeX1    = new int[edges.size()];
+        this.edgeY1    = new int[edges.size()];
+        this.edgeX2    = new int[edges.size()];
+        this.edgeY2    = new int[edges.size()];
+        this.edgeColor = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            Edge  edge        = edges.get(i);
+            Point origin      = edge.getOrigin().getPosition();
+            Point destination = edge.getDestination().getPosition();
+            this.edgeX1[i]    = origin.x;
+            this.edgeY1[i]    = origin.y;
+            this.edgeX2[i]    = destination.x;
+            this.edgeY2[i]    = destination.y;
+            this.edgeColor[i] = edge.getColor().getRGB();
+        }
+    }
+
+    /**
+     * Méthode dessinant la miniature : les Edge en traits fins puis les Vertex en carrés d'au moins un pixel
+     * @param width la largeur de l'image
+     * @param height la hauteur de l'image
+     * @param scaleX l'échelle en X entre la feuille de dessin et l'image
+     * @param scaleY l'échelle en Y entre la feuille de dessin et l'image
+     * @param background la couleur de fond
+     * @return l'image
+     */
+    public BufferedImage render(int width, int height, double scaleX, double scaleY, Color background) {
+        BufferedImage image = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_RGB);
+        Graphics2D    g     = image.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+
+        int color = 0;
+        g.setColor(new Color(color, true));
+        for (int i = 0; i < this.edgeColor.length; i++) {
+            // on ne recrée la couleur que lorsqu'elle change : la plupart des éléments ont la couleur par défaut
+            if (this.edgeColor[i] != color) {
+                color = this.edgeColor[i];
+                g.setColor(new Color(color, true));
+            }
+            g.drawLine((int) (this.edgeX1[i] * scaleX), (int) (this.edgeY1[i] * scaleY), (int) (this.edgeX2[i] * scaleX), (int) (this.edgeY2[i] * scaleY));
+        }
+        for (int i = 0; i < this.vertexColor.length; i++) {
+            if (this.vertexColor[i] != color) {
+                color = this.vertexColor[i];
+                g.setColor(new Color(color, true));
+            }
+            int sizeX = Math.max(1, (int) (this.vertexSize[i] * scaleX));
+            int sizeY = Math.max(1, (int) (this.vertexSize[i] * scaleY));
+            g.fillRect((int) (this.vertexX[i] * scaleX) - sizeX/2, (int) (this.vertexY[i] * scaleY) - sizeY/2, sizeX, sizeY);
+        }
+        g.dispose();
+        return image;
+    }
+}
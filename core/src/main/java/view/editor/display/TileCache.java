@@ -0,0 +1,161 @@
+package view.editor.display;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Classe TileCache, cache des images de la couche statique d'une {@link Sheet} (les éléments non sélectionnés), découpée en
+ * tuiles carrées de TILE_SIZE pixels à l'écran. Les tuiles ne sont valables que pour une échelle de zoom et un niveau de détail :
+ * en changer vide le cache. Seules les tuiles touchées par un élément modifié sont invalidées, et les moins récemment utilisées
+ * sont retirées au-delà de MAX_TILES, leur image étant réutilisée pour les suivantes.
+ */
+public class TileCache {
+
+    public static final int  TILE_SIZE = 256;//Côté d'une tuile, en pixels
+    private static final int MAX_TILES = 128;//Nombre maximal de tuiles gardées (32 Mo en couleurs 32 bits)
+
+    private final LinkedHashMap<Integer, BufferedImage> tiles;//Les tuiles, par clé, de la moins à la plus récemment utilisée
+    private final ArrayList<BufferedImage>              recycled;//Les images des tuiles retirées, à réutiliser
+    private double                                      scale;//L'échelle de zoom des tuiles
+    private int                                         mode;//Le niveau de détail des tuiles
+
+    /**
+     * Constructeur de la classe TileCache
+     */
+    public TileCache() {
+        this.recycled = new ArrayList<>();
+        this.tiles    = new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+                if (size() > MAX_TILES) {
+                    recycle(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.scale = Double.NaN;
+    }
+
+    /**
+     * Méthode vidant le cache si les tuiles n'ont pas été dessinées avec cette échelle et ce niveau de détail
+     * @param scale l'échelle de zoom
+     * @param mode le niveau de détail
+     * @return vrai si le cache a été vidé
+     */
+    public boolean validate(double scale, int mode) {
+        if (scale == this.scale && mode == this.mode) {
+            return false;
+        }
+        clear();
+        this.scale = scale;
+        this.mode  = mode;
+        return true;
+    }
+
+    /**
+     * Getter d'une tuile
+     * @param tx l'abscisse de la tuile, en nombre de tuiles
+     * @param ty l'ordonnée de la tuile, en nombre de tuiles
+     * @return l'image de la tuile, null si elle n'est pas dans le cache
+     */
+    public BufferedImage get(int tx, int ty) {
+        return this.tiles.get(key(tx, ty));
+    }
+
+    /**
+     * Méthode pour ajouter une tuile au cache
+     * @param tx l'abscisse de la tuile, en nombre de tuiles
+     * @param ty l'ordonnée de la tuile, en nombre de tuiles
+     * @param image l'image de la tuile
+     */
+    public void put(int tx, int ty, BufferedImage image) {
+        BufferedImage previous = this.tiles.put(key(tx, ty), image);
+        if (previous != null && previous != image) {
+            recycle(previous);
+        }
+    }
+
+    /**
+     * Méthode renvoyant une image d'une tuile retirée du cache, pour éviter d'en allouer une nouvelle
+     * @return l'image, dont le contenu est à redessiner, null s'il n'y en a pas
+     */
+    public BufferedImage obtain() {
+        return this.recycled.isEmpty() ? null : this.recycled.remove(this.recycled.size() - 1);
+    }
+
+    /**
+     * Méthode invalidant les tuiles qui touchent une zone de la feuille de dessin
+     * @param area la zone, à l'écran
+     */
+    public void invalidate(Rectangle area) {
+        if (this.tiles.isEmpty() || area.isEmpty()) {
+            return;
+        }
+        int minX = Math.max(0, area.x) / TILE_SIZE, maxX = Math.max(0, area.x + area.width) / TILE_SIZE;
+        int minY = Math.max(0, area.y) / TILE_SIZE, maxY = Math.max(0, area.y + area.height) / TILE_SIZE;
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.tiles.size()) {
+            // la zone couvre plus de tuiles que le cache n'en contient : on parcourt le cache
+            Iterator<Map.Entry<Integer, BufferedImage>> it = this.tiles.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, BufferedImage> entry = it.next();
+                int tx = entry.getKey() >>> 16, ty = entry.getKey() & 0xFFFF;
+                if (tx >= minX && tx <= maxX && ty >= minY && ty <= maxY) {
+                    recycle(entry.getValue());
+                    it.remove();
+                }
+            }
+        } else {
+            for (int tx = minX; tx <= maxX; tx++) {
+                for (int ty = minY; ty <= maxY; ty++) {
+                    BufferedImage image = this.tiles.remove(key(tx, ty));
+                    if (image != null) {
+                        recycle(image);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Méthode pour vider le cache
+     */
+    public void clear() {
+        for (BufferedImage image : this.tiles.values()) {
+            recycle(image);
+        }
+        this.tiles.clear();
+    }
+
+    /**
+     * Getter du nombre de tuiles dans le cache
+     * @return le nombre de tuiles
+     */
+    public int size() {
+        return this.tiles.size();
+    }
+
+    /**
+     * Méthode gardant l'image d'une tuile retirée pour la réutiliser, dans la limite d'un écran de tuiles
+     * @param image l'image
+     */
+    private void recycle(BufferedImage image) {
+        if (this.recycled.size() < MAX_TILES / 4) {
+            this.recycled.add(image);
+        }
+    }
+
+    /**
+     * Méthode calculant la clé d'une tuile à partir de ses coordonnées
+     * @param tx l'abscisse de la tuile, positive
+     * @param ty l'ordonnée de la tuile, positive
+     * @return la clé
+     */
+    private static int key(int tx, int ty) {
+        return (tx << 16) | (ty & 0xFFFF);
+    }
+}
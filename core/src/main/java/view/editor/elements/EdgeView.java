@@ -18,7 +18,6 @@ import static java.lang.Math.sqrt;
  */
 public class EdgeView extends ElementView {
 
-	private static final long serialVersionUID = 1L;
     /* L'Edge associé à l'EdgeView */
 	private Edge       edge;
     /* Le VertexView d'origine de l'EdgeView */
@@ -48,9 +47,9 @@ public class EdgeView extends ElementView {
 
     /**
      * Override de la fonction contains pour savoir si le point est contenu par l'EdgeView
-     * Est utilisé par le MouseListener pour savoir si l'on clique sur l'EdgeView
+     * Est utilisé par la Sheet pour savoir si l'on clique sur l'EdgeView
      * (non-Javadoc)
-     * @see javax.swing.JComponent#contains(int, int)
+     * @see ElementView#contains(int, int)
      */
     @Override
     public boolean contains(int x, int y) {
@@ -87,7 +86,6 @@ public class EdgeView extends ElementView {
      */
     public void paintComponent(Graphics g, double scaleX, double scaleY, boolean paintLabel) {
         this.scale = new Point2D.Double(scaleX, scaleY);
-    	g.setFont(super.getFont());
     	Stroke oldStroke = ((Graphics2D) g).getStroke();
 		
 		Graphics2D        g2d         = ((Graphics2D) g);
@@ -197,11 +195,12 @@ public class EdgeView extends ElementView {
     /**
      * Méthode servant à modifier un {@link data.Edge} grâce au {@link view.frames.EdgeViewEditor}
      * @param graph Le {@link data.Graph} sur lequel se situe l'Edge qui est l'objet de la modification
+     * @param parent le composant au-dessus duquel afficher l'EdgeViewEditor
      */
     @Override
-    public SnapProperties modify(Graph graph) {
+    public SnapProperties modify(Graph graph, Component parent) {
 
-        EdgeViewEditor edit = new EdgeViewEditor(this.edge, graph, this);
+        EdgeViewEditor edit = new EdgeViewEditor(this.edge, graph, parent);
         SnapEdge snap = null; 
 
         if(!edit.isNotModified()) {
@@ -4,16 +4,16 @@ import data.Graph;
 import data.GraphElement;
 import undoRedo.snap.SnapProperties;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Point2D;
 
 /**
  * Classe mère de tous les éléments visuels de la feuille de dessin. {@link VertexView} et {@link EdgeView} en héritent.
+ * Ce ne sont pas des composants Swing : ils sont dessinés et reçoivent les événements souris par l'intermédiaire de la
+ * {@link view.editor.display.Sheet}.
  */
-public abstract class ElementView extends JComponent {
+public abstract class ElementView {
 
-	protected static final long serialVersionUID = 1L;
     /* La Couleur de l'ElementView */
 	protected Color          color;
     /* L'échelle du zoom de la feuille de dessin */
@@ -42,7 +42,7 @@ public abstract class ElementView extends JComponent {
      * @param isHover si l'ElementView est sélectionné ou non
      */
 	public abstract void updateHover(boolean isHover);
-	public abstract SnapProperties modify(Graph graph);
+	public abstract SnapProperties modify(Graph graph, Component parent);
 	public abstract GraphElement getGraphElement();
 
 	/**
@@ -61,6 +61,23 @@ public abstract class ElementView extends JComponent {
 		this.color = color;
 	}
 
+    /**
+     * Setter de l'échelle du zoom, utilisée pour savoir si un point est dans l'ElementView même s'il n'a pas été dessiné
+     * @param scaleX l'échelle du zoom en X
+     * @param scaleY l'échelle du zoom en Y
+     */
+    public void setScale(double scaleX, double scaleY) {
+        this.scale = new Point2D.Double(scaleX, scaleY);
+    }
+
+    /**
+     * Méthode abstraite permettant de savoir si un point de la feuille de dessin est dans l'ElementView
+     * @param x l'abscisse du point
+     * @param y l'ordonnée du point
+     * @return le résultat sous la forme d'un booléen
+     */
+    public abstract boolean contains(int x, int y);
+
     /**
      * Méthode abstraite permettant de savoir si l'ElementView est un VertexView ou non
      * @return le résultat sous la forme d'un booléen
@@ -66,7 +66,6 @@ public class VertexView extends ElementView {
     public void paintComponent(Graphics g, double scaleX, double scaleY, boolean paintLabel) {
         this.scale = new Point2D.Double(scaleX, scaleY);
 		this.g2d   = (Graphics2D)g;
-    	g.setFont(super.getFont());
 		
 		Graphics2D     g2d         = ((Graphics2D) g);
 		RenderingHints renderHints = new RenderingHints (RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -114,12 +113,13 @@ public class VertexView extends ElementView {
 	 * @return le rectangle de la zone du Vertex avec le label
 	 */
 	public Rectangle getVertexBounds() {
-		FontMetrics fontMetrics = this.g2d.getFontMetrics();
+		// le VertexView n'a peut-être pas encore été dessiné, s'il est en dehors de la zone visible
+		FontMetrics fontMetrics = this.g2d != null ? this.g2d.getFontMetrics() : null;
 		int size   = (int)(this.vertex.getSize() * this.scale.x);
         int x      = (int) (this.vertex.getPosition().x * this.scale.x - size/2);
         int y      = (int) (this.vertex.getPosition().y * this.scale.y);
-		int width  = fontMetrics.stringWidth(this.vertex.getLabel());
-		int height = fontMetrics.getHeight();
+		int width  = fontMetrics != null ? fontMetrics.stringWidth(this.vertex.getLabel()) : 0;
+		int height = fontMetrics != null ? fontMetrics.getHeight() : 0;
 		return new Rectangle(x - width/2, y - this.labelGap - height, width, height + this.labelGap + size);
 	}
     
@@ -158,11 +158,13 @@ public class VertexView extends ElementView {
 
     /**
      * Méthode appellée pour invoquer un JDialog permettant de modifier les informations d'un VertexView dans le détail.
+     * @param graph le Graph contenant le Vertex
+     * @param parent le composant au-dessus duquel afficher le VertexViewEditor
      */
     @Override
-    public SnapProperties modify(Graph graph){
+    public SnapProperties modify(Graph graph, Component parent){
 		SnapVertex       snap = null;
-        VertexViewEditor edit = new VertexViewEditor(this.vertex, this);
+        VertexViewEditor edit = new VertexViewEditor(this.vertex, parent);
 
         if(!edit.isNotModified()) {
 			snap=new SnapVertex();
@@ -119,6 +119,16 @@ public class AlgorithmSelector extends JDialog {
                             propertyChooser.setVisible(false);
                             changeSize("Circle");
                             break;
+                        case "Positionnement par forces":
+                            showColors(false);
+                            propertyChooser.setVisible(false);
+                            changeSize("Random");
+                            break;
+                        case "Positionnement multiniveau":
+                            showColors(false);
+                            propertyChooser.setVisible(false);
+                            changeSize("Random");
+                            break;
                         case "Coloration des Sommets":
                             showColors(true);
                             propertyChooser.setVisible(true);
@@ -0,0 +1,112 @@
+package algorithm;
+
+import data.Graph;
+import data.GraphEvent;
+import data.Observable;
+import data.Vertex;
+import junit.framework.TestCase;
+import view.editor.display.Observer;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe de tests pour la copie compacte d'un Graph
+ */
+public class CompactGraphTest extends TestCase {
+
+    /**
+     * Test de la copie de la topologie au format CSR
+     */
+    public void testTopology() {
+        Graph graph = new Graph();
+        Vertex v0 = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.SQUARE);
+        Vertex v1 = graph.createVertex(Color.BLACK, new Point(10, 20), 12, Vertex.Shape.CIRCLE);
+        Vertex v2 = graph.createVertex(Color.BLACK, new Point(30, 40), 14, Vertex.Shape.CROSS);
+        graph.createEdge(Color.BLACK, v0, v1, 1);
+        graph.createEdge(Color.BLACK, v0, v2, 1);
+
+        CompactGraph compact = new CompactGraph(graph);
+        assertEquals(compact.getVertexCount(), 3);
+        assertEquals(compact.getEdgeCount(), 2);
+        assertEquals(compact.degree(0), 2);
+        assertEquals(compact.degree(1), 1);
+        assertEquals(compact.degree(2), 1);
+
+        int[] offsets    = compact.getOffsets();
+        int[] neighbours = compact.getNeighbours();
+        assertEquals(neighbours[offsets[0]], 1);
+        assertEquals(neighbours[offsets[0] + 1], 2);
+        assertEquals(neighbours[offsets[1]], 0);
+        assertEquals(neighbours[offsets[2]], 0);
+        assertEquals(compact.getX()[1], 10.0, 0);
+        assertEquals(compact.getY()[2], 40.0, 0);
+        assertEquals(compact.getSize()[2], 14.0, 0);
+    }
+
+    /**
+     * Test de la recopie des résultats dans le Graph
+     */
+    public void testWriteBack() {
+        Graph graph = new Graph();
+        Vertex v0 = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.SQUARE);
+        Vertex v1 = graph.createVertex(Color.BLACK, new Point(10, 20), 12, Vertex.Shape.CIRCLE);
+        Point unchanged = v1.getPosition();
+        Point moved     = v0.getPosition();
+
+        CompactGraph compact = new CompactGraph(graph);
+        compact.getX()[0] = 5.4;
+        compact.getY()[0] = 7.6;
+        compact.getSize()[0] = 20;
+        compact.writeBack();
+
+        assertEquals(v0.getPosition(), new Point(5, 8));
+        assertEquals(v0.getSize(), 20);
+        /* L'ancienne position n'est pas modifiée, une nouvelle Point est créée */
+        assertEquals(moved, new Point(0, 0));
+        assertSame(v1.getPosition(), unchanged);
+    }
+
+    /**
+     * Test des modifications signalées par la recopie : seuls les Vertex modifiés le sont, une recopie sans changement
+     * n'en signale aucune
+     */
+    public void testWriteBackEvents() {
+        Graph graph = new Graph();
+        Vertex v0 = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.SQUARE);
+        Vertex v1 = graph.createVertex(Color.BLACK, new Point(10, 20), 12, Vertex.Shape.CIRCLE);
+        graph.setChanged();
+        final List<Object> received = new ArrayList<>();
+        graph.addObserver(new Observer() {
+            @Override
+            public void update(Observable observable, Object object) {
+                received.add(object);
+            }
+
+            @Override
+            public void update(Observable observable, GraphEvent event) {
+                received.add(event);
+            }
+        });
+
+        /* Sans changement, rien n'est retenu : setChanged() se rabat sur la liste de tous les GraphElement */
+        new CompactGraph(graph).writeBack();
+        graph.setChanged();
+        assertEquals(1, received.size());
+        assertSame(graph.getGraphElements(), received.get(0));
+
+        /* Un seul Vertex déplacé : un seul événement, sans modification de propriétés */
+        received.clear();
+        CompactGraph compact = new CompactGraph(graph);
+        compact.getX()[1] = 30;
+        compact.writeBack();
+        graph.setChanged();
+        assertEquals(1, received.size());
+        GraphEvent moved = (GraphEvent) received.get(0);
+        assertEquals(GraphEvent.Type.MOVED, moved.getType());
+        assertEquals(1, moved.getIDs().length);
+        assertEquals(v1.getID(), moved.getIDs()[0]);
+        assertEquals(new Point(0, 0), v0.getPosition());
+    }
+}
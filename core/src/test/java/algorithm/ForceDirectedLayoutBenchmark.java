@@ -0,0 +1,74 @@
+package algorithm;
+
+import data.Graph;
+import data.Vertex;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark des itérations de {@link algorithm.ForceDirectedLayout} selon le nombre de threads : 1, 2, 4... jusqu'au
+ * nombre de cœurs, et affiche l'accélération par rapport à un seul thread.
+ * Ce n'est pas un test unitaire, il se lance à la main : java algorithm.ForceDirectedLayoutBenchmark [nombre de sommets] [itérations]
+ */
+public class ForceDirectedLayoutBenchmark {
+
+    public static void main(String[] args) {
+        int vertices   = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        //Graphe à attachement préférentiel : chaque sommet est relié à deux sommets existants
+        Graph    graph    = new Graph();
+        Random   random   = new Random(42);
+        Vertex[] vertexes = new Vertex[vertices];
+        int[]    targets  = new int[4 * vertices];
+        int      count    = 0;
+        for (int i = 0; i < vertices; i++) {
+            vertexes[i] = graph.createVertex(Color.BLACK, new Point(random.nextInt(1000), random.nextInt(1000)), 15, Vertex.Shape.CIRCLE);
+            for (int e = 0; e < 2 && i > 0; e++) {
+                int j = count == 0 ? 0 : targets[random.nextInt(count)];
+                graph.createEdge(Color.BLACK, vertexes[i], vertexes[j], 1);
+                targets[count++] = i;
+                targets[count++] = j;
+            }
+        }
+        CompactGraph compact = new CompactGraph(graph);
+        double[]     startX  = compact.getX().clone();
+        double[]     startY  = compact.getY().clone();
+        ForceDirectedLayout.start(startX, startY, vertices, new Random(1));
+
+        int      cores     = Runtime.getRuntime().availableProcessors();
+        double[] reference = null;
+        long     single    = 0;
+        System.out.println(vertices + " sommets, " + compact.getEdgeCount() + " arêtes, " + iterations + " itérations, " + cores + " cœurs");
+        for (int threads = 1; ; threads = Math.min(2 * threads, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double[]     x    = startX.clone();
+            double[]     y    = startY.clone();
+            // Échauffement de la JIT
+            run(compact, x.clone(), y.clone(), 3, pool);
+
+            long start = System.nanoTime();
+            run(compact, x, y, iterations, pool);
+            long time = System.nanoTime() - start;
+            pool.shutdown();
+
+            if (reference == null) {
+                reference = x;
+                single    = time;
+            }
+            System.out.printf("%3d threads : %10.1f ms, accélération %5.2f, résultat %s%n", threads, time / 1e6,
+                              (double) single / time, Arrays.equals(reference, x) ? "identique" : "DIFFÉRENT");
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+
+    private static void run(CompactGraph compact, double[] x, double[] y, int iterations, ForkJoinPool pool) {
+        ForceDirectedLayout.layout(x, y, null, compact.getVertexCount(), compact.getOffsets(), compact.getNeighbours(), iterations,
+                                   Math.sqrt(compact.getVertexCount()) / 10, ForceDirectedLayout.DEFAULT_COOLING, pool, null);
+    }
+}
@@ -0,0 +1,150 @@
+package algorithm;
+
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+import threading.ProgressListener;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe de tests pour le placement par forces
+ */
+public class ForceDirectedLayoutTest extends TestCase {
+
+    /**
+     * Crée une grille de side × side Vertex, tous placés au même endroit
+     */
+    private static Graph createGrid(int side) {
+        Graph    graph    = new Graph();
+        Vertex[] vertexes = new Vertex[side * side];
+        for (int i = 0; i < vertexes.length; i++) {
+            vertexes[i] = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+            if (i % side > 0) {
+                graph.createEdge(Color.BLACK, vertexes[i - 1], vertexes[i], 1);
+            }
+            if (i >= side) {
+                graph.createEdge(Color.BLACK, vertexes[i - side], vertexes[i], 1);
+            }
+        }
+        return graph;
+    }
+
+    private static double distance(Vertex v1, Vertex v2) {
+        return v1.getPosition().distance(v2.getPosition());
+    }
+
+    /**
+     * Test du placement d'une grille : les Vertex voisins sont bien plus proches que deux Vertex quelconques,
+     * et tous restent dans la zone d'application
+     */
+    public void testGrid() {
+        Graph               graph = createGrid(20);
+        ForceDirectedLayout layout = new ForceDirectedLayout(new Point(50, 60), new Dimension(800, 600));
+        layout.setSeed(1);
+        layout.run(graph);
+
+        List<Vertex> vertexes = graph.getVertexes();
+        for (Vertex v : vertexes) {
+            assertTrue(v.getPosition().x >= 50 && v.getPosition().x <= 850);
+            assertTrue(v.getPosition().y >= 60 && v.getPosition().y <= 660);
+        }
+        double neighbours = 0;
+        for (int i = 1; i < 20; i++) {
+            neighbours += distance(vertexes.get(i - 1), vertexes.get(i));
+        }
+        double opposite = distance(vertexes.get(0), vertexes.get(vertexes.size() - 1));
+        assertTrue(neighbours / 19 * 5 < opposite);
+    }
+
+    /**
+     * Test du placement avec une graine fixée : le résultat est toujours le même
+     */
+    public void testSeed() {
+        Graph graph1 = createGrid(6);
+        Graph graph2 = createGrid(6);
+        ForceDirectedLayout layout1 = new ForceDirectedLayout(new Point(0, 0), new Dimension(400, 400), 30, 0.9);
+        ForceDirectedLayout layout2 = new ForceDirectedLayout(new Point(0, 0), new Dimension(400, 400), 30, 0.9);
+        layout1.setSeed(7);
+        layout2.setSeed(7);
+        layout1.run(graph1);
+        layout2.run(graph2);
+        for (int i = 0; i < graph1.getVertexes().size(); i++) {
+            assertEquals(graph1.getVertexes().get(i).getPosition(), graph2.getVertexes().get(i).getPosition());
+        }
+    }
+
+    /**
+     * Test des itérations parallèles : assez de Vertex pour que l'arbre soit lui aussi construit en parallèle,
+     * et un résultat identique quel que soit le nombre de threads
+     */
+    public void testParallel() {
+        CompactGraph compact = new CompactGraph(createGrid(150));
+        int          n       = compact.getVertexCount();
+        double[]     x1      = compact.getX();
+        double[]     y1      = compact.getY();
+        ForceDirectedLayout.start(x1, y1, n, new Random(3));
+        double[] x2 = x1.clone();
+        double[] y2 = y1.clone();
+
+        ForkJoinPool single   = new ForkJoinPool(1);
+        ForkJoinPool multiple = new ForkJoinPool(4);
+        try {
+            ForceDirectedLayout.layout(x1, y1, null, n, compact.getOffsets(), compact.getNeighbours(), 5, 10, 0.9, single, null);
+            ForceDirectedLayout.layout(x2, y2, null, n, compact.getOffsets(), compact.getNeighbours(), 5, 10, 0.9, multiple, null);
+        } finally {
+            single.shutdown();
+            multiple.shutdown();
+        }
+        assertTrue(Arrays.equals(x1, x2));
+        assertTrue(Arrays.equals(y1, y2));
+    }
+
+    /**
+     * Test du calcul séparé du placement : il ne modifie pas le Graph, transmet son avancement jusqu'à 100 %, et s'arrête
+     * sans résultat si le thread est interrompu
+     */
+    public void testCompute() {
+        Graph               graph    = createGrid(10);
+        ForceDirectedLayout layout   = new ForceDirectedLayout(new Point(0, 0), new Dimension(500, 500));
+        final List<Integer> percents = new ArrayList<>();
+        ProgressListener    listener = new ProgressListener() {
+            @Override
+            public void progress(int percent) {
+                percents.add(percent);
+            }
+        };
+
+        CompactGraph compact = new CompactGraph(graph);
+        assertTrue(layout.compute(compact, listener));
+        assertEquals(new Point(0, 0), graph.getVertexes().get(99).getPosition());
+        assertEquals(Integer.valueOf(100), percents.get(percents.size() - 1));
+        for (int i = 1; i < percents.size(); i++) {
+            assertTrue(percents.get(i - 1) < percents.get(i));
+        }
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(layout.compute(new CompactGraph(graph), null));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Test des paramètres refusés
+     */
+    public void testInvalidParameters() {
+        try {
+            new ForceDirectedLayout(new Point(0, 0), new Dimension(10, 10), 10, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            //Attendu
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package algorithm;
+
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+import threading.ProgressListener;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe de tests pour le placement multiniveau
+ */
+public class MultilevelLayoutTest extends TestCase {
+
+    private static double distance(Vertex v1, Vertex v2) {
+        return v1.getPosition().distance(v2.getPosition());
+    }
+
+    private static void assertInside(Graph graph, Rectangle rectangle) {
+        for (Vertex v : graph.getVertexes()) {
+            assertTrue(v.getPosition().x >= rectangle.x && v.getPosition().x <= rectangle.x + rectangle.width);
+            assertTrue(v.getPosition().y >= rectangle.y && v.getPosition().y <= rectangle.y + rectangle.height);
+        }
+    }
+
+    /**
+     * Test du placement d'une grille, assez grande pour être réduite sur plusieurs niveaux : la grille est dépliée,
+     * ses coins opposés sont éloignés et les Vertex voisins proches
+     */
+    public void testGrid() {
+        int      side     = 40;
+        Graph    graph    = new Graph();
+        Vertex[] vertexes = new Vertex[side * side];
+        for (int i = 0; i < vertexes.length; i++) {
+            vertexes[i] = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+            if (i % side > 0) {
+                graph.createEdge(Color.BLACK, vertexes[i - 1], vertexes[i], 1);
+            }
+            if (i >= side) {
+                graph.createEdge(Color.BLACK, vertexes[i - side], vertexes[i], 1);
+            }
+        }
+        Rectangle        rectangle = new Rectangle(10, 20, 2000, 2000);
+        MultilevelLayout layout    = new MultilevelLayout(rectangle.getLocation(), rectangle.getSize());
+        layout.setSeed(5);
+        layout.run(graph);
+
+        assertInside(graph, rectangle);
+        double neighbours = 0;
+        for (int i = 1; i < side; i++) {
+            neighbours += distance(vertexes[i - 1], vertexes[i]);
+        }
+        double diagonal = distance(vertexes[0], vertexes[vertexes.length - 1]);
+        //Pour une grille parfaitement dépliée, la diagonale vaut (side - 1) * √2 fois une arête
+        assertTrue(neighbours / (side - 1) * side / 2 < diagonal);
+    }
+
+    /**
+     * Test d'une étoile et de Vertex isolés, qu'une réduction par couplage seul ne réduirait pas
+     */
+    public void testStarAndIsolated() {
+        Graph  graph  = new Graph();
+        Vertex center = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+        for (int i = 0; i < 300; i++) {
+            graph.createEdge(Color.BLACK, center, graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE), 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+        }
+        Rectangle        rectangle = new Rectangle(0, 0, 1000, 800);
+        MultilevelLayout layout    = new MultilevelLayout(rectangle.getLocation(), rectangle.getSize());
+        layout.setSeed(2);
+        layout.run(graph);
+
+        assertInside(graph, rectangle);
+        List<Vertex> vertexes = graph.getVertexes();
+        double       leaves   = 0;
+        double       isolated = 0;
+        for (int i = 1; i <= 300; i++) {
+            leaves += distance(center, vertexes.get(i));
+        }
+        for (int i = 301; i < vertexes.size(); i++) {
+            isolated += distance(center, vertexes.get(i));
+        }
+        assertTrue(leaves / 300 < isolated / 100);
+    }
+
+    /**
+     * Test du placement avec une graine fixée : le résultat est toujours le même
+     */
+    public void testSeed() {
+        Point[] first = null;
+        for (int run = 0; run < 2; run++) {
+            Graph    graph    = new Graph();
+            Vertex[] vertexes = new Vertex[500];
+            for (int i = 0; i < vertexes.length; i++) {
+                vertexes[i] = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+                if (i > 0) {
+                    graph.createEdge(Color.BLACK, vertexes[(int) (i * 0.618)], vertexes[i], 1);
+                }
+            }
+            MultilevelLayout layout = new MultilevelLayout(new Point(0, 0), new Dimension(1000, 1000));
+            layout.setSeed(11);
+            layout.run(graph);
+            Point[] positions = new Point[vertexes.length];
+            for (int i = 0; i < vertexes.length; i++) {
+                positions[i] = vertexes[i].getPosition();
+            }
+            if (first == null) {
+                first = positions;
+            } else {
+                for (int i = 0; i < vertexes.length; i++) {
+                    assertEquals(first[i], positions[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test du calcul séparé du placement, sur un Graph réduit sur plusieurs niveaux : il ne modifie pas le Graph, transmet
+     * son avancement jusqu'à 100 %, et s'arrête sans résultat si le thread est interrompu
+     */
+    public void testCompute() {
+        Graph    graph    = new Graph();
+        Vertex[] vertexes = new Vertex[500];
+        for (int i = 0; i < vertexes.length; i++) {
+            vertexes[i] = graph.createVertex(Color.BLACK, new Point(0, 0), 10, Vertex.Shape.CIRCLE);
+            if (i > 0) {
+                graph.createEdge(Color.BLACK, vertexes[(int) (i * 0.618)], vertexes[i], 1);
+            }
+        }
+        MultilevelLayout    layout   = new MultilevelLayout(new Point(0, 0), new Dimension(1000, 1000));
+        final List<Integer> percents = new ArrayList<>();
+        ProgressListener    listener = new ProgressListener() {
+            @Override
+            public void progress(int percent) {
+                percents.add(percent);
+            }
+        };
+
+        assertTrue(layout.compute(new CompactGraph(graph), listener));
+        assertEquals(new Point(0, 0), vertexes[499].getPosition());
+        assertEquals(Integer.valueOf(100), percents.get(percents.size() - 1));
+        for (int i = 1; i < percents.size(); i++) {
+            assertTrue(percents.get(i - 1) < percents.get(i));
+        }
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(layout.compute(new CompactGraph(graph), null));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
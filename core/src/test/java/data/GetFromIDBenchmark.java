@@ -0,0 +1,76 @@
+package data;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Micro-benchmark de {@link data.Graph#getFromID(int)} : compare la recherche par l'index des ID
+ * à un parcours linéaire de la liste des éléments, comme le faisait l'ancienne implémentation.
+ * Ce n'est pas un test unitaire, il se lance à la main : java data.GetFromIDBenchmark [nombre de sommets]
+ */
+public class GetFromIDBenchmark {
+
+    private static final int LOOKUPS = 20000;
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+        Graph graph = new Graph();
+        Random random = new Random(42);
+        Vertex previous = null;
+        for (int i = 0; i < vertices; i++) {
+            Vertex v = graph.createVertex(Color.BLACK, new Point(random.nextInt(1000), random.nextInt(1000)), 15, Vertex.Shape.CIRCLE);
+            if (previous != null) {
+                graph.createEdge(Color.BLACK, previous, v, 1);
+            }
+            previous = v;
+        }
+
+        int size = graph.getGraphElements().size();
+        int[] ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = graph.getGraphElements().get(random.nextInt(size)).getID();
+        }
+
+        // Échauffement de la JIT
+        for (int r = 0; r < 3; r++) {
+            linear(graph, ids, LOOKUPS / 20);
+            indexed(graph, ids, LOOKUPS);
+        }
+
+        long start = System.nanoTime();
+        long hits = linear(graph, ids, LOOKUPS);
+        long linearTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        hits += indexed(graph, ids, LOOKUPS);
+        long indexedTime = System.nanoTime() - start;
+
+        System.out.println(size + " éléments, " + LOOKUPS + " recherches (" + hits + ")");
+        System.out.printf("parcours linéaire : %10.3f ms (%8.1f ns/recherche)%n", linearTime / 1e6, (double) linearTime / LOOKUPS);
+        System.out.printf("index des ID      : %10.3f ms (%8.1f ns/recherche)%n", indexedTime / 1e6, (double) indexedTime / LOOKUPS);
+    }
+
+    private static long linear(Graph graph, int[] ids, int count) {
+        long hits = 0;
+        for (int i = 0; i < count; i++) {
+            for (GraphElement ge : graph.getGraphElements()) {
+                if (ge.getID() == ids[i]) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static long indexed(Graph graph, int[] ids, int count) {
+        long hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (graph.getFromID(ids[i]) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
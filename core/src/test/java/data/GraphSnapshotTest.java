@@ -0,0 +1,63 @@
+package data;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * Tests de la classe GraphSnapshot
+ */
+public class GraphSnapshotTest extends TestCase {
+
+    /**
+     * Test d'une copie lue après des modifications du Graph : elle garde l'état du Graph à sa création
+     */
+    public void testCopyOnWrite() {
+        Graph graph = new Graph();
+        graph.setName("graphe");
+        Vertex v1 = graph.createVertex(Color.RED, new Point(1, 2), 10, Vertex.Shape.CIRCLE);
+        Vertex v2 = graph.createVertex(Color.BLUE, new Point(3, 4), 20, Vertex.Shape.SQUARE);
+        Vertex v3 = graph.createVertex(Color.GREEN, new Point(5, 6), 30, Vertex.Shape.CROSS);
+        v1.setLabel("v1");
+        Edge e1 = graph.createEdge(Color.BLACK, v1, v2, 2);
+        Edge e2 = graph.createEdge(Color.BLACK, v2, v3, 3);
+
+        GraphSnapshot snapshot = graph.snapshot();
+        graph.setName("autre");
+        v1.setLabel("renommé");
+        v1.move(100, 100);
+        v2.setPosition(new Point(-1, -1));
+        v2.setSize(99);
+        e1.setThickness(7);
+        e1.setDestination(v3);
+        graph.removeGraphElement(v3);
+        graph.createVertex(Color.BLACK, new Point(0, 0), 5, Vertex.Shape.TRIANGLE);
+
+        ArrayList<GraphElement> elements = snapshot.copy().build();
+        snapshot.release();
+        assertEquals("graphe", snapshot.getName());
+        assertEquals(5, elements.size());
+        Vertex c1 = (Vertex) elements.get(0);
+        Vertex c2 = (Vertex) elements.get(1);
+        Vertex c3 = (Vertex) elements.get(2);
+        assertEquals(v1.getID(), c1.getID());
+        assertEquals("v1", c1.getLabel());
+        assertEquals(new Point(1, 2), c1.getPosition());
+        assertEquals(new Point(3, 4), c2.getPosition());
+        assertEquals(20, c2.getSize());
+        assertEquals(v3.getID(), c3.getID());
+        Edge c4 = (Edge) elements.get(3);
+        Edge c5 = (Edge) elements.get(4);
+        assertEquals(e1.getID(), c4.getID());
+        assertEquals(2, c4.getThickness());
+        assertSame(c1, c4.getOrigin());
+        assertSame(c2, c4.getDestination());
+        assertEquals(e2.getID(), c5.getID());
+        assertSame(c3, c5.getDestination());
+
+        //Libérée, la copie ne garde plus l'état des éléments modifiés
+        v2.setSize(1);
+        assertEquals(1, v2.getSize());
+    }
+}
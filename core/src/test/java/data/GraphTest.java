@@ -8,6 +8,7 @@ import junit.framework.TestCase;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by Admin on 12/03/2015.
@@ -109,4 +110,286 @@ public class GraphTest extends TestCase {
             assertEquals(elements.get(i).isVertex(), copied_elements.get(i).isVertex());
         }
     }
+
+    /**
+     * Test de la récupération des GraphElement par leur ID
+     */
+    public void testGetFromID() {
+        this.graph = new Graph();
+
+        Vertex v1 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v2 = this.graph.createVertex(Color.BLACK, new Point(10, 10), 2, Vertex.Shape.CIRCLE);
+        Edge e = this.graph.createEdge(Color.BLACK, v1, v2, 1);
+        assertSame(this.graph.getFromID(v1.getID()), v1);
+        assertSame(this.graph.getFromID(v2.getID()), v2);
+        assertSame(this.graph.getFromID(e.getID()), e);
+
+        /* La suppression d'un Vertex retire aussi ses Edge de l'index */
+        this.graph.removeGraphElement(v1);
+        assertNull(this.graph.getFromID(v1.getID()));
+        assertNull(this.graph.getFromID(e.getID()));
+        assertSame(this.graph.getFromID(v2.getID()), v2);
+
+        /* Ajout d'une liste et remplacement de la liste */
+        ArrayList<GraphElement> elements = new ArrayList<>();
+        Vertex v3 = new Vertex(Color.BLUE, new Point(0, 0), 0, Vertex.Shape.CROSS);
+        elements.add(v3);
+        this.graph.addGraphElements(elements);
+        assertSame(this.graph.getFromID(v3.getID()), v3);
+
+        this.graph.setGraphElements(new ArrayList<GraphElement>());
+        assertNull(this.graph.getFromID(v2.getID()));
+        assertNull(this.graph.getFromID(v3.getID()));
+
+        this.graph.createGraphElement(v3);
+        assertSame(this.graph.getFromID(v3.getID()), v3);
+    }
+
+    /**
+     * Test des listes de Vertex et d'Edge du Graph et de la position de leurs éléments
+     */
+    public void testVertexesEdgesViews() {
+        this.graph = new Graph();
+
+        Vertex v1 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v2 = this.graph.createVertex(Color.BLACK, new Point(10, 10), 2, Vertex.Shape.CIRCLE);
+        Vertex v3 = this.graph.createVertex(Color.BLACK, new Point(20, 20), 2, Vertex.Shape.CROSS);
+        Edge e1 = this.graph.createEdge(Color.BLACK, v1, v2, 1);
+        Edge e2 = this.graph.createEdge(Color.BLACK, v2, v3, 1);
+
+        /* Les listes sont celles du Graph, à jour, qui ne sont pas recréées */
+        assertSame(this.graph.getVertexes(), this.graph.getVertexes());
+        assertSame(this.graph.getEdges(), this.graph.getEdges());
+        assertEquals(this.graph.getVertexes().size(), 3);
+        assertEquals(this.graph.getEdges().size(), 2);
+
+        assertEquals(this.graph.getVertexIndex(v1), 0);
+        assertEquals(this.graph.getVertexIndex(v3), 2);
+        assertEquals(this.graph.getEdgeIndex(e2), 1);
+
+        /* La suppression d'un Vertex retire ses Edge et décale les positions suivantes */
+        this.graph.removeGraphElement(v1);
+        assertEquals(this.graph.getVertexes().size(), 2);
+        assertEquals(this.graph.getEdges().size(), 1);
+        assertEquals(this.graph.getVertexIndex(v1), -1);
+        assertEquals(this.graph.getVertexIndex(v3), 1);
+        assertSame(this.graph.getVertexes().get(1), v3);
+        assertEquals(this.graph.getEdgeIndex(e1), -1);
+        assertEquals(this.graph.getEdgeIndex(e2), 0);
+        assertSame(this.graph.getEdges().get(0), e2);
+        assertEquals(this.graph.getGraphElements().size(), 3);
+    }
+
+    /**
+     * Test de la distribution des ID par le Graph
+     */
+    public void testIdAllocation() {
+        this.graph = new Graph();
+
+        Vertex v1 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v2 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        assertFalse(v1.getID() == v2.getID());
+
+        /* Réservation d'un bloc d'ID */
+        int first = this.graph.getIdAllocator().reserve(1000);
+        Vertex v3 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        assertEquals(v3.getID(), first + 1000);
+
+        /* Un élément créé hors du Graph dont l'ID est déjà pris en reçoit un nouveau à l'insertion */
+        Vertex v4 = new Vertex(v1.getID(), "copy", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        this.graph.createGraphElement(v4);
+        assertFalse(v4.getID() == v1.getID());
+        assertSame(this.graph.getFromID(v1.getID()), v1);
+        assertSame(this.graph.getFromID(v4.getID()), v4);
+
+        /* Un ID inséré n'est plus distribué */
+        Vertex v5 = new Vertex(5000, "read", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        this.graph.createGraphElement(v5);
+        assertEquals(v5.getID(), 5000);
+        assertTrue(this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE).getID() > 5000);
+    }
+
+    /**
+     * Test des notifications incrémentales envoyées aux Observer
+     */
+    public void testGraphEvents() {
+        this.graph = new Graph();
+        final ArrayList<Object> received = new ArrayList<>();
+        this.graph.addObserver(new view.editor.display.Observer() {
+            @Override
+            public void update(Observable observable, Object object) {
+                received.add(object);
+            }
+
+            @Override
+            public void update(Observable observable, GraphEvent event) {
+                received.add(event);
+            }
+        });
+
+        /* Sans modification retenue, les Observer reçoivent tout le Graph */
+        this.graph.setChanged();
+        assertEquals(received.size(), 1);
+        assertSame(received.get(0), this.graph.getGraphElements());
+
+        /* Ajout : un seul événement avec les ID des éléments ajoutés */
+        received.clear();
+        Vertex v1 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v2 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Edge   e  = this.graph.createEdge(Color.BLACK, v1, v2, 1);
+        this.graph.setChanged();
+        assertEquals(received.size(), 1);
+        GraphEvent added = (GraphEvent) received.get(0);
+        assertEquals(added.getType(), GraphEvent.Type.ADDED);
+        assertEquals(added.getIDs().length, 3);
+        assertEquals(added.getIDs()[2], e.getID());
+
+        /* Déplacement et modification signalés, transmis dans l'ordre retrait, ajout, déplacement, modification */
+        received.clear();
+        this.graph.moveVertex(v1, new Point(10, 10));
+        v2.setLabel("v2");
+        this.graph.markChanged(v2);
+        this.graph.setChanged();
+        assertEquals(received.size(), 2);
+        assertEquals(((GraphEvent) received.get(0)).getType(), GraphEvent.Type.MOVED);
+        assertEquals(((GraphEvent) received.get(0)).getIDs()[0], v1.getID());
+        assertEquals(((GraphEvent) received.get(1)).getType(), GraphEvent.Type.PROPERTY_CHANGED);
+
+        /* Retrait d'un Vertex : ses Edge sont aussi signalées */
+        received.clear();
+        this.graph.removeGraphElement(v1);
+        this.graph.setChanged();
+        assertEquals(received.size(), 1);
+        GraphEvent removed = (GraphEvent) received.get(0);
+        assertEquals(removed.getType(), GraphEvent.Type.REMOVED);
+        assertEquals(removed.getIDs().length, 2);
+    }
+
+    /**
+     * Test du regroupement des notifications par l'Executor de notification
+     */
+    public void testCoalescedNotifications() {
+        this.graph = new Graph();
+        final ArrayList<Object>   received = new ArrayList<>();
+        final ArrayList<Runnable> tasks    = new ArrayList<>();
+        this.graph.addObserver(new view.editor.display.Observer() {
+            @Override
+            public void update(Observable observable, Object object) {
+                received.add(object);
+            }
+
+            @Override
+            public void update(Observable observable, GraphEvent event) {
+                received.add(event);
+            }
+        });
+        this.graph.setNotificationExecutor(new java.util.concurrent.Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+
+        /* Plusieurs setChanged() successifs : une seule tâche, un seul événement regroupant les ajouts */
+        Vertex v1 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        this.graph.setChanged();
+        Vertex v2 = this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        this.graph.setChanged();
+        assertEquals(tasks.size(), 1);
+        assertTrue(received.isEmpty());
+        tasks.remove(0).run();
+        assertEquals(received.size(), 1);
+        assertEquals(((GraphEvent) received.get(0)).getIDs().length, 2);
+
+        /* Une modification faite par un setter est signalée : pas de reconstruction complète */
+        received.clear();
+        this.graph.markChanged(v1);
+        this.graph.setChanged();
+        v2.setLabel("v2");
+        this.graph.setChanged();
+        tasks.remove(0).run();
+        assertEquals(received.size(), 1);
+        assertEquals(((GraphEvent) received.get(0)).getIDs().length, 2);
+
+        /* Un setChanged() sans modification signalée dans la rafale impose une reconstruction complète, sur une copie
+           de la liste des GraphElement faite au setChanged() : les modifications suivantes ne la touchent pas */
+        received.clear();
+        this.graph.markChanged(v1);
+        this.graph.setChanged();
+        this.graph.setChanged();
+        this.graph.createVertex(Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        tasks.remove(0).run();
+        assertEquals(received.size(), 1);
+        assertNotSame(received.get(0), this.graph.getGraphElements());
+        assertEquals(((List<?>) received.get(0)).size(), 2);
+
+        /* Rien en attente : pas de notification */
+        received.clear();
+        this.graph.flush();
+        assertTrue(received.isEmpty());
+    }
+
+    /**
+     * Test de l'ajout d'éléments en bloc par un GraphBuilder
+     */
+    public void testGraphBuilder() {
+        this.graph = new Graph();
+        final ArrayList<Object> received = new ArrayList<>();
+        this.graph.addObserver(new view.editor.display.Observer() {
+            @Override
+            public void update(Observable observable, Object object) {
+                received.add(object);
+            }
+
+            @Override
+            public void update(Observable observable, GraphEvent event) {
+                received.add(event);
+            }
+        });
+
+        /* Les capacités annoncées sont dépassées : le GraphBuilder s'agrandit */
+        GraphBuilder builder = new GraphBuilder(1, 1);
+        Vertex v1 = new Vertex("v1", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v2 = new Vertex("v2", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        Vertex v3 = new Vertex("v3", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE);
+        assertEquals(builder.addVertex(v1), 0);
+        assertEquals(builder.addVertex(v2), 1);
+        assertEquals(builder.addVertex(v3), 2);
+        builder.addEdge("e1", Color.BLACK, 0, 1, 1);
+        builder.addEdge(1000, "e2", Color.BLACK, 0, 2, 1);
+        builder.addEdge("e3", Color.BLACK, 1, 2, 1);
+        builder.addEdge("loop", Color.BLACK, 2, 2, 1);
+        assertEquals(builder.getVertexCount(), 3);
+        assertEquals(builder.getEdgeCount(), 4);
+
+        try {
+            builder.addEdge("e", Color.BLACK, 0, 3, 1);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        /* Un seul ajout, une seule notification */
+        ArrayList<GraphElement> elements = builder.addTo(this.graph);
+        assertEquals(received.size(), 1);
+        assertEquals(((GraphEvent) received.get(0)).getType(), GraphEvent.Type.ADDED);
+        assertEquals(((GraphEvent) received.get(0)).getIDs().length, 7);
+        assertSame(builder.build(), elements);
+
+        assertEquals(this.graph.getVertexes().size(), 3);
+        assertEquals(this.graph.getEdges().size(), 4);
+        assertSame(this.graph.getFromID(1000), this.graph.getEdges().get(1));
+        assertEquals(this.graph.getEdges().get(1).getLabel(), "e2");
+        assertEquals(v1.getEdges().size(), 2);
+        assertEquals(v3.getEdges().size(), 3);
+        assertTrue(v1.isLinkedTo(v2));
+        assertTrue(v2.isLinkedTo(v3));
+        assertTrue(v3.isLinkedTo(v3));
+        assertSame(this.graph.getEdges().get(3).getOrigin(), v3);
+
+        try {
+            builder.addVertex(new Vertex("v4", Color.BLACK, new Point(0, 0), 2, Vertex.Shape.SQUARE));
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
 }
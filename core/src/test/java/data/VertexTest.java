@@ -3,6 +3,8 @@ package data;
 import junit.framework.TestCase;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Created by Admin on 12/03/2015.
@@ -124,4 +126,78 @@ public class VertexTest extends TestCase {
 
         assertTrue(this.vertex.isVertex());
     }
+
+    /**
+     * Test de la recherche d'un Edge entre deux Vertex
+     */
+    public void testIsLinkedTo() {
+        Vertex v1 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.CIRCLE);
+        Vertex v2 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.CROSS);
+        Vertex v3 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.SQUARE);
+        assertFalse(v1.isLinkedTo(v2));
+
+        Edge e1 = new Edge("test", Color.GREEN, v1, v2, 0);
+        Edge e2 = new Edge("test", Color.GREEN, v2, v1, 0);
+        assertTrue(v1.isLinkedTo(v2));
+        assertTrue(v2.isLinkedTo(v1));
+        assertFalse(v1.isLinkedTo(v3));
+
+        /* Deux Edge relient v1 et v2 : il faut retirer les deux */
+        v1.removeEdge(e1);
+        v2.removeEdge(e1);
+        assertTrue(v1.isLinkedTo(v2));
+        v1.removeEdge(e2);
+        v2.removeEdge(e2);
+        assertFalse(v1.isLinkedTo(v2));
+        assertFalse(v2.isLinkedTo(v1));
+
+        /* Changement d'extrémité d'un Edge */
+        Edge e3 = new Edge("test", Color.GREEN, v1, v2, 0);
+        e3.setDestination(v3);
+        assertTrue(v1.isLinkedTo(v3));
+        assertTrue(v3.isLinkedTo(v1));
+        assertFalse(v1.isLinkedTo(v2));
+        assertFalse(v2.isLinkedTo(v1));
+        assertTrue(v2.getEdges().isEmpty());
+        e3.setOrigin(v2);
+        assertTrue(v2.isLinkedTo(v3));
+        assertFalse(v1.isLinkedTo(v3));
+        assertTrue(v1.getEdges().isEmpty());
+    }
+
+    /**
+     * Test du passage d'un Vertex isolé à une feuille, puis à un Vertex de degré plus grand, et retour : les Edge et
+     * les voisins restent les mêmes quelle que soit la façon dont ils sont rangés
+     */
+    public void testDegreeChanges() {
+        Vertex v1 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.CIRCLE);
+        Vertex v2 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.CROSS);
+        Vertex v3 = new Vertex(Color.BLUE, null, 0, Vertex.Shape.SQUARE);
+        assertTrue(v1.getEdges().isEmpty());
+
+        Edge e1 = new Edge("e1", Color.GREEN, v1, v2, 0);
+        v1.addEdge(e1);
+        assertEquals(1, v1.getEdges().size());
+        assertTrue(v1.isLinkedTo(v2));
+        assertFalse(v1.isLinkedTo(v3));
+
+        Edge e2 = new Edge("e2", Color.GREEN, v3, v1, 0);
+        assertEquals(2, v1.getEdges().size());
+        assertSame(e1, v1.getEdges().iterator().next());
+        assertTrue(v1.isLinkedTo(v2));
+        assertTrue(v1.isLinkedTo(v3));
+
+        v1.removeEdge(e1);
+        assertEquals(1, v1.getEdges().size());
+        assertFalse(v1.isLinkedTo(v2));
+        assertTrue(v1.isLinkedTo(v3));
+
+        v1.setEdges(new ArrayList<Edge>());
+        assertTrue(v1.getEdges().isEmpty());
+        assertFalse(v1.isLinkedTo(v3));
+        v1.setEdges(Arrays.asList(e1, e2));
+        assertEquals(2, v1.getEdges().size());
+        assertTrue(v1.isLinkedTo(v2));
+        assertTrue(v1.isLinkedTo(v3));
+    }
 }
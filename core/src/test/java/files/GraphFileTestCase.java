@@ -0,0 +1,97 @@
+package files;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+
+import java.awt.*;
+
+/**
+ * Classe de base des tests d'écriture et de lecture des fichiers : un même Graph de test, et la comparaison d'un Graph
+ * relu avec celui qui a été écrit
+ */
+public abstract class GraphFileTestCase extends TestCase {
+
+    /**
+     * Méthode créant le Graph de test : un nom à échapper, deux Vertex de même étiquette (qui est aussi un mot-clé .dot),
+     * des couleurs et des positions négatives, une Edge dont l'étiquette contient un séparateur .dot et un caractère
+     * hors du plan de base Unicode
+     * @return le Graph
+     */
+    protected static Graph createGraph() {
+        Graph  graph = new Graph();
+        graph.setName("un \"graphe\" é");
+        Vertex v1 = graph.createVertex(new Color(0x12, 0xab, 0xff), new Point(10, 20), 15, Vertex.Shape.CIRCLE);
+        Vertex v2 = graph.createVertex(Color.BLACK, new Point(-5, 40), 30, Vertex.Shape.CROSS);
+        Vertex v3 = graph.createVertex(Color.GREEN, new Point(7, 8), 12, Vertex.Shape.TRIANGLE);
+        v1.setLabel("graph");
+        v2.setLabel("graph");
+        v3.setLabel("sommet");
+        v2.setValue(7);
+        Edge edge = graph.createEdge(Color.RED, v1, v2, 3);
+        edge.setLabel("a -- b 😀");
+        graph.createEdge(Color.BLUE, v3, v1, 1);
+        return graph;
+    }
+
+    /**
+     * Méthode vérifiant qu'un Graph relu est identique à celui qui a été écrit, élément par élément dans l'ordre des listes
+     * de Vertex et d'Edge. Les ID ne sont pas comparés, certains formats ne les conservant pas
+     * @param expected le Graph écrit
+     * @param actual le Graph relu
+     */
+    protected static void assertSameGraph(Graph expected, Graph actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getVertexes().size(), actual.getVertexes().size());
+        assertEquals(expected.getEdges().size(), actual.getEdges().size());
+        for (int i = 0; i < expected.getVertexes().size(); i++) {
+            assertSameVertex(expected.getVertexes().get(i), actual.getVertexes().get(i));
+        }
+        for (int i = 0; i < expected.getEdges().size(); i++) {
+            Edge e = expected.getEdges().get(i);
+            Edge a = actual.getEdges().get(i);
+            assertSameEdge(e, a);
+            assertEquals(expected.getVertexIndex(e.getOrigin()), actual.getVertexIndex(a.getOrigin()));
+            assertEquals(expected.getVertexIndex(e.getDestination()), actual.getVertexIndex(a.getDestination()));
+        }
+    }
+
+    /**
+     * Méthode vérifiant qu'un Graph relu contient les mêmes éléments que celui qui a été écrit, retrouvés par leur ID
+     * quel que soit leur ordre
+     * @param expected le Graph écrit
+     * @param actual le Graph relu
+     */
+    protected static void assertSameGraphByID(Graph expected, Graph actual) {
+        assertEquals(expected.getVertexes().size(), actual.getVertexes().size());
+        assertEquals(expected.getEdges().size(), actual.getEdges().size());
+        for (Vertex e : expected.getVertexes()) {
+            Vertex a = (Vertex) actual.getFromID(e.getID());
+            assertNotNull(a);
+            assertSameVertex(e, a);
+        }
+        for (Edge e : expected.getEdges()) {
+            Edge a = (Edge) actual.getFromID(e.getID());
+            assertNotNull(a);
+            assertSameEdge(e, a);
+            assertEquals(e.getOrigin().getID(), a.getOrigin().getID());
+            assertEquals(e.getDestination().getID(), a.getDestination().getID());
+        }
+    }
+
+    private static void assertSameVertex(Vertex expected, Vertex actual) {
+        assertEquals(expected.getLabel(), actual.getLabel());
+        assertEquals(expected.getPosition(), actual.getPosition());
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getShape(), actual.getShape());
+        assertEquals(expected.getColor(), actual.getColor());
+        assertEquals(expected.getValue(), actual.getValue());
+    }
+
+    private static void assertSameEdge(Edge expected, Edge actual) {
+        assertEquals(expected.getLabel(), actual.getLabel());
+        assertEquals(expected.getColor(), actual.getColor());
+        assertEquals(expected.getThickness(), actual.getThickness());
+    }
+}
@@ -0,0 +1,107 @@
+package files.dot;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Tests de la classe DotFileReader
+ */
+public class DotFileReaderTest extends TestCase {
+
+    private static Graph read(String dot) throws IOException {
+        DotFileReader reader = new DotFileReader(null);
+        reader.read(new StringReader(dot));
+        return reader.getGraph();
+    }
+
+    /**
+     * Test de la lecture d'un fichier écrit par l'application
+     */
+    public void testApplicationFormat() throws IOException {
+        Graph graph = read("graph test { \n"
+                + "    1 [label=graph,pos=(10%20),size=15,shape=Circle,color=#ff0000,value=3];\n"
+                + "    2 [label=vertex2,pos=(30%40),size=15,shape=Square,color=#000000,value=1];\n"
+                + "    5 -- 2 [label=edge5,size=2,color=#00ff00];\n"
+                + "    1 -- 2 [label=edge6,size=1,color=#000000];\n"
+                + "}");
+
+        assertEquals(graph.getName(), "test");
+        //Le Vertex 5 n'est cité que par un Edge : il est créé quand même
+        assertEquals(graph.getVertexes().size(), 3);
+        assertEquals(graph.getEdges().size(), 2);
+
+        Vertex first = graph.getVertexes().get(0);
+        assertEquals(first.getLabel(), "graph");
+        assertEquals(first.getPosition(), new Point(10, 20));
+        assertEquals(first.getColor(), Color.RED);
+        assertEquals(first.getShape(), Vertex.Shape.CIRCLE);
+        assertEquals(first.getValue(), 3);
+
+        Edge edge = graph.getEdges().get(1);
+        assertSame(edge.getOrigin(), first);
+        assertSame(edge.getDestination(), graph.getVertexes().get(1));
+        assertEquals(graph.getEdges().get(0).getThickness(), 2);
+        assertEquals(graph.getEdges().get(0).getColor(), Color.GREEN);
+        assertTrue(first.isLinkedTo(graph.getVertexes().get(1)));
+    }
+
+    /**
+     * Test de la lecture d'un fichier au format de Graphviz : chaînes, commentaires, instructions sur plusieurs lignes,
+     * attributs par défaut, chaînes d'Edge et sous-graphes
+     */
+    public void testGraphvizFormat() throws IOException {
+        Graph graph = read("/* en-tête */\n"
+                + "strict DiGraph \"mon graphe\" {\n"
+                + "  rankdir = LR; // attribut du graphe\n"
+                + "  node [shape=Circle, label=\"défaut\"]\n"
+                + "  \"a b\" [label=\"un \\\"graph\\\"\"\n"
+                + "         pos=\"1.6,2!\"];\n"
+                + "  \"a b\" -> c -> d:port [label=chemin]\n"
+                + "  edge [color=\"#0000ff\"]\n"
+                + "  c -> { e; f } ;\n"
+                + "  subgraph cluster { g -- -1.5 }\n"
+                + "  c [size=20]\n"
+                + "}\n");
+
+        assertEquals(graph.getName(), "mon graphe");
+        assertEquals(graph.getVertexes().size(), 7);
+        assertEquals(graph.getEdges().size(), 5);
+
+        Vertex ab = graph.getVertexes().get(0);
+        assertEquals(ab.getLabel(), "un \"graph\"");
+        assertEquals(ab.getShape(), Vertex.Shape.CIRCLE);
+        assertEquals(ab.getPosition(), new Point(2, 2));
+        Vertex c = graph.getVertexes().get(1);
+        assertEquals(c.getLabel(), "défaut");
+        assertEquals(c.getSize(), 20);
+
+        assertEquals(graph.getEdges().get(0).getLabel(), "chemin");
+        assertEquals(graph.getEdges().get(1).getLabel(), "chemin");
+        assertEquals(graph.getEdges().get(0).getColor(), Color.BLACK);
+        assertEquals(graph.getEdges().get(3).getColor(), Color.BLUE);
+        assertSame(graph.getEdges().get(3).getOrigin(), c);
+        assertSame(graph.getEdges().get(3).getDestination(), graph.getVertexes().get(4));
+        assertEquals(c.getEdges().size(), 4);
+    }
+
+    /**
+     * Test des erreurs de syntaxe
+     */
+    public void testErrors() {
+        String[] invalid = { "", "node { }", "graph { a -- }", "graph { a [label=] }", "graph { \"a }", "graph { a /* }",
+                             "graph { a [color=rouge] }", "graph { a -- b [size=gros] }" };
+        for (String dot : invalid) {
+            try {
+                read(dot);
+                fail();
+            } catch (IOException expected) {
+            }
+        }
+    }
+}
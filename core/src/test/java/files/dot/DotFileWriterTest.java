@@ -0,0 +1,62 @@
+package files.dot;
+
+import data.Graph;
+import files.GraphFileTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Tests de la classe DotFileWriter
+ */
+public class DotFileWriterTest extends GraphFileTestCase {
+
+    /**
+     * Test de l'écriture puis de la relecture d'un Graph
+     */
+    public void testRoundTrip() throws IOException {
+        Graph        graph  = createGraph();
+        StringWriter output = new StringWriter();
+        new DotFileWriter(graph, null).write(output);
+        assertTrue(output.toString().contains("color=\"#12abff\""));
+
+        DotFileReader reader = new DotFileReader(null);
+        reader.read(new StringReader(output.toString()));
+        assertSameGraph(graph, reader.getGraph());
+    }
+
+    /**
+     * Test de l'écriture puis de la relecture de labels contenant des \ et des guillemets, y compris en fin de chaîne
+     */
+    public void testEscapes() throws IOException {
+        Graph graph = createGraph();
+        graph.setName("C:\\graphes\\");
+        graph.getVertexes().get(0).setLabel("\\\"a\\\\\"");
+        graph.getVertexes().get(1).setLabel("ligne\\nsuite \\l");
+        graph.getEdges().get(0).setLabel("\\");
+        StringWriter output = new StringWriter();
+        new DotFileWriter(graph, null).write(output);
+
+        DotFileReader reader = new DotFileReader(null);
+        reader.read(new StringReader(output.toString()));
+        assertSameGraph(graph, reader.getGraph());
+    }
+
+    /**
+     * Test de l'écriture puis de la relecture d'un fichier compressé
+     */
+    public void testGzip() throws IOException {
+        Graph graph = createGraph();
+        File  file  = File.createTempFile("graph", ".dot.gz");
+        try {
+            new DotFileWriter(graph, file).writeFile();
+            DotFileReader reader = new DotFileReader(file);
+            reader.readFile();
+            assertSameGraph(graph, reader.getGraph());
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package files.dot;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+
+/**
+ * Tests de la classe DotParallelReader
+ */
+public class DotParallelReaderTest extends TestCase {
+
+    /* Un fichier mêlant les cas délicats pour le découpage : attributs par défaut, Vertex complétés plus loin,
+       sous-graphes, chaînes et commentaires contenant des accolades et des retours à la ligne, instructions sur plusieurs lignes */
+    private static String createText() {
+        StringBuilder text = new StringBuilder("/* en-tête { */ digraph \"grand { graphe\" {\n");
+        text.append("  node [shape=Circle, size=20]\n  edge [color=\"#00ff00\"]\n");
+        for (int i = 0; i < 200; i++) {
+            text.append("  v").append(i).append(" [label=\"sommet ").append(i).append(" ;\n }\"]\n");
+            if (i == 50) {
+                text.append("  node [color=\"#ff0000\"]; edge [size=3]\n");
+            }
+            if (i % 7 == 0) {
+                text.append("  v").append(i).append(" -> v").append((i * 13) % 200).append("\n    -> w").append(i).append("\n");
+            }
+            if (i % 11 == 0) {
+                text.append("  // commentaire }\n  # autre commentaire {\n");
+                text.append("  subgraph s").append(i).append(" {\n    node [shape=Cross]\n    x").append(i).append(" -> v0\n  }\n");
+            }
+            if (i % 13 == 0) {
+                text.append("  v").append(i / 2).append("\n  [value=").append(i).append(", pos=\"").append(i).append(",").append(-i).append("\"]\n");
+            }
+            if (i % 17 == 0) {
+                text.append("  v").append(i).append(" -> node; graph [rankdir=LR]\n  a = b\n");
+            }
+        }
+        text.append("}\n");
+        return text.toString();
+    }
+
+    private static File createFile(String text) throws IOException {
+        File   file   = File.createTempFile("graph", ".dot");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), DotFileReader.CHARSET);
+        try {
+            writer.write(text);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    private static Graph readParallel(File file, int chunks) throws IOException {
+        FileInputStream input = new FileInputStream(file);
+        try {
+            return new DotParallelReader(input.getChannel(), chunks).read();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Test de la lecture par morceaux, qui doit donner le même Graph que la lecture séquentielle quel que soit le découpage
+     */
+    public void testSameAsSequential() throws IOException {
+        String        text     = createText();
+        DotFileReader reader   = new DotFileReader(null);
+        reader.read(new StringReader(text));
+        Graph         expected = reader.getGraph();
+
+        File file = createFile(text);
+        try {
+            for (int chunks = 2; chunks <= 16; chunks++) {
+                Graph actual = readParallel(file, chunks);
+                assertNotNull(actual);
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getVertexes().size(), actual.getVertexes().size());
+                assertEquals(expected.getEdges().size(), actual.getEdges().size());
+                for (int i = 0; i < expected.getVertexes().size(); i++) {
+                    Vertex e = expected.getVertexes().get(i);
+                    Vertex a = actual.getVertexes().get(i);
+                    assertEquals(e.getLabel(), a.getLabel());
+                    assertEquals(e.getPosition(), a.getPosition());
+                    assertEquals(e.getSize(), a.getSize());
+                    assertEquals(e.getShape(), a.getShape());
+                    assertEquals(e.getColor(), a.getColor());
+                    assertEquals(e.getValue(), a.getValue());
+                }
+                for (int i = 0; i < expected.getEdges().size(); i++) {
+                    Edge e = expected.getEdges().get(i);
+                    Edge a = actual.getEdges().get(i);
+                    if (!e.getLabel().startsWith("edge")) {
+                        //Les étiquettes par défaut contiennent l'ID de l'Edge
+                        assertEquals(e.getLabel(), a.getLabel());
+                    }
+                    assertEquals(e.getColor(), a.getColor());
+                    assertEquals(e.getThickness(), a.getThickness());
+                    assertEquals(expected.getVertexIndex(e.getOrigin()), actual.getVertexIndex(a.getOrigin()));
+                    assertEquals(expected.getVertexIndex(e.getDestination()), actual.getVertexIndex(a.getDestination()));
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test des erreurs : elles sont signalées à la même ligne qu'en lecture séquentielle
+     */
+    public void testErrorLine() throws IOException {
+        StringBuilder text = new StringBuilder("graph g {\n");
+        for (int i = 0; i < 100; i++) {
+            text.append("  v").append(i).append(" -- v").append(i + 1).append(";\n");
+        }
+        text.append("  v5 [size=abc]\n}\n");
+        String expected = null;
+        try {
+            new DotFileReader(null).read(new StringReader(text.toString()));
+            fail();
+        } catch (IOException e) {
+            expected = e.getMessage();
+        }
+
+        File file = createFile(text.toString());
+        try {
+            readParallel(file, 4);
+            fail();
+        } catch (IOException e) {
+            assertEquals(expected, e.getMessage());
+        } finally {
+            file.delete();
+        }
+    }
+}
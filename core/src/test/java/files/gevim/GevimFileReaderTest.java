@@ -0,0 +1,90 @@
+package files.gevim;
+
+import data.Graph;
+import data.Vertex;
+import files.GraphFileTestCase;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Tests des classes GevimFileReader et GevimFileWriter
+ */
+public class GevimFileReaderTest extends GraphFileTestCase {
+
+    /**
+     * Test de l'écriture puis de la relecture d'un Graph, et de la lecture des propriétés sans construire le Graph
+     */
+    public void testRoundTrip() throws IOException {
+        Graph graph = createGraph();
+        graph.getVertexes().get(2).setLabel(null);
+        File  file  = File.createTempFile("graph", ".gevim");
+        try {
+            new GevimFileWriter(graph, file).writeFile();
+
+            GevimFileReader reader = new GevimFileReader(file);
+            reader.readFile();
+            assertEquals(3, reader.getVertexCount());
+            assertEquals(2, reader.getEdgeCount());
+            assertEquals(graph.getName(), reader.getName());
+            assertEquals(new Point(-5, 40), reader.getVertexPosition(1));
+            assertEquals(Vertex.Shape.TRIANGLE, reader.getVertexShape(2));
+            assertEquals(2, reader.getEdgeOrigin(1));
+
+            Graph actual = reader.getGraph();
+            assertSameGraph(graph, actual);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(graph.getVertexes().get(i).getID(), actual.getVertexes().get(i).getID());
+            }
+            for (int i = 0; i < 2; i++) {
+                assertEquals(graph.getEdges().get(i).getID(), actual.getEdges().get(i).getID());
+            }
+            //La table des chaînes ne contient qu'une fois chaque étiquette
+            assertSame(actual.getVertexes().get(0).getLabel(), actual.getVertexes().get(1).getLabel());
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test de la détection d'un fichier corrompu ou qui n'est pas au format .gevim
+     */
+    public void testCorruptedFile() throws IOException {
+        File file = File.createTempFile("graph", ".gevim");
+        try {
+            new GevimFileWriter(createGraph(), file).writeFile();
+            RandomAccessFile content = new RandomAccessFile(file, "rw");
+            try {
+                content.seek(GevimFileReader.HEADER_SIZE + 4);
+                content.write(0x55);
+            } finally {
+                content.close();
+            }
+            try {
+                new GevimFileReader(file).readFile();
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("somme de contrôle"));
+            }
+            //Sans vérification, le fichier s'ouvre
+            new GevimFileReader(file).readFile(false);
+
+            content = new RandomAccessFile(file, "rw");
+            try {
+                content.setLength(content.length() - 1);
+            } finally {
+                content.close();
+            }
+            try {
+                new GevimFileReader(file).readFile(false);
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("tronqué"));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package files.gevim;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import files.GraphFileTestCase;
+
+import java.awt.*;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests de la classe GevimJournal
+ */
+public class GevimJournalTest extends GraphFileTestCase {
+
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException {
+        this.file = File.createTempFile("graph", ".gevim");
+    }
+
+    @Override
+    protected void tearDown() {
+        GevimJournal.delete(this.file);
+        this.file.delete();
+    }
+
+    private Graph open() throws IOException {
+        GevimFileManager manager = new GevimFileManager(null, this.file);
+        manager.openGraph();
+        return manager.getGraph();
+    }
+
+    /**
+     * Test de l'enregistrement des modifications d'un Graph dans le journal, et de leur application à la relecture du fichier
+     */
+    public void testReplay() throws IOException {
+        Graph graph = createGraph();
+        new GevimFileWriter(graph, this.file).writeFile();
+        GevimJournal journal = new GevimJournal(graph, this.file);
+
+        Vertex v1 = graph.getVertexes().get(0);
+        Vertex v3 = graph.getVertexes().get(2);
+        //moveVertex prévient elle-même les Observer
+        graph.moveVertex(v1, new Point(-7, 8));
+        v3.setLabel("modifié é");
+        v3.setValue(42);
+        graph.markChanged(v3);
+        graph.setChanged();
+        GevimJournal.append(this.file, journal.takeRecords());
+
+        Vertex v4 = graph.createVertex(Color.ORANGE, new Point(1, 2), 5, Vertex.Shape.TRIANGLE);
+        Edge   e  = graph.createEdge(Color.PINK, v4, v1, 4);
+        e.setLabel(null);
+        graph.removeGraphElement(graph.getVertexes().get(1));
+        graph.setChanged();
+        assertFalse(journal.isStale());
+        GevimJournal.append(this.file, journal.takeRecords());
+
+        assertSameGraphByID(graph, open());
+        GevimFileReader reader = new GevimFileReader(this.file);
+        reader.readFile();
+        assertEquals(2, GevimJournal.replay(this.file, reader.getGraph()));
+    }
+
+    /**
+     * Test de modifications faites par les setters sans être signalées, mêlées à d'autres signalées : le journal les
+     * enregistre toutes
+     */
+    public void testUnmarkedChanges() throws IOException {
+        Graph graph = createGraph();
+        new GevimFileWriter(graph, this.file).writeFile();
+        GevimJournal journal = new GevimJournal(graph, this.file);
+
+        Vertex u = graph.getVertexes().get(0);
+        Vertex v = graph.getVertexes().get(1);
+        v.setLabel("renamed");
+        u.setPosition(new Point(70, 80));
+        graph.markMoved(u);
+        graph.getEdges().get(1).setThickness(9);
+        graph.setChanged();
+        assertFalse(journal.isStale());
+        GevimJournal.append(this.file, journal.takeRecords());
+
+        assertSameGraphByID(graph, open());
+    }
+
+    /**
+     * Test d'un lot interrompu, ignoré, et d'un journal qui ne correspond plus au fichier, ignoré lui aussi
+     */
+    public void testInterruptedAndObsolete() throws IOException {
+        Graph graph = createGraph();
+        new GevimFileWriter(graph, this.file).writeFile();
+        GevimJournal journal = new GevimJournal(graph, this.file);
+
+        graph.moveVertex(graph.getVertexes().get(0), new Point(100, 100));
+        GevimJournal.append(this.file, journal.takeRecords());
+        Graph saved = open();
+
+        //Lot dont seul le début a été écrit
+        graph.moveVertex(graph.getVertexes().get(1), new Point(200, 200));
+        byte[] records = journal.takeRecords();
+        FileOutputStream output = new FileOutputStream(GevimJournal.journalFile(this.file), true);
+        try {
+            output.write(new byte[] { 0, 0, 0, (byte) records.length });
+            output.write(records, 0, records.length / 2);
+        } finally {
+            output.close();
+        }
+        assertSameGraphByID(saved, open());
+
+        //Notification sans détail : le journal ne suffit plus
+        graph.setChanged();
+        assertTrue(journal.isStale());
+
+        //Le fichier réécrit n'a plus la même taille : l'ancien journal ne s'y applique plus
+        new GevimFileWriter(new Graph(), this.file).writeFile();
+        assertEquals(0, open().getVertexes().size());
+    }
+}
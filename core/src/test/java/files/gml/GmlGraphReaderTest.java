@@ -0,0 +1,105 @@
+package files.gml;
+
+import data.Edge;
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests des classes GmlGraphReader et GmlGraphWriter
+ */
+public class GmlGraphReaderTest extends TestCase {
+
+    private static Graph read(String text) throws IOException {
+        GmlGraphReader reader = new GmlGraphReader(null);
+        reader.read(new ByteArrayInputStream(text.getBytes("UTF-8")));
+        return reader.getCreatedGraph();
+    }
+
+    /**
+     * Test de l'écriture puis de la relecture d'un Graph
+     */
+    public void testRoundTrip() throws IOException {
+        Graph  graph = new Graph();
+        Vertex v1    = graph.createVertex(new Color(0x12, 0xab, 0xff), new Point(10, 20), 15, Vertex.Shape.CIRCLE);
+        Vertex v2    = graph.createVertex(Color.BLACK, new Point(-5, 40), 30, Vertex.Shape.CROSS);
+        v1.setLabel("<a & \"b\">");
+        v2.setValue(7);
+        Edge edge = graph.createEdge(Color.RED, v1, v2, 3);
+        edge.setLabel("arête");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new GmlGraphWriter(graph, null).write(output);
+        Graph actual = read(output.toString("UTF-8"));
+
+        assertEquals(2, actual.getVertexes().size());
+        assertEquals(1, actual.getEdges().size());
+        for (int i = 0; i < 2; i++) {
+            Vertex e = graph.getVertexes().get(i);
+            Vertex a = actual.getVertexes().get(i);
+            assertEquals(e.getLabel(), a.getLabel());
+            assertEquals(e.getPosition(), a.getPosition());
+            assertEquals(e.getSize(), a.getSize());
+            assertEquals(e.getShape(), a.getShape());
+            assertEquals(e.getColor(), a.getColor());
+            assertEquals(e.getValue(), a.getValue());
+        }
+        Edge a = actual.getEdges().get(0);
+        assertEquals("arête", a.getLabel());
+        assertEquals(Color.RED, a.getColor());
+        assertEquals(3, a.getThickness());
+        assertSame(actual.getVertexes().get(0), a.getOrigin());
+        assertSame(actual.getVertexes().get(1), a.getDestination());
+    }
+
+    /**
+     * Test de la lecture d'un fichier écrit par un autre outil : clés aux identifiants quelconques, valeurs par défaut,
+     * nombres décimaux et Edge citant un Vertex déclaré plus loin
+     */
+    public void testForeignFile() throws IOException {
+        Graph graph = read("<?xml version=\"1.0\"?>\n"
+                + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                + "  <key id=\"d0\" for=\"node\" attr.name=\"x\" attr.type=\"float\"/>\n"
+                + "  <key id=\"d1\" for=\"node\" attr.name=\"y\" attr.type=\"float\"/>\n"
+                + "  <key id=\"d2\" for=\"node\" attr.name=\"r\" attr.type=\"int\"><default>255</default></key>\n"
+                + "  <key id=\"d3\" for=\"edge\" attr.name=\"size\" attr.type=\"long\"/>\n"
+                + "  <key id=\"d4\" for=\"node\" attr.name=\"comment\" attr.type=\"string\"/>\n"
+                + "  <graph id=\"G\" edgedefault=\"undirected\">\n"
+                + "    <node id=\"a\"><data key=\"d0\">12.6</data><data key=\"d1\">-3.2</data></node>\n"
+                + "    <edge source=\"a\" target=\"b\"><data key=\"d3\">4</data></edge>\n"
+                + "    <node id=\"b\"><data key=\"d2\">0</data><data key=\"d4\">ignoré</data></node>\n"
+                + "  </graph>\n"
+                + "</graphml>\n");
+
+        assertEquals(2, graph.getVertexes().size());
+        assertEquals(1, graph.getEdges().size());
+        Vertex a = graph.getVertexes().get(0);
+        Vertex b = graph.getVertexes().get(1);
+        assertEquals(new Point(13, -3), a.getPosition());
+        assertEquals(new Color(255, 0, 0), a.getColor());
+        assertEquals(Color.BLACK, b.getColor());
+        assertEquals(new Point(50, 50), b.getPosition());
+        Edge edge = graph.getEdges().get(0);
+        assertEquals(4, edge.getThickness());
+        assertSame(a, edge.getOrigin());
+        assertSame(b, edge.getDestination());
+    }
+
+    /**
+     * Test du rejet d'une valeur invalide
+     */
+    public void testInvalidValue() {
+        try {
+            read("<graphml><key id=\"x\" for=\"node\" attr.name=\"x\"/><graph>"
+                    + "<node id=\"a\"><data key=\"x\">abc</data></node></graph></graphml>");
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("abc"));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package generator;
+
+import junit.framework.TestCase;
+import threading.ProgressListener;
+
+import java.util.HashSet;
+
+/**
+ * Tests des générateurs de graphes aléatoires
+ */
+public class GraphGeneratorTest extends TestCase {
+
+    /**
+     * Méthode comparant deux graphes générés
+     */
+    private static void assertSameGraph(GeneratedGraph a, GeneratedGraph b) {
+        assertEquals(a.getVertexCount(), b.getVertexCount());
+        assertEquals(a.getEdgeCount(), b.getEdgeCount());
+        for (int i = 0; i < a.getVertexCount(); i++) {
+            assertEquals(a.getPosition(i), b.getPosition(i));
+        }
+        for (int i = 0; i < a.getEdgeCount(); i++) {
+            assertEquals(a.getOrigin(i), b.getOrigin(i));
+            assertEquals(a.getDestination(i), b.getDestination(i));
+        }
+    }
+
+    /**
+     * Test de la reproductibilité : même graine, même graphe, sur plusieurs morceaux traités en parallèle
+     */
+    public void testDeterministic() {
+        int n = 3 * GraphGenerator.CHUNK_SIZE + 17;
+        assertSameGraph(new ErdosRenyiGenerator(n, ErdosRenyiGenerator.probabilityFor(n, 4), 7, 2000, 2000).generate(),
+                        new ErdosRenyiGenerator(n, ErdosRenyiGenerator.probabilityFor(n, 4), 7, 2000, 2000).generate());
+        assertSameGraph(new WattsStrogatzGenerator(n, 4, 0.2, 7, 2000, 2000).generate(),
+                        new WattsStrogatzGenerator(n, 4, 0.2, 7, 2000, 2000).generate());
+        assertSameGraph(new BarabasiAlbertGenerator(n, 3, 7, 2000, 2000).generate(),
+                        new BarabasiAlbertGenerator(n, 3, 7, 2000, 2000).generate());
+        assertSameGraph(new RandomGeometricGenerator(n, 20, 7, 2000, 2000).generate(),
+                        new RandomGeometricGenerator(n, 20, 7, 2000, 2000).generate());
+
+        GeneratedGraph other = new ErdosRenyiGenerator(n, 0.001, 8, 2000, 2000).generate();
+        GeneratedGraph graph = new ErdosRenyiGenerator(n, 0.001, 7, 2000, 2000).generate();
+        assertFalse(other.getPosition(0).equals(graph.getPosition(0)) && other.getEdgeCount() == graph.getEdgeCount());
+    }
+
+    /**
+     * Test du modèle d'Erdős–Rényi : paires distinctes, ordonnées, et nombre d'Edge proche de l'espérance
+     */
+    public void testErdosRenyi() {
+        int            n     = 5000;
+        double         p     = ErdosRenyiGenerator.probabilityFor(n, 10);
+        GeneratedGraph graph = new ErdosRenyiGenerator(n, p, 42, 1000, 1000).generate();
+        HashSet<Long>  pairs = new HashSet<>();
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            assertTrue(graph.getOrigin(i) < graph.getDestination(i));
+            assertTrue(pairs.add((long) graph.getOrigin(i) * n + graph.getDestination(i)));
+        }
+        double expected = p * n * (n - 1) / 2;
+        assertTrue(Math.abs(graph.getEdgeCount() - expected) < 0.05 * expected);
+
+        assertEquals(10 * 9 / 2, new ErdosRenyiGenerator(10, 1, 0, 100, 100).generate().getEdgeCount());
+        assertEquals(0, new ErdosRenyiGenerator(10, 0, 0, 100, 100).generate().getEdgeCount());
+    }
+
+    /**
+     * Test du modèle de Barabási–Albert : m Edge par nouveau Vertex, vers des Vertex distincts
+     */
+    public void testBarabasiAlbert() {
+        int            n     = 10000, m = 3;
+        GeneratedGraph graph = new BarabasiAlbertGenerator(n, m, 1, 1000, 1000).generate();
+        assertEquals(m * (n - m), graph.getEdgeCount());
+        for (int i = 0; i < graph.getEdgeCount(); i += m) {
+            HashSet<Integer> targets = new HashSet<>();
+            for (int j = i; j < i + m; j++) {
+                assertEquals(m + i / m, graph.getOrigin(j));
+                assertTrue(graph.getDestination(j) < graph.getOrigin(j));
+                assertTrue(targets.add(graph.getDestination(j)));
+            }
+        }
+    }
+
+    /**
+     * Test du modèle de Watts–Strogatz : k/2 Edge par Vertex, sans boucle, et l'anneau intact sans recâblage
+     */
+    public void testWattsStrogatz() {
+        GeneratedGraph graph = new WattsStrogatzGenerator(1000, 6, 0.3, 5, 1000, 1000).generate();
+        assertEquals(3000, graph.getEdgeCount());
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            assertTrue(graph.getOrigin(i) != graph.getDestination(i));
+        }
+        GeneratedGraph ring = new WattsStrogatzGenerator(10, 2, 0, 5, 1000, 1000).generate();
+        for (int i = 0; i < ring.getEdgeCount(); i++) {
+            assertEquals((ring.getOrigin(i) + 1) % 10, ring.getDestination(i));
+        }
+    }
+
+    /**
+     * Test des grilles
+     */
+    public void testGrid() {
+        GeneratedGraph graph = new GridGenerator(30, 200, 2000, 300).generate();
+        assertEquals(6000, graph.getVertexCount());
+        assertEquals(30 * 199 + 29 * 200, graph.getEdgeCount());
+        assertEquals(5, graph.getPosition(0).x);
+        assertEquals(5, graph.getPosition(0).y);
+        assertEquals(1995, graph.getPosition(199).x);
+        assertEquals(15, graph.getPosition(200).y);
+    }
+
+    /**
+     * Test du modèle géométrique, comparé à la comparaison de toutes les paires
+     */
+    public void testRandomGeometric() {
+        int            n      = 2000, radius = 40;
+        GeneratedGraph graph  = new RandomGeometricGenerator(n, radius, 3, 1000, 1000).generate();
+        HashSet<Long>  pairs  = new HashSet<>();
+        for (int i = 0; i < graph.getEdgeCount(); i++) {
+            assertTrue(pairs.add((long) graph.getOrigin(i) * n + graph.getDestination(i)));
+        }
+        int expected = 0;
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (graph.getPosition(u).distanceSq(graph.getPosition(v)) <= radius * radius) {
+                    expected++;
+                    assertTrue(pairs.contains((long) u * n + v));
+                }
+            }
+        }
+        assertEquals(expected, graph.getEdgeCount());
+    }
+
+    /**
+     * Test de l'avancement : croissant, jusqu'à 100
+     */
+    public void testProgress() {
+        final int[] last = { -1 };
+        GraphGenerator generator = new GridGenerator(100, 1000, 1000, 1000);
+        generator.setProgressListener(new ProgressListener() {
+            @Override
+            public synchronized void progress(int percent) {
+                assertTrue(percent > last[0]);
+                last[0] = percent;
+            }
+        });
+        generator.generate();
+        assertEquals(100, last[0]);
+    }
+}
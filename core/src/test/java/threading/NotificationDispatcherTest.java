@@ -0,0 +1,69 @@
+package threading;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests de la classe NotificationDispatcher
+ */
+public class NotificationDispatcherTest extends TestCase {
+
+    /**
+     * Test du regroupement : une tâche soumise plusieurs fois avant son exécution n'est exécutée qu'une fois, sur l'EDT
+     */
+    public void testCoalescing() throws Exception {
+        NotificationDispatcher dispatcher = new NotificationDispatcher();
+        final AtomicInteger    runs       = new AtomicInteger();
+        final CountDownLatch   done       = new CountDownLatch(1);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(SwingUtilities.isEventDispatchThread());
+                runs.incrementAndGet();
+                done.countDown();
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.execute(task);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(5 * NotificationDispatcher.FRAME_DELAY);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        assertEquals(1, runs.get());
+    }
+
+    /**
+     * Test de la file bornée : un thread de travail soumettant plus de tâches qu'elle n'en contient attend que l'EDT
+     * les exécute, sans en perdre aucune
+     */
+    public void testBackPressure() throws Exception {
+        final NotificationDispatcher dispatcher = new NotificationDispatcher();
+        final int                    count      = 3 * NotificationDispatcher.CAPACITY;
+        final CountDownLatch         done       = new CountDownLatch(count);
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    dispatcher.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            done.countDown();
+                        }
+                    });
+                }
+            }
+        });
+        producer.start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        producer.join();
+    }
+}
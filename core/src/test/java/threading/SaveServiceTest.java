@@ -0,0 +1,221 @@
+package threading;
+
+import data.Graph;
+import data.Vertex;
+import files.gevim.GevimFileReader;
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests de la classe SaveService
+ */
+public class SaveServiceTest extends TestCase {
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("save").toFile();
+    }
+
+    @Override
+    protected void tearDown() {
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    private static Graph createGraph(int vertexCount) {
+        Graph graph = new Graph();
+        for (int i = 0; i < vertexCount; i++) {
+            graph.createVertex(Color.BLACK, new Point(i, i), 15, Vertex.Shape.SQUARE);
+        }
+        if (vertexCount > 1) {
+            graph.createEdge(Color.RED, graph.getVertexes().get(0), graph.getVertexes().get(1), 2);
+        }
+        return graph;
+    }
+
+    /**
+     * Test du regroupement des demandes successives en une seule sauvegarde, du Graph demandé en dernier
+     */
+    public void testCollapse() throws Exception {
+        final AtomicInteger  started  = new AtomicInteger();
+        final AtomicInteger  percent  = new AtomicInteger(-1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        final SaveService    service  = new SaveService(new SaveService.Listener() {
+            @Override
+            public void saveStarted(File file) {
+                started.incrementAndGet();
+            }
+
+            @Override
+            public void saveProgress(File file, int value) {
+                assertTrue(value > percent.get());
+                percent.set(value);
+            }
+
+            @Override
+            public void saveFinished(File file, IOException error) {
+                if (error == null) {
+                    finished.countDown();
+                }
+            }
+        });
+        final File  file  = new File(this.directory, "graph.gevim");
+        final Graph graph = createGraph(4);
+        //Tant que l'EDT est occupé, aucune sauvegarde ne peut commencer
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                service.save(createGraph(2), file);
+                service.save(createGraph(3), file);
+                service.save(graph, file);
+                assertTrue(service.isModified(graph));
+            }
+        });
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+
+        final CountDownLatch stopped = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                assertFalse(service.isModified(graph));
+                service.shutdown(new Runnable() {
+                    @Override
+                    public void run() {
+                        stopped.countDown();
+                    }
+                });
+            }
+        });
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertEquals(1, started.get());
+        assertEquals(100, percent.get());
+
+        GevimFileReader reader = new GevimFileReader(file);
+        reader.readFile();
+        assertEquals(4, reader.getVertexCount());
+        assertEquals(1, reader.getEdgeCount());
+        assertEquals(1, this.directory.list().length);
+    }
+
+    /**
+     * Test de la sauvegarde automatique : elle écrit le fichier de récupération sans toucher au fichier, qui est supprimé
+     * à la sauvegarde suivante du fichier
+     */
+    public void testAutosave() throws Exception {
+        final AtomicInteger finished = new AtomicInteger();
+        final SaveService   service  = new SaveService(new SaveService.Listener() {
+            @Override
+            public void saveStarted(File file) {
+            }
+
+            @Override
+            public void saveProgress(File file, int percent) {
+            }
+
+            @Override
+            public void saveFinished(File file, IOException error) {
+                if (error == null) {
+                    finished.incrementAndGet();
+                }
+            }
+        });
+        final File  file     = new File(this.directory, "graph.dot");
+        final File  recovery = SaveService.recoveryFile(file);
+        final Graph graph    = createGraph(2);
+        SaveService.write(graph, file);
+        final long  written  = file.lastModified();
+        final long  length   = file.length();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                service.markSaved(graph, file);
+                //Non modifié : rien à sauvegarder
+                service.autosave(graph, file);
+                graph.createVertex(Color.BLACK, new Point(9, 9), 15, Vertex.Shape.SQUARE);
+                graph.setChanged();
+                service.autosave(graph, file);
+            }
+        });
+        waitFor(finished, 1);
+        GevimFileReader reader = new GevimFileReader(recovery);
+        reader.readFile();
+        assertEquals(3, reader.getVertexCount());
+        assertEquals(written, file.lastModified());
+        assertEquals(length, file.length());
+
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(service.isModified(graph));
+                //Déjà sauvegardé automatiquement dans cet état
+                service.autosave(graph, file);
+                service.save(graph, file);
+            }
+        });
+        waitFor(finished, 2);
+        assertFalse(recovery.exists());
+        assertEquals(1, this.directory.list().length);
+    }
+
+    private static void waitFor(AtomicInteger counter, int value) throws InterruptedException {
+        for (int i = 0; i < 1000 && counter.get() < value; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(value, counter.get());
+    }
+
+    /**
+     * Test du remplacement d'un fichier existant, et de l'échec d'une écriture qui ne doit rien laisser dans le répertoire
+     */
+    public void testWrite() throws IOException {
+        File file = new File(this.directory, "graph.dot.gz");
+        SaveService.write(createGraph(2), file);
+        SaveService.write(createGraph(5), file);
+        assertEquals(1, this.directory.list().length);
+        //Le fichier temporaire garde l'extension .gz : le fichier est bien compressé
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals((byte) 0x8b, bytes[1]);
+
+        try {
+            SaveService.write(createGraph(2), new File(this.directory, "graph.txt"));
+            fail();
+        } catch (IOException e) {
+            assertEquals(1, this.directory.list().length);
+        }
+    }
+
+    /**
+     * Test de l'avancement signalé par l'écriture dans chaque format : il augmente jusqu'à 100 %
+     */
+    public void testWriteProgress() throws IOException {
+        Graph graph = createGraph(500);
+        for (String name : new String[] { "graph.gevim", "graph.dot", "graph.graphml" }) {
+            final List<Integer> percents = new ArrayList<>();
+            SaveService.write(graph, new File(this.directory, name), new ProgressListener() {
+                @Override
+                public void progress(int percent) {
+                    percents.add(percent);
+                }
+            });
+            assertEquals(Integer.valueOf(100), percents.get(percents.size() - 1));
+            for (int i = 1; i < percents.size(); i++) {
+                assertTrue(percents.get(i - 1) < percents.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package view.editor.display;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Tests de la classe SpatialIndex, comparée à un parcours de tous les éléments
+ */
+public class SpatialIndexTest extends TestCase {
+
+    /**
+     * Méthode pour savoir si deux rectangles se touchent, bords compris
+     */
+    private static boolean touches(Rectangle a, Rectangle b) {
+        return a.x <= b.x + b.width && b.x <= a.x + a.width && a.y <= b.y + b.height && b.y <= a.y + a.height;
+    }
+
+    /**
+     * Test des recherches par zone, après ajouts, déplacements et retraits
+     */
+    public void testQuery() {
+        Random                  random  = new Random(42);
+        SpatialIndex<Integer>   index   = new SpatialIndex<>();
+        ArrayList<Rectangle>    bounds  = new ArrayList<>();
+        ArrayList<Integer>      items   = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            // des petits éléments (Vertex) et quelques grands (Edge)
+            int size = i % 10 == 0 ? random.nextInt(3000) : random.nextInt(20);
+            Rectangle r = new Rectangle(random.nextInt(5000) - 1000, random.nextInt(5000) - 1000, size, random.nextInt(size + 1));
+            Integer item = i;
+            items.add(item);
+            bounds.add(r);
+            index.put(item, r);
+        }
+        // déplacements et retraits
+        for (int i = 0; i < 500; i++) {
+            Rectangle r = new Rectangle(random.nextInt(5000), random.nextInt(5000), random.nextInt(40), random.nextInt(40));
+            bounds.set(i, r);
+            index.put(items.get(i), r);
+        }
+        for (int i = 500; i < 700; i++) {
+            assertTrue(index.remove(items.get(i)));
+            bounds.set(i, null);
+        }
+        assertFalse(index.remove(items.get(600)));
+        assertEquals(index.size(), 1800);
+
+        for (int q = 0; q < 200; q++) {
+            Rectangle area = new Rectangle(random.nextInt(5000) - 1000, random.nextInt(5000) - 1000, random.nextInt(q % 20 == 0 ? 6000 : 300), random.nextInt(300));
+            HashSet<Integer> expected = new HashSet<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (bounds.get(i) != null && touches(bounds.get(i), area)) {
+                    expected.add(items.get(i));
+                }
+            }
+            ArrayList<Integer> found = index.query(area);
+            assertEquals(found.size(), expected.size());
+            assertEquals(new HashSet<>(found), expected);
+            // le compte est exact jusqu'à la limite, puis s'arrête juste au-delà
+            assertEquals(index.count(area, Integer.MAX_VALUE), expected.size());
+            assertEquals(index.count(area, 10), Math.min(expected.size(), 11));
+        }
+
+        index.clear();
+        assertEquals(index.size(), 0);
+        assertTrue(index.query(new Rectangle(-1000, -1000, 10000, 10000)).isEmpty());
+    }
+
+    /**
+     * Test de la recherche de l'élément le plus proche d'un point
+     */
+    public void testNearest() {
+        Random                random = new Random(7);
+        SpatialIndex<Integer> index  = new SpatialIndex<>();
+        ArrayList<Point>      points = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Point p = new Point(random.nextInt(4000), random.nextInt(4000));
+            points.add(p);
+            index.put(i, new Rectangle(p.x, p.y, 0, 0));
+        }
+
+        for (int q = 0; q < 200; q++) {
+            Point target = new Point(random.nextInt(4000), random.nextInt(4000));
+            double best = Double.MAX_VALUE;
+            for (Point p : points) {
+                best = Math.min(best, p.distance(target));
+            }
+            Integer found = index.nearest(target, 10000);
+            assertNotNull(found);
+            assertEquals(points.get(found).distance(target), best, 1e-9);
+        }
+
+        /* Rien à moins de la distance maximale */
+        index.clear();
+        index.put(0, new Rectangle(100, 100, 0, 0));
+        assertNull(index.nearest(new Point(0, 0), 50));
+        assertEquals(index.nearest(new Point(0, 0), 200), Integer.valueOf(0));
+    }
+}
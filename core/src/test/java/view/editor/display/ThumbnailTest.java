@@ -0,0 +1,35 @@
+package view.editor.display;
+
+import data.Graph;
+import data.Vertex;
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests de la classe Thumbnail
+ */
+public class ThumbnailTest extends TestCase {
+
+    /**
+     * Test du dessin de la miniature à partir de la copie du Graph, indépendante des modifications suivantes
+     */
+    public void testRender() {
+        Graph  graph = new Graph();
+        Vertex a     = graph.createVertex(Color.RED, new Point(100, 100), 20, Vertex.Shape.SQUARE);
+        Vertex b     = graph.createVertex(Color.RED, new Point(300, 100), 20, Vertex.Shape.SQUARE);
+        graph.createEdge(Color.BLUE, a, b, 1);
+
+        Thumbnail     snapshot = new Thumbnail(graph);
+        graph.moveVertex(a, new Point(380, 380));
+        BufferedImage image    = snapshot.render(100, 100, 0.25, 0.25, Color.WHITE);
+
+        assertEquals(100, image.getWidth());
+        assertEquals(Color.RED.getRGB(), image.getRGB(25, 25));
+        assertEquals(Color.RED.getRGB(), image.getRGB(75, 25));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(50, 25));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(95, 95));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(50, 60));
+    }
+}
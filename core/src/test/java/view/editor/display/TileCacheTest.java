@@ -0,0 +1,81 @@
+package view.editor.display;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests de la classe TileCache
+ */
+public class TileCacheTest extends TestCase {
+
+    private static BufferedImage tile() {
+        return new BufferedImage(TileCache.TILE_SIZE, TileCache.TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Test de l'invalidation des seules tuiles touchées par une zone
+     */
+    public void testInvalidate() {
+        TileCache cache = new TileCache();
+        cache.validate(1.0, 0);
+        for (int tx = 0; tx < 4; tx++) {
+            for (int ty = 0; ty < 4; ty++) {
+                cache.put(tx, ty, tile());
+            }
+        }
+        assertEquals(16, cache.size());
+
+        int size = TileCache.TILE_SIZE;
+        // une zone à cheval sur les tuiles (1,1), (2,1), (1,2) et (2,2)
+        cache.invalidate(new Rectangle(size + size/2, size + size/2, size, size));
+        assertEquals(12, cache.size());
+        assertNull(cache.get(1, 1));
+        assertNull(cache.get(2, 2));
+        assertNotNull(cache.get(0, 0));
+        assertNotNull(cache.get(3, 1));
+
+        // une zone plus grande que le cache : parcours du cache
+        cache.invalidate(new Rectangle(0, 0, 100 * size, size - 1));
+        assertEquals(8, cache.size());
+        assertNull(cache.get(3, 0));
+        assertNotNull(cache.get(3, 3));
+
+        // les images retirées sont réutilisées
+        assertNotNull(cache.obtain());
+    }
+
+    /**
+     * Test du vidage du cache au changement d'échelle ou de niveau de détail
+     */
+    public void testValidate() {
+        TileCache cache = new TileCache();
+        assertTrue(cache.validate(1.0, 0));
+        cache.put(0, 0, tile());
+        assertFalse(cache.validate(1.0, 0));
+        assertEquals(1, cache.size());
+        assertTrue(cache.validate(2.0, 0));
+        assertEquals(0, cache.size());
+        cache.put(0, 0, tile());
+        assertTrue(cache.validate(2.0, 1));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Test du retrait des tuiles les moins récemment utilisées
+     */
+    public void testEviction() {
+        TileCache cache = new TileCache();
+        cache.validate(1.0, 0);
+        for (int i = 0; i < 200; i++) {
+            cache.put(i, 0, tile());
+            // la première tuile est toujours utilisée
+            assertNotNull(cache.get(0, 0));
+        }
+        assertEquals(128, cache.size());
+        assertNotNull(cache.get(0, 0));
+        assertNull(cache.get(1, 0));
+        assertNotNull(cache.get(199, 0));
+    }
+}